@@ -0,0 +1,118 @@
+package com.comp2042.bot;
+
+import com.comp2042.controller.GameController;
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.event.EventType;
+import com.comp2042.model.SimpleBoard;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs autoplayed games without a window, for soak testing a build.
+ * <p>
+ * Usage: {@code AutoPlayRunner [games] [maxPieces] [seed] [depth]}. Each game
+ * uses a seeded brick sequence, so a failing run can be reproduced from its
+ * seed. A depth above 1 plays with {@link LookaheadSearch}.
+ */
+public final class AutoPlayRunner {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+    private static final int LOOKAHEAD_BEAM_WIDTH = 4;
+    private static final long LOOKAHEAD_BUDGET_NANOS = 50_000_000L;
+
+    /**
+     * Outcome of one headless game.
+     */
+    public static final class Result {
+        private final long seed;
+        private final int pieces;
+        private final int lines;
+        private final int score;
+        private final boolean toppedOut;
+
+        Result(long seed, int pieces, int lines, int score, boolean toppedOut) {
+            this.seed = seed;
+            this.pieces = pieces;
+            this.lines = lines;
+            this.score = score;
+            this.toppedOut = toppedOut;
+        }
+
+        public long getSeed() { return seed; }
+
+        public int getPieces() { return pieces; }
+
+        public int getLines() { return lines; }
+
+        public int getScore() { return score; }
+
+        public boolean isToppedOut() { return toppedOut; }
+
+        @Override
+        public String toString() {
+            return String.format("seed=%d pieces=%d lines=%d score=%d %s",
+                    seed, pieces, lines, score, toppedOut ? "topped out" : "piece limit");
+        }
+    }
+
+    private AutoPlayRunner() {
+
+    }
+
+    /**
+     * Plays one endless-mode game with the default evaluator.
+     *
+     * @param seed      seed of the brick sequence
+     * @param maxPieces stop after this many bricks have locked
+     * @return the game's outcome
+     */
+    public static Result play(long seed, int maxPieces) {
+        return play(seed, maxPieces, new AutoPlayer(ROWS, COLUMNS));
+    }
+
+    /**
+     * Plays one endless-mode game with the given player.
+     *
+     * @param seed      seed of the brick sequence
+     * @param maxPieces stop after this many bricks have locked
+     * @param player    the bot to use
+     * @return the game's outcome
+     */
+    public static Result play(long seed, int maxPieces, Bot player) {
+        SimpleBoard board = new SimpleBoard(ROWS, COLUMNS, new RandomBrickGenerator(seed));
+        GameController controller = new GameController(board);
+        controller.initGame();
+        while (!controller.isGameOver() && controller.getPiecesLocked() < maxPieces) {
+            EventType move = player.nextMove(controller);
+            if (move == null) {
+                break;
+            }
+            AutoPlayer.apply(controller, move);
+        }
+        return new Result(seed, controller.getPiecesLocked(), controller.getLinesCleared(),
+                board.getScore().scoreProperty().get(), controller.isGameOver());
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int maxPieces = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int depth = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        long start = System.nanoTime();
+        long totalPieces = 0;
+        for (int i = 0; i < games; i++) {
+            AutoPlayer player = new AutoPlayer(ROWS, COLUMNS);
+            if (depth > 1) {
+                player.setLookahead(new LookaheadSearch(ROWS, COLUMNS, BoardEvaluator.defaultWeights(),
+                        ForkJoinPool.commonPool(), LOOKAHEAD_BEAM_WIDTH), depth, LOOKAHEAD_BUDGET_NANOS);
+            }
+            Result result = play(seed + i, maxPieces, player);
+            totalPieces += result.getPieces();
+            System.out.println(result);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("%d games, %d pieces in %.1f s (%.0f pieces/s)%n",
+                games, totalPieces, seconds, totalPieces / seconds);
+    }
+}
@@ -0,0 +1,268 @@
+package com.comp2042.bot;
+
+import com.comp2042.controller.GameController;
+import com.comp2042.event.EventSource;
+import com.comp2042.event.EventType;
+import com.comp2042.event.InputEventListener;
+import com.comp2042.event.MoveEvent;
+import com.comp2042.model.BitBoard;
+import com.comp2042.model.Board;
+import com.comp2042.model.PieceTable;
+import com.comp2042.model.PlacementEnumerator;
+import com.comp2042.model.PlacementList;
+import com.comp2042.model.ViewData;
+
+/**
+ * Plays the game by choosing, for each brick, the reachable placement that
+ * {@link BoardEvaluator} scores highest and then issuing the moves that lead
+ * there, one at a time.
+ * <p>
+ * The player works the same way in the JavaFX view and in headless runs: the
+ * caller asks {@link #nextMove(GameController)} for a move and sends it
+ * through the {@link InputEventListener}, for example with
+ * {@link #apply(InputEventListener, EventType)}. Moves are tagged
+ * {@link EventSource#THREAD} so they do not earn soft-drop points.
+ * <p>
+ * An autoplayer is not thread-safe; drive each instance from one thread.
+ */
+public final class AutoPlayer implements Bot {
+
+    private final BoardEvaluator evaluator;
+    private final PlacementEnumerator enumerator;
+    private final PlacementList placements = new PlacementList();
+    private final BitBoard current;
+    private final BitBoard trial;
+    private final EventType[] path;
+    private int pathLength;
+    private int pathIndex;
+    private int plannedPiece = -1;
+    private LookaheadSearch lookahead;
+    private int lookaheadDepth;
+    private long lookaheadBudgetNanos;
+    private MonteCarloSearch monteCarlo;
+    private long monteCarloBudgetNanos;
+    private int monteCarloRounds;
+
+    /**
+     * Creates an autoplayer using the default evaluation weights.
+     *
+     * @param rows    number of board rows
+     * @param columns number of board columns
+     */
+    public AutoPlayer(int rows, int columns) {
+        this(rows, columns, new BoardEvaluator());
+    }
+
+    /**
+     * Creates an autoplayer using the given evaluator.
+     *
+     * @param rows      number of board rows
+     * @param columns   number of board columns
+     * @param evaluator scores candidate boards
+     */
+    public AutoPlayer(int rows, int columns, BoardEvaluator evaluator) {
+        this.evaluator = evaluator;
+        this.enumerator = new PlacementEnumerator(rows, columns);
+        this.current = new BitBoard(rows, columns);
+        this.trial = new BitBoard(rows, columns);
+        this.path = new EventType[enumerator.getMaxPathLength()];
+    }
+
+    /**
+     * Returns the next move for the controller's active brick, planning a new
+     * placement whenever a new brick has spawned. Once the planned path is
+     * used up the player keeps returning {@link EventType#DOWN} until the brick
+     * locks.
+     *
+     * @param controller the game being played
+     * @return the move to send, or {@code null} if the game is over or the
+     *         brick has no placement
+     */
+    @Override
+    public EventType nextMove(GameController controller) {
+        if (controller.isGameOver()) {
+            return null;
+        }
+        if (controller.getPiecesLocked() != plannedPiece) {
+            plannedPiece = controller.getPiecesLocked();
+            if (!plan(controller.getBoard())) {
+                return null;
+            }
+        }
+        return nextPlannedMove();
+    }
+
+    /**
+     * Plans the moves for a board's active brick from its current position.
+     *
+     * @param board the board to plan for
+     * @return {@code true} if a placement was found
+     */
+    public boolean plan(Board board) {
+        current.load(board.getBoardMatrix());
+        ViewData view = board.getViewData();
+        return plan(current, board.getCurrentBrickId(), board.getCurrentRotation(), view.getxPosition(),
+                view.getyPosition(), PieceTable.idOf(view.getNextBrickData()));
+    }
+
+    /**
+     * Plans the moves for a brick on a packed board, for players that only see
+     * the game's state, such as network clients. Follow the plan with
+     * {@link #nextPlannedMove()}.
+     *
+     * @param board       the packed board
+     * @param brickId     the active brick id
+     * @param rotation    its rotation
+     * @param x           its column
+     * @param y           its row
+     * @param nextBrickId the previewed brick id
+     * @return {@code true} if a placement was found
+     */
+    public boolean plan(BitBoard board, int brickId, int rotation, int x, int y, int nextBrickId) {
+        int best;
+        if (monteCarlo != null) {
+            best = sampledPlacement(board, brickId, rotation, x, y, nextBrickId);
+        } else if (lookahead != null) {
+            best = searchPlacement(board, brickId, rotation, x, y, nextBrickId);
+        } else {
+            best = choosePlacement(board, brickId, rotation, x, y);
+        }
+        pathIndex = 0;
+        pathLength = best < 0 ? 0 : enumerator.getPath(placements, best, path);
+        return best >= 0;
+    }
+
+    /**
+     * Returns the next move of the last plan, then {@link EventType#DOWN}
+     * once the path is used up.
+     *
+     * @return the move
+     */
+    public EventType nextPlannedMove() {
+        return pathIndex < pathLength ? path[pathIndex++] : EventType.DOWN;
+    }
+
+    /**
+     * Finds the best placement of a brick. Ties keep the placement found first,
+     * so the choice is deterministic for a given board.
+     *
+     * @param board    the packed board
+     * @param brickId  the brick id
+     * @param rotation starting rotation
+     * @param x        starting column
+     * @param y        starting row
+     * @return index into {@link #getPlacements()}, or {@code -1} if there is none
+     */
+    public int choosePlacement(BitBoard board, int brickId, int rotation, int x, int y) {
+        int count = enumerator.enumerate(board, brickId, rotation, x, y, placements);
+        int best = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            trial.copyFrom(board);
+            int lines = trial.place(brickId, placements.getRotation(i), placements.getX(i), placements.getY(i));
+            double score = evaluator.evaluate(trial, lines);
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Makes the player choose placements with a {@link LookaheadSearch} that
+     * also considers the previewed next brick, instead of scoring each
+     * placement on its own.
+     *
+     * @param search      the search engine, or {@code null} to turn lookahead off
+     * @param depth       number of bricks to search, including the active one
+     * @param budgetNanos time allowed per decision
+     */
+    public void setLookahead(LookaheadSearch search, int depth, long budgetNanos) {
+        this.lookahead = search;
+        this.lookaheadDepth = depth;
+        this.lookaheadBudgetNanos = budgetNanos;
+    }
+
+    /**
+     * Makes the player choose placements with a {@link MonteCarloSearch} that
+     * plays out sampled futures. It takes precedence over
+     * {@link #setLookahead lookahead}.
+     *
+     * @param search      the search engine, or {@code null} to turn sampling off
+     * @param budgetNanos time allowed per decision
+     */
+    public void setMonteCarlo(MonteCarloSearch search, long budgetNanos) {
+        setMonteCarlo(search, budgetNanos, MonteCarloSearch.MAX_ROUNDS);
+    }
+
+    /**
+     * Makes the player choose placements with a {@link MonteCarloSearch} that
+     * plays at most {@code rounds} rounds of rollouts per decision.
+     *
+     * @param search      the search engine, or {@code null} to turn sampling off
+     * @param budgetNanos time allowed per decision
+     * @param rounds      rounds of rollouts allowed per decision
+     */
+    public void setMonteCarlo(MonteCarloSearch search, long budgetNanos, int rounds) {
+        this.monteCarlo = search;
+        this.monteCarloBudgetNanos = budgetNanos;
+        this.monteCarloRounds = rounds;
+    }
+
+    private int searchPlacement(BitBoard board, int brickId, int rotation, int x, int y, int nextBrickId) {
+        LookaheadSearch.Result result = lookahead.search(board, brickId, rotation, x, y, nextBrickId,
+                lookaheadDepth, lookaheadBudgetNanos);
+        int count = enumerator.enumerate(board, brickId, rotation, x, y, placements);
+        return result == null ? -1 : indexOf(count, result.getX(), result.getRotation(), result.getY());
+    }
+
+    private int sampledPlacement(BitBoard board, int brickId, int rotation, int x, int y, int nextBrickId) {
+        MonteCarloSearch.Result result = monteCarlo.search(board, brickId, rotation, x, y, nextBrickId,
+                monteCarloBudgetNanos, monteCarloRounds);
+        int count = enumerator.enumerate(board, brickId, rotation, x, y, placements);
+        return result == null ? -1 : indexOf(count, result.getX(), result.getRotation(), result.getY());
+    }
+
+    private int indexOf(int count, int x, int rotation, int y) {
+        for (int i = 0; i < count; i++) {
+            if (placements.getX(i) == x && placements.getRotation(i) == rotation && placements.getY(i) == y) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the placements found by the last planning call.
+     *
+     * @return the placement buffer, reused by later calls
+     */
+    public PlacementList getPlacements() {
+        return placements;
+    }
+
+    /**
+     * Sends one move to a game as a {@link EventSource#THREAD} event.
+     *
+     * @param listener the game's input listener
+     * @param move     the move to send
+     */
+    public static void apply(InputEventListener listener, EventType move) {
+        MoveEvent event = new MoveEvent(move, EventSource.THREAD);
+        switch (move) {
+            case LEFT:
+                listener.onLeftEvent(event);
+                break;
+            case RIGHT:
+                listener.onRightEvent(event);
+                break;
+            case ROTATE:
+                listener.onRotateEvent(event);
+                break;
+            default:
+                listener.onDownEvent(event);
+                break;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.comp2042.bot;
+
+import com.comp2042.model.BitBoard;
+
+/**
+ * Scores a board position as a weighted sum of stack features, the higher
+ * the better. Weights are normally negative for everything except
+ * {@link #LINES_CLEARED}.
+ * <p>
+ * Features are computed in a single top-to-bottom pass over the packed rows of
+ * a {@link BitBoard}, using bit operations per row and a reusable per-column
+ * scratch array, so evaluation never allocates. An evaluator is not
+ * thread-safe; use one instance per thread.
+ */
+public final class BoardEvaluator {
+
+    /** Sum of all column heights. */
+    public static final int AGGREGATE_HEIGHT = 0;
+    /** Empty cells with at least one filled cell above them. */
+    public static final int HOLES = 1;
+    /** Sum of height differences between neighbouring columns. */
+    public static final int BUMPINESS = 2;
+    /** Filled/empty changes along each row, walls counting as filled. */
+    public static final int ROW_TRANSITIONS = 3;
+    /** Filled/empty changes down each column, the floor counting as filled. */
+    public static final int COLUMN_TRANSITIONS = 4;
+    /** Cumulative depth of wells: empty cells walled in on both sides. */
+    public static final int WELLS = 5;
+    /** Rows cleared by the placement that produced the board. */
+    public static final int LINES_CLEARED = 6;
+    /** Number of features. */
+    public static final int FEATURE_COUNT = 7;
+
+    private static final double[] DEFAULT_WEIGHTS = {
+            -0.51, -3.6, -0.18, -0.32, -0.93, -0.34, 0.76
+    };
+
+    private final double[] weights;
+    private final int[] heights = new int[BitBoard.MAX_COLUMNS];
+    private final int[] wellRuns = new int[BitBoard.MAX_COLUMNS];
+    private final double[] features = new double[FEATURE_COUNT];
+
+    /**
+     * Creates an evaluator with hand-tuned default weights.
+     */
+    public BoardEvaluator() {
+        this(DEFAULT_WEIGHTS);
+    }
+
+    /**
+     * Creates an evaluator with the given weights.
+     *
+     * @param weights one weight per feature, indexed by the feature constants
+     */
+    public BoardEvaluator(double[] weights) {
+        if (weights.length != FEATURE_COUNT) {
+            throw new IllegalArgumentException("Expected " + FEATURE_COUNT + " weights, got " + weights.length);
+        }
+        this.weights = weights.clone();
+    }
+
+    /**
+     * Returns a copy of the default weights.
+     *
+     * @return the default weight vector
+     */
+    public static double[] defaultWeights() {
+        return DEFAULT_WEIGHTS.clone();
+    }
+
+    /**
+     * Returns a copy of this evaluator's weights.
+     *
+     * @return the weight vector
+     */
+    public double[] getWeights() {
+        return weights.clone();
+    }
+
+    /**
+     * Scores a board.
+     *
+     * @param board        the board after the placement
+     * @param linesCleared rows cleared by the placement
+     * @return the weighted score, higher is better
+     */
+    public double evaluate(BitBoard board, int linesCleared) {
+        computeFeatures(board, linesCleared, features);
+        double score = 0;
+        for (int i = 0; i < FEATURE_COUNT; i++) {
+            score += weights[i] * features[i];
+        }
+        return score;
+    }
+
+    /**
+     * Computes the raw feature values of a board.
+     *
+     * @param board        the board after the placement
+     * @param linesCleared rows cleared by the placement
+     * @param out          receives {@link #FEATURE_COUNT} values, indexed by the feature constants
+     */
+    public void computeFeatures(BitBoard board, int linesCleared, double[] out) {
+        int rows = board.getRows();
+        int columns = board.getColumns();
+        int full = board.getFullRowMask();
+        int leftWall = 1;
+        int rightWall = 1 << (columns - 1);
+        int outerWalls = 1 | (1 << (columns + 1));
+
+        for (int col = 0; col < columns; col++) {
+            heights[col] = 0;
+            wellRuns[col] = 0;
+        }
+
+        int covered = 0;
+        int holes = 0;
+        int rowTransitions = 0;
+        int columnTransitions = 0;
+        int wells = 0;
+        int previous = 0;
+        int inWell = 0;
+        boolean inStack = false;
+
+        for (int row = 0; row < rows; row++) {
+            int cells = board.getRow(row);
+
+            int newlyCovered = cells & ~covered;
+            while (newlyCovered != 0) {
+                int col = Integer.numberOfTrailingZeros(newlyCovered);
+                heights[col] = rows - row;
+                newlyCovered &= newlyCovered - 1;
+            }
+            holes += Integer.bitCount(covered & ~cells);
+            covered |= cells;
+
+            inStack |= cells != 0;
+            if (inStack) {
+                // Pad the row with a filled wall on each side.
+                int padded = (cells << 1) | outerWalls;
+                rowTransitions += Integer.bitCount((padded ^ (padded >>> 1)) & ((full << 1) | 1));
+            }
+            columnTransitions += Integer.bitCount(cells ^ previous);
+            previous = cells;
+
+            int wellCells = ~cells & ((cells << 1) | leftWall) & ((cells >>> 1) | rightWall) & full;
+            int ended = inWell & ~wellCells;
+            inWell = wellCells;
+            int scan = wellCells;
+            while (scan != 0) {
+                int col = Integer.numberOfTrailingZeros(scan);
+                wells += ++wellRuns[col];
+                scan &= scan - 1;
+            }
+            while (ended != 0) {
+                int col = Integer.numberOfTrailingZeros(ended);
+                wellRuns[col] = 0;
+                ended &= ended - 1;
+            }
+        }
+        columnTransitions += Integer.bitCount(~previous & full);
+
+        int aggregateHeight = 0;
+        int bumpiness = 0;
+        for (int col = 0; col < columns; col++) {
+            aggregateHeight += heights[col];
+            if (col > 0) {
+                bumpiness += Math.abs(heights[col] - heights[col - 1]);
+            }
+        }
+
+        out[AGGREGATE_HEIGHT] = aggregateHeight;
+        out[HOLES] = holes;
+        out[BUMPINESS] = bumpiness;
+        out[ROW_TRANSITIONS] = rowTransitions;
+        out[COLUMN_TRANSITIONS] = columnTransitions;
+        out[WELLS] = wells;
+        out[LINES_CLEARED] = linesCleared;
+    }
+}
@@ -0,0 +1,24 @@
+package com.comp2042.bot;
+
+import com.comp2042.controller.GameController;
+import com.comp2042.event.EventType;
+import com.comp2042.event.InputEventListener;
+
+/**
+ * A player that drives a game through its {@link InputEventListener}, one
+ * move at a time.
+ * <p>
+ * The caller asks for a move and sends it, normally with
+ * {@link AutoPlayer#apply(InputEventListener, EventType)}. A bot instance
+ * plays one game at a time from a single thread.
+ */
+public interface Bot {
+
+    /**
+     * Returns the next move for the controller's active brick.
+     *
+     * @param controller the game being played
+     * @return the move to send, or {@code null} if the bot has no move
+     */
+    EventType nextMove(GameController controller);
+}
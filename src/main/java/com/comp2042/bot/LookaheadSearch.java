@@ -0,0 +1,351 @@
+package com.comp2042.bot;
+
+import com.comp2042.bot.SearchSupport.Run;
+import com.comp2042.model.BitBoard;
+import com.comp2042.model.PieceTable;
+import com.comp2042.model.PlacementList;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.model.ZobristHash;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Chooses a placement for the active brick by looking ahead at the bricks
+ * that follow it.
+ * <p>
+ * Depth 1 scores each placement of the active brick on its own. Depth 2 also
+ * places the previewed next brick and keeps the best follow-up. Deeper levels
+ * do not know the brick, so they average the best follow-up over all seven
+ * bricks; there only the {@code beamWidth} most promising placements by
+ * static score are expanded.
+ * <p>
+ * The subtree under each placement of the active brick is evaluated as a
+ * separate task on a {@link ForkJoinPool}. Each subtree is searched
+ * sequentially and results are combined in placement order with ties going to
+ * the earlier placement, so the answer does not depend on the number of
+ * threads. The search deepens one level at a time and returns the answer of
+ * the deepest level that finished before the time budget ran out or
+ * {@link #cancel()} was called.
+ * <p>
+ * Node values are cached in a {@link TranspositionTable} keyed by the
+ * board's {@link BitBoard#getHash() Zobrist hash}, the brick and the search
+ * level, so positions reached by different placement orders, and subtrees
+ * already searched by the previous iteration or the previous decision, are
+ * not searched again. Cached values exclude the lines cleared on the way to
+ * the position; the evaluation is linear in lines cleared, so they are added
+ * back by the caller.
+ * <p>
+ * One search may run at a time per instance.
+ */
+public final class LookaheadSearch {
+
+    /** Deepest supported search. */
+    public static final int MAX_DEPTH = 4;
+
+    private static final double NO_PLACEMENT = -1.0e9;
+    private static final int DEFAULT_TABLE_CAPACITY_LOG2 = 16;
+
+    private final int rows;
+    private final int columns;
+    private final double[] weights;
+    private final ForkJoinPool pool;
+    private final int beamWidth;
+    private final double lineWeight;
+    private final TranspositionTable table;
+    private final ThreadLocal<Workspace> workspaces;
+    private final Workspace rootWorkspace;
+    private volatile Run currentRun;
+
+    /**
+     * Result of a search: the chosen placement of the active brick.
+     */
+    public static final class Result {
+        private final int x;
+        private final int rotation;
+        private final int y;
+        private final double score;
+        private final int completedDepth;
+
+        Result(int x, int rotation, int y, double score, int completedDepth) {
+            this.x = x;
+            this.rotation = rotation;
+            this.y = y;
+            this.score = score;
+            this.completedDepth = completedDepth;
+        }
+
+        /** @return column of the shape origin */
+        public int getX() { return x; }
+
+        /** @return rotation index */
+        public int getRotation() { return rotation; }
+
+        /** @return landing row of the shape origin */
+        public int getY() { return y; }
+
+        /** @return search score of the placement, higher is better */
+        public double getScore() { return score; }
+
+        /** @return deepest level that finished within the budget */
+        public int getCompletedDepth() { return completedDepth; }
+    }
+
+    /**
+     * Creates a search engine with its own transposition table.
+     *
+     * @param rows      number of board rows
+     * @param columns   number of board columns
+     * @param weights   evaluation weights, see {@link BoardEvaluator}
+     * @param pool      pool that runs the subtree tasks
+     * @param beamWidth placements expanded per node below depth 2
+     */
+    public LookaheadSearch(int rows, int columns, double[] weights, ForkJoinPool pool, int beamWidth) {
+        this(rows, columns, weights, pool, beamWidth, new TranspositionTable(DEFAULT_TABLE_CAPACITY_LOG2));
+    }
+
+    /**
+     * Creates a search engine that caches node values in the given table. A
+     * table may only be shared by engines with the same board size, weights
+     * and beam width.
+     *
+     * @param rows      number of board rows
+     * @param columns   number of board columns
+     * @param weights   evaluation weights, see {@link BoardEvaluator}
+     * @param pool      pool that runs the subtree tasks
+     * @param beamWidth placements expanded per node below depth 2
+     * @param table     cache of node values
+     */
+    public LookaheadSearch(int rows, int columns, double[] weights, ForkJoinPool pool, int beamWidth,
+                           TranspositionTable table) {
+        this.rows = rows;
+        this.columns = columns;
+        this.weights = weights.clone();
+        this.pool = pool;
+        this.beamWidth = Math.max(1, beamWidth);
+        this.lineWeight = this.weights[BoardEvaluator.LINES_CLEARED];
+        this.table = table;
+        this.workspaces = ThreadLocal.withInitial(this::newWorkspace);
+        this.rootWorkspace = newWorkspace();
+    }
+
+    private Workspace newWorkspace() {
+        return new Workspace(rows, columns, weights);
+    }
+
+    /**
+     * Searches for the best placement of the active brick.
+     *
+     * @param board       the packed board
+     * @param brickId     active brick id
+     * @param rotation    active brick rotation
+     * @param x           active brick column
+     * @param y           active brick row
+     * @param nextBrickId previewed next brick id, or {@code 0} if unknown
+     * @param maxDepth    deepest level to search, {@code 1..MAX_DEPTH}
+     * @param budgetNanos time budget; levels that do not finish in time are discarded;
+     *                    {@link Long#MAX_VALUE} always searches to {@code maxDepth}
+     * @return the chosen placement, or {@code null} if the brick cannot be placed
+     */
+    public Result search(BitBoard board, int brickId, int rotation, int x, int y,
+                         int nextBrickId, int maxDepth, long budgetNanos) {
+        Run run = new Run(budgetNanos);
+        currentRun = run;
+        table.newSearch();
+        try {
+            Workspace ws = rootWorkspace;
+            PlacementList roots = ws.lists[0];
+            int count = ws.enumerator.enumerate(board, brickId, rotation, x, y, roots);
+            if (count == 0) {
+                return null;
+            }
+            int[] rootX = new int[count];
+            int[] rootRotation = new int[count];
+            int[] rootY = new int[count];
+            int[] rootLines = new int[count];
+            BitBoard[] rootBoards = new BitBoard[count];
+            double[] values = new double[count];
+            for (int i = 0; i < count; i++) {
+                rootX[i] = roots.getX(i);
+                rootRotation[i] = roots.getRotation(i);
+                rootY[i] = roots.getY(i);
+                rootBoards[i] = new BitBoard(rows, columns);
+                rootBoards[i].copyFrom(board);
+                rootLines[i] = rootBoards[i].place(brickId, rootRotation[i], rootX[i], rootY[i]);
+                values[i] = ws.evaluator.evaluate(rootBoards[i], rootLines[i]);
+            }
+            int best = SearchSupport.argMax(values);
+            Result result = new Result(rootX[best], rootRotation[best], rootY[best], values[best], 1);
+
+            int depthLimit = Math.min(maxDepth, MAX_DEPTH);
+            for (int depth = 2; depth <= depthLimit; depth++) {
+                double[] deeper = new double[count];
+                SubtreeTask task = new SubtreeTask(run, rootBoards, rootLines, nextBrickId, depth, deeper, 0, count);
+                pool.invoke(task);
+                if (run.isStopped()) {
+                    break;
+                }
+                best = SearchSupport.argMax(deeper);
+                result = new Result(rootX[best], rootRotation[best], rootY[best], deeper[best], depth);
+            }
+            return result;
+        } finally {
+            currentRun = null;
+        }
+    }
+
+    /**
+     * Stops the running search. It returns the result of the deepest level
+     * that had already finished.
+     */
+    public void cancel() {
+        Run run = currentRun;
+        if (run != null) {
+            run.cancel();
+        }
+    }
+
+    /**
+     * Best value reachable from {@code board} by placing the brick of
+     * {@code level}, searching down to {@code depth} bricks in total. Lines
+     * cleared before {@code board} are not included.
+     */
+    private double bestValue(Workspace ws, Run run, BitBoard board, int brickId, int level, int depth) {
+        if (run.isStopped()) {
+            return NO_PLACEMENT;
+        }
+        long key = board.getHash() ^ ZobristHash.pieceKey(brickId) ^ ZobristHash.depthKey(level << 4 | depth);
+        double cached = table.probe(key, depth - level);
+        if (!Double.isNaN(cached)) {
+            return cached;
+        }
+        double best = searchNode(ws, run, board, brickId, level, depth);
+        if (!run.isStopped()) {
+            // A stopped search may have cut subtrees short; never cache its values.
+            table.store(key, best, depth - level);
+        }
+        return best;
+    }
+
+    private double searchNode(Workspace ws, Run run, BitBoard board, int brickId, int level, int depth) {
+        PlacementList list = ws.lists[level];
+        int count = ws.enumerator.enumerate(board, brickId, 0, SimpleBoard.SPAWN_X, SimpleBoard.SPAWN_Y, list);
+        if (count == 0) {
+            return NO_PLACEMENT;
+        }
+        BitBoard child = ws.boards[level];
+        boolean leaf = level + 1 == depth;
+        if (leaf || level < 2) {
+            double best = NO_PLACEMENT;
+            for (int i = 0; i < count; i++) {
+                child.copyFrom(board);
+                int cleared = child.place(brickId, list.getRotation(i), list.getX(i), list.getY(i));
+                double value = leaf
+                        ? ws.evaluator.evaluate(child, cleared)
+                        : lineWeight * cleared + expectedValue(ws, run, child, level + 1, depth, 0);
+                if (value > best) {
+                    best = value;
+                }
+            }
+            return best;
+        }
+
+        // Unknown bricks below depth 2: expand only the strongest placements.
+        double[] scores = ws.scores[level];
+        int[] order = ws.order[level];
+        for (int i = 0; i < count; i++) {
+            child.copyFrom(board);
+            int cleared = child.place(brickId, list.getRotation(i), list.getX(i), list.getY(i));
+            scores[i] = ws.evaluator.evaluate(child, cleared);
+            order[i] = i;
+        }
+        int width = Math.min(beamWidth, count);
+        SearchSupport.selectTop(order, scores, count, width);
+        double best = NO_PLACEMENT;
+        for (int k = 0; k < width; k++) {
+            int i = order[k];
+            child.copyFrom(board);
+            int cleared = child.place(brickId, list.getRotation(i), list.getX(i), list.getY(i));
+            double value = lineWeight * cleared + expectedValue(ws, run, child, level + 1, depth, 0);
+            if (value > best) {
+                best = value;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Value of a board before the brick of {@code level} is placed: the known
+     * brick if {@code brickId} is set, otherwise the average over all bricks.
+     */
+    private double expectedValue(Workspace ws, Run run, BitBoard board, int level, int depth, int brickId) {
+        if (brickId != 0) {
+            return bestValue(ws, run, board, brickId, level, depth);
+        }
+        double total = 0;
+        for (int id = PieceTable.FIRST_ID; id <= PieceTable.LAST_ID; id++) {
+            total += bestValue(ws, run, board, id, level, depth);
+        }
+        return total / (PieceTable.LAST_ID - PieceTable.FIRST_ID + 1);
+    }
+
+    /**
+     * Evaluates the subtrees under a range of root placements, splitting the
+     * range in half until a single placement remains.
+     */
+    private final class SubtreeTask extends RecursiveAction {
+        private final Run run;
+        private final BitBoard[] rootBoards;
+        private final int[] rootLines;
+        private final int nextBrickId;
+        private final int depth;
+        private final double[] out;
+        private final int from;
+        private final int to;
+
+        SubtreeTask(Run run, BitBoard[] rootBoards, int[] rootLines, int nextBrickId, int depth,
+                    double[] out, int from, int to) {
+            this.run = run;
+            this.rootBoards = rootBoards;
+            this.rootLines = rootLines;
+            this.nextBrickId = nextBrickId;
+            this.depth = depth;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SubtreeTask(run, rootBoards, rootLines, nextBrickId, depth, out, from, mid),
+                        new SubtreeTask(run, rootBoards, rootLines, nextBrickId, depth, out, mid, to));
+                return;
+            }
+            Workspace ws = workspaces.get();
+            out[from] = lineWeight * rootLines[from] + expectedValue(ws, run, rootBoards[from], 1, depth, nextBrickId);
+        }
+    }
+
+    /**
+     * Per-thread search buffers, one set per search level.
+     */
+    private static final class Workspace extends SearchSupport.Workspace {
+        private final PlacementList[] lists = new PlacementList[MAX_DEPTH];
+        private final BitBoard[] boards = new BitBoard[MAX_DEPTH];
+        private final double[][] scores = new double[MAX_DEPTH][];
+        private final int[][] order = new int[MAX_DEPTH][];
+
+        Workspace(int rows, int columns, double[] weights) {
+            super(rows, columns, weights);
+            int maxPlacements = PieceTable.MAX_ROTATIONS * (columns + PieceTable.SHAPE_SIZE) * rows;
+            for (int level = 0; level < MAX_DEPTH; level++) {
+                lists[level] = new PlacementList();
+                boards[level] = new BitBoard(rows, columns);
+                scores[level] = new double[maxPlacements];
+                order[level] = new int[maxPlacements];
+            }
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.comp2042.bot;
+
+import com.comp2042.bot.SearchSupport.Run;
+import com.comp2042.controller.BrickGenerator;
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.model.BitBoard;
+import com.comp2042.model.PlacementList;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.model.SplitMix;
+import com.comp2042.model.ZobristHash;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongFunction;
+
+/**
+ * Chooses a placement for the active brick by playing out sampled futures.
+ * <p>
+ * Only the active brick and the previewed next brick are known. For each of
+ * the most promising placements of the active brick by static score, the
+ * search plays short rollouts: the next brick and then {@code horizon - 1}
+ * bricks drawn from a {@link BrickGenerator} are each dropped into their best
+ * placement by {@link BoardEvaluator}. A rollout is worth the lines it cleared
+ * plus the evaluation of the board it ends on, and a placement is worth the
+ * mean of its rollouts.
+ * <p>
+ * Rollout {@code k} uses the same brick sequence under every candidate
+ * placement (common random numbers), so differences between candidates come
+ * from the placements and not from luckier bricks, and far fewer rollouts
+ * separate them. Rollouts run as tasks on a {@link ForkJoinPool}; each thread
+ * owns a generator that is reseeded for every rollout, and the seeds depend
+ * only on the position, so the answer does not depend on the number of
+ * threads.
+ * <p>
+ * Rollouts are played in rounds of four per candidate, up to
+ * {@link #MAX_ROUNDS}. The search returns the best placement after the last
+ * round that finished within the time budget, or before {@link #cancel()} was
+ * called; if not even one round finished, it falls back to the best static
+ * score.
+ * <p>
+ * One search may run at a time per instance.
+ */
+public final class MonteCarloSearch {
+
+    /** Default number of bricks played per rollout, including the next brick. */
+    public static final int DEFAULT_HORIZON = 6;
+
+    /** Default number of placements of the active brick that get rollouts. */
+    public static final int DEFAULT_CANDIDATES = 8;
+
+    /** Rounds after which a search stops even if budget is left. */
+    public static final int MAX_ROUNDS = 64;
+
+    private static final int ROLLOUTS_PER_ROUND = 4;
+    private static final double TOP_OUT_VALUE = -1.0e6;
+
+    private final int rows;
+    private final int columns;
+    private final double[] weights;
+    private final ForkJoinPool pool;
+    private final LongFunction<? extends BrickGenerator> generators;
+    private final int horizon;
+    private final int candidateCount;
+    private final double lineWeight;
+    private final ThreadLocal<Workspace> workspaces;
+    private final Workspace rootWorkspace;
+    private volatile Run currentRun;
+
+    /**
+     * Result of a search: the chosen placement of the active brick.
+     */
+    public static final class Result {
+        private final int x;
+        private final int rotation;
+        private final int y;
+        private final double mean;
+        private final int rollouts;
+
+        Result(int x, int rotation, int y, double mean, int rollouts) {
+            this.x = x;
+            this.rotation = rotation;
+            this.y = y;
+            this.mean = mean;
+            this.rollouts = rollouts;
+        }
+
+        /** @return column of the shape origin */
+        public int getX() { return x; }
+
+        /** @return rotation index */
+        public int getRotation() { return rotation; }
+
+        /** @return landing row of the shape origin */
+        public int getY() { return y; }
+
+        /** @return mean rollout value of the placement, or its static score if no round finished */
+        public double getMean() { return mean; }
+
+        /** @return rollouts played per candidate placement */
+        public int getRollouts() { return rollouts; }
+    }
+
+    /**
+     * Creates a search that samples bricks from {@link RandomBrickGenerator}
+     * with the default horizon and candidate count.
+     *
+     * @param rows    number of board rows
+     * @param columns number of board columns
+     * @param weights evaluation weights, see {@link BoardEvaluator}
+     * @param pool    pool that runs the rollouts
+     */
+    public MonteCarloSearch(int rows, int columns, double[] weights, ForkJoinPool pool) {
+        this(rows, columns, weights, pool, RandomBrickGenerator::new, DEFAULT_HORIZON, DEFAULT_CANDIDATES);
+    }
+
+    /**
+     * Creates a search.
+     *
+     * @param rows       number of board rows
+     * @param columns    number of board columns
+     * @param weights    evaluation weights, see {@link BoardEvaluator}
+     * @param pool       pool that runs the rollouts
+     * @param generators creates a generator from a seed; each thread creates
+     *                   one and reseeds it with {@link BrickGenerator#restoreState}
+     * @param horizon    bricks played per rollout, including the next brick
+     * @param candidates placements of the active brick that get rollouts
+     */
+    public MonteCarloSearch(int rows, int columns, double[] weights, ForkJoinPool pool,
+                            LongFunction<? extends BrickGenerator> generators, int horizon, int candidates) {
+        this.rows = rows;
+        this.columns = columns;
+        this.weights = weights.clone();
+        this.pool = pool;
+        this.generators = generators;
+        this.horizon = Math.max(1, horizon);
+        this.candidateCount = Math.max(1, candidates);
+        this.lineWeight = this.weights[BoardEvaluator.LINES_CLEARED];
+        this.workspaces = ThreadLocal.withInitial(this::newWorkspace);
+        this.rootWorkspace = newWorkspace();
+    }
+
+    private Workspace newWorkspace() {
+        return new Workspace(rows, columns, weights, generators.apply(0L));
+    }
+
+    /**
+     * Searches for the best placement of the active brick.
+     *
+     * @param board       the packed board
+     * @param brickId     active brick id
+     * @param rotation    active brick rotation
+     * @param x           active brick column
+     * @param y           active brick row
+     * @param nextBrickId previewed next brick id, or {@code 0} if unknown
+     * @param budgetNanos time budget; rounds that do not finish in time are discarded
+     * @return the chosen placement, or {@code null} if the brick cannot be placed
+     */
+    public Result search(BitBoard board, int brickId, int rotation, int x, int y,
+                         int nextBrickId, long budgetNanos) {
+        return search(board, brickId, rotation, x, y, nextBrickId, budgetNanos, MAX_ROUNDS);
+    }
+
+    /**
+     * Searches for the best placement of the active brick, playing at most
+     * {@code maxRounds} rounds. With a budget of {@link Long#MAX_VALUE} every
+     * round is played, so the answer does not depend on machine speed or load.
+     *
+     * @param board       the packed board
+     * @param brickId     active brick id
+     * @param rotation    active brick rotation
+     * @param x           active brick column
+     * @param y           active brick row
+     * @param nextBrickId previewed next brick id, or {@code 0} if unknown
+     * @param budgetNanos time budget; rounds that do not finish in time are discarded
+     * @param maxRounds   rounds after which the search stops, {@code 1..MAX_ROUNDS}
+     * @return the chosen placement, or {@code null} if the brick cannot be placed
+     */
+    public Result search(BitBoard board, int brickId, int rotation, int x, int y,
+                         int nextBrickId, long budgetNanos, int maxRounds) {
+        int rounds = Math.max(1, Math.min(MAX_ROUNDS, maxRounds));
+        Run run = new Run(budgetNanos);
+        currentRun = run;
+        try {
+            Workspace ws = rootWorkspace;
+            PlacementList placements = ws.placements;
+            int count = ws.enumerator.enumerate(board, brickId, rotation, x, y, placements);
+            if (count == 0) {
+                return null;
+            }
+            double[] scores = new double[count];
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) {
+                ws.board.copyFrom(board);
+                int lines = ws.board.place(brickId, placements.getRotation(i), placements.getX(i), placements.getY(i));
+                scores[i] = ws.evaluator.evaluate(ws.board, lines);
+                order[i] = i;
+            }
+            int width = Math.min(candidateCount, count);
+            SearchSupport.selectTop(order, scores, count, width);
+
+            int[] candX = new int[width];
+            int[] candRotation = new int[width];
+            int[] candY = new int[width];
+            BitBoard[] candBoards = new BitBoard[width];
+            double[] candLineValues = new double[width];
+            for (int k = 0; k < width; k++) {
+                int i = order[k];
+                candX[k] = placements.getX(i);
+                candRotation[k] = placements.getRotation(i);
+                candY[k] = placements.getY(i);
+                candBoards[k] = new BitBoard(rows, columns);
+                candBoards[k].copyFrom(board);
+                candLineValues[k] = lineWeight * candBoards[k].place(brickId, candRotation[k], candX[k], candY[k]);
+            }
+            Result result = new Result(candX[0], candRotation[0], candY[0], scores[order[0]], 0);
+            if (width == 1) {
+                return result;
+            }
+
+            long searchSeed = board.getHash() ^ ZobristHash.pieceKey(brickId) ^ ZobristHash.depthKey(nextBrickId);
+            double[] totals = new double[width];
+            double[] round = new double[width * ROLLOUTS_PER_ROUND];
+            for (int r = 0; r < rounds && !run.isStopped(); r++) {
+                long firstSeed = searchSeed + (long) r * ROLLOUTS_PER_ROUND * SplitMix.GOLDEN_GAMMA;
+                pool.invoke(new RolloutTask(run, candBoards, candLineValues, nextBrickId, firstSeed, round,
+                        0, round.length));
+                if (run.isStopped()) {
+                    break;
+                }
+                for (int j = 0; j < round.length; j++) {
+                    totals[j / ROLLOUTS_PER_ROUND] += round[j];
+                }
+                int best = SearchSupport.argMax(totals);
+                int rollouts = (r + 1) * ROLLOUTS_PER_ROUND;
+                result = new Result(candX[best], candRotation[best], candY[best], totals[best] / rollouts, rollouts);
+            }
+            return result;
+        } finally {
+            currentRun = null;
+        }
+    }
+
+    /**
+     * Stops the running search. It returns the result of the last round that
+     * had already finished.
+     */
+    public void cancel() {
+        Run run = currentRun;
+        if (run != null) {
+            run.cancel();
+        }
+    }
+
+    /**
+     * Plays one rollout from a candidate board: the next brick, if known, and
+     * then bricks from the thread's generator reseeded with {@code seed}.
+     */
+    private double rollout(Workspace ws, BitBoard start, int nextBrickId, long seed) {
+        BitBoard board = ws.board;
+        board.copyFrom(start);
+        ws.generator.restoreState(seed, ws.noQueue, 0);
+        double value = 0;
+        for (int step = 0; step < horizon; step++) {
+            int brickId = step == 0 && nextBrickId != 0 ? nextBrickId : ws.generator.getBrick().getId();
+            if (board.collides(brickId, 0, SimpleBoard.SPAWN_X, SimpleBoard.SPAWN_Y)) {
+                return TOP_OUT_VALUE;
+            }
+            PlacementList placements = ws.placements;
+            int count = ws.enumerator.enumerate(board, brickId, 0, SimpleBoard.SPAWN_X, SimpleBoard.SPAWN_Y,
+                    placements);
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                ws.trial.copyFrom(board);
+                int lines = ws.trial.place(brickId, placements.getRotation(i), placements.getX(i), placements.getY(i));
+                double score = ws.evaluator.evaluate(ws.trial, lines);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                return TOP_OUT_VALUE;
+            }
+            value += lineWeight * board.place(brickId, placements.getRotation(best), placements.getX(best),
+                    placements.getY(best));
+        }
+        return value + ws.evaluator.evaluate(board, 0);
+    }
+
+    /**
+     * Plays one round of rollouts over a range of (candidate, rollout) pairs,
+     * splitting the range in half until a single rollout remains. Entry
+     * {@code j} is rollout {@code j % ROLLOUTS_PER_ROUND} of candidate
+     * {@code j / ROLLOUTS_PER_ROUND}; the rollout number alone picks the seed.
+     */
+    private final class RolloutTask extends RecursiveAction {
+        private final Run run;
+        private final BitBoard[] candBoards;
+        private final double[] candLineValues;
+        private final int nextBrickId;
+        private final long firstSeed;
+        private final double[] out;
+        private final int from;
+        private final int to;
+
+        RolloutTask(Run run, BitBoard[] candBoards, double[] candLineValues, int nextBrickId, long firstSeed,
+                    double[] out, int from, int to) {
+            this.run = run;
+            this.candBoards = candBoards;
+            this.candLineValues = candLineValues;
+            this.nextBrickId = nextBrickId;
+            this.firstSeed = firstSeed;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RolloutTask(run, candBoards, candLineValues, nextBrickId, firstSeed, out, from, mid),
+                        new RolloutTask(run, candBoards, candLineValues, nextBrickId, firstSeed, out, mid, to));
+                return;
+            }
+            if (run.isStopped()) {
+                return;
+            }
+            int candidate = from / ROLLOUTS_PER_ROUND;
+            long seed = firstSeed + (from % ROLLOUTS_PER_ROUND) * SplitMix.GOLDEN_GAMMA;
+            out[from] = candLineValues[candidate] + rollout(workspaces.get(), candBoards[candidate], nextBrickId, seed);
+        }
+    }
+
+    /**
+     * Per-thread rollout buffers and brick generator.
+     */
+    private static final class Workspace extends SearchSupport.Workspace {
+        private final BrickGenerator generator;
+        private final PlacementList placements = new PlacementList();
+        private final BitBoard board;
+        private final BitBoard trial;
+        private final int[] noQueue = new int[0];
+
+        Workspace(int rows, int columns, double[] weights, BrickGenerator generator) {
+            super(rows, columns, weights);
+            this.generator = generator;
+            this.board = new BitBoard(rows, columns);
+            this.trial = new BitBoard(rows, columns);
+        }
+    }
+}
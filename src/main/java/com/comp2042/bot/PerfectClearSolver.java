@@ -0,0 +1,437 @@
+package com.comp2042.bot;
+
+import com.comp2042.controller.BrickGenerator;
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.model.BitBoard;
+import com.comp2042.model.BoardText;
+import com.comp2042.model.PieceTable;
+import com.comp2042.model.PlacementEnumerator;
+import com.comp2042.model.PlacementList;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.model.ZobristHash;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides whether a board can be emptied completely by a known brick
+ * sequence, and finds the placements that do it. Used to generate and check
+ * puzzle levels offline.
+ * <p>
+ * The search is a depth-first walk over the reachable placements of each brick
+ * in turn, as produced by {@link PlacementEnumerator}. Three things keep it
+ * small:
+ * <ul>
+ *     <li>Positions already shown to be unsolvable are remembered in a
+ *     {@link TranspositionTable} keyed by the board's Zobrist hash and the
+ *     number of bricks placed. The brick sequence is fixed, so the two together
+ *     identify the position.</li>
+ *     <li>Placements of the same brick that leave the same board, such as the
+ *     mirror-image rotations of the I, S and Z bricks, are expanded once.</li>
+ *     <li>A position is dropped as soon as no number of remaining bricks can
+ *     fill exactly the cells needed to complete every non-empty row. Each
+ *     brick adds four cells and each cleared line removes a full row of them.</li>
+ * </ul>
+ * The subtrees under the first brick's placements are searched as separate
+ * tasks on a {@link ForkJoinPool} and share the table. Of all solutions, the
+ * one found first by a sequential search in placement order is returned, so
+ * the answer does not depend on the number of threads; subtrees after one that
+ * is already solved are abandoned.
+ * <p>
+ * One solve may run at a time per instance.
+ */
+public final class PerfectClearSolver {
+
+    /** Longest supported brick sequence. */
+    public static final int MAX_PIECES = 64;
+
+    private static final int DEFAULT_TABLE_CAPACITY_LOG2 = 20;
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+    private static final String DEFAULT_PUZZLE = ".......######/##...########/###..########";
+
+    private final int rows;
+    private final int columns;
+    private final ForkJoinPool pool;
+    private final TranspositionTable table;
+    private final ThreadLocal<Workspace> workspaces;
+    private int solveCount;
+
+    /**
+     * Placements that empty the board, one per brick used.
+     */
+    public static final class Solution {
+        private final int[] brickIds;
+        private final int[] rotations;
+        private final int[] xs;
+        private final int[] ys;
+
+        Solution(int[] brickIds, int[] rotations, int[] xs, int[] ys) {
+            this.brickIds = brickIds;
+            this.rotations = rotations;
+            this.xs = xs;
+            this.ys = ys;
+        }
+
+        /** @return the number of bricks used, which may be fewer than allowed */
+        public int getLength() { return brickIds.length; }
+
+        /** @return id of the {@code i}-th brick */
+        public int getBrickId(int i) { return brickIds[i]; }
+
+        /** @return rotation index of the {@code i}-th brick */
+        public int getRotation(int i) { return rotations[i]; }
+
+        /** @return column of the {@code i}-th brick's shape origin */
+        public int getX(int i) { return xs[i]; }
+
+        /** @return landing row of the {@code i}-th brick's shape origin */
+        public int getY(int i) { return ys[i]; }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < brickIds.length; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(brickIds[i]).append('@').append(xs[i]).append(',').append(ys[i])
+                        .append(" r").append(rotations[i]);
+            }
+            return builder.toString();
+        }
+    }
+
+    /**
+     * Creates a solver with a table of {@code 2^20} entries.
+     *
+     * @param rows    number of board rows
+     * @param columns number of board columns
+     * @param pool    pool that runs the subtree tasks
+     */
+    public PerfectClearSolver(int rows, int columns, ForkJoinPool pool) {
+        this(rows, columns, pool, new TranspositionTable(DEFAULT_TABLE_CAPACITY_LOG2));
+    }
+
+    /**
+     * Creates a solver that remembers unsolvable positions in the given table.
+     * The table should not be shared with other solvers or searches.
+     *
+     * @param rows    number of board rows
+     * @param columns number of board columns
+     * @param pool    pool that runs the subtree tasks
+     * @param table   cache of unsolvable positions
+     */
+    public PerfectClearSolver(int rows, int columns, ForkJoinPool pool, TranspositionTable table) {
+        this.rows = rows;
+        this.columns = columns;
+        this.pool = pool;
+        this.table = table;
+        this.workspaces = ThreadLocal.withInitial(() -> new Workspace(rows, columns));
+    }
+
+    /**
+     * Returns the first {@code count} brick ids a generator deals.
+     *
+     * @param generator the generator, which is advanced
+     * @param count     number of bricks
+     * @return the brick ids in order
+     */
+    public static int[] sequence(BrickGenerator generator, int count) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = generator.getBrick().getId();
+        }
+        return ids;
+    }
+
+    /**
+     * Searches for placements of a prefix of {@code brickIds} that leave the
+     * board empty. Every brick starts at the spawn position in rotation 0 and
+     * must reach its placement by legal moves.
+     *
+     * @param cells     locked cells indexed {@code [row][column]}, for example from {@link BoardText}
+     * @param brickIds  the brick sequence
+     * @param maxPieces use at most this many bricks, at most {@link #MAX_PIECES}
+     * @return the solution, or {@code null} if there is none
+     */
+    public Solution solve(int[][] cells, int[] brickIds, int maxPieces) {
+        int limit = Math.min(Math.min(maxPieces, brickIds.length), MAX_PIECES);
+        BitBoard board = new BitBoard(rows, columns);
+        board.load(cells);
+        if (board.getStackTop() == rows) {
+            return new Solution(new int[0], new int[0], new int[0], new int[0]);
+        }
+        if (limit == 0) {
+            return null;
+        }
+        table.newSearch();
+        // Entries left by earlier solves describe other brick sequences; a
+        // fresh salt keeps them from matching.
+        long salt = ZobristHash.depthKey(++solveCount << 8);
+        Run run = new Run(brickIds, limit, salt);
+
+        Workspace ws = workspaces.get();
+        PlacementList roots = new PlacementList();
+        int[] kept = new int[ws.kept[0].length];
+        int count = uniquePlacements(ws, board, brickIds[0], roots, kept);
+        if (count == 0) {
+            return null;
+        }
+        int[][] paths = new int[count][];
+        int[] lengths = new int[count];
+        RootTask task = new RootTask(run, board, filledCells(board), roots, kept, paths, lengths, 0, count);
+        pool.invoke(task);
+        int winner = run.solvedRoot.get();
+        if (winner == Integer.MAX_VALUE) {
+            return null;
+        }
+        int length = lengths[winner];
+        int[] path = paths[winner];
+        int[] rotations = new int[length];
+        int[] xs = new int[length];
+        int[] ys = new int[length];
+        for (int i = 0; i < length; i++) {
+            rotations[i] = path[i * 3];
+            xs[i] = path[i * 3 + 1];
+            ys[i] = path[i * 3 + 2];
+        }
+        return new Solution(Arrays.copyOf(brickIds, length), rotations, xs, ys);
+    }
+
+    /**
+     * Searches the position before brick {@code index}. On success the
+     * placements of bricks {@code index..} are written to {@code path}.
+     *
+     * @return the total number of bricks in the solution, or {@code 0} if there is none
+     */
+    private int solveFrom(Workspace ws, Run run, int rootIndex, BitBoard board, int index, int filled, int[] path) {
+        if (run.isAbandoned(rootIndex) || !canStillClear(board, filled, run.limit - index)) {
+            return 0;
+        }
+        long key = board.getHash() ^ ZobristHash.depthKey(index) ^ run.salt;
+        if (!Double.isNaN(table.probe(key, 0))) {
+            return 0;
+        }
+        int brickId = run.brickIds[index];
+        PlacementList list = ws.lists[index];
+        int[] kept = ws.kept[index];
+        int count = uniquePlacements(ws, board, brickId, list, kept);
+        BitBoard child = ws.boards[index];
+        for (int k = 0; k < count; k++) {
+            int i = kept[k];
+            child.copyFrom(board);
+            int cleared = child.place(brickId, list.getRotation(i), list.getX(i), list.getY(i));
+            int childFilled = filled + 4 - cleared * columns;
+            int length = childFilled == 0 ? index + 1
+                    : index + 1 < run.limit ? solveFrom(ws, run, rootIndex, child, index + 1, childFilled, path)
+                    : 0;
+            if (length > 0) {
+                path[index * 3] = list.getRotation(i);
+                path[index * 3 + 1] = list.getX(i);
+                path[index * 3 + 2] = list.getY(i);
+                return length;
+            }
+        }
+        if (!run.isAbandoned(rootIndex)) {
+            // An abandoned subtree may have been cut short; never record it as unsolvable.
+            table.store(key, 0.0, run.limit - index);
+        }
+        return 0;
+    }
+
+    /**
+     * Enumerates the placements of a brick from the spawn position and keeps
+     * only the first placement for each distinct resulting board.
+     *
+     * @param kept receives the indices into {@code out} of the kept placements
+     * @return the number of kept placements
+     */
+    private int uniquePlacements(Workspace ws, BitBoard board, int brickId, PlacementList out, int[] kept) {
+        int count = ws.enumerator.enumerate(board, brickId, 0, SimpleBoard.SPAWN_X, SimpleBoard.SPAWN_Y, out);
+        long[] seen = ws.seen;
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            ws.scratch.copyFrom(board);
+            ws.scratch.place(brickId, out.getRotation(i), out.getX(i), out.getY(i));
+            long hash = ws.scratch.getHash();
+            boolean duplicate = false;
+            for (int j = 0; j < unique && !duplicate; j++) {
+                duplicate = seen[j] == hash;
+            }
+            if (!duplicate) {
+                seen[unique] = hash;
+                kept[unique++] = i;
+            }
+        }
+        return unique;
+    }
+
+    /**
+     * Returns whether some number of the remaining bricks could fill exactly
+     * enough cells to complete every non-empty row.
+     */
+    private boolean canStillClear(BitBoard board, int filled, int remaining) {
+        int usedRows = 0;
+        for (int row = board.getStackTop(); row < rows; row++) {
+            if (board.getRow(row) != 0) {
+                usedRows++;
+            }
+        }
+        for (int k = 1; k <= remaining; k++) {
+            int total = filled + 4 * k;
+            if (total % columns == 0 && total / columns >= usedRows) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int filledCells(BitBoard board) {
+        int filled = 0;
+        for (int row = board.getStackTop(); row < rows; row++) {
+            filled += Integer.bitCount(board.getRow(row));
+        }
+        return filled;
+    }
+
+    /**
+     * Searches the subtrees under a range of first-brick placements, splitting
+     * the range in half until a single placement remains.
+     */
+    private final class RootTask extends RecursiveAction {
+        private final Run run;
+        private final BitBoard board;
+        private final int filled;
+        private final PlacementList roots;
+        private final int[] kept;
+        private final int[][] paths;
+        private final int[] lengths;
+        private final int from;
+        private final int to;
+
+        RootTask(Run run, BitBoard board, int filled, PlacementList roots, int[] kept,
+                 int[][] paths, int[] lengths, int from, int to) {
+            this.run = run;
+            this.board = board;
+            this.filled = filled;
+            this.roots = roots;
+            this.kept = kept;
+            this.paths = paths;
+            this.lengths = lengths;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RootTask(run, board, filled, roots, kept, paths, lengths, from, mid),
+                        new RootTask(run, board, filled, roots, kept, paths, lengths, mid, to));
+                return;
+            }
+            if (run.isAbandoned(from)) {
+                return;
+            }
+            int i = kept[from];
+            int brickId = run.brickIds[0];
+            BitBoard child = new BitBoard(rows, columns);
+            child.copyFrom(board);
+            int cleared = child.place(brickId, roots.getRotation(i), roots.getX(i), roots.getY(i));
+            int childFilled = filled + 4 - cleared * columns;
+            int[] path = new int[run.limit * 3];
+            int length = childFilled == 0 ? 1
+                    : run.limit > 1 ? solveFrom(workspaces.get(), run, from, child, 1, childFilled, path)
+                    : 0;
+            if (length > 0) {
+                path[0] = roots.getRotation(i);
+                path[1] = roots.getX(i);
+                path[2] = roots.getY(i);
+                paths[from] = path;
+                lengths[from] = length;
+                run.solved(from);
+            }
+        }
+    }
+
+    /**
+     * State shared by the tasks of one solve.
+     */
+    private static final class Run {
+        private final int[] brickIds;
+        private final int limit;
+        private final long salt;
+        private final AtomicInteger solvedRoot = new AtomicInteger(Integer.MAX_VALUE);
+
+        Run(int[] brickIds, int limit, long salt) {
+            this.brickIds = brickIds;
+            this.limit = limit;
+            this.salt = salt;
+        }
+
+        /** A subtree is abandoned once an earlier one has been solved. */
+        boolean isAbandoned(int rootIndex) {
+            return solvedRoot.get() < rootIndex;
+        }
+
+        void solved(int rootIndex) {
+            solvedRoot.accumulateAndGet(rootIndex, Math::min);
+        }
+    }
+
+    /**
+     * Solves one puzzle board against the brick sequences of a range of seeds
+     * and reports which seeds admit a perfect clear, for checking puzzle levels.
+     * Arguments: board text, brick limit, first seed, number of seeds.
+     */
+    public static void main(String[] args) {
+        String puzzle = args.length > 0 ? args[0] : DEFAULT_PUZZLE;
+        int maxPieces = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long firstSeed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+        int seeds = args.length > 3 ? Integer.parseInt(args[3]) : 1_000;
+        int[][] cells = BoardText.parse(puzzle, ROWS, COLUMNS);
+        PerfectClearSolver solver = new PerfectClearSolver(ROWS, COLUMNS, ForkJoinPool.commonPool());
+
+        long start = System.nanoTime();
+        int solvable = 0;
+        for (long seed = firstSeed; seed < firstSeed + seeds; seed++) {
+            int[] brickIds = sequence(new RandomBrickGenerator(seed), maxPieces);
+            Solution solution = solver.solve(cells, brickIds, maxPieces);
+            if (solution != null) {
+                if (solvable++ < 5) {
+                    System.out.println("seed " + seed + ": " + solution);
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d of %d seeds solvable within %d bricks, %.0f solves/min%n",
+                solvable, seeds, maxPieces, seeds / seconds * 60);
+    }
+
+    /**
+     * Per-thread search buffers, one set per brick.
+     */
+    private static final class Workspace {
+        private final PlacementEnumerator enumerator;
+        private final BitBoard scratch;
+        private final long[] seen;
+        private final PlacementList[] lists = new PlacementList[MAX_PIECES];
+        private final BitBoard[] boards = new BitBoard[MAX_PIECES];
+        private final int[][] kept = new int[MAX_PIECES][];
+
+        Workspace(int rows, int columns) {
+            enumerator = new PlacementEnumerator(rows, columns);
+            scratch = new BitBoard(rows, columns);
+            int maxPlacements = PieceTable.MAX_ROTATIONS * (columns + PieceTable.SHAPE_SIZE) * rows;
+            seen = new long[maxPlacements];
+            for (int i = 0; i < MAX_PIECES; i++) {
+                lists[i] = new PlacementList();
+                boards[i] = new BitBoard(rows, columns);
+                kept[i] = new int[maxPlacements];
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.comp2042.bot;
+
+import com.comp2042.model.PlacementEnumerator;
+
+/**
+ * Pieces shared by {@link LookaheadSearch} and {@link MonteCarloSearch}: the
+ * deadline of a search, the buffers every search thread needs, and the
+ * selection of the best-scoring placements.
+ */
+final class SearchSupport {
+
+    private SearchSupport() {
+
+    }
+
+    /**
+     * Returns the index of the largest value, the first one on ties.
+     */
+    static int argMax(double[] values) {
+        int best = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Moves the {@code width} highest scores to the front of {@code order},
+     * keeping placement order among equal scores.
+     */
+    static void selectTop(int[] order, double[] scores, int count, int width) {
+        for (int k = 0; k < width; k++) {
+            int bestPos = k;
+            for (int j = k + 1; j < count; j++) {
+                int candidate = order[j];
+                int current = order[bestPos];
+                if (scores[candidate] > scores[current]
+                        || (scores[candidate] == scores[current] && candidate < current)) {
+                    bestPos = j;
+                }
+            }
+            int swap = order[k];
+            order[k] = order[bestPos];
+            order[bestPos] = swap;
+        }
+    }
+
+    /**
+     * Deadline and cancellation flag of one search. A budget of
+     * {@link Long#MAX_VALUE} never runs out.
+     */
+    static final class Run {
+        private final long deadline;
+        private volatile boolean cancelled;
+
+        Run(long budgetNanos) {
+            this.deadline = System.nanoTime() + budgetNanos;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        boolean isStopped() {
+            return cancelled || System.nanoTime() - deadline > 0;
+        }
+    }
+
+    /**
+     * Per-thread buffers common to every search; each search adds its own.
+     */
+    static class Workspace {
+        final PlacementEnumerator enumerator;
+        final BoardEvaluator evaluator;
+
+        Workspace(int rows, int columns, double[] weights) {
+            this.enumerator = new PlacementEnumerator(rows, columns);
+            this.evaluator = new BoardEvaluator(weights);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.comp2042.bot;
+
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.model.BitBoard;
+import com.comp2042.model.PlacementList;
+import com.comp2042.model.SimpleBoard;
+
+/**
+ * Plays an endless-mode game directly on a {@link BitBoard}, for tools that
+ * need many games per second.
+ * <p>
+ * The brick sequence comes from a seeded {@link RandomBrickGenerator} and
+ * line clears score as in {@code GameController}, so results are comparable
+ * with {@link AutoPlayRunner}. Each brick drops straight into the placement
+ * the player chooses instead of being stepped there move by move, and the game
+ * ends when a new brick is blocked at its spawn position.
+ * <p>
+ * A simulated game is not thread-safe; use one instance per thread.
+ */
+public final class SimulatedGame {
+
+    /** Points for clearing {@code n} lines at once are {@code n * n} times this. */
+    public static final int LINE_SCORE_MULTIPLIER = 50;
+
+    private final BitBoard board;
+    private int pieces;
+    private int lines;
+    private int score;
+    private int scoreAtMark;
+    private boolean toppedOut;
+
+    /**
+     * Creates a simulator for the given board size.
+     *
+     * @param rows    number of board rows
+     * @param columns number of board columns
+     */
+    public SimulatedGame(int rows, int columns) {
+        this.board = new BitBoard(rows, columns);
+    }
+
+    /**
+     * Plays one game from an empty board.
+     *
+     * @param player    chooses each placement
+     * @param seed      seed of the brick sequence
+     * @param maxPieces stop after this many bricks have locked
+     * @param markAfter also record the score after this many bricks, see {@link #getScoreAtMark()}
+     */
+    public void play(AutoPlayer player, long seed, int maxPieces, int markAfter) {
+        RandomBrickGenerator generator = new RandomBrickGenerator(seed);
+        PlacementList placements = player.getPlacements();
+        board.clear();
+        pieces = 0;
+        lines = 0;
+        score = 0;
+        scoreAtMark = 0;
+        toppedOut = false;
+        while (pieces < maxPieces) {
+            int brickId = generator.getBrick().getId();
+            if (board.collides(brickId, 0, SimpleBoard.SPAWN_X, SimpleBoard.SPAWN_Y)) {
+                toppedOut = true;
+                break;
+            }
+            int best = player.choosePlacement(board, brickId, 0, SimpleBoard.SPAWN_X, SimpleBoard.SPAWN_Y);
+            if (best < 0) {
+                toppedOut = true;
+                break;
+            }
+            int cleared = board.place(brickId, placements.getRotation(best), placements.getX(best), placements.getY(best));
+            lines += cleared;
+            score += LINE_SCORE_MULTIPLIER * cleared * cleared;
+            pieces++;
+            if (pieces == markAfter) {
+                scoreAtMark = score;
+            }
+        }
+        if (pieces < markAfter) {
+            scoreAtMark = score;
+        }
+    }
+
+    /** @return bricks locked in the last game */
+    public int getPieces() { return pieces; }
+
+    /** @return lines cleared in the last game */
+    public int getLines() { return lines; }
+
+    /** @return final score of the last game */
+    public int getScore() { return score; }
+
+    /** @return score after the marked number of bricks, or the final score if the game ended sooner */
+    public int getScoreAtMark() { return scoreAtMark; }
+
+    /** @return {@code true} if the last game ended by topping out */
+    public boolean isToppedOut() { return toppedOut; }
+}
@@ -0,0 +1,416 @@
+package com.comp2042.bot;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * Plays several {@link Bot}s against each other on identical seeded brick
+ * sequences and rates them.
+ * <p>
+ * Every entrant plays one headless game per seed through
+ * {@link AutoPlayRunner#play(long, int, Bot)}, so all of them face exactly the
+ * same bricks. Games run one per task on a {@link ForkJoinPool}. Scores and
+ * lines are summarised with 95% confidence intervals, and because the seeds
+ * are shared, each pair of entrants is also compared on the per-seed score
+ * difference, which cancels most of the luck of the draw.
+ * <p>
+ * For ratings, each seed counts as a round-robin between all entrants: the
+ * higher score wins and equal scores draw. Results update a {@link RatingTable}
+ * in seed order, so a run always produces the same ratings.
+ * <p>
+ * The searching entrants get fixed budgets, a search depth or a number of
+ * rollout rounds, rather than time limits: their searches share the pool with
+ * the games, and a time limit would make their strength, and so the ratings,
+ * depend on the machine and its load.
+ * <p>
+ * Usage: {@code Tournament [seeds] [maxPieces] [firstSeed] [ratingsFile]}.
+ */
+public final class Tournament {
+
+    private static final double Z_95 = 1.96;
+    private static final String DEFAULT_RATINGS_FILE = "tournament-ratings.properties";
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+    private static final long NO_TIME_LIMIT = Long.MAX_VALUE;
+    private static final int LOOKAHEAD_DEPTH = 2;
+    private static final int MONTE_CARLO_ROUNDS = 8;
+
+    private final List<Entrant> entrants;
+    private final int seeds;
+    private final int maxPieces;
+    private final long firstSeed;
+    private final ForkJoinPool pool;
+
+    /**
+     * A named bot configuration. The factory is called once per game, so
+     * entrants need not be thread-safe.
+     */
+    public static final class Entrant {
+        private final String name;
+        private final Supplier<? extends Bot> factory;
+
+        /**
+         * @param name    unique name, used as the rating key
+         * @param factory creates a fresh bot for each game
+         */
+        public Entrant(String name, Supplier<? extends Bot> factory) {
+            this.name = name;
+            this.factory = factory;
+        }
+
+        public String getName() { return name; }
+    }
+
+    /**
+     * Mean and 95% confidence interval of a sample.
+     */
+    public static final class Summary {
+        private final int count;
+        private final double mean;
+        private final double halfWidth;
+
+        Summary(double[] values) {
+            count = values.length;
+            double sum = 0;
+            for (double value : values) {
+                sum += value;
+            }
+            mean = count == 0 ? 0 : sum / count;
+            double squares = 0;
+            for (double value : values) {
+                squares += (value - mean) * (value - mean);
+            }
+            double variance = count > 1 ? squares / (count - 1) : 0;
+            halfWidth = count > 0 ? Z_95 * Math.sqrt(variance / count) : 0;
+        }
+
+        /** @return sample size */
+        public int getCount() { return count; }
+
+        /** @return sample mean */
+        public double getMean() { return mean; }
+
+        /** @return half-width of the 95% confidence interval of the mean */
+        public double getHalfWidth() { return halfWidth; }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f +/- %.1f", mean, halfWidth);
+        }
+    }
+
+    /**
+     * Per-game results of one tournament, indexed {@code [entrant][seed]}.
+     */
+    public static final class Results {
+        private final List<Entrant> entrants;
+        private final int[][] scores;
+        private final int[][] lines;
+        private final boolean[][] toppedOut;
+
+        Results(List<Entrant> entrants, int seeds) {
+            this.entrants = entrants;
+            this.scores = new int[entrants.size()][seeds];
+            this.lines = new int[entrants.size()][seeds];
+            this.toppedOut = new boolean[entrants.size()][seeds];
+        }
+
+        /** @return the entrants, in the order results are indexed */
+        public List<Entrant> getEntrants() { return Collections.unmodifiableList(entrants); }
+
+        /** @return the number of seeds played */
+        public int getSeeds() { return scores[0].length; }
+
+        /**
+         * @param entrant entrant index
+         * @param seed    seed index
+         * @return the entrant's score on that seed
+         */
+        public int getScore(int entrant, int seed) { return scores[entrant][seed]; }
+
+        /**
+         * @param entrant entrant index
+         * @return summary of the entrant's scores
+         */
+        public Summary scoreSummary(int entrant) {
+            return new Summary(toDoubles(scores[entrant]));
+        }
+
+        /**
+         * @param entrant entrant index
+         * @return summary of the entrant's cleared lines
+         */
+        public Summary lineSummary(int entrant) {
+            return new Summary(toDoubles(lines[entrant]));
+        }
+
+        /**
+         * @param entrant entrant index
+         * @return number of games the entrant topped out in
+         */
+        public int topOuts(int entrant) {
+            int count = 0;
+            for (boolean toppedOutInGame : toppedOut[entrant]) {
+                if (toppedOutInGame) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Compares two entrants on the per-seed score difference.
+         *
+         * @param a first entrant index
+         * @param b second entrant index
+         * @return summary of {@code score(a) - score(b)} over all seeds
+         */
+        public Summary pairedDifference(int a, int b) {
+            double[] differences = new double[getSeeds()];
+            for (int seed = 0; seed < differences.length; seed++) {
+                differences[seed] = scores[a][seed] - scores[b][seed];
+            }
+            return new Summary(differences);
+        }
+
+        private static double[] toDoubles(int[] values) {
+            double[] result = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                result[i] = values[i];
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Elo ratings keyed by entrant name, persisted as a properties file.
+     */
+    public static final class RatingTable {
+        /** Rating of an entrant that has not played yet. */
+        public static final double INITIAL_RATING = 1500.0;
+        private static final double K_FACTOR = 16.0;
+
+        private final Map<String, double[]> ratings = new LinkedHashMap<>();
+
+        /**
+         * Loads a table, or returns an empty one if the file does not exist.
+         *
+         * @param path the ratings file
+         * @return the table
+         * @throws IOException if the file exists but cannot be read
+         */
+        public static RatingTable load(Path path) throws IOException {
+            RatingTable table = new RatingTable();
+            if (!Files.exists(path)) {
+                return table;
+            }
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(path)) {
+                properties.load(reader);
+            }
+            for (String key : properties.stringPropertyNames()) {
+                if (key.endsWith(".rating")) {
+                    String name = key.substring(0, key.length() - ".rating".length());
+                    try {
+                        double rating = Double.parseDouble(properties.getProperty(key));
+                        double games = Double.parseDouble(properties.getProperty(name + ".games", "0"));
+                        table.ratings.put(name, new double[] {rating, games});
+                    } catch (NumberFormatException e) {
+                        System.err.println("Error reading rating for " + name + ": " + e.getMessage());
+                    }
+                }
+            }
+            return table;
+        }
+
+        /**
+         * Writes the table, replacing the file atomically.
+         *
+         * @param path the ratings file
+         * @throws IOException if the file cannot be written
+         */
+        public void save(Path path) throws IOException {
+            Properties properties = new Properties();
+            for (Map.Entry<String, double[]> entry : ratings.entrySet()) {
+                properties.setProperty(entry.getKey() + ".rating", String.valueOf(entry.getValue()[0]));
+                properties.setProperty(entry.getKey() + ".games", String.valueOf((long) entry.getValue()[1]));
+            }
+            Path absolute = path.toAbsolutePath();
+            Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp)) {
+                properties.store(writer, "Tournament ratings");
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        /**
+         * @param name entrant name
+         * @return the entrant's rating, {@link #INITIAL_RATING} if unknown
+         */
+        public double getRating(String name) {
+            double[] entry = ratings.get(name);
+            return entry == null ? INITIAL_RATING : entry[0];
+        }
+
+        /**
+         * @param name entrant name
+         * @return number of rated games the entrant has played
+         */
+        public long getGames(String name) {
+            double[] entry = ratings.get(name);
+            return entry == null ? 0 : (long) entry[1];
+        }
+
+        /**
+         * Applies the games of a tournament: for each seed, every pair of
+         * entrants plays one game decided by score.
+         *
+         * @param results the tournament results
+         */
+        public void update(Results results) {
+            List<Entrant> entrants = results.getEntrants();
+            for (int seed = 0; seed < results.getSeeds(); seed++) {
+                for (int a = 0; a < entrants.size(); a++) {
+                    for (int b = a + 1; b < entrants.size(); b++) {
+                        int scoreA = results.getScore(a, seed);
+                        int scoreB = results.getScore(b, seed);
+                        double outcome = scoreA > scoreB ? 1.0 : scoreA < scoreB ? 0.0 : 0.5;
+                        playGame(entrants.get(a).getName(), entrants.get(b).getName(), outcome);
+                    }
+                }
+            }
+        }
+
+        private void playGame(String a, String b, double outcomeForA) {
+            double[] ratingA = ratings.computeIfAbsent(a, key -> new double[] {INITIAL_RATING, 0});
+            double[] ratingB = ratings.computeIfAbsent(b, key -> new double[] {INITIAL_RATING, 0});
+            double expectedA = 1.0 / (1.0 + Math.pow(10.0, (ratingB[0] - ratingA[0]) / 400.0));
+            double delta = K_FACTOR * (outcomeForA - expectedA);
+            ratingA[0] += delta;
+            ratingB[0] -= delta;
+            ratingA[1]++;
+            ratingB[1]++;
+        }
+    }
+
+    /**
+     * Creates a tournament.
+     *
+     * @param entrants  the bots to compare, with unique names
+     * @param seeds     number of brick sequences each entrant plays
+     * @param maxPieces piece limit of each game
+     * @param firstSeed seed of the first sequence; the others follow it
+     * @param pool      pool that plays the games
+     */
+    public Tournament(List<Entrant> entrants, int seeds, int maxPieces, long firstSeed, ForkJoinPool pool) {
+        if (entrants.size() < 2 || seeds < 1) {
+            throw new IllegalArgumentException("Need at least two entrants and one seed");
+        }
+        this.entrants = new ArrayList<>(entrants);
+        this.seeds = seeds;
+        this.maxPieces = maxPieces;
+        this.firstSeed = firstSeed;
+        this.pool = pool;
+    }
+
+    /**
+     * Plays every entrant on every seed.
+     *
+     * @return the per-game results
+     */
+    public Results run() {
+        Results results = new Results(entrants, seeds);
+        pool.invoke(new GameTask(results, 0, entrants.size() * seeds));
+        return results;
+    }
+
+    /**
+     * Plays a range of (entrant, seed) games, splitting it in half until a
+     * single game remains.
+     */
+    private final class GameTask extends RecursiveAction {
+        private final Results results;
+        private final int from;
+        private final int to;
+
+        GameTask(Results results, int from, int to) {
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new GameTask(results, from, mid), new GameTask(results, mid, to));
+                return;
+            }
+            int entrant = from / seeds;
+            int seed = from % seeds;
+            AutoPlayRunner.Result result = AutoPlayRunner.play(firstSeed + seed, maxPieces,
+                    entrants.get(entrant).factory.get());
+            results.scores[entrant][seed] = result.getScore();
+            results.lines[entrant][seed] = result.getLines();
+            results.toppedOut[entrant][seed] = result.isToppedOut();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int seeds = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int maxPieces = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        long firstSeed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        Path ratingsFile = Paths.get(args.length > 3 ? args[3] : DEFAULT_RATINGS_FILE);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        List<Entrant> entrants = new ArrayList<>();
+        entrants.add(new Entrant("greedy", () -> new AutoPlayer(ROWS, COLUMNS)));
+        entrants.add(new Entrant("lookahead-" + LOOKAHEAD_DEPTH, () -> {
+            AutoPlayer player = new AutoPlayer(ROWS, COLUMNS);
+            player.setLookahead(new LookaheadSearch(ROWS, COLUMNS, BoardEvaluator.defaultWeights(), pool, 4),
+                    LOOKAHEAD_DEPTH, NO_TIME_LIMIT);
+            return player;
+        }));
+        entrants.add(new Entrant("monte-carlo-" + MONTE_CARLO_ROUNDS, () -> {
+            AutoPlayer player = new AutoPlayer(ROWS, COLUMNS);
+            player.setMonteCarlo(new MonteCarloSearch(ROWS, COLUMNS, BoardEvaluator.defaultWeights(), pool),
+                    NO_TIME_LIMIT, MONTE_CARLO_ROUNDS);
+            return player;
+        }));
+
+        long start = System.nanoTime();
+        Results results = new Tournament(entrants, seeds, maxPieces, firstSeed, pool).run();
+        RatingTable ratings = RatingTable.load(ratingsFile);
+        ratings.update(results);
+        ratings.save(ratingsFile);
+
+        System.out.printf("%d seeds from %d, %d pieces, %.1f s on %d threads%n", seeds, firstSeed, maxPieces,
+                (System.nanoTime() - start) / 1e9, pool.getParallelism());
+        for (int i = 0; i < entrants.size(); i++) {
+            String name = entrants.get(i).getName();
+            System.out.printf("%-14s score %-18s lines %-14s top-outs %3d  rating %.0f (%d games)%n",
+                    name, results.scoreSummary(i), results.lineSummary(i), results.topOuts(i),
+                    ratings.getRating(name), ratings.getGames(name));
+        }
+        for (int a = 0; a < entrants.size(); a++) {
+            for (int b = a + 1; b < entrants.size(); b++) {
+                System.out.printf("%s - %s: score difference %s%n", entrants.get(a).getName(),
+                        entrants.get(b).getName(), results.pairedDifference(a, b));
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.comp2042.bot;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size cache of search results keyed by a 64-bit position hash, shared
+ * by all threads of a search without locking.
+ * <p>
+ * Entries live in buckets of {@link #BUCKET_SIZE} slots; a key may sit in any
+ * slot of its bucket. Each slot is three words: a check word, the value and a
+ * meta word holding the depth and the search generation ("age") that stored
+ * it. The check word is {@code key ^ value ^ meta} and is written last, so a
+ * reader that races a writer, or two writers that race each other, produce a
+ * slot that fails the check and reads as a miss instead of returning a value
+ * for the wrong position.
+ * <p>
+ * When a bucket is full, a slot written by an earlier generation is replaced
+ * before one written by the current search, and among those the shallowest
+ * entry goes first. Call {@link #newSearch()} at the start of each search so
+ * that results from older positions age out.
+ */
+public final class TranspositionTable {
+
+    /** Slots per bucket. */
+    public static final int BUCKET_SIZE = 4;
+
+    private static final int WORDS = 3;
+    private static final int CHECK = 0;
+    private static final int VALUE = 1;
+    private static final int META = 2;
+    private static final long OCCUPIED = 1L << 16;
+    private static final int DEPTH_MASK = 0xFF;
+    private static final int AGE_SHIFT = 8;
+    private static final int AGE_MASK = 0xFF;
+
+    private final AtomicLongArray slots;
+    private final int bucketMask;
+    private volatile int generation;
+
+    /**
+     * Creates an empty table.
+     *
+     * @param capacityLog2 log2 of the number of entries, {@code 4..26}
+     */
+    public TranspositionTable(int capacityLog2) {
+        if (capacityLog2 < 4 || capacityLog2 > 26) {
+            throw new IllegalArgumentException("Unsupported capacity 2^" + capacityLog2);
+        }
+        int entries = 1 << capacityLog2;
+        this.slots = new AtomicLongArray(entries * WORDS);
+        this.bucketMask = entries / BUCKET_SIZE - 1;
+    }
+
+    /**
+     * Starts a new search generation. Entries stored before the call become
+     * the first candidates for replacement.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & AGE_MASK;
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param key      the position hash
+     * @param minDepth smallest stored depth that is acceptable
+     * @return the stored value, or {@link Double#NaN} on a miss
+     */
+    public double probe(long key, int minDepth) {
+        int base = bucketOf(key);
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            int slot = (base + i) * WORDS;
+            long check = slots.getAcquire(slot + CHECK);
+            long value = slots.getPlain(slot + VALUE);
+            long meta = slots.getPlain(slot + META);
+            if ((meta & OCCUPIED) != 0 && (check ^ value ^ meta) == key) {
+                if ((int) (meta & DEPTH_MASK) < minDepth) {
+                    return Double.NaN;
+                }
+                return Double.longBitsToDouble(value);
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Stores a result. An existing entry for the same key is kept if it was
+     * searched deeper in the current generation.
+     *
+     * @param key   the position hash
+     * @param value the value to store
+     * @param depth search depth behind the value, {@code 0..255}
+     */
+    public void store(long key, double value, int depth) {
+        int base = bucketOf(key);
+        int age = generation;
+        int victim = -1;
+        int victimPriority = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            int slot = (base + i) * WORDS;
+            long check = slots.getAcquire(slot + CHECK);
+            long storedValue = slots.getPlain(slot + VALUE);
+            long meta = slots.getPlain(slot + META);
+            if ((meta & OCCUPIED) == 0) {
+                if (victimPriority > -1) {
+                    victim = slot;
+                    victimPriority = -1;
+                }
+                continue;
+            }
+            int storedDepth = (int) (meta & DEPTH_MASK);
+            boolean current = ((meta >>> AGE_SHIFT) & AGE_MASK) == age;
+            if ((check ^ storedValue ^ meta) == key) {
+                if (current && storedDepth > depth) {
+                    return;
+                }
+                victim = slot;
+                break;
+            }
+            int priority = (current ? DEPTH_MASK + 1 : 0) + storedDepth;
+            if (priority < victimPriority) {
+                victim = slot;
+                victimPriority = priority;
+            }
+        }
+        long bits = Double.doubleToRawLongBits(value);
+        long meta = OCCUPIED | ((long) age << AGE_SHIFT) | (depth & DEPTH_MASK);
+        slots.setPlain(victim + VALUE, bits);
+        slots.setPlain(victim + META, meta);
+        slots.setRelease(victim + CHECK, key ^ bits ^ meta);
+    }
+
+    /**
+     * Empties the table. Not safe to call while a search is using it.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.setPlain(i, 0L);
+        }
+        generation = 0;
+    }
+
+    /**
+     * Returns the number of entries the table can hold.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return slots.length() / WORDS;
+    }
+
+    private int bucketOf(long key) {
+        return ((int) (key >>> 32) & bucketMask) * BUCKET_SIZE;
+    }
+}
@@ -0,0 +1,453 @@
+package com.comp2042.bot;
+
+import com.comp2042.model.LevelConfig;
+import com.comp2042.model.SplitMix;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tunes {@link BoardEvaluator} weights with the cross-entropy method.
+ * <p>
+ * Each generation samples a population of weight vectors from a Gaussian
+ * around the current mean, plays every vector through the same set of seeded
+ * {@link SimulatedGame}s and moves the mean and spread to those of the best
+ * {@code eliteCount} vectors. Vectors are scaled to unit length, since the
+ * autoplayer's choices do not depend on the scale of its weights. A little
+ * extra spread is added in early generations so the search does not collapse
+ * before it has found a good region.
+ * <p>
+ * Games are split across a {@link ForkJoinPool} one game per task, so a
+ * generation keeps every core busy until its last few games. All randomness is
+ * derived from the run seed and the generation number, so a run resumed from a
+ * checkpoint continues exactly as it would have without the interruption.
+ * <p>
+ * Usage: {@code WeightTuner [generations] [population] [games] [maxPieces] [checkpoint]}.
+ * An existing checkpoint file is resumed, with the settings stored in it.
+ */
+public final class WeightTuner {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+    private static final int CHECKPOINT_VERSION = 1;
+    private static final double INITIAL_SIGMA = 0.3;
+    private static final double INITIAL_NOISE = 0.04;
+    private static final int NOISE_GENERATIONS = 10;
+    private static final int CALIBRATION_GAMES = 256;
+    private static final String DEFAULT_CHECKPOINT = "tuner-checkpoint.properties";
+
+    private final int populationSize;
+    private final int eliteCount;
+    private final int gamesPerCandidate;
+    private final int maxPieces;
+    private final long seed;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<SimulatedGame> games = ThreadLocal.withInitial(() -> new SimulatedGame(ROWS, COLUMNS));
+    private final double[] mean;
+    private final double[] sigma;
+    private double[] best;
+    private double bestFitness = Double.NEGATIVE_INFINITY;
+    private int generation;
+    private final List<GenerationStats> history = new ArrayList<>();
+
+    /**
+     * Summary of one generation, one point of the convergence curve.
+     */
+    public static final class GenerationStats {
+        private final int generation;
+        private final double bestFitness;
+        private final double eliteFitness;
+        private final double populationFitness;
+        private final double sigma;
+        private final long millis;
+
+        GenerationStats(int generation, double bestFitness, double eliteFitness,
+                        double populationFitness, double sigma, long millis) {
+            this.generation = generation;
+            this.bestFitness = bestFitness;
+            this.eliteFitness = eliteFitness;
+            this.populationFitness = populationFitness;
+            this.sigma = sigma;
+            this.millis = millis;
+        }
+
+        /** @return generation number, starting at 1 */
+        public int getGeneration() { return generation; }
+
+        /** @return mean score of the best vector */
+        public double getBestFitness() { return bestFitness; }
+
+        /** @return mean score of the elite vectors */
+        public double getEliteFitness() { return eliteFitness; }
+
+        /** @return mean score of the whole population */
+        public double getPopulationFitness() { return populationFitness; }
+
+        /** @return average spread of the sampling distribution after the update */
+        public double getSigma() { return sigma; }
+
+        /** @return wall-clock time of the generation */
+        public long getMillis() { return millis; }
+
+        @Override
+        public String toString() {
+            return String.format("gen %3d  best %8.0f  elite %8.0f  population %8.0f  sigma %.3f  %5d ms",
+                    generation, bestFitness, eliteFitness, populationFitness, sigma, millis);
+        }
+    }
+
+    /**
+     * Creates a tuner starting from the default weights.
+     *
+     * @param populationSize    weight vectors per generation
+     * @param eliteCount        best vectors the distribution is refitted to
+     * @param gamesPerCandidate games played by every vector
+     * @param maxPieces         piece limit of each game
+     * @param seed              seed of the whole run
+     * @param pool              pool that plays the games
+     */
+    public WeightTuner(int populationSize, int eliteCount, int gamesPerCandidate, int maxPieces,
+                       long seed, ForkJoinPool pool) {
+        if (populationSize < 2 || eliteCount < 1 || eliteCount > populationSize || gamesPerCandidate < 1) {
+            throw new IllegalArgumentException("Invalid population " + populationSize + ", elite "
+                    + eliteCount + ", games " + gamesPerCandidate);
+        }
+        this.populationSize = populationSize;
+        this.eliteCount = eliteCount;
+        this.gamesPerCandidate = gamesPerCandidate;
+        this.maxPieces = maxPieces;
+        this.seed = seed;
+        this.pool = pool;
+        this.mean = normalize(BoardEvaluator.defaultWeights());
+        this.sigma = new double[BoardEvaluator.FEATURE_COUNT];
+        Arrays.fill(sigma, INITIAL_SIGMA);
+        this.best = mean.clone();
+    }
+
+    /**
+     * Samples, plays and refits one generation.
+     *
+     * @return the generation's statistics, also appended to {@link #getHistory()}
+     */
+    public GenerationStats runGeneration() {
+        long start = System.nanoTime();
+        Random random = new Random(seed ^ (generation + 1) * SplitMix.GOLDEN_GAMMA);
+        double[][] candidates = new double[populationSize][BoardEvaluator.FEATURE_COUNT];
+        for (int p = 0; p < populationSize; p++) {
+            for (int i = 0; i < BoardEvaluator.FEATURE_COUNT; i++) {
+                candidates[p][i] = mean[i] + sigma[i] * random.nextGaussian();
+            }
+            normalize(candidates[p]);
+        }
+        long gameSeed = random.nextLong();
+
+        int[] scores = new int[populationSize * gamesPerCandidate];
+        pool.invoke(new GameTask(candidates, gameSeed, scores, 0, scores.length));
+
+        double[] fitness = new double[populationSize];
+        Integer[] order = new Integer[populationSize];
+        double populationTotal = 0;
+        for (int p = 0; p < populationSize; p++) {
+            long total = 0;
+            for (int g = 0; g < gamesPerCandidate; g++) {
+                total += scores[p * gamesPerCandidate + g];
+            }
+            fitness[p] = (double) total / gamesPerCandidate;
+            populationTotal += fitness[p];
+            order[p] = p;
+        }
+        // Stable sort: equal fitness keeps sampling order, so the refit is deterministic.
+        Arrays.sort(order, (a, b) -> Double.compare(fitness[b], fitness[a]));
+
+        double noise = INITIAL_NOISE * Math.max(0.0, 1.0 - (double) generation / NOISE_GENERATIONS);
+        double eliteTotal = 0;
+        double sigmaTotal = 0;
+        for (int i = 0; i < BoardEvaluator.FEATURE_COUNT; i++) {
+            double sum = 0;
+            for (int k = 0; k < eliteCount; k++) {
+                sum += candidates[order[k]][i];
+            }
+            double eliteMean = sum / eliteCount;
+            double variance = 0;
+            for (int k = 0; k < eliteCount; k++) {
+                double d = candidates[order[k]][i] - eliteMean;
+                variance += d * d;
+            }
+            mean[i] = eliteMean;
+            sigma[i] = Math.sqrt(variance / eliteCount + noise);
+            sigmaTotal += sigma[i];
+        }
+        for (int k = 0; k < eliteCount; k++) {
+            eliteTotal += fitness[order[k]];
+        }
+        int leader = order[0];
+        if (fitness[leader] > bestFitness) {
+            bestFitness = fitness[leader];
+            best = candidates[leader].clone();
+        }
+
+        generation++;
+        GenerationStats stats = new GenerationStats(generation, fitness[leader], eliteTotal / eliteCount,
+                populationTotal / populationSize, sigmaTotal / BoardEvaluator.FEATURE_COUNT,
+                (System.nanoTime() - start) / 1_000_000);
+        history.add(stats);
+        return stats;
+    }
+
+    /**
+     * Plays {@code games} seeded games with the given weights and returns the
+     * score each reached within {@code markAfter} pieces, sorted ascending.
+     *
+     * @param weights   evaluator weights
+     * @param games     number of games
+     * @param markAfter pieces after which the score is taken
+     * @param gameSeed  seed of the first game; the others follow it
+     * @return the sorted scores
+     */
+    public int[] sampleScores(double[] weights, int games, int markAfter, long gameSeed) {
+        double[][] single = {weights.clone()};
+        int[] scores = new int[games];
+        pool.invoke(new GameTask(single, gameSeed, scores, 0, games, games, markAfter));
+        Arrays.sort(scores);
+        return scores;
+    }
+
+    /**
+     * Writes the tuner state to a properties file. The file is replaced
+     * atomically, so an interrupted write leaves the previous checkpoint intact.
+     *
+     * @param path the checkpoint file
+     * @throws IOException if the file cannot be written
+     */
+    public void saveCheckpoint(Path path) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("version", String.valueOf(CHECKPOINT_VERSION));
+        properties.setProperty("populationSize", String.valueOf(populationSize));
+        properties.setProperty("eliteCount", String.valueOf(eliteCount));
+        properties.setProperty("gamesPerCandidate", String.valueOf(gamesPerCandidate));
+        properties.setProperty("maxPieces", String.valueOf(maxPieces));
+        properties.setProperty("seed", String.valueOf(seed));
+        properties.setProperty("generation", String.valueOf(generation));
+        properties.setProperty("mean", join(mean));
+        properties.setProperty("sigma", join(sigma));
+        properties.setProperty("best", join(best));
+        properties.setProperty("bestFitness", String.valueOf(bestFitness));
+        properties.setProperty("history.count", String.valueOf(history.size()));
+        for (int i = 0; i < history.size(); i++) {
+            GenerationStats stats = history.get(i);
+            properties.setProperty("history." + i, stats.generation + "," + stats.bestFitness + ","
+                    + stats.eliteFitness + "," + stats.populationFitness + "," + stats.sigma + "," + stats.millis);
+        }
+        Path absolute = path.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp)) {
+            properties.store(writer, "WeightTuner checkpoint");
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Recreates a tuner from a checkpoint written by {@link #saveCheckpoint(Path)}.
+     *
+     * @param path the checkpoint file
+     * @param pool pool that plays the games
+     * @return the restored tuner
+     * @throws IOException if the file cannot be read or is not a valid checkpoint
+     */
+    public static WeightTuner loadCheckpoint(Path path, ForkJoinPool pool) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        }
+        try {
+            int version = Integer.parseInt(properties.getProperty("version"));
+            if (version != CHECKPOINT_VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version);
+            }
+            WeightTuner tuner = new WeightTuner(
+                    Integer.parseInt(properties.getProperty("populationSize")),
+                    Integer.parseInt(properties.getProperty("eliteCount")),
+                    Integer.parseInt(properties.getProperty("gamesPerCandidate")),
+                    Integer.parseInt(properties.getProperty("maxPieces")),
+                    Long.parseLong(properties.getProperty("seed")),
+                    pool);
+            tuner.generation = Integer.parseInt(properties.getProperty("generation"));
+            System.arraycopy(split(properties.getProperty("mean")), 0, tuner.mean, 0, BoardEvaluator.FEATURE_COUNT);
+            System.arraycopy(split(properties.getProperty("sigma")), 0, tuner.sigma, 0, BoardEvaluator.FEATURE_COUNT);
+            tuner.best = split(properties.getProperty("best"));
+            tuner.bestFitness = Double.parseDouble(properties.getProperty("bestFitness"));
+            int count = Integer.parseInt(properties.getProperty("history.count"));
+            for (int i = 0; i < count; i++) {
+                String[] fields = properties.getProperty("history." + i).split(",");
+                tuner.history.add(new GenerationStats(Integer.parseInt(fields[0]), Double.parseDouble(fields[1]),
+                        Double.parseDouble(fields[2]), Double.parseDouble(fields[3]),
+                        Double.parseDouble(fields[4]), Long.parseLong(fields[5])));
+            }
+            return tuner;
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed checkpoint " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** @return number of generations run so far */
+    public int getGeneration() { return generation; }
+
+    /** @return copy of the current mean weight vector */
+    public double[] getMean() { return mean.clone(); }
+
+    /** @return copy of the highest-scoring vector seen so far */
+    public double[] getBest() { return best.clone(); }
+
+    /** @return mean score of {@link #getBest()} in its generation */
+    public double getBestFitness() { return bestFitness; }
+
+    /** @return the convergence curve, one entry per generation */
+    public List<GenerationStats> getHistory() { return Collections.unmodifiableList(history); }
+
+    private static double[] normalize(double[] weights) {
+        double length = 0;
+        for (double w : weights) {
+            length += w * w;
+        }
+        length = Math.sqrt(length);
+        if (length > 0) {
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] /= length;
+            }
+        }
+        return weights;
+    }
+
+    private static String join(double[] values) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(values[i]);
+        }
+        return builder.toString();
+    }
+
+    private static double[] split(String text) {
+        String[] parts = text.split(",");
+        if (parts.length != BoardEvaluator.FEATURE_COUNT) {
+            throw new IllegalArgumentException("Expected " + BoardEvaluator.FEATURE_COUNT + " weights, got " + parts.length);
+        }
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Double.parseDouble(parts[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Plays a range of games of {@code markAfter} pieces each, splitting the
+     * range in half until a single game remains. Game {@code i} uses candidate {@code i / gamesPerCandidate}
+     * and seed {@code gameSeed + i % gamesPerCandidate}, so every candidate
+     * sees the same bricks.
+     */
+    private final class GameTask extends RecursiveAction {
+        private final double[][] candidates;
+        private final long gameSeed;
+        private final int[] scores;
+        private final int from;
+        private final int to;
+        private final int perCandidate;
+        private final int markAfter;
+
+        GameTask(double[][] candidates, long gameSeed, int[] scores, int from, int to) {
+            this(candidates, gameSeed, scores, from, to, gamesPerCandidate, maxPieces);
+        }
+
+        GameTask(double[][] candidates, long gameSeed, int[] scores, int from, int to,
+                 int perCandidate, int markAfter) {
+            this.candidates = candidates;
+            this.gameSeed = gameSeed;
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+            this.perCandidate = perCandidate;
+            this.markAfter = markAfter;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new GameTask(candidates, gameSeed, scores, from, mid, perCandidate, markAfter),
+                        new GameTask(candidates, gameSeed, scores, mid, to, perCandidate, markAfter));
+                return;
+            }
+            SimulatedGame game = games.get();
+            AutoPlayer player = new AutoPlayer(ROWS, COLUMNS, new BoardEvaluator(candidates[from / perCandidate]));
+            game.play(player, gameSeed + from % perCandidate, markAfter, markAfter);
+            scores[from] = game.getScoreAtMark();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int generations = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int population = args.length > 1 ? Integer.parseInt(args[1]) : 48;
+        int gamesPerCandidate = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int maxPieces = args.length > 3 ? Integer.parseInt(args[3]) : 1_000;
+        Path checkpoint = Paths.get(args.length > 4 ? args[4] : DEFAULT_CHECKPOINT);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        WeightTuner tuner;
+        if (Files.exists(checkpoint)) {
+            tuner = loadCheckpoint(checkpoint, pool);
+            System.out.println("Resuming " + checkpoint + " at generation " + tuner.getGeneration());
+            for (GenerationStats stats : tuner.getHistory()) {
+                System.out.println(stats);
+            }
+        } else {
+            tuner = new WeightTuner(population, Math.max(1, population / 10), gamesPerCandidate, maxPieces,
+                    System.nanoTime(), pool);
+        }
+        System.out.printf("%d worker threads%n", pool.getParallelism());
+
+        while (tuner.getGeneration() < generations) {
+            System.out.println(tuner.runGeneration());
+            tuner.saveCheckpoint(checkpoint);
+        }
+
+        System.out.println("Best weights: " + Arrays.toString(tuner.getBest()));
+        System.out.println("Mean weights: " + Arrays.toString(tuner.getMean()));
+
+        // Score targets: how often the tuned player reaches each level's target
+        // within the level's brick allowance.
+        for (LevelConfig level : LevelConfig.createDefaultLevels()) {
+            int[] scores = tuner.sampleScores(tuner.getBest(), CALIBRATION_GAMES, level.getBlocksRequired(), 1L);
+            int reached = scores.length - lowerBound(scores, level.getTargetScore());
+            System.out.printf("level %2d  target %5d in %d bricks  reached by %5.1f%%  (p10 %d, p50 %d, p90 %d)%n",
+                    level.getLevelId(), level.getTargetScore(), level.getBlocksRequired(),
+                    100.0 * reached / scores.length, scores[scores.length / 10], scores[scores.length / 2],
+                    scores[scores.length * 9 / 10]);
+        }
+    }
+
+    private static int lowerBound(int[] sorted, int value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && sorted[index - 1] == value) {
+            index--;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,232 @@
+package com.comp2042.controller;
+
+import com.comp2042.diagnostics.AssetLoadEvent;
+import javafx.scene.image.Image;
+import javafx.scene.media.Media;
+import javafx.scene.text.Font;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Loads fonts, images and audio on a small pool of background threads so the
+ * first frame can be shown as soon as the FXML layout is ready.
+ * <p>
+ * Every request returns a {@link CompletableFuture}; repeated requests for the
+ * same resource share a single load. Requests are served in {@link Priority}
+ * order, so assets needed by the main menu are decoded before gameplay audio.
+ */
+public final class AssetManager {
+
+    /**
+     * Scheduling priority of an asset request. Lower ordinals are loaded first.
+     */
+    public enum Priority {
+        /** Needed by the main menu, the first thing the player sees. */
+        FIRST_SCREEN,
+        /** Needed once a game has started. */
+        GAMEPLAY,
+        /** Needed only by secondary screens such as level selection. */
+        BACKGROUND
+    }
+
+    private static final int LOADER_THREADS = 2;
+    private static final long SCALED_IMAGE_BUDGET_BYTES = 32L * 1024 * 1024;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CompletableFuture<?>> loads = new ConcurrentHashMap<>();
+    private final Map<String, Double> loadTimesMillis = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final AtomicLong sequence = new AtomicLong();
+    private final ScaledImageCache scaledImages = new ScaledImageCache(SCALED_IMAGE_BUDGET_BYTES);
+
+    private AssetManager() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(LOADER_THREADS, LOADER_THREADS, 30, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "asset-loader-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    private static final class Holder {
+        private static final AssetManager INSTANCE = new AssetManager();
+    }
+
+    /**
+     * Returns the shared asset manager, creating it on first use.
+     *
+     * @return the global {@code AssetManager} instance
+     */
+    public static AssetManager getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Loads and registers a TrueType font from the classpath.
+     *
+     * @param resourcePath classpath-relative path to the font file
+     * @param size         default size used when registering the font
+     * @param priority     scheduling priority of the request
+     * @return a future completed with the loaded font
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Font> loadFont(String resourcePath, double size, Priority priority) {
+        return (CompletableFuture<Font>) loads.computeIfAbsent("font:" + resourcePath,
+                key -> schedule(resourcePath, priority, () -> {
+                    Font font = Font.loadFont(resolve(resourcePath), size);
+                    if (font == null) {
+                        throw new IllegalStateException("Font could not be loaded: " + resourcePath);
+                    }
+                    return font;
+                }));
+    }
+
+    /**
+     * Decodes an image from the classpath at its natural size.
+     *
+     * @param resourcePath classpath-relative path to the image file
+     * @param priority     scheduling priority of the request
+     * @return a future completed with the decoded image
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Image> loadImage(String resourcePath, Priority priority) {
+        return (CompletableFuture<Image>) loads.computeIfAbsent("image:" + resourcePath,
+                key -> schedule(resourcePath, priority, () -> {
+                    Image image = new Image(resolve(resourcePath));
+                    if (image.isError()) {
+                        throw new IllegalStateException("Image could not be decoded: " + resourcePath, image.getException());
+                    }
+                    return image;
+                }));
+    }
+
+    /**
+     * Returns an image resized to the given dimensions. The source image is
+     * decoded only once; resized variants are produced from it and kept in a
+     * least-recently-used cache bounded by a fixed memory budget.
+     *
+     * @param resourcePath classpath-relative path to the image file
+     * @param width        target width in pixels
+     * @param height       target height in pixels
+     * @param priority     scheduling priority of the request
+     * @return a future completed with the resized image
+     */
+    public CompletableFuture<Image> loadImage(String resourcePath, int width, int height, Priority priority) {
+        String key = ScaledImageCache.key(resourcePath, width, height);
+        Image cached = scaledImages.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return loadImage(resourcePath, priority).thenApplyAsync(source -> {
+            Image hit = scaledImages.get(key);
+            if (hit != null) {
+                return hit;
+            }
+            Image scaled = ImageScaler.scale(source, width, height);
+            scaledImages.put(key, scaled);
+            return scaled;
+        }, task -> executor.execute(new LoadTask(priority, sequence.getAndIncrement(), task)));
+    }
+
+    /**
+     * Returns the number of bytes held by resized image variants.
+     *
+     * @return bytes retained by the scaled image cache
+     */
+    public long getScaledImageCacheBytes() {
+        return scaledImages.getUsedBytes();
+    }
+
+    /**
+     * Opens an audio resource from the classpath.
+     *
+     * @param resourcePath classpath-relative path to the audio file
+     * @param priority     scheduling priority of the request
+     * @return a future completed with the media, or completed exceptionally if the
+     *         resource is missing or the media subsystem is unavailable
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Media> loadMedia(String resourcePath, Priority priority) {
+        return (CompletableFuture<Media>) loads.computeIfAbsent("media:" + resourcePath,
+                key -> schedule(resourcePath, priority, () -> new Media(resolve(resourcePath))));
+    }
+
+    /**
+     * Returns the wall-clock load time of every asset that has finished loading,
+     * in completion order.
+     *
+     * @return map from resource path to load time in milliseconds
+     */
+    public Map<String, Double> getLoadTimesMillis() {
+        synchronized (loadTimesMillis) {
+            return new LinkedHashMap<>(loadTimesMillis);
+        }
+    }
+
+    private <T> CompletableFuture<T> schedule(String resourcePath, Priority priority, Supplier<T> loader) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(new LoadTask(priority, sequence.getAndIncrement(), () -> {
+            AssetLoadEvent event = AssetLoadEvent.start();
+            long start = System.nanoTime();
+            try {
+                T asset = loader.get();
+                double millis = (System.nanoTime() - start) / 1_000_000.0;
+                AssetLoadEvent.finish(event, resourcePath, priority.name(), true);
+                loadTimesMillis.put(resourcePath, millis);
+                future.complete(asset);
+            } catch (Throwable t) {
+                AssetLoadEvent.finish(event, resourcePath, priority.name(), false);
+                System.err.println("Error loading asset " + resourcePath + ": " + t.getMessage());
+                future.completeExceptionally(t);
+            }
+        }));
+        return future;
+    }
+
+    private String resolve(String resourcePath) {
+        URL url = getClass().getClassLoader().getResource(resourcePath);
+        if (url == null) {
+            throw new IllegalArgumentException("Resource not found: " + resourcePath);
+        }
+        return url.toExternalForm();
+    }
+
+    /**
+     * Queue entry ordered by priority first and submission order second, so
+     * requests of equal priority are served first-come first-served.
+     */
+    private static final class LoadTask implements Runnable, Comparable<LoadTask> {
+        private final Priority priority;
+        private final long sequence;
+        private final Runnable body;
+
+        LoadTask(Priority priority, long sequence, Runnable body) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.body = body;
+        }
+
+        @Override
+        public void run() {
+            body.run();
+        }
+
+        @Override
+        public int compareTo(LoadTask other) {
+            int byPriority = Integer.compare(priority.ordinal(), other.priority.ordinal());
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
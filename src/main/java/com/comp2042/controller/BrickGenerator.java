@@ -23,5 +23,45 @@ public interface BrickGenerator {
      * @return the upcoming brick, or {@code null} if none is queued
      */
     Brick getNextBrick();
-}
 
+    /**
+     * Returns the seed this generator was created with. Two generators created
+     * with the same seed produce the same brick sequence.
+     *
+     * @return the initial seed
+     */
+    long getSeed();
+
+    /**
+     * Returns the current internal random state, which together with the
+     * queued brick ids fully describes the remaining sequence.
+     *
+     * @return the random state
+     */
+    long getRandomState();
+
+    /**
+     * Copies the ids of the queued bricks, next one first, into {@code out}.
+     *
+     * @param out destination array, at least {@link #getQueuedBrickCount()} long
+     * @return the number of ids written
+     */
+    int copyQueuedBrickIds(int[] out);
+
+    /**
+     * Returns how many bricks are currently queued.
+     *
+     * @return the queue length
+     */
+    int getQueuedBrickCount();
+
+    /**
+     * Restores a state captured with {@link #getRandomState()} and
+     * {@link #copyQueuedBrickIds(int[])}.
+     *
+     * @param randomState    the random state to resume from
+     * @param queuedBrickIds ids of the queued bricks, next one first
+     * @param count          number of valid entries in {@code queuedBrickIds}
+     */
+    void restoreState(long randomState, int[] queuedBrickIds, int count);
+}
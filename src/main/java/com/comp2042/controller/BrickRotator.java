@@ -42,6 +42,24 @@ public class BrickRotator {
         this.currentShape = currentShape;
     }
 
+    /**
+     * Returns the index of the current rotation within the brick's shape list.
+     *
+     * @return the current rotation index
+     */
+    public int getCurrentShapeIndex() {
+        return currentShape;
+    }
+
+    /**
+     * Returns the brick whose rotations are being managed.
+     *
+     * @return the active brick
+     */
+    public Brick getBrick() {
+        return brick;
+    }
+
     /**
      * Assigns a new brick to be rotated and resets the rotation to its
      * default orientation.
@@ -0,0 +1,105 @@
+package com.comp2042.controller;
+
+import com.comp2042.model.GameConfig;
+
+/**
+ * Configuration and services of one game session: its {@link GameConfig},
+ * {@link SoundManager}, high score store, save game store and level progress
+ * store.
+ * <p>
+ * A context is passed to the {@link GameController} and the
+ * {@link com.comp2042.ui.GuiController} of a session instead of each of them
+ * reaching for process-wide state, so any number of independent games can
+ * run in one JVM. Headless sessions, such as server games, simulators and
+ * tests, each get a cheap {@link #headless()} context of their own whose
+ * stores live in memory, so they never touch the player's files. The
+ * desktop application shares one {@link #desktop()} context, created on first
+ * use; {@link #withConfig(GameConfig)} gives another player of the same
+ * window its own settings while sharing the sound and stores.
+ */
+public final class GameContext {
+
+    private final GameConfig config;
+    private final SoundManager sound;
+    private final HighScoreManager highScores;
+    private final SaveGameManager saves;
+    private final LevelProgressManager levelProgress;
+
+    /**
+     * Creates a context from its parts.
+     *
+     * @param config        settings of the session
+     * @param sound         sound of the session
+     * @param highScores    high score store
+     * @param saves         save game store
+     * @param levelProgress store of the levels the player has unlocked
+     */
+    public GameContext(GameConfig config, SoundManager sound, HighScoreManager highScores, SaveGameManager saves,
+                       LevelProgressManager levelProgress) {
+        this.config = config;
+        this.sound = sound;
+        this.highScores = highScores;
+        this.saves = saves;
+        this.levelProgress = levelProgress;
+    }
+
+    /**
+     * Creates a context for a game without a window: default settings,
+     * {@link SoundManager#silent() silent} sound and in-memory stores of its
+     * own, so high scores, saves and level progress never reach the
+     * player's files or another session.
+     *
+     * @return a new headless context
+     */
+    public static GameContext headless() {
+        return new GameContext(new GameConfig(), SoundManager.silent(), HighScoreManager.inMemory(),
+                SaveGameManager.inMemory(), LevelProgressManager.inMemory());
+    }
+
+    /**
+     * Returns the context shared by the desktop application, creating it and
+     * starting to load its audio on first use. Safe to call from any thread.
+     *
+     * @return the desktop context
+     */
+    public static GameContext desktop() {
+        return DesktopHolder.CONTEXT;
+    }
+
+    private static final class DesktopHolder {
+        private static final GameContext CONTEXT = createDesktop();
+
+        private static GameContext createDesktop() {
+            GameConfig config = new GameConfig();
+            return new GameContext(config, new SoundManager(config), new HighScoreManager(), new SaveGameManager(),
+                    new LevelProgressManager());
+        }
+    }
+
+    /**
+     * Returns a context with other settings that shares this context's
+     * sound and stores. Volumes still follow the settings the sound manager
+     * was created with.
+     *
+     * @param otherConfig the settings
+     * @return the new context
+     */
+    public GameContext withConfig(GameConfig otherConfig) {
+        return new GameContext(otherConfig, sound, highScores, saves, levelProgress);
+    }
+
+    /** @return the session's settings */
+    public GameConfig getConfig() { return config; }
+
+    /** @return the session's sound */
+    public SoundManager getSound() { return sound; }
+
+    /** @return the high score store */
+    public HighScoreManager getHighScores() { return highScores; }
+
+    /** @return the save game store */
+    public SaveGameManager getSaves() { return saves; }
+
+    /** @return the level progress store */
+    public LevelProgressManager getLevelProgress() { return levelProgress; }
+}
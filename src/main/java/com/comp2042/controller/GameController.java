@@ -1,12 +1,16 @@
 package com.comp2042.controller;
 
+import com.comp2042.diagnostics.TopOutEvent;
 import com.comp2042.event.EventSource;
+import com.comp2042.event.GameEventBus;
+import com.comp2042.event.GameEventType;
 import com.comp2042.event.InputEventListener;
 import com.comp2042.event.MoveEvent;
 import com.comp2042.ui.GuiController;
 import com.comp2042.model.Board;
 import com.comp2042.model.ClearRow;
 import com.comp2042.model.DownData;
+import com.comp2042.model.GameSnapshot;
 import com.comp2042.model.ViewData;
 import com.comp2042.model.MatrixOperations;
 import javafx.scene.paint.Paint;
@@ -15,19 +19,27 @@ import java.util.List;
 
 /**
  * Orchestrates core Tetris gameplay, translating input events into board
- * updates, managing scoring and level progression, and notifying the UI
- * controller of state changes and game outcomes.
+ * updates and managing scoring and level progression. State changes and game
+ * outcomes are published on the game's {@link GameEventBus}, to which the
+ * view, its sound and any other consumer subscribe.
  */
 public class GameController implements InputEventListener {
 
     private Board board;
 
     private final GuiController viewGuiController;
-    private final HighScoreManager highScoreManager = new HighScoreManager();
+    private final GameContext context;
+    private final GameSnapshot snapshot = new GameSnapshot();
     private LevelManager levelManager;
+    private final GameEventBus events = new GameEventBus();
     private boolean levelMode = false;
+    private boolean gameOver = false;
+    private int linesCleared = 0;
+    private int piecesLocked = 0;
     private static final int SOFT_DROP_SCORE = 1;
     private static final int LINE_SCORE_MULTIPLIER = 50;
+    /** In level mode, a stack reaching this row or above (the spawn rows) ends the game. */
+    private static final int TOP_OUT_ROW = 2;
     
     private List<Shard> activeShards = new ArrayList<>();
     private List<WhiteFlash> activeFlashes = new ArrayList<>();
@@ -182,23 +194,82 @@ public class GameController implements InputEventListener {
     
     /**
      * Constructs a game controller bound to a specific UI controller and board
-     * implementation.
+     * implementation, sharing the UI controller's {@link GameContext}, or
+     * using a headless one if the view has none.
      *
      * @param c the {@link GuiController} responsible for rendering and input
      * @param b the {@link Board} implementation that maintains game state
      */
     public GameController(GuiController c, Board b) {
+        this(c, b, contextOf(c));
+    }
+
+    private static GameContext contextOf(GuiController c) {
+        GameContext context = c == null ? null : c.getContext();
+        return context != null ? context : GameContext.headless();
+    }
+
+    /**
+     * Constructs a game controller that takes its settings, sound and stores
+     * from the given context.
+     *
+     * @param c       the {@link GuiController} responsible for rendering and input,
+     *                or {@code null} for a headless game
+     * @param b       the {@link Board} implementation that maintains game state
+     * @param context the session's configuration and services
+     */
+    public GameController(GuiController c, Board b, GameContext context) {
         viewGuiController = c;
         this.board = b;
+        this.context = context;
+        if (c != null) {
+            events.subscribe(c);
+            events.subscribe(context.getSound());
+        }
+    }
+
+    /**
+     * Constructs a headless game controller with no view. Sound, particle
+     * effects and high-score persistence are skipped, so games can be driven
+     * off the JavaFX thread, e.g. by an autoplayer in soak tests. Each one has
+     * its own {@link GameContext#headless()} context.
+     *
+     * @param b the {@link Board} implementation that maintains game state
+     */
+    public GameController(Board b) {
+        this(null, b);
+    }
+
+    /**
+     * Returns the configuration and services of this session.
+     *
+     * @return the session's context
+     */
+    public GameContext getContext() {
+        return context;
     }
     
+    /**
+     * Returns the bus this game publishes its events on. A game with a view
+     * has the view and its sound subscribed already.
+     *
+     * @return the game's event bus
+     */
+    public GameEventBus getEvents() {
+        return events;
+    }
+
     /**
      * Initializes a standard endless game session, creating the first brick,
      * binding score updates, and preparing the view.
      */
     public void initGame() {
         board.createNewBrick();
-        viewGuiController.setEventListener(this);
+        events.publish(GameEventType.SPAWN, board.getCurrentBrickId(), piecesLocked);
+        if (isHeadless()) {
+            return;
+        }
+        viewGuiController.setGameController(this);
         viewGuiController.initGameView(board.getBoardMatrix(), board.getViewData());
         viewGuiController.bindScore(board.getScore().scoreProperty());
     }
@@ -217,10 +288,14 @@ public class GameController implements InputEventListener {
      * @param levelId identifier of the level configuration to load
      */
     public void initLevelGame(int levelId) {
-        levelManager = new LevelManager(levelId);
+        levelManager = new LevelManager(levelId, context.getLevelProgress());
         levelMode = true;
         board.createNewBrick();
-        viewGuiController.setEventListener(this);
+        events.publish(GameEventType.SPAWN, board.getCurrentBrickId(), piecesLocked);
+        if (isHeadless()) {
+            return;
+        }
+        viewGuiController.setGameController(this);
         viewGuiController.initGameView(board.getBoardMatrix(), board.getViewData());
         viewGuiController.bindScore(board.getScore().scoreProperty());
         viewGuiController.bindLevelInfo(levelManager);
@@ -242,35 +317,15 @@ public class GameController implements InputEventListener {
 
         if (!canMove) {
             board.mergeBrickToBackground();
+            piecesLocked++;
             
             if (levelMode && levelManager != null) {
                 levelManager.incrementBlocksPlaced();
             }
             
             if (levelMode) {
-                int[][] boardMatrix = board.getBoardMatrix();
-                boolean topOutDetected = false;
-                if (boardMatrix != null && boardMatrix.length > 0) {
-                    int numRows = boardMatrix.length;
-                    int numCols = boardMatrix[0] != null ? boardMatrix[0].length : 0;
-                    for (int row = 0; row <= 2 && row < numRows; row++) {
-                        if (boardMatrix[row] != null) {
-                            for (int col = 0; col < numCols && col < boardMatrix[row].length; col++) {
-                                if (boardMatrix[row][col] != 0) {
-                                    topOutDetected = true;
-                                    break;
-                                }
-                            }
-                        }
-                        if (topOutDetected) {
-                            break;
-                        }
-                    }
-                }
-                
-                if (topOutDetected) {
-                    viewGuiController.gameOver();
-                    highScoreManager.saveHighScore(board.getScore().scoreProperty().get());
+                if (board.getAnalytics().reachesRow(TOP_OUT_ROW)) {
+                    endGame("stack in spawn rows after lock");
                     return new DownData(null, board.getViewData(), 0);
                 }
             }
@@ -280,9 +335,11 @@ public class GameController implements InputEventListener {
             if (clearRow != null && clearRow.getLinesRemoved() > 0) {
                 scoreBonus = LINE_SCORE_MULTIPLIER * clearRow.getLinesRemoved() * clearRow.getLinesRemoved();
                 board.getScore().add(scoreBonus);
-                
-                SoundManager.getInstance().playClear();
-                
+                linesCleared += clearRow.getLinesRemoved();
+                events.publish(GameEventType.LINES_CLEARED, clearRow.getLinesRemoved(), linesCleared);
+            }
+
+            if (clearRow != null && clearRow.getLinesRemoved() > 0 && !isHeadless()) {
                 int[][] boardBeforeClear = null;
                 if (board.getBoardMatrix() != null) {
                     boardBeforeClear = MatrixOperations.copy(board.getBoardMatrix());
@@ -295,64 +352,54 @@ public class GameController implements InputEventListener {
                 }
             }
 
+            events.publish(GameEventType.LOCK, clearRow != null ? clearRow.getLinesRemoved() : 0, piecesLocked);
+            if (gameOver) {
+                return new DownData(clearRow, board.getViewData(), scoreBonus);
+            }
+
             if (levelMode) {
-                int[][] boardMatrix = board.getBoardMatrix();
-                boolean topOutDetected = false;
-                if (boardMatrix != null && boardMatrix.length > 0) {
-                    int numRows = boardMatrix.length;
-                    int numCols = boardMatrix[0] != null ? boardMatrix[0].length : 0;
-                    for (int row = 0; row <= 2 && row < numRows; row++) {
-                        if (boardMatrix[row] != null) {
-                            for (int col = 0; col < numCols && col < boardMatrix[row].length; col++) {
-                                if (boardMatrix[row][col] != 0) {
-                                    topOutDetected = true;
-                                    break;
-                                }
-                            }
-                        }
-                        if (topOutDetected) {
-                            break;
-                        }
-                    }
-                }
-                
-                if (topOutDetected) {
-                    viewGuiController.gameOver();
-                    highScoreManager.saveHighScore(board.getScore().scoreProperty().get());
+                if (board.getAnalytics().reachesRow(TOP_OUT_ROW)) {
+                    endGame("stack in spawn rows after clear");
                     return new DownData(clearRow, board.getViewData(), scoreBonus);
                 }
             }
 
             boolean cannotCreateNewBrick = board.createNewBrick();
             if (cannotCreateNewBrick) {
-                viewGuiController.gameOver();
-                highScoreManager.saveHighScore(board.getScore().scoreProperty().get());
+                endGame("blocked spawn");
                 return new DownData(clearRow, board.getViewData(), scoreBonus);
             }
+            events.publish(GameEventType.SPAWN, board.getCurrentBrickId(), piecesLocked);
             
             if (levelMode && levelManager != null) {
                 int currentScore = board.getScore().scoreProperty().get();
                 
                 if (levelManager.checkLevelFailed(currentScore)) {
-                    viewGuiController.levelFailed(levelManager.getCurrentLevel(), currentScore, levelManager.getScoreRequired());
+                    if (isHeadless()) {
+                        gameOver = true;
+                    }
+                    events.publish(GameEventType.LEVEL_FAILED, levelManager.getCurrentLevel(), currentScore);
                     return new DownData(clearRow, board.getViewData(), scoreBonus);
                 }
                 
                 if (currentScore >= levelManager.getScoreRequired() && levelManager.getBlocksPlaced() >= levelManager.getBlocksRequired()) {
-                    levelManager.unlockNextLevel();
-                    
-                    int completedLevel = levelManager.getCurrentLevel();
-                    viewGuiController.levelWon(completedLevel, levelManager.isMaxLevel());
+                    if (isHeadless()) {
+                        gameOver = true;
+                    } else {
+                        levelManager.unlockNextLevel();
+                    }
+                    events.publish(GameEventType.LEVEL_UP, levelManager.getCurrentLevel(), levelManager.isMaxLevel() ? 1 : 0);
                     return new DownData(clearRow, board.getViewData(), scoreBonus);
                 }
             }
 
-            viewGuiController.refreshGameBackground(board.getBoardMatrix());
+            events.publish(GameEventType.BOARD_CHANGED, 0, 0);
 
         } else {
             if (event.getEventSource() == EventSource.USER) {
                 board.getScore().add(SOFT_DROP_SCORE);
             }
+            publishMove(GameEventType.MOVE);
         }
 
         return new DownData(clearRow, board.getViewData(), scoreBonus);
@@ -367,7 +414,9 @@ public class GameController implements InputEventListener {
      */
     @Override
     public ViewData onLeftEvent(MoveEvent event) {
-        board.moveBrickLeft();
+        if (board.moveBrickLeft()) {
+            publishMove(GameEventType.MOVE);
+        }
         return board.getViewData();
     }
 
@@ -380,7 +429,9 @@ public class GameController implements InputEventListener {
      */
     @Override
     public ViewData onRightEvent(MoveEvent event) {
-        board.moveBrickRight();
+        if (board.moveBrickRight()) {
+            publishMove(GameEventType.MOVE);
+        }
         return board.getViewData();
     }
 
@@ -393,10 +444,17 @@ public class GameController implements InputEventListener {
      */
     @Override
     public ViewData onRotateEvent(MoveEvent event) {
-        board.rotateLeftBrick();
+        if (board.rotateLeftBrick()) {
+            publishMove(GameEventType.ROTATE);
+        }
         return board.getViewData();
     }
 
+    /** Publishes a move or rotation with the active brick's position. */
+    private void publishMove(GameEventType type) {
+        events.publish(type, board.getBrickX(), board.getBrickY());
+    }
+
     /**
      * Resets the underlying board to start a new game and clears any
      * level-specific progress tracking.
@@ -404,10 +462,160 @@ public class GameController implements InputEventListener {
     @Override
     public void createNewGame() {
         board.newGame();
+        gameOver = false;
+        linesCleared = 0;
+        piecesLocked = 0;
         if (levelMode && levelManager != null) {
             levelManager.reset();
         }
-        viewGuiController.refreshGameBackground(board.getBoardMatrix());
+        events.publish(GameEventType.BOARD_CHANGED, 0, 0);
+    }
+
+    /**
+     * Raises garbage rows under the stack, see
+     * {@link Board#insertGarbageRows(int, int)}. If locked cells are pushed
+     * off the board the player is buried and the game ends. Lock subscribers
+     * may call this before the next brick spawns; a game that ends here
+     * spawns no further brick.
+     *
+     * @param lines      number of garbage rows
+     * @param holeColumn the empty column of every inserted row
+     * @return {@code true} if the garbage ended the game
+     */
+    public boolean raiseGarbage(int lines, int holeColumn) {
+        if (!board.insertGarbageRows(lines, holeColumn)) {
+            return false;
+        }
+        endGame("garbage overflow");
+        return true;
+    }
+
+    /**
+     * Ends the session after a top-out: records it, publishes it and stores
+     * the high score.
+     *
+     * @param cause short description of the check that ended the game
+     */
+    private void endGame(String cause) {
+        gameOver = true;
+        int finalScore = board.getScore().scoreProperty().get();
+        TopOutEvent.emit(cause, finalScore, levelMode);
+        events.publish(GameEventType.TOP_OUT, finalScore, 0);
+        if (isHeadless()) {
+            return;
+        }
+        context.getHighScores().saveHighScore(finalScore);
+    }
+
+    private boolean isHeadless() {
+        return viewGuiController == null;
+    }
+
+    /**
+     * Indicates whether the current session has ended, either by topping out
+     * or, in headless level games, by winning or failing the level.
+     *
+     * @return {@code true} once the game is over
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Returns the total number of rows cleared in the current session.
+     *
+     * @return lines cleared since the game started
+     */
+    public int getLinesCleared() {
+        return linesCleared;
+    }
+
+    /**
+     * Returns the number of bricks locked into the board in the current
+     * session. The value changes exactly when a new brick becomes active.
+     *
+     * @return bricks locked since the game started
+     */
+    public int getPiecesLocked() {
+        return piecesLocked;
+    }
+    
+    /**
+     * Captures the board and this controller's counters, for example once per
+     * tick so a networked game can roll back. Level state is not included.
+     *
+     * @param target the snapshot to fill
+     */
+    public void saveState(GameSnapshot target) {
+        board.saveSnapshot(target);
+        target.setProgress(linesCleared, piecesLocked, gameOver);
+    }
+
+    /**
+     * Returns the game to a state captured by {@link #saveState(GameSnapshot)}.
+     * The view is not refreshed.
+     *
+     * @param source the snapshot to apply
+     */
+    public void restoreState(GameSnapshot source) {
+        board.restoreSnapshot(source);
+        linesCleared = source.getLinesCleared();
+        piecesLocked = source.getPiecesLocked();
+        gameOver = source.isGameOver();
+    }
+
+    /**
+     * Saves the game in progress, including level counters, so it can be
+     * resumed with {@link #resumeSavedGame()}.
+     *
+     * @return {@code true} if the game was saved
+     */
+    public boolean saveGame() {
+        board.saveSnapshot(snapshot);
+        if (levelMode && levelManager != null) {
+            snapshot.setLevelState(true, levelManager.getCurrentLevel(), levelManager.getBlocksPlaced());
+        } else {
+            snapshot.setLevelState(false, 0, 0);
+        }
+        return context.getSaves().save(snapshot);
+    }
+
+    /**
+     * Restores the saved game into this controller's board and prepares the
+     * view for it. The save is consumed, so it can only be resumed once.
+     *
+     * @return {@code true} if a saved game was restored, {@code false} if there
+     *         was none or it could not be read
+     */
+    public boolean resumeSavedGame() {
+        if (!context.getSaves().load(snapshot)) {
+            return false;
+        }
+        board.restoreSnapshot(snapshot);
+        if (snapshot.isLevelMode()) {
+            levelManager = new LevelManager(snapshot.getLevelId(), context.getLevelProgress());
+            levelManager.setBlocksPlaced(snapshot.getBlocksPlaced());
+            levelMode = true;
+        }
+        context.getSaves().deleteSave();
+
+        viewGuiController.setGameController(this);
+        viewGuiController.initGameView(board.getBoardMatrix(), board.getViewData());
+        viewGuiController.bindScore(board.getScore().scoreProperty());
+        if (levelMode) {
+            viewGuiController.bindLevelInfo(levelManager);
+        }
+        events.publish(GameEventType.BOARD_CHANGED, 0, 0);
+        return true;
+    }
+
+    /**
+     * Indicates whether a saved game is available to resume.
+     *
+     * @return {@code true} if a save exists
+     */
+    public boolean hasSavedGame() {
+        return context.getSaves().hasSave();
     }
     
     /**
@@ -458,7 +666,7 @@ public class GameController implements InputEventListener {
      * @param boardBeforeClear a snapshot of the board prior to row removal
      */
     public void triggerShatter(int gridY, int[][] boardBeforeClear) {
-        if (boardBeforeClear == null || gridY < 0 || gridY >= boardBeforeClear.length) {
+        if (isHeadless() || boardBeforeClear == null || gridY < 0 || gridY >= boardBeforeClear.length) {
             return;
         }
         
@@ -2,28 +2,62 @@ package com.comp2042.controller;
 
 import java.io.*;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 
 /**
  * Manages persistent storage and retrieval of the player's high score
- * using a simple text file in the local file system.
+ * using a simple text file in the local file system. An
+ * {@link #inMemory()} manager keeps the score for the life of the object
+ * only.
  */
 public class HighScoreManager {
 
     private static final String HIGHSCORE_FILE = "highscore.txt";
 
+    private final Path highScorePath;
+    private int memoryHighScore;
+
+    /**
+     * Creates a manager backed by the default high score file in the working directory.
+     */
+    public HighScoreManager() {
+        this(Paths.get(HIGHSCORE_FILE));
+    }
+
+    /**
+     * Creates a manager backed by the given high score file.
+     *
+     * @param highScorePath location of the high score file
+     */
+    public HighScoreManager(Path highScorePath) {
+        this.highScorePath = highScorePath;
+    }
+
+    /**
+     * Creates a manager that touches no file, e.g. for a headless session.
+     *
+     * @return a new in-memory high score manager
+     */
+    public static HighScoreManager inMemory() {
+        return new HighScoreManager((Path) null);
+    }
+
     /**
      * Loads the current high score from the high score file.
      * If the file is missing or cannot be parsed, this method returns {@code 0}.
      *
      * @return the stored high score, or {@code 0} if no valid score is found
      */
-    public int loadHighScore() {
+    public synchronized int loadHighScore() {
+        if (highScorePath == null) {
+            return memoryHighScore;
+        }
         try {
-            if (!Files.exists(Paths.get(HIGHSCORE_FILE))) {
+            if (!Files.exists(highScorePath)) {
                 return 0;
             }
-            String content = new String(Files.readAllBytes(Paths.get(HIGHSCORE_FILE)));
+            String content = new String(Files.readAllBytes(highScorePath));
             return Integer.parseInt(content.trim());
         } catch (Exception e) {
             e.printStackTrace();
@@ -37,11 +71,15 @@ public class HighScoreManager {
      *
      * @param score the latest score achieved by the player
      */
-    public void saveHighScore(int score) {
+    public synchronized void saveHighScore(int score) {
+        if (highScorePath == null) {
+            memoryHighScore = Math.max(memoryHighScore, score);
+            return;
+        }
         try {
             int currentHigh = loadHighScore();
             if (score > currentHigh) {
-                FileWriter writer = new FileWriter(HIGHSCORE_FILE);
+                FileWriter writer = new FileWriter(highScorePath.toFile());
                 writer.write(String.valueOf(score));
                 writer.close();
             }
@@ -50,4 +88,3 @@ public class HighScoreManager {
         }
     }
 }
-
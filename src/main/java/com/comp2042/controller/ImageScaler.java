@@ -0,0 +1,70 @@
+package com.comp2042.controller;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Resizes decoded images with bilinear filtering. Works directly on pixel
+ * buffers, so it may run on any thread.
+ */
+final class ImageScaler {
+
+    private ImageScaler() {
+
+    }
+
+    /**
+     * Produces a resized copy of an image, or returns the image itself if it
+     * already has the requested size.
+     *
+     * @param source the decoded source image
+     * @param width  target width in pixels
+     * @param height target height in pixels
+     * @return the resized image
+     */
+    static Image scale(Image source, int width, int height) {
+        int srcWidth = (int) source.getWidth();
+        int srcHeight = (int) source.getHeight();
+        if (srcWidth == width && srcHeight == height) {
+            return source;
+        }
+        PixelReader reader = source.getPixelReader();
+        int[] src = new int[srcWidth * srcHeight];
+        reader.getPixels(0, 0, srcWidth, srcHeight, PixelFormat.getIntArgbInstance(), src, 0, srcWidth);
+
+        int[] dst = new int[width * height];
+        double scaleX = (double) srcWidth / width;
+        double scaleY = (double) srcHeight / height;
+        for (int y = 0; y < height; y++) {
+            double sy = Math.max(0, (y + 0.5) * scaleY - 0.5);
+            int y0 = Math.min((int) sy, srcHeight - 1);
+            int y1 = Math.min(y0 + 1, srcHeight - 1);
+            double fy = sy - y0;
+            for (int x = 0; x < width; x++) {
+                double sx = Math.max(0, (x + 0.5) * scaleX - 0.5);
+                int x0 = Math.min((int) sx, srcWidth - 1);
+                int x1 = Math.min(x0 + 1, srcWidth - 1);
+                double fx = sx - x0;
+                dst[y * width + x] = blend(
+                        src[y0 * srcWidth + x0], src[y0 * srcWidth + x1],
+                        src[y1 * srcWidth + x0], src[y1 * srcWidth + x1], fx, fy);
+            }
+        }
+        WritableImage scaled = new WritableImage(width, height);
+        scaled.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), dst, 0, width);
+        return scaled;
+    }
+
+    private static int blend(int topLeft, int topRight, int bottomLeft, int bottomRight, double fx, double fy) {
+        int result = 0;
+        for (int shift = 0; shift <= 24; shift += 8) {
+            double top = ((topLeft >>> shift) & 0xFF) * (1 - fx) + ((topRight >>> shift) & 0xFF) * fx;
+            double bottom = ((bottomLeft >>> shift) & 0xFF) * (1 - fx) + ((bottomRight >>> shift) & 0xFF) * fx;
+            int channel = (int) Math.round(top * (1 - fy) + bottom * fy);
+            result |= (channel & 0xFF) << shift;
+        }
+        return result;
+    }
+}
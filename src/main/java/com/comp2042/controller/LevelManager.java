@@ -25,9 +25,11 @@ public class LevelManager {
     /**
      * Creates a level manager starting from level 1 using the default
      * level configuration set.
+     *
+     * @param progressManager store of the levels the player has unlocked
      */
-    public LevelManager() {
-        this.progressManager = new LevelProgressManager();
+    public LevelManager(LevelProgressManager progressManager) {
+        this.progressManager = progressManager;
         this.allLevels = LevelConfig.createDefaultLevels();
         updateLevelLockStatus();
         setLevel(1);
@@ -37,10 +39,11 @@ public class LevelManager {
      * Creates a level manager starting from a specific level using the
      * default level configuration set.
      *
-     * @param levelId initial level to load
+     * @param levelId         initial level to load
+     * @param progressManager store of the levels the player has unlocked
      */
-    public LevelManager(int levelId) {
-        this.progressManager = new LevelProgressManager();
+    public LevelManager(int levelId, LevelProgressManager progressManager) {
+        this.progressManager = progressManager;
         this.allLevels = LevelConfig.createDefaultLevels();
         updateLevelLockStatus();
         setLevel(levelId);
@@ -90,6 +93,16 @@ public class LevelManager {
         blocksPlaced.set(blocksPlaced.get() + 1);
     }
     
+    /**
+     * Sets the number of blocks placed in the current level, used when a
+     * saved game is resumed.
+     *
+     * @param count blocks already placed this level
+     */
+    public void setBlocksPlaced(int count) {
+        blocksPlaced.set(Math.max(0, count));
+    }
+    
     /**
      * Determines whether the level is complete based on blocks placed
      * and the player's current score.
@@ -1,32 +1,59 @@
 package com.comp2042.controller;
 
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Properties;
 
 /**
  * Persists and restores the player's level progression so that unlocked
- * levels remain available across game sessions.
+ * levels remain available across game sessions. An {@link #inMemory()}
+ * manager keeps the progression for the life of the object only.
  */
 public class LevelProgressManager {
     private static final String PROGRESS_FILE = "level_progress.properties";
     private static final String HIGHEST_LEVEL_KEY = "highestLevelUnlocked";
+    private final Path progressPath;
     private int highestLevelUnlocked = 1; // Default: Level 1 unlocked
     
     /**
      * Constructs a new progress manager and loads any existing progress
-     * from the backing properties file.
+     * from the default properties file in the working directory.
      */
     public LevelProgressManager() {
+        this(Paths.get(PROGRESS_FILE));
+    }
+
+    /**
+     * Constructs a new progress manager and loads any existing progress
+     * from the given properties file.
+     *
+     * @param progressPath location of the progress file
+     */
+    public LevelProgressManager(Path progressPath) {
+        this.progressPath = progressPath;
         loadProgress();
     }
+
+    /**
+     * Creates a manager that starts at level 1 and touches no file.
+     *
+     * @return a new in-memory progress manager
+     */
+    public static LevelProgressManager inMemory() {
+        return new LevelProgressManager((Path) null);
+    }
     
     /**
      * Loads the highest unlocked level from the progress file if it exists.
      * If loading fails, the progression falls back to level 1.
      */
     public void loadProgress() {
+        if (progressPath == null) {
+            return;
+        }
         Properties props = new Properties();
-        File file = new File(PROGRESS_FILE);
+        File file = progressPath.toFile();
         
         if (file.exists()) {
             try (FileInputStream fis = new FileInputStream(file)) {
@@ -47,10 +74,13 @@ public class LevelProgressManager {
      */
     public void saveProgress(int highestLevel) {
         highestLevelUnlocked = highestLevel;
+        if (progressPath == null) {
+            return;
+        }
         Properties props = new Properties();
         props.setProperty(HIGHEST_LEVEL_KEY, String.valueOf(highestLevel));
         
-        try (FileOutputStream fos = new FileOutputStream(PROGRESS_FILE)) {
+        try (FileOutputStream fos = new FileOutputStream(progressPath.toFile())) {
             props.store(fos, "Level Progress");
         } catch (IOException e) {
             System.err.println("Error saving progress: " + e.getMessage());
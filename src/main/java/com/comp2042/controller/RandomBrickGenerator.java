@@ -1,5 +1,6 @@
 package com.comp2042.controller;
 
+import com.comp2042.model.SplitMix;
 import com.comp2042.model.bricks.Brick;
 import com.comp2042.model.bricks.IBrick;
 import com.comp2042.model.bricks.JBrick;
@@ -19,6 +20,10 @@ import java.util.concurrent.ThreadLocalRandom;
  * Default implementation of {@link BrickGenerator} that produces a random
  * sequence of tetrominoes and maintains a short queue used for the "Next"
  * piece preview.
+ * <p>
+ * The sequence comes from a SplitMix64 generator whose whole state is a single
+ * {@code long}, so a generator can be seeded for reproducible games and its
+ * position in the sequence can be saved and restored.
  */
 public class RandomBrickGenerator implements BrickGenerator {
 
@@ -26,11 +31,24 @@ public class RandomBrickGenerator implements BrickGenerator {
 
     private final Deque<Brick> nextBricks = new ArrayDeque<>();
 
+    private final long seed;
+
+    private long randomState;
+
     /**
-     * Initializes the generator with a full set of tetromino types and
-     * seeds the queue with two random entries.
+     * Initializes the generator with a random seed.
      */
     public RandomBrickGenerator() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Initializes the generator with a full set of tetromino types and
+     * seeds the queue with two entries drawn from the given seed.
+     *
+     * @param seed seed of the brick sequence
+     */
+    public RandomBrickGenerator(long seed) {
         brickList = new ArrayList<>();
         brickList.add(new IBrick());
         brickList.add(new JBrick());
@@ -39,8 +57,10 @@ public class RandomBrickGenerator implements BrickGenerator {
         brickList.add(new SBrick());
         brickList.add(new TBrick());
         brickList.add(new ZBrick());
-        nextBricks.add(brickList.get(ThreadLocalRandom.current().nextInt(brickList.size())));
-        nextBricks.add(brickList.get(ThreadLocalRandom.current().nextInt(brickList.size())));
+        this.seed = seed;
+        this.randomState = seed;
+        nextBricks.add(brickList.get(nextIndex()));
+        nextBricks.add(brickList.get(nextIndex()));
     }
 
     /**
@@ -52,7 +72,7 @@ public class RandomBrickGenerator implements BrickGenerator {
     @Override
     public Brick getBrick() {
         if (nextBricks.size() <= 1) {
-            nextBricks.add(brickList.get(ThreadLocalRandom.current().nextInt(brickList.size())));
+            nextBricks.add(brickList.get(nextIndex()));
         }
         return nextBricks.poll();
     }
@@ -67,5 +87,49 @@ public class RandomBrickGenerator implements BrickGenerator {
     public Brick getNextBrick() {
         return nextBricks.peek();
     }
-}
 
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public long getRandomState() {
+        return randomState;
+    }
+
+    @Override
+    public int copyQueuedBrickIds(int[] out) {
+        int count = 0;
+        for (Brick brick : nextBricks) {
+            out[count++] = brick.getId();
+        }
+        return count;
+    }
+
+    @Override
+    public int getQueuedBrickCount() {
+        return nextBricks.size();
+    }
+
+    @Override
+    public void restoreState(long randomState, int[] queuedBrickIds, int count) {
+        this.randomState = randomState;
+        nextBricks.clear();
+        for (int i = 0; i < count; i++) {
+            nextBricks.add(brickList.get(queuedBrickIds[i] - 1));
+        }
+    }
+
+    /**
+     * Advances the SplitMix64 state and maps the output onto an index into
+     * {@link #brickList}.
+     *
+     * @return a pseudo-random brick index
+     */
+    private int nextIndex() {
+        randomState += SplitMix.GOLDEN_GAMMA;
+        long z = SplitMix.mix(randomState);
+        return (int) ((z >>> 1) % brickList.size());
+    }
+}
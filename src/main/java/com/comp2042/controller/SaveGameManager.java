@@ -0,0 +1,147 @@
+package com.comp2042.controller;
+
+import com.comp2042.model.GameSnapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Persists a single in-progress game so the player can quit mid-level and
+ * resume later. Snapshots are written in their compact binary form through a
+ * {@link FileChannel} using a reusable direct buffer, allocated on first use
+ * so that sessions which never save do not pay for it. An
+ * {@link #inMemory()} manager keeps the encoded save in a byte array instead
+ * of a file.
+ */
+public class SaveGameManager {
+
+    private static final String SAVE_FILE = "savegame.dat";
+
+    private final Path savePath;
+    private ByteBuffer buffer;
+    private byte[] memorySave;
+
+    /**
+     * Creates a manager backed by the default save file in the working directory.
+     */
+    public SaveGameManager() {
+        this(Paths.get(SAVE_FILE));
+    }
+
+    /**
+     * Creates a manager backed by the given save file.
+     *
+     * @param savePath location of the save file
+     */
+    public SaveGameManager(Path savePath) {
+        this.savePath = savePath;
+    }
+
+    /**
+     * Creates a manager that touches no file, e.g. for a headless session.
+     *
+     * @return a new in-memory save game manager
+     */
+    public static SaveGameManager inMemory() {
+        return new SaveGameManager((Path) null);
+    }
+
+    /**
+     * Writes the snapshot to the save file, replacing any previous save.
+     *
+     * @param snapshot the game state to persist
+     * @return {@code true} if the save was written
+     */
+    public synchronized boolean save(GameSnapshot snapshot) {
+        ByteBuffer buffer = buffer();
+        snapshot.encode(buffer);
+        buffer.flip();
+        if (savePath == null) {
+            memorySave = new byte[buffer.remaining()];
+            buffer.get(memorySave);
+            return true;
+        }
+        try (FileChannel channel = FileChannel.open(savePath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error saving game: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reads the save file into the given snapshot.
+     *
+     * @param snapshot the snapshot to fill
+     * @return {@code true} if a valid save was loaded, {@code false} if there
+     *         is no save or it could not be read
+     */
+    public synchronized boolean load(GameSnapshot snapshot) {
+        if (!hasSave()) {
+            return false;
+        }
+        ByteBuffer buffer = buffer();
+        if (savePath == null) {
+            buffer.put(memorySave).flip();
+            try {
+                snapshot.decode(buffer);
+                return true;
+            } catch (IllegalArgumentException e) {
+                System.err.println("Error loading saved game: " + e.getMessage());
+                return false;
+            }
+        }
+        try (FileChannel channel = FileChannel.open(savePath, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                // keep reading until the file is exhausted
+            }
+            buffer.flip();
+            snapshot.decode(buffer);
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error loading saved game: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Indicates whether a saved game exists.
+     *
+     * @return {@code true} if the save file exists
+     */
+    public synchronized boolean hasSave() {
+        return savePath == null ? memorySave != null : Files.exists(savePath);
+    }
+
+    /**
+     * Deletes the saved game, if any.
+     */
+    public synchronized void deleteSave() {
+        if (savePath == null) {
+            memorySave = null;
+            return;
+        }
+        try {
+            Files.deleteIfExists(savePath);
+        } catch (IOException e) {
+            System.err.println("Error deleting saved game: " + e.getMessage());
+        }
+    }
+
+    private ByteBuffer buffer() {
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(GameSnapshot.MAX_ENCODED_SIZE);
+        }
+        buffer.clear();
+        return buffer;
+    }
+}
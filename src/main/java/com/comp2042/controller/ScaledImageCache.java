@@ -0,0 +1,92 @@
+package com.comp2042.controller;
+
+import javafx.scene.image.Image;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of resized images bounded by an approximate memory
+ * budget. Each entry is charged four bytes per pixel, which matches the
+ * premultiplied ARGB format JavaFX keeps decoded images in.
+ */
+public final class ScaledImageCache {
+
+    private final long budgetBytes;
+    private final LinkedHashMap<String, Image> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param budgetBytes maximum number of pixel bytes to retain
+     */
+    public ScaledImageCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Builds the cache key for an image resized to the given dimensions.
+     *
+     * @param resourcePath classpath-relative path of the source image
+     * @param width        target width in pixels
+     * @param height       target height in pixels
+     * @return key identifying the scaled variant
+     */
+    public static String key(String resourcePath, int width, int height) {
+        return resourcePath + '@' + width + 'x' + height;
+    }
+
+    /**
+     * Returns a cached variant and marks it as most recently used.
+     *
+     * @param key cache key from {@link #key(String, int, int)}
+     * @return the cached image, or {@code null} if it is not cached
+     */
+    public synchronized Image get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Stores a variant and evicts least-recently-used entries until the cache
+     * is back within its budget. An image larger than the whole budget is not
+     * retained.
+     *
+     * @param key   cache key from {@link #key(String, int, int)}
+     * @param image the scaled image
+     */
+    public synchronized void put(String key, Image image) {
+        long size = sizeOf(image);
+        if (size > budgetBytes) {
+            return;
+        }
+        Image previous = entries.put(key, image);
+        if (previous != null) {
+            usedBytes -= sizeOf(previous);
+        }
+        usedBytes += size;
+        Iterator<Map.Entry<String, Image>> eldest = entries.entrySet().iterator();
+        while (usedBytes > budgetBytes && eldest.hasNext()) {
+            Map.Entry<String, Image> entry = eldest.next();
+            if (entry.getKey().equals(key)) {
+                continue;
+            }
+            usedBytes -= sizeOf(entry.getValue());
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Returns the number of pixel bytes currently retained.
+     *
+     * @return used bytes
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    private static long sizeOf(Image image) {
+        return 4L * (long) image.getWidth() * (long) image.getHeight();
+    }
+}
@@ -1,132 +1,211 @@
 package com.comp2042.controller;
 
+import com.comp2042.event.GameEventListener;
+import com.comp2042.event.GameEventType;
 import com.comp2042.model.GameConfig;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import javafx.util.Duration;
 
-import java.net.URL;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Singleton manager responsible for loading and controlling background music
- * and sound effects for the game. Volumes are driven by {@link GameConfig}.
+ * Manager responsible for loading and controlling background music and sound
+ * effects for the game. Volumes are driven by the {@link GameConfig} it was
+ * created with. Games get their sound manager from their
+ * {@link GameContext}; headless games use {@link #silent()}, which loads and
+ * plays nothing. A game with a view subscribes its sound manager to the
+ * game's events, which plays the line clear effect.
  */
-public class SoundManager {
+public class SoundManager implements GameEventListener {
 
-    private static SoundManager instance;
+    private static final SoundManager SILENT = new SoundManager(new GameConfig(), false);
+
+    /**
+     * Identifies a background music track.
+     */
+    private enum MusicTrack { MENU, GAME }
 
     private MediaPlayer menuMusicPlayer;
     private MediaPlayer gameMusicPlayer;
-    private Map<String, MediaPlayer> sfxPlayers;
+    private MusicTrack pendingTrack;
+    private boolean menuTrackAvailable;
+    private boolean gameTrackAvailable;
+    private final Map<String, MediaPlayer> sfxPlayers = new ConcurrentHashMap<>();
+    private final GameConfig config;
+    private final boolean audible;
 
     /**
-     * Creates a new sound manager instance and loads all configured audio resources.
-     * Use {@link #getInstance()} to access the shared singleton.
+     * Creates a sound manager and starts loading all configured audio resources.
+     *
+     * @param config the configuration whose volumes are applied
      */
-    private SoundManager() {
-        sfxPlayers = new HashMap<>();
-        loadAudioResources();
+    public SoundManager(GameConfig config) {
+        this(config, true);
+    }
+
+    private SoundManager(GameConfig config, boolean audible) {
+        this.config = config;
+        this.audible = audible;
+        if (audible) {
+            loadAudioResources();
+        }
     }
 
     /**
-     * Returns the singleton instance of the sound manager, creating it on first use.
+     * Returns the shared sound manager that loads no audio and ignores every
+     * request, for headless games.
      *
-     * @return the global {@code SoundManager} instance
+     * @return the silent sound manager
      */
-    public static SoundManager getInstance() {
-        if (instance == null) {
-            instance = new SoundManager();
-        }
-        return instance;
+    public static SoundManager silent() {
+        return SILENT;
     }
 
     /**
-     * Loads all configured audio resources, including background music and sound effects.
+     * Requests all configured audio resources from the {@link AssetManager}.
+     * Menu music is requested ahead of the in-game tracks and effects so the
+     * main menu is not kept waiting; players are attached as each load completes.
+     * A music track missing from the resources is skipped and simply never plays.
      */
     private void loadAudioResources() {
+        loadMusic("Sounds/bgm_menu.mp3.mp3", AssetManager.Priority.FIRST_SCREEN, true);
+        loadMusic("Sounds/bgm_game.mp3.mp3", AssetManager.Priority.GAMEPLAY, false);
+
+        loadSFX("move", "Sounds/sfx_move.mp3.mp3");
+        loadSFX("rotate", "Sounds/sfx_rotate.mp3.mp3");
+        loadSFX("clear", "Sounds/sfx_clear.mp3.mp3");
+        loadSFX("gameover", "Sounds/sfx_gameover.mp3.mp3");
+        loadSFX("count", "Sounds/sfx_count.mp3.mp3");
+        loadSFX("harddrop", "Sounds/sfx_harddrop.mp3.mp3");
+    }
+
+    /**
+     * Requests a music track if it is present in the resources. The track is
+     * marked available before its load starts, so a load that fails at once
+     * cannot be overtaken by this method and left marked available.
+     *
+     * @param resourcePath classpath-relative path to the track
+     * @param priority     load priority
+     * @param menuTrack    {@code true} for the menu track, {@code false} for the game track
+     */
+    private void loadMusic(String resourcePath, AssetManager.Priority priority, boolean menuTrack) {
+        if (getClass().getClassLoader().getResource(resourcePath) == null) {
+            return;
+        }
+        setTrackAvailable(menuTrack, true);
+        AssetManager.getInstance().loadMedia(resourcePath, priority).whenComplete((media, error) -> {
+            if (media != null) {
+                attachMusic(media, menuTrack);
+            } else {
+                dropMusic(menuTrack);
+            }
+        });
+    }
+
+    private synchronized void setTrackAvailable(boolean menuTrack, boolean available) {
+        if (menuTrack) {
+            menuTrackAvailable = available;
+        } else {
+            gameTrackAvailable = available;
+        }
+    }
+
+    /**
+     * Forgets a music track that failed to load, so requests for it no
+     * longer wait for it.
+     */
+    private synchronized void dropMusic(boolean menuTrack) {
+        setTrackAvailable(menuTrack, false);
+        if (pendingTrack == (menuTrack ? MusicTrack.MENU : MusicTrack.GAME)) {
+            pendingTrack = null;
+        }
+    }
+
+    /**
+     * Creates a looping player for a loaded music track and starts it straight
+     * away if that track was requested while it was still loading.
+     *
+     * @param media    the loaded music track
+     * @param menuTrack {@code true} for the menu track, {@code false} for the game track
+     */
+    private synchronized void attachMusic(Media media, boolean menuTrack) {
         try {
-            URL menuMusicUrl = getClass().getClassLoader().getResource("Sounds/bgm_menu.mp3.mp3");
-            URL gameMusicUrl = getClass().getClassLoader().getResource("Sounds/bgm_game.mp3.mp3");
-
-            if (menuMusicUrl != null) {
-                Media menuMusic = new Media(menuMusicUrl.toExternalForm());
-                menuMusicPlayer = new MediaPlayer(menuMusic);
-                menuMusicPlayer.setCycleCount(MediaPlayer.INDEFINITE);
-                menuMusicPlayer.setVolume(GameConfig.getMusicVolume() / 100.0);
+            MediaPlayer player = new MediaPlayer(media);
+            player.setCycleCount(MediaPlayer.INDEFINITE);
+            player.setVolume(config.getMusicVolume() / 100.0);
+            if (menuTrack) {
+                menuMusicPlayer = player;
+            } else {
+                gameMusicPlayer = player;
             }
-            
-            if (gameMusicUrl != null) {
-                Media gameMusic = new Media(gameMusicUrl.toExternalForm());
-                gameMusicPlayer = new MediaPlayer(gameMusic);
-                gameMusicPlayer.setCycleCount(MediaPlayer.INDEFINITE);
-                gameMusicPlayer.setVolume(GameConfig.getMusicVolume() / 100.0);
+            if (pendingTrack == (menuTrack ? MusicTrack.MENU : MusicTrack.GAME)) {
+                pendingTrack = null;
+                player.play();
             }
-            
-            loadSFX("move", "Sounds/sfx_move.mp3.mp3");
-            loadSFX("rotate", "Sounds/sfx_rotate.mp3.mp3");
-            loadSFX("clear", "Sounds/sfx_clear.mp3.mp3");
-            loadSFX("gameover", "Sounds/sfx_gameover.mp3.mp3");
-            loadSFX("count", "Sounds/sfx_count.mp3.mp3");
-            loadSFX("harddrop", "Sounds/sfx_harddrop.mp3.mp3");
-            
         } catch (Exception e) {
-            System.err.println("Error loading audio resources: " + e.getMessage());
+            System.err.println("Error creating music player: " + e.getMessage());
+            dropMusic(menuTrack);
         }
     }
     
     /**
-     * Loads a single sound effect resource and registers it under the given name.
+     * Requests a single sound effect resource and registers it under the given
+     * name once it has loaded.
      *
      * @param name         logical identifier for the sound effect
      * @param resourcePath classpath-relative path to the audio resource
      */
     private void loadSFX(String name, String resourcePath) {
-        try {
-            URL sfxUrl = getClass().getClassLoader().getResource(resourcePath);
-            if (sfxUrl != null) {
-                Media sfxMedia = new Media(sfxUrl.toExternalForm());
-                MediaPlayer sfxPlayer = new MediaPlayer(sfxMedia);
-                sfxPlayer.setVolume(GameConfig.getSfxVolume() / 100.0);
-                sfxPlayers.put(name, sfxPlayer);
-            } else {
-                System.err.println("SFX resource not found: " + resourcePath);
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading SFX " + name + ": " + e.getMessage());
-            e.printStackTrace();
-        }
+        AssetManager.getInstance().loadMedia(resourcePath, AssetManager.Priority.GAMEPLAY)
+                .thenAccept(sfxMedia -> {
+                    try {
+                        MediaPlayer sfxPlayer = new MediaPlayer(sfxMedia);
+                        sfxPlayer.setVolume(config.getSfxVolume() / 100.0);
+                        sfxPlayers.put(name, sfxPlayer);
+                    } catch (Exception e) {
+                        System.err.println("Error loading SFX " + name + ": " + e.getMessage());
+                    }
+                });
     }
     
     /**
      * Starts playback of the menu background music, stopping any currently
-     * playing game music.
+     * playing game music. If the track is still loading it starts as soon as
+     * it is ready; if it is missing, nothing plays.
      */
-    public void playMenuMusic() {
+    public synchronized void playMenuMusic() {
         stopMusic();
         if (menuMusicPlayer != null) {
-            menuMusicPlayer.setVolume(GameConfig.getMusicVolume() / 100.0);
+            menuMusicPlayer.setVolume(config.getMusicVolume() / 100.0);
             menuMusicPlayer.play();
+        } else if (menuTrackAvailable) {
+            pendingTrack = MusicTrack.MENU;
         }
     }
     
     /**
      * Starts playback of the in-game background music, stopping any currently
-     * playing menu music.
+     * playing menu music. If the track is still loading it starts as soon as
+     * it is ready; if it is missing, nothing plays.
      */
-    public void playGameMusic() {
+    public synchronized void playGameMusic() {
         stopMusic();
         if (gameMusicPlayer != null) {
-            gameMusicPlayer.setVolume(GameConfig.getMusicVolume() / 100.0);
+            gameMusicPlayer.setVolume(config.getMusicVolume() / 100.0);
             gameMusicPlayer.play();
+        } else if (gameTrackAvailable) {
+            pendingTrack = MusicTrack.GAME;
         }
     }
     
     /**
-     * Stops all currently playing background music tracks.
+     * Stops all currently playing background music tracks and cancels any
+     * track waiting to start.
      */
-    public void stopMusic() {
+    public synchronized void stopMusic() {
+        pendingTrack = null;
         if (menuMusicPlayer != null) {
             menuMusicPlayer.stop();
         }
@@ -155,6 +234,13 @@ public class SoundManager {
     public void playClear() {
         playSFX("clear");
     }
+
+    @Override
+    public void onGameEvent(GameEventType type, int value, int detail) {
+        if (type == GameEventType.LINES_CLEARED) {
+            playClear();
+        }
+    }
     
     /**
      * Plays the sound effect triggered when the game ends.
@@ -184,9 +270,12 @@ public class SoundManager {
      * @param name logical identifier of the sound effect to play
      */
     private void playSFX(String name) {
+        if (!audible) {
+            return;
+        }
         MediaPlayer player = sfxPlayers.get(name);
         if (player != null) {
-            player.setVolume(GameConfig.getSfxVolume() / 100.0);
+            player.setVolume(config.getSfxVolume() / 100.0);
             player.seek(Duration.ZERO);
             player.play();
         } else {
@@ -195,25 +284,25 @@ public class SoundManager {
     }
     
     /**
-     * Applies the current music volume from {@link GameConfig} to all
+     * Applies the current music volume from the configuration to all
      * background music players.
      */
-    public void updateMusicVolume() {
+    public synchronized void updateMusicVolume() {
         if (menuMusicPlayer != null) {
-            menuMusicPlayer.setVolume(GameConfig.getMusicVolume() / 100.0);
+            menuMusicPlayer.setVolume(config.getMusicVolume() / 100.0);
         }
         if (gameMusicPlayer != null) {
-            gameMusicPlayer.setVolume(GameConfig.getMusicVolume() / 100.0);
+            gameMusicPlayer.setVolume(config.getMusicVolume() / 100.0);
         }
     }
     
     /**
-     * Applies the current sound-effects volume from {@link GameConfig} to
+     * Applies the current sound-effects volume from the configuration to
      * all loaded sound effect players.
      */
     public void updateSfxVolume() {
         for (MediaPlayer player : sfxPlayers.values()) {
-            player.setVolume(GameConfig.getSfxVolume() / 100.0);
+            player.setVolume(config.getSfxVolume() / 100.0);
         }
     }
 }
@@ -0,0 +1,68 @@
+package com.comp2042.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning the load of a single font, image or audio asset.
+ */
+@Name("com.comp2042.AssetLoad")
+@Label("Asset Load")
+@Category({"Tetris", "Assets"})
+@Description("A resource was read and decoded by the asset loader")
+@StackTrace(false)
+public final class AssetLoadEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(AssetLoadEvent.class);
+
+    @Label("Resource")
+    String resource;
+
+    @Label("Priority")
+    String priority;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Starts timing. Returns {@code null}, without allocating anything,
+     * unless the event is enabled in a running recording.
+     *
+     * @return the started event, or {@code null} if it is disabled
+     */
+    public static AssetLoadEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends an event from {@link #start()} and commits it if it passes the
+     * recording's threshold. Does nothing if the event is {@code null}.
+     *
+     * @param event     the started event, or {@code null}
+     * @param resource  classpath path of the asset
+     * @param priority  scheduling priority the asset was loaded with
+     * @param succeeded whether the asset loaded without error
+     */
+    public static void finish(AssetLoadEvent event, String resource, String priority, boolean succeeded) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.resource = resource;
+            event.priority = priority;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+}
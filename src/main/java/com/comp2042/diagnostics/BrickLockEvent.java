@@ -0,0 +1,55 @@
+package com.comp2042.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted when the active brick is merged into the stack.
+ */
+@Name("com.comp2042.BrickLock")
+@Label("Brick Lock")
+@Category({"Tetris", "Gameplay"})
+@Description("The active brick was merged into the background matrix")
+@StackTrace(false)
+public final class BrickLockEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(BrickLockEvent.class);
+
+    @Label("Brick Id")
+    int brickId;
+
+    @Label("Rotation")
+    int rotation;
+
+    @Label("Column")
+    int x;
+
+    @Label("Row")
+    int y;
+
+    /**
+     * Records a lock. Does nothing unless the event is enabled in the
+     * running recording.
+     *
+     * @param brickId  id of the locked brick
+     * @param rotation rotation index the brick locked in
+     * @param x        column of the brick's shape origin
+     * @param y        row of the brick's shape origin
+     */
+    public static void emit(int brickId, int rotation, int x, int y) {
+        if (!TYPE.isEnabled()) {
+            return;
+        }
+        BrickLockEvent event = new BrickLockEvent();
+        event.brickId = brickId;
+        event.rotation = rotation;
+        event.x = x;
+        event.y = y;
+        event.commit();
+    }
+}
@@ -0,0 +1,56 @@
+package com.comp2042.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted when a new brick enters the board.
+ */
+@Name("com.comp2042.BrickSpawn")
+@Label("Brick Spawn")
+@Category({"Tetris", "Gameplay"})
+@Description("A new brick was taken from the generator and placed at the spawn point")
+@StackTrace(false)
+public final class BrickSpawnEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(BrickSpawnEvent.class);
+
+    @Label("Brick Id")
+    int brickId;
+
+    @Label("Column")
+    int x;
+
+    @Label("Row")
+    int y;
+
+    @Label("Blocked")
+    @Description("The spawn position already overlapped the stack")
+    boolean blocked;
+
+    /**
+     * Records a spawn. Does nothing unless the event is enabled in the
+     * running recording.
+     *
+     * @param brickId id of the spawned brick
+     * @param x       spawn column
+     * @param y       spawn row
+     * @param blocked whether the spawn position collided with the stack
+     */
+    public static void emit(int brickId, int x, int y, boolean blocked) {
+        if (!TYPE.isEnabled()) {
+            return;
+        }
+        BrickSpawnEvent event = new BrickSpawnEvent();
+        event.brickId = brickId;
+        event.x = x;
+        event.y = y;
+        event.blocked = blocked;
+        event.commit();
+    }
+}
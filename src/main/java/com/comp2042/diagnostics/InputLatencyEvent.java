@@ -0,0 +1,59 @@
+package com.comp2042.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning the handling of one key press, from the key
+ * event reaching the game panel until the active brick has been redrawn.
+ */
+@Name("com.comp2042.InputLatency")
+@Label("Input Latency")
+@Category({"Tetris", "Input"})
+@Description("Time from a key event to the brick view being refreshed")
+@StackTrace(false)
+public final class InputLatencyEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(InputLatencyEvent.class);
+
+    @Label("Key")
+    String key;
+
+    /**
+     * Starts timing. Returns {@code null}, without allocating anything,
+     * unless the event is enabled in a running recording.
+     *
+     * @return the started event, or {@code null} if it is disabled
+     */
+    public static InputLatencyEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        InputLatencyEvent event = new InputLatencyEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends an event from {@link #start()} and commits it if it passes the
+     * recording's threshold. Does nothing if the event is {@code null}.
+     *
+     * @param event the started event, or {@code null}
+     * @param key name of the key that was handled
+     */
+    public static void finish(InputLatencyEvent event, String key) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.key = key;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.comp2042.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning a scan of the board for full rows. The
+ * event's duration is the time spent finding and removing the rows.
+ * <p>
+ * Typical use:
+ * <pre>
+ * LineClearEvent event = LineClearEvent.start();
+ * ClearRow clearRow = ...;
+ * LineClearEvent.finish(event, clearRow.getLinesRemoved());
+ * </pre>
+ */
+@Name("com.comp2042.LineClear")
+@Label("Line Clear")
+@Category({"Tetris", "Gameplay"})
+@Description("Board scanned for completed rows after a brick locked")
+@StackTrace(false)
+public final class LineClearEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(LineClearEvent.class);
+
+    @Label("Lines Cleared")
+    int linesCleared;
+
+    /**
+     * Starts timing. Returns {@code null}, without allocating anything,
+     * unless the event is enabled in a running recording.
+     *
+     * @return the started event, or {@code null} if it is disabled
+     */
+    public static LineClearEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        LineClearEvent event = new LineClearEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends an event from {@link #start()} and commits it if it passes the
+     * recording's threshold. Does nothing if the event is {@code null}.
+     *
+     * @param event        the started event, or {@code null}
+     * @param linesCleared number of rows removed by the scan
+     */
+    public static void finish(LineClearEvent event, int linesCleared) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.linesCleared = linesCleared;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.comp2042.diagnostics;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-memory histogram of non-negative long values, typically durations in
+ * nanoseconds.
+ * <p>
+ * Values are counted in logarithmic buckets: every power of two is split into
+ * {@value #SUB_BUCKETS} linear sub-buckets, so any reported percentile is within
+ * about 6% of the true value. Recording is a handful of arithmetic operations
+ * and never allocates, which makes it cheap enough to call on every frame.
+ * <p>
+ * Instances are not thread-safe; each histogram should be written and read by
+ * a single thread, normally the JavaFX application thread.
+ */
+public final class LogHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** Values at or above 2^40 ns (about 18 minutes) are clamped into the last bucket. */
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_TRACKABLE = (1L << MAX_EXPONENT) - 1;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * Adds one value to the histogram. Negative values are recorded as zero.
+     *
+     * @param value the value to record
+     */
+    public void record(long value) {
+        long clamped = value < 0 ? 0 : Math.min(value, MAX_TRACKABLE);
+        counts[bucketIndex(clamped)]++;
+        totalCount++;
+        sum += clamped;
+        if (clamped < min) {
+            min = clamped;
+        }
+        if (clamped > max) {
+            max = clamped;
+        }
+    }
+
+    /**
+     * Returns an upper bound for the value below which the given percentage of
+     * recorded values fall.
+     *
+     * @param percentile percentage between 0 and 100
+     * @return the value at the percentile, or 0 if nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double clampedPercentile = Math.max(0.0, Math.min(100.0, percentile));
+        long target = Math.max(1, (long) Math.ceil(clampedPercentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.max(min, Math.min(max, bucketUpperBound(i)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the total count
+     */
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return the maximum, or 0 if nothing has been recorded
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the arithmetic mean of the recorded values.
+     *
+     * @return the mean, or 0 if nothing has been recorded
+     */
+    public double getMean() {
+        return totalCount == 0 ? 0.0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Adds every value recorded by another histogram, for example to combine
+     * per-thread histograms once the threads are done.
+     *
+     * @param other the histogram to add; it is not changed
+     */
+    public void add(LogHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Discards all recorded values without releasing the bucket storage.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        totalCount = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,64 @@
+package com.comp2042.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning one update of the game view's scene graph.
+ */
+@Name("com.comp2042.RenderPass")
+@Label("Render Pass")
+@Category({"Tetris", "Rendering"})
+@Description("Time spent updating board, brick or effect nodes for one pass")
+@StackTrace(false)
+public final class RenderPassEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(RenderPassEvent.class);
+
+    @Label("Pass")
+    @Description("Which part of the view was updated, e.g. brick, background or effects")
+    String pass;
+
+    @Label("Nodes Updated")
+    int nodesUpdated;
+
+    /**
+     * Starts timing. Returns {@code null}, without allocating anything,
+     * unless the event is enabled in a running recording.
+     *
+     * @return the started event, or {@code null} if it is disabled
+     */
+    public static RenderPassEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        RenderPassEvent event = new RenderPassEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends an event from {@link #start()} and commits it if it passes the
+     * recording's threshold. Does nothing if the event is {@code null}.
+     *
+     * @param event        the started event, or {@code null}
+     * @param pass         name of the render pass
+     * @param nodesUpdated number of nodes restyled during the pass
+     */
+    public static void finish(RenderPassEvent event, String pass, int nodesUpdated) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.pass = pass;
+            event.nodesUpdated = nodesUpdated;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.comp2042.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted when a game ends because the stack reached the top.
+ */
+@Name("com.comp2042.TopOut")
+@Label("Top Out")
+@Category({"Tetris", "Gameplay"})
+@Description("The game ended because the stack reached the spawn area")
+@StackTrace(false)
+public final class TopOutEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(TopOutEvent.class);
+
+    @Label("Cause")
+    @Description("Which check ended the game, e.g. blocked spawn or stack in the top rows")
+    String cause;
+
+    @Label("Score")
+    int score;
+
+    @Label("Level Mode")
+    boolean levelMode;
+
+    /**
+     * Records a top-out. Does nothing unless the event is enabled in the
+     * running recording.
+     *
+     * @param cause     short description of the check that ended the game
+     * @param score     final score
+     * @param levelMode whether the game was played in level mode
+     */
+    public static void emit(String cause, int score, boolean levelMode) {
+        if (!TYPE.isEnabled()) {
+            return;
+        }
+        TopOutEvent event = new TopOutEvent();
+        event.cause = cause;
+        event.score = score;
+        event.levelMode = levelMode;
+        event.commit();
+    }
+}
@@ -0,0 +1,83 @@
+package com.comp2042.event;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivers the events of one game to any number of subscribers, such as the
+ * view, sound, a versus opponent or a replay recorder, so the game does not
+ * have to know them.
+ * <p>
+ * Publishing allocates nothing: payloads are primitives and subscribers are
+ * kept in an array that is copied only when a subscriber is added or removed.
+ * With no subscribers, publishing is a single array length check. Subscribing
+ * is safe from any thread; events are delivered on the publishing thread, and
+ * a subscriber may publish further events from its callback.
+ */
+public final class GameEventBus {
+
+    private static final GameEventListener[] NONE = new GameEventListener[0];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile GameEventListener[] listeners = NONE;
+
+    /**
+     * Adds a subscriber. It receives events published from now on, after the
+     * subscribers added before it.
+     *
+     * @param listener the subscriber
+     */
+    public void subscribe(GameEventListener listener) {
+        lock.lock();
+        try {
+            GameEventListener[] current = listeners;
+            GameEventListener[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = listener;
+            listeners = next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a subscriber, if present.
+     *
+     * @param listener the subscriber
+     */
+    public void unsubscribe(GameEventListener listener) {
+        lock.lock();
+        try {
+            GameEventListener[] current = listeners;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == listener) {
+                    GameEventListener[] next = new GameEventListener[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, i);
+                    System.arraycopy(current, i + 1, next, i, next.length - i);
+                    listeners = next.length == 0 ? NONE : next;
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Delivers an event to every subscriber.
+     *
+     * @param type   what happened
+     * @param value  first payload value, see {@link GameEventType}
+     * @param detail second payload value, see {@link GameEventType}
+     */
+    public void publish(GameEventType type, int value, int detail) {
+        GameEventListener[] current = listeners;
+        for (GameEventListener listener : current) {
+            listener.onGameEvent(type, value, detail);
+        }
+    }
+
+    /** @return the number of subscribers */
+    public int size() {
+        return listeners.length;
+    }
+}
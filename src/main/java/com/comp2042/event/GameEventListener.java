@@ -0,0 +1,18 @@
+package com.comp2042.event;
+
+/**
+ * Subscriber of a {@link GameEventBus}. Payloads are passed as primitives so
+ * publishing allocates nothing; see {@link GameEventType} for what they mean.
+ */
+@FunctionalInterface
+public interface GameEventListener {
+
+    /**
+     * Called on the thread driving the game, in the order the events happen.
+     *
+     * @param type   what happened
+     * @param value  first payload value
+     * @param detail second payload value
+     */
+    void onGameEvent(GameEventType type, int value, int detail);
+}
@@ -0,0 +1,32 @@
+package com.comp2042.event;
+
+/**
+ * Kinds of event published on a {@link GameEventBus}. Each kind documents the
+ * meaning of the two primitive payload values passed to
+ * {@link GameEventListener#onGameEvent(GameEventType, int, int)}.
+ */
+public enum GameEventType {
+    /** A new brick became active. Value: brick id; detail: bricks locked so far. */
+    SPAWN,
+    /** The active brick moved one cell. Value: new x; detail: new y. */
+    MOVE,
+    /** The active brick rotated. Value: x; detail: y. */
+    ROTATE,
+    /**
+     * The active brick locked, after its clears were scored and before the
+     * next brick spawns; listeners may still change the board, e.g. to raise
+     * garbage. Value: lines cleared by the lock, possibly zero; detail: bricks
+     * locked so far.
+     */
+    LOCK,
+    /** A lock cleared lines. Value: lines cleared; detail: total lines cleared. */
+    LINES_CLEARED,
+    /** The target of a level was reached. Value: the level; detail: 1 if it was the last level, else 0. */
+    LEVEL_UP,
+    /** A level's bricks ran out before its target score. Value: the level; detail: the score. */
+    LEVEL_FAILED,
+    /** The stack reached the top and the game ended. Value: final score; detail: unused. */
+    TOP_OUT,
+    /** The locked cells changed outside a brick move, e.g. a new or restored game. Both values unused. */
+    BOARD_CHANGED
+}
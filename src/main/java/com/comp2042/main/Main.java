@@ -1,6 +1,7 @@
 package com.comp2042.main;
 
 import com.comp2042.model.Board;
+import com.comp2042.controller.GameContext;
 import com.comp2042.controller.GameController;
 import com.comp2042.model.SimpleBoard;
 import com.comp2042.ui.GuiController;
@@ -20,6 +21,8 @@ public class Main extends Application {
 
         URL location = getClass().getClassLoader().getResource("gameLayout.fxml");
         FXMLLoader fxmlLoader = new FXMLLoader(location);
+        GameContext context = GameContext.desktop();
+        fxmlLoader.setControllerFactory(type -> new GuiController(context));
         Parent root = fxmlLoader.load();
         GuiController c = fxmlLoader.getController();
         primaryStage.setTitle("Tetris NEW VERSION");
@@ -27,9 +30,10 @@ public class Main extends Application {
         primaryStage.setScene(scene);
         primaryStage.setMinWidth(700);
         primaryStage.setMinHeight(600);
+        primaryStage.setOnHidden(event -> c.shutdown());
         primaryStage.show();
         Board board = new SimpleBoard(25, 13);
-        GameController gameController = new GameController(c, board);
+        GameController gameController = new GameController(c, board, context);
         gameController.initGame();
     }
 
@@ -0,0 +1,264 @@
+package com.comp2042.model;
+
+import java.util.Arrays;
+
+/**
+ * Occupancy-only copy of a board with each row packed into the low bits of an
+ * {@code int}, bit {@code c} standing for column {@code c}.
+ * <p>
+ * Collision tests and placements touch at most four rows and never allocate,
+ * which makes this the representation used by the placement search and bot
+ * code. Colours are not kept; use the {@code int[][]} matrix for rendering.
+ */
+public final class BitBoard {
+
+    /** Largest supported column count, so a full row still fits in a positive {@code int}. */
+    public static final int MAX_COLUMNS = 30;
+
+    private final int rows;
+    private final int columns;
+    private final int fullRow;
+    private final int[] cells;
+    private long hash;
+
+    /**
+     * Creates an empty board.
+     *
+     * @param rows    number of rows
+     * @param columns number of columns, at most {@link #MAX_COLUMNS}
+     */
+    public BitBoard(int rows, int columns) {
+        if (rows <= 0 || columns <= 0 || columns > MAX_COLUMNS) {
+            throw new IllegalArgumentException("Unsupported board size " + rows + "x" + columns);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.fullRow = (1 << columns) - 1;
+        this.cells = new int[rows];
+    }
+
+    /**
+     * Replaces the contents with the occupancy of a colour matrix.
+     *
+     * @param matrix board matrix indexed {@code [row][column]}, of the same size as this board
+     */
+    public void load(int[][] matrix) {
+        if (matrix.length != rows || matrix[0].length != columns) {
+            throw new IllegalArgumentException("Matrix is " + matrix.length + "x" + matrix[0].length
+                    + ", expected " + rows + "x" + columns);
+        }
+        for (int row = 0; row < rows; row++) {
+            int[] source = matrix[row];
+            int mask = 0;
+            for (int col = 0; col < columns; col++) {
+                if (source[col] != 0) {
+                    mask |= 1 << col;
+                }
+            }
+            cells[row] = mask;
+        }
+        hash = hashRows(0, rows - 1);
+    }
+
+    /**
+     * Replaces one row, for example when rebuilding a board received as row
+     * masks.
+     *
+     * @param row  the row index
+     * @param mask bit mask of filled columns
+     */
+    public void setRow(int row, int mask) {
+        int masked = mask & fullRow;
+        hash ^= ZobristHash.rowKey(row, cells[row]) ^ ZobristHash.rowKey(row, masked);
+        cells[row] = masked;
+    }
+
+    /**
+     * Copies the contents of another board of the same size.
+     *
+     * @param other the board to copy
+     */
+    public void copyFrom(BitBoard other) {
+        System.arraycopy(other.cells, 0, cells, 0, rows);
+        hash = other.hash;
+    }
+
+    /**
+     * Empties every row.
+     */
+    public void clear() {
+        Arrays.fill(cells, 0);
+        hash = 0L;
+    }
+
+    /**
+     * Tests whether a brick overlaps the walls, the floor or filled cells.
+     * Rows above the board are treated as empty, as in
+     * {@link MatrixOperations#intersect}.
+     *
+     * @param brickId  the brick id
+     * @param rotation the rotation index
+     * @param x        board column of the shape origin
+     * @param y        board row of the shape origin
+     * @return {@code true} on collision
+     */
+    public boolean collides(int brickId, int rotation, int x, int y) {
+        if (x < PieceTable.minX(brickId, rotation) || x > PieceTable.maxX(brickId, rotation, columns)) {
+            return true;
+        }
+        for (int r = PieceTable.topRow(brickId, rotation); r <= PieceTable.bottomRow(brickId, rotation); r++) {
+            int mask = PieceTable.rowMask(brickId, rotation, r);
+            if (mask == 0) {
+                continue;
+            }
+            int row = y + r;
+            if (row >= rows) {
+                return true;
+            }
+            if (row >= 0 && (cells[row] & shift(mask, x)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the row a brick comes to rest at when dropped straight down from
+     * {@code y}, assuming it does not collide at {@code y}.
+     *
+     * @param brickId  the brick id
+     * @param rotation the rotation index
+     * @param x        board column of the shape origin
+     * @param y        starting row of the shape origin
+     * @return the landing row of the shape origin
+     */
+    public int dropRow(int brickId, int rotation, int x, int y) {
+        int landing = y;
+        while (!collides(brickId, rotation, x, landing + 1)) {
+            landing++;
+        }
+        return landing;
+    }
+
+    /**
+     * Writes a brick into the board and removes any rows it completes, shifting
+     * the rows above down. Cells outside the board are skipped. The
+     * {@link #getHash() hash} is updated for the rows that changed.
+     *
+     * @param brickId  the brick id
+     * @param rotation the rotation index
+     * @param x        board column of the shape origin
+     * @param y        board row of the shape origin
+     * @return the number of rows cleared
+     */
+    public int place(int brickId, int rotation, int x, int y) {
+        int top = PieceTable.topRow(brickId, rotation);
+        int bottom = PieceTable.bottomRow(brickId, rotation);
+        int lowestFull = -1;
+        for (int r = top; r <= bottom; r++) {
+            int row = y + r;
+            if (row >= 0 && row < rows) {
+                int before = cells[row];
+                int after = before | (shift(PieceTable.rowMask(brickId, rotation, r), x) & fullRow);
+                cells[row] = after;
+                hash ^= ZobristHash.rowKey(row, before) ^ ZobristHash.rowKey(row, after);
+                if (after == fullRow) {
+                    lowestFull = row;
+                }
+            }
+        }
+        if (lowestFull < 0) {
+            return 0;
+        }
+        // Rows below the lowest full row keep their index; everything above shifts.
+        hash ^= hashRows(0, lowestFull);
+        int cleared = 0;
+        for (int r = top; r <= bottom; r++) {
+            int row = y + r;
+            if (row >= 0 && row < rows && cells[row] == fullRow) {
+                System.arraycopy(cells, 0, cells, 1, row);
+                cells[0] = 0;
+                cleared++;
+            }
+        }
+        hash ^= hashRows(0, lowestFull);
+        return cleared;
+    }
+
+    /**
+     * Returns the packed cells of one row.
+     *
+     * @param row the row index
+     * @return bit mask of filled columns
+     */
+    public int getRow(int row) {
+        return cells[row];
+    }
+
+    /**
+     * Returns the {@link ZobristHash} of the board's occupancy. It matches the
+     * hash of the same cells held by a {@link SimpleBoard}.
+     *
+     * @return the occupancy hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the index of the highest row that has a filled cell.
+     *
+     * @return the top stack row, or {@link #getRows()} if the board is empty
+     */
+    public int getStackTop() {
+        for (int row = 0; row < rows; row++) {
+            if (cells[row] != 0) {
+                return row;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the row count
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return the column count
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the mask of a completely filled row.
+     *
+     * @return a mask with the low {@link #getColumns()} bits set
+     */
+    public int getFullRowMask() {
+        return fullRow;
+    }
+
+    private long hashRows(int from, int to) {
+        long result = 0L;
+        for (int row = from; row <= to; row++) {
+            result ^= ZobristHash.rowKey(row, cells[row]);
+        }
+        return result;
+    }
+
+    int[] cells() {
+        return cells;
+    }
+
+    static int shift(int mask, int x) {
+        return x >= 0 ? mask << x : mask >>> -x;
+    }
+}
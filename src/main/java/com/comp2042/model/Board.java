@@ -16,11 +16,89 @@ public interface Board {
 
     ViewData getViewData();
 
+    /**
+     * Returns the type id of the active brick, as given by
+     * {@link com.comp2042.model.bricks.Brick#getId()}.
+     *
+     * @return the active brick id
+     */
+    int getCurrentBrickId();
+
+    /**
+     * Returns the rotation index of the active brick.
+     *
+     * @return index into the brick's shape list
+     */
+    int getCurrentRotation();
+
+    /**
+     * Returns the column of the active brick's top-left corner.
+     *
+     * @return the active brick's x position
+     */
+    int getBrickX();
+
+    /**
+     * Returns the row of the active brick's top-left corner.
+     *
+     * @return the active brick's y position
+     */
+    int getBrickY();
+
     void mergeBrickToBackground();
 
     ClearRow clearRows();
 
     Score getScore();
 
+    /**
+     * Pushes the locked cells up and fills the bottom rows with garbage of
+     * colour {@link SimpleBoard#GARBAGE_COLOUR}, leaving one empty column so
+     * the rows can be cleared. Cells pushed past the top are lost. If the
+     * active brick overlaps the raised stack it is moved up by at most
+     * {@code lines} rows.
+     *
+     * @param lines      number of garbage rows
+     * @param holeColumn the empty column of every inserted row
+     * @return {@code true} if locked cells were pushed off the board
+     * @throws IllegalArgumentException if {@code lines} is negative or
+     *                                  {@code holeColumn} is not a column of
+     *                                  the board; the board is then unchanged
+     */
+    boolean insertGarbageRows(int lines, int holeColumn);
+
+    /**
+     * Returns column heights, hole counts and stack height of the locked cells,
+     * kept up to date as bricks lock and rows clear.
+     *
+     * @return the board's analytics, updated in place
+     */
+    BoardAnalytics getAnalytics();
+
+    /**
+     * Returns the {@link ZobristHash} of the locked cells. It is kept up to date
+     * incrementally as bricks lock and rows clear, and equals
+     * {@code ZobristHash.hash(getBoardMatrix())}.
+     *
+     * @return the occupancy hash
+     */
+    long getBoardHash();
+
     void newGame();
+
+    /**
+     * Captures the complete board state (cells, active piece, brick generator
+     * and score) into a reusable snapshot.
+     *
+     * @param snapshot the snapshot to fill
+     */
+    void saveSnapshot(GameSnapshot snapshot);
+
+    /**
+     * Replaces the board state with one previously captured by
+     * {@link #saveSnapshot(GameSnapshot)}.
+     *
+     * @param snapshot the snapshot to apply
+     */
+    void restoreSnapshot(GameSnapshot snapshot);
 }
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.comp2042.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Column heights, row fill counts, hole counts and stack height of a board,
+ * kept in sync as cells are filled and rows are cleared instead of being
+ * recomputed by scanning the matrix.
+ * <p>
+ * Each column is held as a bit mask with bit {@code r} standing for row
+ * {@code r}, so the top of a column is its lowest set bit and its holes are the
+ * empty cells between that bit and the floor. Filling a cell touches one
+ * column; clearing a row shifts each column's mask once. The board refreshes
+ * the analytics in {@link Board#mergeBrickToBackground()} and
+ * {@link Board#clearRows()}.
+ */
+public final class BoardAnalytics {
+
+    /** Largest supported row count. */
+    public static final int MAX_ROWS = 63;
+
+    private final int rows;
+    private final int columns;
+    private final long[] columnBits;
+    private final int[] rowFill;
+    private int holes;
+    private int stackTop;
+
+    /**
+     * Creates analytics for an empty board.
+     *
+     * @param rows    number of rows, at most {@link #MAX_ROWS}
+     * @param columns number of columns
+     */
+    public BoardAnalytics(int rows, int columns) {
+        if (rows <= 0 || rows > MAX_ROWS || columns <= 0) {
+            throw new IllegalArgumentException("Unsupported board size " + rows + "x" + columns);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.columnBits = new long[columns];
+        this.rowFill = new int[rows];
+        this.stackTop = rows;
+    }
+
+    /**
+     * Rebuilds everything from a colour matrix.
+     *
+     * @param matrix board matrix indexed {@code [row][column]}
+     */
+    public void load(int[][] matrix) {
+        Arrays.fill(columnBits, 0L);
+        Arrays.fill(rowFill, 0);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                if (matrix[row][col] != 0) {
+                    columnBits[col] |= 1L << row;
+                    rowFill[row]++;
+                }
+            }
+        }
+        recount();
+    }
+
+    /**
+     * Empties the board.
+     */
+    public void clear() {
+        Arrays.fill(columnBits, 0L);
+        Arrays.fill(rowFill, 0);
+        holes = 0;
+        stackTop = rows;
+    }
+
+    /**
+     * Records that a cell has been filled. Filling a cell that is already
+     * filled or lies outside the board has no effect.
+     *
+     * @param row the cell's row
+     * @param col the cell's column
+     */
+    public void fill(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= columns) {
+            return;
+        }
+        long bit = 1L << row;
+        long bits = columnBits[col];
+        if ((bits & bit) != 0) {
+            return;
+        }
+        holes -= columnHoles(bits);
+        bits |= bit;
+        columnBits[col] = bits;
+        holes += columnHoles(bits);
+        rowFill[row]++;
+        if (row < stackTop) {
+            stackTop = row;
+        }
+    }
+
+    /**
+     * Records that full rows have been removed and the rows above them moved down.
+     *
+     * @param clearedRows indices of the removed rows in ascending order, as
+     *                    returned by {@link ClearRow#getClearedRowIndices()}
+     */
+    public void clearRows(List<Integer> clearedRows) {
+        if (clearedRows.isEmpty()) {
+            return;
+        }
+        // Ascending order: removing a row only moves rows above it, so the
+        // indices still to be removed stay valid.
+        for (int row : clearedRows) {
+            long below = -1L << (row + 1);
+            long above = (1L << row) - 1;
+            for (int col = 0; col < columns; col++) {
+                long bits = columnBits[col];
+                columnBits[col] = (bits & below) | ((bits & above) << 1);
+            }
+            System.arraycopy(rowFill, 0, rowFill, 1, row);
+            rowFill[0] = 0;
+        }
+        recount();
+    }
+
+    /**
+     * Returns the row index of the highest filled cell in a column.
+     *
+     * @param col the column
+     * @return the top row, or {@link #getRows()} if the column is empty
+     */
+    public int getColumnTop(int col) {
+        long bits = columnBits[col];
+        return bits == 0 ? rows : Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Returns the height of a column, measured from the floor to its highest filled cell.
+     *
+     * @param col the column
+     * @return the height in cells
+     */
+    public int getColumnHeight(int col) {
+        return rows - getColumnTop(col);
+    }
+
+    /**
+     * Returns the number of filled cells in a row.
+     *
+     * @param row the row
+     * @return the fill count
+     */
+    public int getRowFill(int row) {
+        return rowFill[row];
+    }
+
+    /**
+     * Returns the number of empty cells that have a filled cell somewhere above them.
+     *
+     * @return the hole count
+     */
+    public int getHoles() {
+        return holes;
+    }
+
+    /**
+     * Returns the row index of the highest filled cell on the board.
+     *
+     * @return the top stack row, or {@link #getRows()} if the board is empty
+     */
+    public int getStackTop() {
+        return stackTop;
+    }
+
+    /**
+     * Returns the height of the tallest column.
+     *
+     * @return the stack height in cells
+     */
+    public int getMaxHeight() {
+        return rows - stackTop;
+    }
+
+    /**
+     * Returns whether any filled cell lies in rows {@code 0..row}.
+     *
+     * @param row the lowest row to check
+     * @return {@code true} if the stack reaches that row
+     */
+    public boolean reachesRow(int row) {
+        return stackTop <= row;
+    }
+
+    /** @return the number of rows */
+    public int getRows() {
+        return rows;
+    }
+
+    /** @return the number of columns */
+    public int getColumns() {
+        return columns;
+    }
+
+    private void recount() {
+        holes = 0;
+        stackTop = rows;
+        for (int col = 0; col < columns; col++) {
+            long bits = columnBits[col];
+            holes += columnHoles(bits);
+            if (bits != 0) {
+                stackTop = Math.min(stackTop, Long.numberOfTrailingZeros(bits));
+            }
+        }
+    }
+
+    private int columnHoles(long bits) {
+        if (bits == 0) {
+            return 0;
+        }
+        return rows - Long.numberOfTrailingZeros(bits) - Long.bitCount(bits);
+    }
+}
@@ -0,0 +1,76 @@
+package com.comp2042.model;
+
+/**
+ * Compact text form of a board, for puzzle files and tests.
+ * <p>
+ * Rows are separated by {@code '/'} or line breaks and listed top to bottom;
+ * only the bottom rows need to be given, the rows above are empty. In a row,
+ * {@code '.'} is an empty cell, a digit {@code 1..9} is a cell of that colour
+ * and any other character is a filled cell of colour {@link #DEFAULT_COLOUR}.
+ * For example {@code "#.........###/##.###..#####"} describes two rows of a
+ * 13-column board.
+ */
+public final class BoardText {
+
+    /** Colour used for filled cells written without a digit. */
+    public static final int DEFAULT_COLOUR = 8;
+
+    private BoardText() {
+
+    }
+
+    /**
+     * Parses a board.
+     *
+     * @param text    the board text
+     * @param rows    number of board rows
+     * @param columns number of board columns
+     * @return a matrix indexed {@code [row][column]}
+     * @throws IllegalArgumentException if a row has the wrong width or there are too many rows
+     */
+    public static int[][] parse(String text, int rows, int columns) {
+        String[] lines = text.trim().split("[/\\r\\n]+");
+        if (lines.length > rows) {
+            throw new IllegalArgumentException("Board text has " + lines.length + " rows, board has " + rows);
+        }
+        int[][] matrix = new int[rows][columns];
+        int offset = rows - lines.length;
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.length() != columns) {
+                throw new IllegalArgumentException("Row " + i + " has " + line.length() + " cells, expected " + columns);
+            }
+            for (int col = 0; col < columns; col++) {
+                char c = line.charAt(col);
+                if (c == '.') {
+                    continue;
+                }
+                matrix[offset + i][col] = c >= '1' && c <= '9' ? c - '0' : DEFAULT_COLOUR;
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Formats the non-empty bottom rows of a board, using {@code '#'} for filled cells.
+     *
+     * @param matrix board matrix indexed {@code [row][column]}
+     * @return the board text, empty for an empty board
+     */
+    public static String format(int[][] matrix) {
+        int top = 0;
+        while (top < matrix.length && ZobristHash.rowMask(matrix[top]) == 0) {
+            top++;
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int row = top; row < matrix.length; row++) {
+            if (row > top) {
+                builder.append('/');
+            }
+            for (int cell : matrix[row]) {
+                builder.append(cell == 0 ? '.' : '#');
+            }
+        }
+        return builder.toString();
+    }
+}
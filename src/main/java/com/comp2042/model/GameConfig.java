@@ -1,86 +1,101 @@
 package com.comp2042.model;
 
 /**
- * GameConfig - Static configuration class for game settings.
- * Stores persistent game configuration that persists across sessions.
+ * GameConfig - Configuration of one game session.
+ * Each {@link com.comp2042.controller.GameContext} owns its own instance, so
+ * several games in one JVM can use different settings. Settings may be read
+ * and changed from any thread.
  */
 public class GameConfig {
-    
+
     /**
      * Ghost Mode setting - determines if the ghost/shadow piece is displayed.
      * Default: true (enabled)
      */
-    private static boolean ghostModeEnabled = true;
-    
+    private volatile boolean ghostModeEnabled = true;
+
     /**
      * Music Volume setting - volume level from 0 to 100.
      * Default: 50 (50%)
      */
-    private static double musicVolume = 50.0;
-    
+    private volatile double musicVolume = 50.0;
+
     /**
      * SFX Volume setting - volume level from 0 to 100.
      * Default: 70 (70%)
      */
-    private static double sfxVolume = 70.0;
-    
+    private volatile double sfxVolume = 70.0;
+
+    /**
+     * Creates a configuration with the default settings.
+     */
+    public GameConfig() {
+    }
+
+    /**
+     * Creates a configuration with the same settings as another one.
+     * @param other the configuration to copy
+     */
+    public GameConfig(GameConfig other) {
+        this.ghostModeEnabled = other.ghostModeEnabled;
+        this.musicVolume = other.musicVolume;
+        this.sfxVolume = other.sfxVolume;
+    }
+
     /**
      * Check if Ghost Mode is enabled.
      * @return true if ghost mode is enabled, false otherwise
      */
-    public static boolean isGhostModeEnabled() {
+    public boolean isGhostModeEnabled() {
         return ghostModeEnabled;
     }
-    
+
     /**
      * Set the Ghost Mode setting.
      * @param enabled true to enable ghost mode, false to disable
      */
-    public static void setGhostModeEnabled(boolean enabled) {
+    public void setGhostModeEnabled(boolean enabled) {
         ghostModeEnabled = enabled;
     }
-    
+
     /**
      * Get the Music Volume setting.
      * @return volume level from 0.0 to 100.0
      */
-    public static double getMusicVolume() {
+    public double getMusicVolume() {
         return musicVolume;
     }
-    
+
     /**
      * Set the Music Volume setting.
      * @param volume volume level from 0.0 to 100.0
      */
-    public static void setMusicVolume(double volume) {
-        if (volume < 0.0) {
-            musicVolume = 0.0;
-        } else if (volume > 100.0) {
-            musicVolume = 100.0;
-        } else {
-            musicVolume = volume;
-        }
+    public void setMusicVolume(double volume) {
+        musicVolume = clampVolume(volume);
     }
-    
+
     /**
      * Get the SFX Volume setting.
      * @return volume level from 0.0 to 100.0
      */
-    public static double getSfxVolume() {
+    public double getSfxVolume() {
         return sfxVolume;
     }
-    
+
     /**
      * Set the SFX Volume setting.
      * @param volume volume level from 0.0 to 100.0
      */
-    public static void setSfxVolume(double volume) {
+    public void setSfxVolume(double volume) {
+        sfxVolume = clampVolume(volume);
+    }
+
+    private static double clampVolume(double volume) {
         if (volume < 0.0) {
-            sfxVolume = 0.0;
+            return 0.0;
         } else if (volume > 100.0) {
-            sfxVolume = 100.0;
-        } else {
-            sfxVolume = volume;
+            return 100.0;
         }
+        return volume;
     }
 }
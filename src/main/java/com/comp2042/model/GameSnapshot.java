@@ -0,0 +1,355 @@
+package com.comp2042.model;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Complete, reusable description of an in-progress game: board cells, the
+ * active piece, the brick generator and the score, plus level counters when
+ * the game is played in level mode.
+ * <p>
+ * Snapshots are filled by {@link Board#saveSnapshot(GameSnapshot)} and applied
+ * with {@link Board#restoreSnapshot(GameSnapshot)}. The binary form written by
+ * {@link #encode(ByteBuffer)} is versioned and compact: board cells are
+ * bit-packed at 3 bits per cell (4 if the board holds colour ids above 7), so a
+ * 25x13 board takes 122 bytes and a whole snapshot fits in {@link #MAX_ENCODED_SIZE}.
+ * A CRC32 trailer detects truncated or corrupted data.
+ * <p>
+ * A snapshot holds its own scratch buffers and is not thread-safe.
+ */
+public final class GameSnapshot {
+
+    /** Current binary format version written by {@link #encode(ByteBuffer)}. */
+    public static final int FORMAT_VERSION = 1;
+
+    /** Maximum number of queued brick ids a snapshot can hold. */
+    public static final int MAX_QUEUE = 8;
+
+    /** Upper bound of the encoded size for boards of up to 32x32 cells. */
+    public static final int MAX_ENCODED_SIZE = 1024;
+
+    private static final int MAGIC = 0x54535631; // "TSV1"
+
+    private final CRC32 crc = new CRC32();
+
+    private int rows;
+    private int cols;
+    private int[][] cells = new int[0][0];
+    private int brickId;
+    private int rotation;
+    private int brickX;
+    private int brickY;
+    private final int[] queuedBrickIds = new int[MAX_QUEUE];
+    private int queueLength;
+    private long seed;
+    private long randomState;
+    private int score;
+    private boolean levelMode;
+    private int levelId;
+    private int blocksPlaced;
+    private int linesCleared;
+    private int piecesLocked;
+    private boolean gameOver;
+
+    /**
+     * Copies the board cells into this snapshot, reusing the cell buffer when
+     * the dimensions are unchanged.
+     *
+     * @param matrix the board matrix, {@code matrix[row][col]}
+     */
+    void setCells(int[][] matrix) {
+        int newRows = matrix.length;
+        int newCols = newRows > 0 ? matrix[0].length : 0;
+        if (newRows != rows || newCols != cols) {
+            rows = newRows;
+            cols = newCols;
+            cells = new int[rows][cols];
+        }
+        for (int r = 0; r < rows; r++) {
+            System.arraycopy(matrix[r], 0, cells[r], 0, cols);
+        }
+    }
+
+    void setActiveBrick(int brickId, int rotation, int x, int y) {
+        this.brickId = brickId;
+        this.rotation = rotation;
+        this.brickX = x;
+        this.brickY = y;
+    }
+
+    void setGenerator(long seed, long randomState) {
+        this.seed = seed;
+        this.randomState = randomState;
+    }
+
+    int[] queuedBrickIdBuffer() {
+        return queuedBrickIds;
+    }
+
+    void setQueueLength(int queueLength) {
+        this.queueLength = queueLength;
+    }
+
+    void setScore(int score) {
+        this.score = score;
+    }
+
+    /**
+     * Records the level-mode counters of the game.
+     *
+     * @param levelMode    whether the game is played in level mode
+     * @param levelId      the active level, ignored when not in level mode
+     * @param blocksPlaced blocks placed so far in the level
+     */
+    public void setLevelState(boolean levelMode, int levelId, int blocksPlaced) {
+        this.levelMode = levelMode;
+        this.levelId = levelId;
+        this.blocksPlaced = blocksPlaced;
+    }
+
+    /**
+     * Records the controller's progress counters. Unlike everything else they
+     * are kept in memory only and not written by {@link #encode(ByteBuffer)};
+     * they exist for rollbacks within a running game.
+     *
+     * @param linesCleared lines cleared so far
+     * @param piecesLocked bricks locked so far
+     * @param gameOver     whether the game has ended
+     */
+    public void setProgress(int linesCleared, int piecesLocked, boolean gameOver) {
+        this.linesCleared = linesCleared;
+        this.piecesLocked = piecesLocked;
+        this.gameOver = gameOver;
+    }
+
+    public int getLinesCleared() {
+        return linesCleared;
+    }
+
+    public int getPiecesLocked() {
+        return piecesLocked;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Returns the colour id stored for a board cell.
+     *
+     * @param row board row
+     * @param col board column
+     * @return the colour id, {@code 0} for empty
+     */
+    public int getCell(int row, int col) {
+        return cells[row][col];
+    }
+
+    public int getBrickId() {
+        return brickId;
+    }
+
+    public int getRotation() {
+        return rotation;
+    }
+
+    public int getBrickX() {
+        return brickX;
+    }
+
+    public int getBrickY() {
+        return brickY;
+    }
+
+    public int getQueueLength() {
+        return queueLength;
+    }
+
+    public int getQueuedBrickId(int index) {
+        return queuedBrickIds[index];
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getRandomState() {
+        return randomState;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public boolean isLevelMode() {
+        return levelMode;
+    }
+
+    public int getLevelId() {
+        return levelId;
+    }
+
+    public int getBlocksPlaced() {
+        return blocksPlaced;
+    }
+
+    /**
+     * Writes this snapshot at the buffer's current position.
+     *
+     * @param buffer destination with at least {@link #MAX_ENCODED_SIZE} bytes remaining
+     */
+    public void encode(ByteBuffer buffer) {
+        int start = buffer.position();
+        int bitsPerCell = 3;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (cells[r][c] > 7) {
+                    bitsPerCell = 4;
+                }
+            }
+        }
+        buffer.putInt(MAGIC);
+        buffer.put((byte) FORMAT_VERSION);
+        buffer.put((byte) bitsPerCell);
+        buffer.put((byte) rows);
+        buffer.put((byte) cols);
+
+        long bits = 0;
+        int pending = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                bits |= (long) (cells[r][c] & ((1 << bitsPerCell) - 1)) << pending;
+                pending += bitsPerCell;
+                while (pending >= 8) {
+                    buffer.put((byte) bits);
+                    bits >>>= 8;
+                    pending -= 8;
+                }
+            }
+        }
+        if (pending > 0) {
+            buffer.put((byte) bits);
+        }
+
+        buffer.put((byte) brickId);
+        buffer.put((byte) rotation);
+        buffer.put((byte) brickX);
+        buffer.put((byte) brickY);
+        buffer.put((byte) queueLength);
+        for (int i = 0; i < queueLength; i++) {
+            buffer.put((byte) queuedBrickIds[i]);
+        }
+        buffer.putLong(seed);
+        buffer.putLong(randomState);
+        buffer.putInt(score);
+        buffer.put((byte) (levelMode ? 1 : 0));
+        buffer.put((byte) levelId);
+        buffer.putShort((short) blocksPlaced);
+        buffer.putInt(checksum(buffer, start, buffer.position()));
+    }
+
+    /**
+     * Reads a snapshot from the buffer's current position into this object.
+     *
+     * @param buffer source positioned at the start of an encoded snapshot
+     * @throws IllegalArgumentException if the data is not a snapshot, uses an
+     *                                  unsupported version, is corrupted, or
+     *                                  names a brick or rotation that does not exist
+     */
+    public void decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a game snapshot");
+            }
+            int version = buffer.get();
+            if (version < 1 || version > FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot version " + version);
+            }
+            int bitsPerCell = buffer.get();
+            int newRows = buffer.get() & 0xFF;
+            int newCols = buffer.get() & 0xFF;
+            if (bitsPerCell < 1 || bitsPerCell > 8) {
+                throw new IllegalArgumentException("Corrupt snapshot header");
+            }
+            if (newRows != rows || newCols != cols) {
+                rows = newRows;
+                cols = newCols;
+                cells = new int[rows][cols];
+            }
+
+            int mask = (1 << bitsPerCell) - 1;
+            long bits = 0;
+            int available = 0;
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    while (available < bitsPerCell) {
+                        bits |= (long) (buffer.get() & 0xFF) << available;
+                        available += 8;
+                    }
+                    cells[r][c] = (int) (bits & mask);
+                    bits >>>= bitsPerCell;
+                    available -= bitsPerCell;
+                }
+            }
+
+            brickId = buffer.get();
+            rotation = buffer.get();
+            brickX = buffer.get();
+            brickY = buffer.get();
+            queueLength = buffer.get();
+            if (queueLength < 0 || queueLength > MAX_QUEUE) {
+                throw new IllegalArgumentException("Corrupt snapshot queue");
+            }
+            for (int i = 0; i < queueLength; i++) {
+                queuedBrickIds[i] = buffer.get();
+            }
+            seed = buffer.getLong();
+            randomState = buffer.getLong();
+            score = buffer.getInt();
+            levelMode = buffer.get() != 0;
+            levelId = buffer.get();
+            blocksPlaced = buffer.getShort();
+            int expected = checksum(buffer, start, buffer.position());
+            if (buffer.getInt() != expected) {
+                throw new IllegalArgumentException("Snapshot checksum mismatch");
+            }
+            if (!isBrickId(brickId) || rotation < 0 || rotation >= PieceTable.rotationCount(brickId)) {
+                throw new IllegalArgumentException("Corrupt snapshot brick " + brickId + " rotation " + rotation);
+            }
+            for (int i = 0; i < queueLength; i++) {
+                if (!isBrickId(queuedBrickIds[i])) {
+                    throw new IllegalArgumentException("Corrupt snapshot queue");
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated game snapshot", e);
+        }
+    }
+
+    private static boolean isBrickId(int id) {
+        return id >= PieceTable.FIRST_ID && id <= PieceTable.LAST_ID;
+    }
+
+    /**
+     * Computes the CRC32 of {@code buffer[from, to)} and leaves the buffer
+     * positioned at {@code to}.
+     */
+    private int checksum(ByteBuffer buffer, int from, int to) {
+        int limit = buffer.limit();
+        buffer.limit(to).position(from);
+        crc.reset();
+        crc.update(buffer);
+        buffer.limit(limit);
+        return (int) crc.getValue();
+    }
+}
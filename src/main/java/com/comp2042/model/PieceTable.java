@@ -0,0 +1,174 @@
+package com.comp2042.model;
+
+import com.comp2042.model.bricks.Brick;
+
+import java.util.List;
+
+/**
+ * Precomputed bit masks for every rotation of the seven bricks, used by
+ * {@link BitBoard} and the search code instead of the {@code int[][]} shapes.
+ * <p>
+ * Row {@code r} of a rotation is a bit mask of the columns the shape occupies
+ * in shape row {@code r}, with bit {@code c} standing for shape column
+ * {@code c}. Placed at board column {@code x}, the mask is shifted left by
+ * {@code x}. This matches {@link MatrixOperations#intersect}, which maps
+ * {@code shape[row][col]} to board cell {@code [y + row][x + col]}.
+ */
+public final class PieceTable {
+
+    /** Smallest brick id. */
+    public static final int FIRST_ID = 1;
+    /** Largest brick id. */
+    public static final int LAST_ID = 7;
+    /** Upper bound on the number of rotations of any brick. */
+    public static final int MAX_ROTATIONS = 4;
+    /** Edge length of the square shape matrices. */
+    public static final int SHAPE_SIZE = 4;
+
+    private static final int[][][] ROW_MASKS = new int[LAST_ID + 1][][];
+    private static final int[] ROTATIONS = new int[LAST_ID + 1];
+    private static final int[][] LEFT_COLUMN = new int[LAST_ID + 1][];
+    private static final int[][] RIGHT_COLUMN = new int[LAST_ID + 1][];
+    private static final int[][] TOP_ROW = new int[LAST_ID + 1][];
+    private static final int[][] BOTTOM_ROW = new int[LAST_ID + 1][];
+
+    static {
+        for (int id = FIRST_ID; id <= LAST_ID; id++) {
+            Brick brick = TetrominoFactory.createBlock(id);
+            List<int[][]> shapes = brick.getShapeMatrix();
+            int rotations = shapes.size();
+            ROTATIONS[id] = rotations;
+            ROW_MASKS[id] = new int[rotations][SHAPE_SIZE];
+            LEFT_COLUMN[id] = new int[rotations];
+            RIGHT_COLUMN[id] = new int[rotations];
+            TOP_ROW[id] = new int[rotations];
+            BOTTOM_ROW[id] = new int[rotations];
+            for (int rotation = 0; rotation < rotations; rotation++) {
+                int[][] shape = shapes.get(rotation);
+                int left = SHAPE_SIZE;
+                int right = -1;
+                int top = SHAPE_SIZE;
+                int bottom = -1;
+                for (int row = 0; row < SHAPE_SIZE; row++) {
+                    int mask = 0;
+                    for (int col = 0; col < SHAPE_SIZE; col++) {
+                        if (shape[row][col] != 0) {
+                            mask |= 1 << col;
+                            left = Math.min(left, col);
+                            right = Math.max(right, col);
+                            top = Math.min(top, row);
+                            bottom = Math.max(bottom, row);
+                        }
+                    }
+                    ROW_MASKS[id][rotation][row] = mask;
+                }
+                LEFT_COLUMN[id][rotation] = left;
+                RIGHT_COLUMN[id][rotation] = right;
+                TOP_ROW[id][rotation] = top;
+                BOTTOM_ROW[id][rotation] = bottom;
+            }
+        }
+    }
+
+    private PieceTable() {
+
+    }
+
+    /**
+     * Returns the number of distinct rotations of a brick.
+     *
+     * @param brickId the brick id ({@code 1..7})
+     * @return the rotation count
+     */
+    public static int rotationCount(int brickId) {
+        return ROTATIONS[brickId];
+    }
+
+    /**
+     * Returns the unshifted column mask of one shape row.
+     *
+     * @param brickId  the brick id
+     * @param rotation the rotation index
+     * @param row      the shape row ({@code 0..3})
+     * @return bit mask of occupied shape columns
+     */
+    public static int rowMask(int brickId, int rotation, int row) {
+        return ROW_MASKS[brickId][rotation][row];
+    }
+
+    /**
+     * Returns the smallest board column at which the rotation stays inside the left wall.
+     *
+     * @param brickId  the brick id
+     * @param rotation the rotation index
+     * @return the minimum shape origin column
+     */
+    public static int minX(int brickId, int rotation) {
+        return -LEFT_COLUMN[brickId][rotation];
+    }
+
+    /**
+     * Returns the largest board column at which the rotation stays inside the right wall.
+     *
+     * @param brickId  the brick id
+     * @param rotation the rotation index
+     * @param columns  number of board columns
+     * @return the maximum shape origin column
+     */
+    public static int maxX(int brickId, int rotation, int columns) {
+        return columns - 1 - RIGHT_COLUMN[brickId][rotation];
+    }
+
+    /**
+     * Returns the first shape row that contains a cell.
+     *
+     * @param brickId  the brick id
+     * @param rotation the rotation index
+     * @return the top occupied shape row
+     */
+    public static int topRow(int brickId, int rotation) {
+        return TOP_ROW[brickId][rotation];
+    }
+
+    /**
+     * Returns the last shape row that contains a cell.
+     *
+     * @param brickId  the brick id
+     * @param rotation the rotation index
+     * @return the bottom occupied shape row
+     */
+    public static int bottomRow(int brickId, int rotation) {
+        return BOTTOM_ROW[brickId][rotation];
+    }
+
+    /**
+     * Identifies a brick from one of its shape matrices, such as the next-brick
+     * preview in {@link ViewData}. Shape cells hold the brick id as their colour.
+     *
+     * @param shape a brick shape matrix
+     * @return the brick id, or {@code 0} if the matrix is empty
+     */
+    public static int idOf(int[][] shape) {
+        if (shape == null) {
+            return 0;
+        }
+        for (int[] row : shape) {
+            for (int cell : row) {
+                if (cell != 0) {
+                    return cell;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns whether an id names one of the seven bricks.
+     *
+     * @param brickId the id to check
+     * @return {@code true} for ids {@code 1..7}
+     */
+    public static boolean isValidId(int brickId) {
+        return brickId >= FIRST_ID && brickId <= LAST_ID;
+    }
+}
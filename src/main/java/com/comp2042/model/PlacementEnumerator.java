@@ -0,0 +1,306 @@
+package com.comp2042.model;
+
+import com.comp2042.event.EventType;
+
+import java.util.Arrays;
+
+/**
+ * Finds every position at which the active brick can lock, using the moves a
+ * player has: left, right, rotate (to the next rotation index) and down.
+ * <p>
+ * The search is a breadth-first walk over {@code (rotation, row, column)}
+ * states on a {@link BitBoard}, with a visited bitset and a parent pointer per
+ * state so the move sequence to any placement can be rebuilt. When the spawn
+ * area is clear, every state above the stack is reachable by rotating at the
+ * spawn point, shifting and dropping, so those states are skipped and the
+ * walk starts from the lowest free row of each column instead.
+ * <p>
+ * An enumerator keeps its buffers between calls and is not thread-safe; use
+ * one instance per thread.
+ */
+public final class PlacementEnumerator {
+
+    private static final int X_OFFSET = PieceTable.SHAPE_SIZE - 1;
+    private static final int Y_OFFSET = PieceTable.SHAPE_SIZE;
+    private static final int ROOT = -1;
+    private static final int SEED = -2;
+
+    private static final byte MOVE_DOWN = 0;
+    private static final byte MOVE_LEFT = 1;
+    private static final byte MOVE_RIGHT = 2;
+    private static final byte MOVE_ROTATE = 3;
+
+    private final int rows;
+    private final int columns;
+    private final int xBits;
+    private final int yBits;
+    private final int xMask;
+    private final int yMask;
+    private final long[] visited;
+    private final int[] parent;
+    private final byte[] move;
+    private final int[] queue;
+    private final int[] freeRow = new int[PieceTable.MAX_ROTATIONS];
+    private final int[] masks = new int[PieceTable.MAX_ROTATIONS * PieceTable.SHAPE_SIZE];
+    private final int[] minX = new int[PieceTable.MAX_ROTATIONS];
+    private final int[] maxX = new int[PieceTable.MAX_ROTATIONS];
+    private final int[] topRow = new int[PieceTable.MAX_ROTATIONS];
+    private final int[] bottomRow = new int[PieceTable.MAX_ROTATIONS];
+    private final BitBoard scratch;
+    private int[] cells;
+
+    private int brickId;
+    private int spawnX;
+    private int spawnY;
+    private int spawnRotation;
+
+    /**
+     * Creates an enumerator for boards of the given size.
+     *
+     * @param rows    number of board rows
+     * @param columns number of board columns
+     */
+    public PlacementEnumerator(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        // States are packed as rotation | row | column bit fields so decoding is shifts only.
+        this.xBits = 32 - Integer.numberOfLeadingZeros(columns + X_OFFSET - 1);
+        this.yBits = 32 - Integer.numberOfLeadingZeros(rows + Y_OFFSET - 1);
+        this.xMask = (1 << xBits) - 1;
+        this.yMask = (1 << yBits) - 1;
+        int stateCount = PieceTable.MAX_ROTATIONS << (xBits + yBits);
+        visited = new long[(stateCount + 63) >>> 6];
+        parent = new int[stateCount];
+        move = new byte[stateCount];
+        queue = new int[stateCount];
+        scratch = new BitBoard(rows, columns);
+    }
+
+    /**
+     * Enumerates the lock positions of a board's active brick from its current
+     * position and rotation.
+     *
+     * @param board the board to search
+     * @param out   receives the placements; cleared first
+     * @return the number of placements found
+     */
+    public int enumerate(Board board, PlacementList out) {
+        scratch.load(board.getBoardMatrix());
+        ViewData view = board.getViewData();
+        return enumerate(scratch, board.getCurrentBrickId(), board.getCurrentRotation(),
+                view.getxPosition(), view.getyPosition(), out);
+    }
+
+    /**
+     * Enumerates the lock positions of a brick starting from the given state.
+     *
+     * @param board    the packed board to search
+     * @param brickId  the brick id
+     * @param rotation starting rotation index
+     * @param x        starting column of the shape origin
+     * @param y        starting row of the shape origin
+     * @param out      receives the placements; cleared first
+     * @return the number of placements found, {@code 0} if the start collides
+     */
+    public int enumerate(BitBoard board, int brickId, int rotation, int x, int y, PlacementList out) {
+        if (board.getRows() != rows || board.getColumns() != columns) {
+            throw new IllegalArgumentException("Enumerator is sized for " + rows + "x" + columns + " boards");
+        }
+        if (y < -Y_OFFSET) {
+            throw new IllegalArgumentException("Start row " + y + " is above the supported range");
+        }
+        out.clear();
+        this.brickId = brickId;
+        this.spawnX = x;
+        this.spawnY = y;
+        this.spawnRotation = rotation;
+        Arrays.fill(visited, 0L);
+        if (board.collides(brickId, rotation, x, y)) {
+            return 0;
+        }
+
+        int rotations = PieceTable.rotationCount(brickId);
+        loadPiece(rotations);
+        cells = board.cells();
+        int head = 0;
+        int tail = 0;
+        boolean fastPath = computeFreeRows(board, rotations);
+        if (fastPath) {
+            for (int r = 0; r < rotations; r++) {
+                for (int cx = minX[r]; cx <= maxX[r]; cx++) {
+                    int state = encode(r, freeRow[r], cx);
+                    markVisited(state);
+                    parent[state] = SEED;
+                    queue[tail++] = state;
+                }
+            }
+        } else {
+            int start = encode(rotation, y, x);
+            markVisited(start);
+            parent[start] = ROOT;
+            queue[tail++] = start;
+        }
+
+        while (head < tail) {
+            int state = queue[head++];
+            int cx = (state & xMask) - X_OFFSET;
+            int cy = ((state >>> xBits) & yMask) - Y_OFFSET;
+            int r = state >>> (xBits + yBits);
+
+            if (collides(r, cx, cy + 1)) {
+                out.add(cx, r, cy, state);
+            } else {
+                tail = visit(fastPath, r, cy + 1, cx, state, MOVE_DOWN, tail);
+            }
+            tail = visit(fastPath, r, cy, cx - 1, state, MOVE_LEFT, tail);
+            tail = visit(fastPath, r, cy, cx + 1, state, MOVE_RIGHT, tail);
+            if (rotations > 1) {
+                tail = visit(fastPath, r + 1 == rotations ? 0 : r + 1, cy, cx, state, MOVE_ROTATE, tail);
+            }
+        }
+        cells = null;
+        return out.size();
+    }
+
+    private void loadPiece(int rotations) {
+        for (int r = 0; r < rotations; r++) {
+            for (int row = 0; row < PieceTable.SHAPE_SIZE; row++) {
+                masks[r * PieceTable.SHAPE_SIZE + row] = PieceTable.rowMask(brickId, r, row);
+            }
+            minX[r] = PieceTable.minX(brickId, r);
+            maxX[r] = PieceTable.maxX(brickId, r, columns);
+            topRow[r] = PieceTable.topRow(brickId, r);
+            bottomRow[r] = PieceTable.bottomRow(brickId, r);
+        }
+    }
+
+    /**
+     * Same test as {@link BitBoard#collides} on the cached masks of the
+     * current brick.
+     */
+    private boolean collides(int rotation, int x, int y) {
+        if (x < minX[rotation] || x > maxX[rotation] || y + bottomRow[rotation] >= rows) {
+            return true;
+        }
+        int base = rotation * PieceTable.SHAPE_SIZE;
+        for (int r = topRow[rotation]; r <= bottomRow[rotation]; r++) {
+            int row = y + r;
+            if (row >= 0 && (cells[row] & BitBoard.shift(masks[base + r], x)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Works out, per rotation, the lowest row the shape origin can occupy
+     * without reaching the top of the stack. The shortcut applies only if the
+     * start state lies in that free zone for every rotation and the brick can
+     * rotate in place at the start column.
+     */
+    private boolean computeFreeRows(BitBoard board, int rotations) {
+        int stackTop = board.getStackTop();
+        for (int r = 0; r < rotations; r++) {
+            freeRow[r] = stackTop - 1 - bottomRow[r];
+            if (freeRow[r] < spawnY || spawnX < minX[r] || spawnX > maxX[r]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int visit(boolean fastPath, int rotation, int y, int x, int from, byte via, int tail) {
+        if (fastPath && y <= freeRow[rotation]) {
+            // Covered by the seeded free zone.
+            return tail;
+        }
+        if (x < minX[rotation] || x > maxX[rotation]) {
+            return tail;
+        }
+        int state = encode(rotation, y, x);
+        if (isVisited(state) || collides(rotation, x, y)) {
+            return tail;
+        }
+        markVisited(state);
+        parent[state] = from;
+        move[state] = via;
+        queue[tail] = state;
+        return tail + 1;
+    }
+
+    /**
+     * Writes the moves that take the brick from the start state of the last
+     * {@link #enumerate} call to one of its placements. The final lock, caused
+     * by a further down move failing, is not included.
+     *
+     * @param placements the list filled by the last call
+     * @param index      the placement to reach
+     * @param moves      receives the moves, at least {@link #getMaxPathLength()} long
+     * @return the number of moves written
+     */
+    public int getPath(PlacementList placements, int index, EventType[] moves) {
+        int length = 0;
+        int state = placements.getState(index);
+        while (parent[state] >= 0) {
+            moves[length++] = toEventType(move[state]);
+            state = parent[state];
+        }
+        if (parent[state] == SEED) {
+            int cx = (state & xMask) - X_OFFSET;
+            int cy = ((state >>> xBits) & yMask) - Y_OFFSET;
+            int r = state >>> (xBits + yBits);
+            // Reverse of: rotate at the start, shift sideways, then drop.
+            for (int i = spawnY; i < cy; i++) {
+                moves[length++] = EventType.DOWN;
+            }
+            EventType sideways = cx < spawnX ? EventType.LEFT : EventType.RIGHT;
+            for (int i = Math.abs(cx - spawnX); i > 0; i--) {
+                moves[length++] = sideways;
+            }
+            int rotations = PieceTable.rotationCount(brickId);
+            for (int i = (r - spawnRotation + rotations) % rotations; i > 0; i--) {
+                moves[length++] = EventType.ROTATE;
+            }
+        }
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            EventType swap = moves[i];
+            moves[i] = moves[j];
+            moves[j] = swap;
+        }
+        return length;
+    }
+
+    /**
+     * Returns the longest path {@link #getPath} can produce for this board size.
+     *
+     * @return the required length of the moves buffer
+     */
+    public int getMaxPathLength() {
+        return parent.length + PieceTable.MAX_ROTATIONS + (xMask + 1) + (yMask + 1);
+    }
+
+    private static EventType toEventType(byte via) {
+        switch (via) {
+            case MOVE_LEFT:
+                return EventType.LEFT;
+            case MOVE_RIGHT:
+                return EventType.RIGHT;
+            case MOVE_ROTATE:
+                return EventType.ROTATE;
+            default:
+                return EventType.DOWN;
+        }
+    }
+
+    private int encode(int rotation, int y, int x) {
+        return (((rotation << yBits) | (y + Y_OFFSET)) << xBits) | (x + X_OFFSET);
+    }
+
+    private boolean isVisited(int state) {
+        return (visited[state >>> 6] & (1L << state)) != 0;
+    }
+
+    private void markVisited(int state) {
+        visited[state >>> 6] |= 1L << state;
+    }
+}
@@ -0,0 +1,100 @@
+package com.comp2042.model;
+
+import java.util.Arrays;
+
+/**
+ * Reusable buffer of lock positions produced by {@link PlacementEnumerator}.
+ * <p>
+ * Entries are stored in parallel {@code int} arrays so that filling the list
+ * allocates nothing once it has grown to its working size.
+ */
+public final class PlacementList {
+
+    private int[] xs;
+    private int[] rotations;
+    private int[] ys;
+    private int[] states;
+    private int size;
+
+    /**
+     * Creates an empty list with room for a typical board's placements.
+     */
+    public PlacementList() {
+        this(64);
+    }
+
+    /**
+     * Creates an empty list.
+     *
+     * @param capacity initial number of entries
+     */
+    public PlacementList(int capacity) {
+        int initial = Math.max(1, capacity);
+        xs = new int[initial];
+        rotations = new int[initial];
+        ys = new int[initial];
+        states = new int[initial];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void add(int x, int rotation, int y, int state) {
+        if (size == xs.length) {
+            int grown = size * 2;
+            xs = Arrays.copyOf(xs, grown);
+            rotations = Arrays.copyOf(rotations, grown);
+            ys = Arrays.copyOf(ys, grown);
+            states = Arrays.copyOf(states, grown);
+        }
+        xs[size] = x;
+        rotations[size] = rotation;
+        ys[size] = y;
+        states[size] = state;
+        size++;
+    }
+
+    int getState(int index) {
+        return states[index];
+    }
+
+    /**
+     * Returns the number of placements.
+     *
+     * @return the entry count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the board column of a placement's shape origin.
+     *
+     * @param index entry index
+     * @return the column
+     */
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * Returns the rotation index of a placement.
+     *
+     * @param index entry index
+     * @return the rotation
+     */
+    public int getRotation(int index) {
+        return rotations[index];
+    }
+
+    /**
+     * Returns the landing row of a placement's shape origin.
+     *
+     * @param index entry index
+     * @return the row
+     */
+    public int getY(int index) {
+        return ys[index];
+    }
+}
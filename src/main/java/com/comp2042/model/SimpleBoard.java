@@ -5,11 +5,23 @@ import com.comp2042.model.bricks.Brick;
 import com.comp2042.controller.BrickGenerator;
 import com.comp2042.controller.RandomBrickGenerator;
 import com.comp2042.controller.BrickRotator;
+import com.comp2042.diagnostics.BrickLockEvent;
+import com.comp2042.diagnostics.BrickSpawnEvent;
+import com.comp2042.diagnostics.LineClearEvent;
 
 import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
 
 public class SimpleBoard implements Board {
 
+    /** Column at which new bricks appear. */
+    public static final int SPAWN_X = 4;
+    /** Row at which new bricks appear. */
+    public static final int SPAWN_Y = 0;
+    /** Colour id of garbage rows, see {@link #insertGarbageRows(int, int)}. */
+    public static final int GARBAGE_COLOUR = BoardText.DEFAULT_COLOUR;
+
     private final int width;
     private final int height;
     private final BrickGenerator brickGenerator;
@@ -17,14 +29,31 @@ public class SimpleBoard implements Board {
     private int[][] currentGameMatrix;
     private Point currentOffset;
     private final Score score;
+    private long boardHash;
+    private final BoardAnalytics analytics;
+    private final int[][] pushedRows;
 
     public SimpleBoard(int width, int height) {
+        this(width, height, new RandomBrickGenerator());
+    }
+
+    /**
+     * Creates a board that draws its pieces from the given generator, e.g. a
+     * seeded {@link RandomBrickGenerator} for a reproducible game.
+     *
+     * @param width          number of board rows
+     * @param height         number of board columns
+     * @param brickGenerator source of the piece sequence
+     */
+    public SimpleBoard(int width, int height, BrickGenerator brickGenerator) {
         this.width = width;
         this.height = height;
         currentGameMatrix = new int[width][height];
-        brickGenerator = new RandomBrickGenerator();
+        this.brickGenerator = brickGenerator;
         brickRotator = new BrickRotator();
         score = new Score();
+        analytics = new BoardAnalytics(width, height);
+        pushedRows = new int[width][];
     }
 
     @Override
@@ -89,8 +118,10 @@ public class SimpleBoard implements Board {
         // preview in the UI stays in sync with the active piece.
         Brick currentBrick = brickGenerator.getBrick();
         brickRotator.setBrick(currentBrick);
-        currentOffset = new Point(4, 0);
-        return MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentShape(), (int) currentOffset.getX(), (int) currentOffset.getY());
+        currentOffset = new Point(SPAWN_X, SPAWN_Y);
+        boolean blocked = MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentShape(), (int) currentOffset.getX(), (int) currentOffset.getY());
+        BrickSpawnEvent.emit(currentBrick.getId(), (int) currentOffset.getX(), (int) currentOffset.getY(), blocked);
+        return blocked;
     }
 
     @Override
@@ -103,6 +134,26 @@ public class SimpleBoard implements Board {
         return new ViewData(brickRotator.getCurrentShape(), (int) currentOffset.getX(), (int) currentOffset.getY(), brickGenerator.getNextBrick().getShapeMatrix().get(0));
     }
 
+    @Override
+    public int getCurrentBrickId() {
+        return brickRotator.getBrick().getId();
+    }
+
+    @Override
+    public int getCurrentRotation() {
+        return brickRotator.getCurrentShapeIndex();
+    }
+
+    @Override
+    public int getBrickX() {
+        return (int) currentOffset.getX();
+    }
+
+    @Override
+    public int getBrickY() {
+        return (int) currentOffset.getY();
+    }
+
     @Override
     public void mergeBrickToBackground() {
         // CRITICAL: Verify the block position is valid before merging
@@ -117,16 +168,94 @@ public class SimpleBoard implements Board {
         // Note: Even if base position seems valid, individual cells might be out of bounds, so merge() checks each cell
         
         // Always call merge - it has per-cell boundary checking that will prevent out-of-bounds writes
-        currentGameMatrix = MatrixOperations.merge(currentGameMatrix, brickRotator.getCurrentShape(), currentX, currentY);
+        long touchedBefore = hashRows(currentY, currentY + PieceTable.SHAPE_SIZE - 1);
+        int[][] shape = brickRotator.getCurrentShape();
+        for (int row = 0; row < shape.length; row++) {
+            for (int col = 0; col < shape[row].length; col++) {
+                if (shape[row][col] != 0) {
+                    analytics.fill(currentY + row, currentX + col);
+                }
+            }
+        }
+        currentGameMatrix = MatrixOperations.merge(currentGameMatrix, shape, currentX, currentY);
+        boardHash ^= touchedBefore ^ hashRows(currentY, currentY + PieceTable.SHAPE_SIZE - 1);
+        BrickLockEvent.emit(brickRotator.getBrick().getId(), brickRotator.getCurrentShapeIndex(), currentX, currentY);
     }
 
     @Override
     public ClearRow clearRows() {
+        LineClearEvent event = LineClearEvent.start();
         ClearRow clearRow = MatrixOperations.checkRemoving(currentGameMatrix);
-        currentGameMatrix = clearRow.getNewMatrix();
+        if (clearRow.getLinesRemoved() > 0) {
+            // Rows below the lowest cleared row keep their index; everything above shifts.
+            List<Integer> cleared = clearRow.getClearedRowIndices();
+            int lowest = cleared.get(cleared.size() - 1);
+            long shiftedBefore = hashRows(0, lowest);
+            currentGameMatrix = clearRow.getNewMatrix();
+            boardHash ^= shiftedBefore ^ hashRows(0, lowest);
+            analytics.clearRows(cleared);
+        }
+        LineClearEvent.finish(event, clearRow.getLinesRemoved());
         return clearRow;
     }
 
+    /**
+     * Replaces the locked cells, for example with a puzzle parsed by
+     * {@link BoardText}. The active brick, generator and score are unchanged.
+     *
+     * @param cells matrix of the board's size indexed {@code [row][column]}
+     */
+    public void loadCells(int[][] cells) {
+        if (cells.length != width || cells[0].length != height) {
+            throw new IllegalArgumentException("Cells are " + cells.length + "x" + cells[0].length
+                    + ", board is " + width + "x" + height);
+        }
+        for (int row = 0; row < width; row++) {
+            System.arraycopy(cells[row], 0, currentGameMatrix[row], 0, height);
+        }
+        boardHash = ZobristHash.hash(currentGameMatrix);
+        analytics.load(currentGameMatrix);
+    }
+
+    @Override
+    public boolean insertGarbageRows(int lines, int holeColumn) {
+        if (lines < 0 || holeColumn < 0 || holeColumn >= height) {
+            throw new IllegalArgumentException("Cannot insert " + lines + " garbage rows with hole column "
+                    + holeColumn + " on a board with " + height + " columns");
+        }
+        if (lines == 0) {
+            return false;
+        }
+        lines = Math.min(lines, width);
+        boolean overflow = analytics.getStackTop() < lines;
+        // Rotate the row arrays so the rows pushed off the top are reused as
+        // the new bottom rows; the matrix itself is never reallocated.
+        System.arraycopy(currentGameMatrix, 0, pushedRows, 0, lines);
+        System.arraycopy(currentGameMatrix, lines, currentGameMatrix, 0, width - lines);
+        for (int i = 0; i < lines; i++) {
+            int[] row = pushedRows[i];
+            Arrays.fill(row, GARBAGE_COLOUR);
+            row[holeColumn] = 0;
+            currentGameMatrix[width - lines + i] = row;
+            pushedRows[i] = null;
+        }
+        // Every row moved, so the hash and analytics are rebuilt; garbage is
+        // rare next to locks and clears.
+        boardHash = ZobristHash.hash(currentGameMatrix);
+        analytics.load(currentGameMatrix);
+        if (currentOffset != null) {
+            int[][] shape = brickRotator.getCurrentShape();
+            int x = (int) currentOffset.getX();
+            int y = (int) currentOffset.getY();
+            for (int lifted = 0; lifted < lines && y > 0
+                    && MatrixOperations.intersect(currentGameMatrix, shape, x, y); lifted++) {
+                y--;
+            }
+            currentOffset = new Point(x, y);
+        }
+        return overflow;
+    }
+
     @Override
     public Score getScore() {
         return score;
@@ -135,7 +264,62 @@ public class SimpleBoard implements Board {
     @Override
     public void newGame() {
         currentGameMatrix = new int[width][height];
+        boardHash = 0L;
+        analytics.clear();
         score.reset();
         createNewBrick();
     }
+
+    @Override
+    public BoardAnalytics getAnalytics() {
+        return analytics;
+    }
+
+    @Override
+    public long getBoardHash() {
+        return boardHash;
+    }
+
+    /**
+     * XOR of the {@link ZobristHash} row keys of rows {@code from..to}, clamped
+     * to the board.
+     */
+    private long hashRows(int from, int to) {
+        long hash = 0L;
+        for (int row = Math.max(0, from); row <= Math.min(width - 1, to); row++) {
+            hash ^= ZobristHash.rowKey(row, ZobristHash.rowMask(currentGameMatrix[row]));
+        }
+        return hash;
+    }
+
+    @Override
+    public void saveSnapshot(GameSnapshot snapshot) {
+        snapshot.setCells(currentGameMatrix);
+        snapshot.setActiveBrick(brickRotator.getBrick().getId(), brickRotator.getCurrentShapeIndex(),
+                (int) currentOffset.getX(), (int) currentOffset.getY());
+        snapshot.setGenerator(brickGenerator.getSeed(), brickGenerator.getRandomState());
+        snapshot.setQueueLength(brickGenerator.copyQueuedBrickIds(snapshot.queuedBrickIdBuffer()));
+        snapshot.setScore(score.scoreProperty().get());
+    }
+
+    @Override
+    public void restoreSnapshot(GameSnapshot snapshot) {
+        if (snapshot.getRows() != width || snapshot.getCols() != height) {
+            throw new IllegalArgumentException("Snapshot is for a " + snapshot.getRows() + "x"
+                    + snapshot.getCols() + " board, not " + width + "x" + height);
+        }
+        for (int row = 0; row < width; row++) {
+            for (int col = 0; col < height; col++) {
+                currentGameMatrix[row][col] = snapshot.getCell(row, col);
+            }
+        }
+        boardHash = ZobristHash.hash(currentGameMatrix);
+        analytics.load(currentGameMatrix);
+        brickRotator.setBrick(TetrominoFactory.createBlock(snapshot.getBrickId()));
+        brickRotator.setCurrentShape(snapshot.getRotation());
+        currentOffset = new Point(snapshot.getBrickX(), snapshot.getBrickY());
+        brickGenerator.restoreState(snapshot.getRandomState(), snapshot.queuedBrickIdBuffer(), snapshot.getQueueLength());
+        score.reset();
+        score.add(snapshot.getScore());
+    }
 }
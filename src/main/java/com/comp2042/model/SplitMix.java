@@ -0,0 +1,30 @@
+package com.comp2042.model;
+
+/**
+ * The SplitMix64 finaliser, shared by everything that derives deterministic
+ * keys or pseudo-random values from a seed: brick sequences, board hashes,
+ * garbage holes and match checksums. Results are identical across runs and machines. It is not
+ * a cryptographic hash: it can be inverted, so it must never key anything a
+ * client could forge.
+ */
+public final class SplitMix {
+
+    /** Odd increment of the SplitMix64 sequence; step seeds by multiples of it. */
+    public static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private SplitMix() {
+
+    }
+
+    /**
+     * Scrambles a value so that nearby inputs give unrelated outputs.
+     *
+     * @param z the value
+     * @return the mixed value
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
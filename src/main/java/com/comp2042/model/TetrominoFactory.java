@@ -27,25 +27,35 @@ public class TetrominoFactory {
     public static Brick createRandomBlock() {
         // Generate random number from 0 to 6 (7 possible block types)
         int randomType = ThreadLocalRandom.current().nextInt(7);
-        
+        return createBlock(randomType + 1);
+    }
+
+    /**
+     * Creates the Tetromino (Brick) with the given type id, as returned by
+     * {@link Brick#getId()}. Used to rebuild pieces from saved or transmitted state.
+     *
+     * @param brickId the brick type id ({@code 1..7})
+     * @return A new Brick instance of that type
+     */
+    public static Brick createBlock(int brickId) {
         // Use switch statement to determine which block type to create
-        switch (randomType) {
-            case 0:
-                return new IBrick();
+        switch (brickId) {
             case 1:
-                return new JBrick();
+                return new IBrick();
             case 2:
-                return new LBrick();
+                return new JBrick();
             case 3:
-                return new OBrick();
+                return new LBrick();
             case 4:
-                return new SBrick();
+                return new OBrick();
             case 5:
-                return new TBrick();
+                return new SBrick();
             case 6:
+                return new TBrick();
+            case 7:
                 return new ZBrick();
             default:
-                // Fallback to I-Brick if somehow an invalid number is generated
+                // Fallback to I-Brick if somehow an invalid id is given
                 return new IBrick();
         }
     }
@@ -0,0 +1,89 @@
+package com.comp2042.model;
+
+/**
+ * Zobrist-style keys for board occupancy.
+ * <p>
+ * A board's hash is the XOR of one key per non-empty row, derived from the row
+ * index and the row's column mask. Empty rows contribute nothing, so only the
+ * rows a placement touches need updating when a brick locks, and only the
+ * rows at or above the lowest cleared row when lines are removed. Keys are
+ * produced by a SplitMix64 finaliser rather than looked up in a random table,
+ * which keeps them identical across runs and machines.
+ * <p>
+ * {@link SimpleBoard} and {@link BitBoard} use the same keys, so the same
+ * occupancy hashes to the same value in either representation.
+ */
+public final class ZobristHash {
+
+    private static final long ROW_SEED = 0x9E3779B97F4A7C15L;
+    private static final long PIECE_SEED = 0xC2B2AE3D27D4EB4FL;
+    private static final long DEPTH_SEED = 0x165667B19E3779F9L;
+
+    private ZobristHash() {
+
+    }
+
+    /**
+     * Returns the key of one row.
+     *
+     * @param row  the row index
+     * @param mask bit mask of filled columns
+     * @return the row key, {@code 0} for an empty row
+     */
+    public static long rowKey(int row, int mask) {
+        if (mask == 0) {
+            return 0L;
+        }
+        return SplitMix.mix(ROW_SEED + (((long) row << 32) | (mask & 0xFFFFFFFFL)));
+    }
+
+    /**
+     * Returns a key that distinguishes positions by the brick about to be placed.
+     *
+     * @param brickId the brick id
+     * @return the brick key
+     */
+    public static long pieceKey(int brickId) {
+        return SplitMix.mix(PIECE_SEED + brickId);
+    }
+
+    /**
+     * Returns a key that distinguishes positions by remaining search depth.
+     *
+     * @param depth remaining depth
+     * @return the depth key
+     */
+    public static long depthKey(int depth) {
+        return SplitMix.mix(DEPTH_SEED + depth);
+    }
+
+    /**
+     * Computes the hash of a colour matrix from scratch.
+     *
+     * @param matrix board matrix indexed {@code [row][column]}
+     * @return the occupancy hash
+     */
+    public static long hash(int[][] matrix) {
+        long hash = 0L;
+        for (int row = 0; row < matrix.length; row++) {
+            hash ^= rowKey(row, rowMask(matrix[row]));
+        }
+        return hash;
+    }
+
+    /**
+     * Packs the occupancy of one matrix row into a column mask.
+     *
+     * @param cells the row's colour values
+     * @return bit mask of filled columns
+     */
+    public static int rowMask(int[] cells) {
+        int mask = 0;
+        for (int col = 0; col < cells.length; col++) {
+            if (cells[col] != 0) {
+                mask |= 1 << col;
+            }
+        }
+        return mask;
+    }
+}
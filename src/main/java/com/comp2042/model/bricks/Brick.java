@@ -5,5 +5,13 @@ import java.util.List;
 public interface Brick {
 
     List<int[][]> getShapeMatrix();
+
+    /**
+     * Returns the colour id shared by every filled cell of this brick, which
+     * also identifies the brick type ({@code 1..7}).
+     *
+     * @return the brick type id
+     */
+    int getId();
 }
 
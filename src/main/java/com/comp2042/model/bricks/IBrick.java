@@ -29,5 +29,8 @@ public final class IBrick implements Brick {
         return MatrixOperations.deepCopyList(brickMatrix);
     }
 
+    @Override
+    public int getId() {
+        return 1;
+    }
 }
-
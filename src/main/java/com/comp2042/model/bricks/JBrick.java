@@ -40,5 +40,9 @@ public final class JBrick implements Brick {
     public List<int[][]> getShapeMatrix() {
         return MatrixOperations.deepCopyList(brickMatrix);
     }
-}
 
+    @Override
+    public int getId() {
+        return 2;
+    }
+}
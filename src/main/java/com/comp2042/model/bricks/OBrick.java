@@ -23,5 +23,8 @@ public final class OBrick implements Brick {
         return MatrixOperations.deepCopyList(brickMatrix);
     }
 
+    @Override
+    public int getId() {
+        return 4;
+    }
 }
-
@@ -28,5 +28,9 @@ public final class SBrick implements Brick {
     public List<int[][]> getShapeMatrix() {
         return MatrixOperations.deepCopyList(brickMatrix);
     }
-}
 
+    @Override
+    public int getId() {
+        return 5;
+    }
+}
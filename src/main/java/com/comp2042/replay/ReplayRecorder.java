@@ -0,0 +1,59 @@
+package com.comp2042.replay;
+
+import com.comp2042.event.MoveEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the moves of one endless-mode game so it can be submitted as a
+ * {@link ReplaySubmission}. Record every move sent to the game, gravity
+ * included, in the order it is applied; the board must use a
+ * {@code RandomBrickGenerator} seeded with the recorder's seed.
+ */
+public final class ReplayRecorder {
+
+    private final int rows;
+    private final int columns;
+    private final long seed;
+    private final List<TimedMove> moves = new ArrayList<>();
+
+    /**
+     * Starts a recording.
+     *
+     * @param rows    board rows
+     * @param columns board columns
+     * @param seed    seed of the game's brick sequence
+     */
+    public ReplayRecorder(int rows, int columns, long seed) {
+        this.rows = rows;
+        this.columns = columns;
+        this.seed = seed;
+    }
+
+    /**
+     * Records a move.
+     *
+     * @param timeMillis game time of the move, excluding time spent paused
+     * @param event      the move
+     */
+    public void record(long timeMillis, MoveEvent event) {
+        moves.add(new TimedMove(timeMillis, event));
+    }
+
+    /** @return number of moves recorded */
+    public int size() {
+        return moves.size();
+    }
+
+    /**
+     * Creates a submission of the moves recorded so far.
+     *
+     * @param score the game's final score
+     * @param lines the game's cleared lines
+     * @return the submission
+     */
+    public ReplaySubmission toSubmission(int score, int lines) {
+        return new ReplaySubmission(rows, columns, seed, score, lines, moves);
+    }
+}
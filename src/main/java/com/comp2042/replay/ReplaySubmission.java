@@ -0,0 +1,101 @@
+package com.comp2042.replay;
+
+import com.comp2042.event.MoveEvent;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * An endless-mode run submitted to the leaderboard: the seed of its brick
+ * sequence, every move with its game time, and the score and line count the
+ * player claims. {@link ReplayVerifier} replays the moves to check the claim.
+ * <p>
+ * Submissions are immutable. {@link #getDigest()} is a SHA-256 of everything
+ * above in a fixed binary layout, so two identical submissions share a digest
+ * and are only verified once, while finding a different submission with the
+ * same digest is computationally infeasible.
+ */
+public final class ReplaySubmission {
+
+    private static final int MOVE_BYTES = Long.BYTES + 2;
+    private static final int DIGEST_BUFFER_BYTES = 8_192;
+
+    private final int rows;
+    private final int columns;
+    private final long seed;
+    private final int claimedScore;
+    private final int claimedLines;
+    private final List<TimedMove> moves;
+    private final String digest;
+
+    /**
+     * Creates a submission.
+     *
+     * @param rows         board rows
+     * @param columns      board columns
+     * @param seed         seed of the brick sequence
+     * @param claimedScore final score reported by the player
+     * @param claimedLines lines cleared reported by the player
+     * @param moves        the moves in the order they were applied, copied
+     */
+    public ReplaySubmission(int rows, int columns, long seed, int claimedScore, int claimedLines,
+                            List<TimedMove> moves) {
+        this.rows = rows;
+        this.columns = columns;
+        this.seed = seed;
+        this.claimedScore = claimedScore;
+        this.claimedLines = claimedLines;
+        this.moves = Collections.unmodifiableList(new ArrayList<>(moves));
+        this.digest = digest();
+    }
+
+    private String digest() {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(DIGEST_BUFFER_BYTES);
+        buffer.putInt(rows).putInt(columns).putLong(seed)
+                .putInt(claimedScore).putInt(claimedLines).putInt(moves.size());
+        for (TimedMove move : moves) {
+            if (buffer.remaining() < MOVE_BYTES) {
+                sha.update(buffer.flip());
+                buffer.clear();
+            }
+            MoveEvent event = move.getEvent();
+            buffer.putLong(move.getTimeMillis())
+                    .put((byte) event.getEventType().ordinal())
+                    .put((byte) event.getEventSource().ordinal());
+        }
+        sha.update(buffer.flip());
+        return HexFormat.of().formatHex(sha.digest());
+    }
+
+    /** @return board rows */
+    public int getRows() { return rows; }
+
+    /** @return board columns */
+    public int getColumns() { return columns; }
+
+    /** @return seed of the brick sequence */
+    public long getSeed() { return seed; }
+
+    /** @return score reported by the player */
+    public int getClaimedScore() { return claimedScore; }
+
+    /** @return lines reported by the player */
+    public int getClaimedLines() { return claimedLines; }
+
+    /** @return the moves, unmodifiable */
+    public List<TimedMove> getMoves() { return moves; }
+
+    /** @return SHA-256 of the whole submission, as lowercase hex */
+    public String getDigest() { return digest; }
+}
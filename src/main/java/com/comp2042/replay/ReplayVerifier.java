@@ -0,0 +1,407 @@
+package com.comp2042.replay;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.controller.GameController;
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.event.EventSource;
+import com.comp2042.event.EventType;
+import com.comp2042.event.MoveEvent;
+import com.comp2042.model.SimpleBoard;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Checks leaderboard submissions by replaying them.
+ * <p>
+ * Each {@link ReplaySubmission} is re-simulated on a fresh {@link SimpleBoard}
+ * driven by a headless {@link GameController}, so the rules are exactly the
+ * game's own. The board always has the size the verifier was configured
+ * with, by default the game's {@value #BOARD_ROWS}x{@value #BOARD_COLUMNS};
+ * a submission claiming any other size is rejected before anything is
+ * allocated, since a narrow board makes lines trivial and a huge one would
+ * let a submitter choose how much memory a replay takes.
+ * <p>
+ * Moves are applied back to back instead of at their recorded times, which
+ * makes a replay run thousands of times faster than the game was played. The times are still checked: they must not go backwards, and
+ * no gap between two down moves may exceed the gravity delay plus a
+ * tolerance, since the game loop drops the brick at that rate whatever the
+ * player does. The claim is accepted only if the replayed score and lines
+ * match it exactly.
+ * <p>
+ * Verification runs on a fixed number of worker threads with a bounded queue;
+ * when the queue is full, {@link #submit} fails fast instead of buffering an
+ * unbounded backlog. Verdicts are cached by
+ * {@link ReplaySubmission#getDigest()}, a SHA-256 of the whole submission, so
+ * a resubmitted run, or one submitted again while still being checked, shares
+ * the first verdict instead of being replayed again, and a forged submission
+ * cannot be made to look up the verdict of another.
+ */
+public final class ReplayVerifier implements AutoCloseable {
+
+    /** Rows of the game's board, the size submissions are replayed on by default. */
+    public static final int BOARD_ROWS = 25;
+    /** Columns of the game's board, the size submissions are replayed on by default. */
+    public static final int BOARD_COLUMNS = 13;
+    /** Default slack on the gravity delay for timer jitter, in milliseconds. */
+    public static final long DEFAULT_GRAVITY_TOLERANCE_MILLIS = 100;
+    /** Default number of verdicts kept in the cache. */
+    public static final int DEFAULT_CACHE_ENTRIES = 4_096;
+    /** Submissions with more moves than this are rejected without replaying them. */
+    public static final int MAX_MOVES = 1_000_000;
+
+    /**
+     * Outcome of a verification.
+     */
+    public enum Status {
+        /** The replay reproduces the claimed score and lines. */
+        ACCEPTED,
+        /** The replayed score differs from the claim. */
+        SCORE_MISMATCH,
+        /** The replayed score matches but the line count does not. */
+        LINES_MISMATCH,
+        /** Move times go backwards or skip gravity. */
+        BAD_TIMING,
+        /** Moves continue after the game ended. */
+        MOVE_AFTER_GAME_OVER,
+        /** The submission has more than {@link #MAX_MOVES} moves. */
+        TOO_LONG,
+        /** The submission was played on a board of another size. */
+        WRONG_BOARD_SIZE
+    }
+
+    /**
+     * Result of replaying one submission.
+     */
+    public static final class Verdict {
+        private final Status status;
+        private final int score;
+        private final int lines;
+        private final int pieces;
+        private final int movesReplayed;
+        private final long gameMillis;
+
+        Verdict(Status status, int score, int lines, int pieces, int movesReplayed, long gameMillis) {
+            this.status = status;
+            this.score = score;
+            this.lines = lines;
+            this.pieces = pieces;
+            this.movesReplayed = movesReplayed;
+            this.gameMillis = gameMillis;
+        }
+
+        /** @return the outcome */
+        public Status getStatus() { return status; }
+
+        /** @return {@code true} if the claim was reproduced */
+        public boolean isAccepted() { return status == Status.ACCEPTED; }
+
+        /** @return score when the replay stopped */
+        public int getScore() { return score; }
+
+        /** @return lines cleared when the replay stopped */
+        public int getLines() { return lines; }
+
+        /** @return bricks locked when the replay stopped */
+        public int getPieces() { return pieces; }
+
+        /** @return moves applied before the replay stopped */
+        public int getMovesReplayed() { return movesReplayed; }
+
+        /** @return game time of the last move applied */
+        public long getGameMillis() { return gameMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("%s score=%d lines=%d pieces=%d moves=%d time=%dms",
+                    status, score, lines, pieces, movesReplayed, gameMillis);
+        }
+    }
+
+    private final int rows;
+    private final int columns;
+    private final long gravityToleranceMillis;
+    private final int cacheEntries;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CompletableFuture<Verdict>> cache;
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private final AtomicInteger cacheHits = new AtomicInteger();
+    private final AtomicLong replays = new AtomicLong();
+
+    /**
+     * Creates a verifier for the game's board size with the default tolerance
+     * and cache size.
+     *
+     * @param workers       number of worker threads
+     * @param queueCapacity submissions that may wait for a worker
+     */
+    public ReplayVerifier(int workers, int queueCapacity) {
+        this(workers, queueCapacity, DEFAULT_GRAVITY_TOLERANCE_MILLIS, DEFAULT_CACHE_ENTRIES);
+    }
+
+    /**
+     * Creates a verifier for the game's board size.
+     *
+     * @param workers                number of worker threads
+     * @param queueCapacity          submissions that may wait for a worker
+     * @param gravityToleranceMillis slack on the gravity delay for timer jitter
+     * @param cacheEntries           verdicts kept, least recently used evicted first
+     */
+    public ReplayVerifier(int workers, int queueCapacity, long gravityToleranceMillis, int cacheEntries) {
+        this(BOARD_ROWS, BOARD_COLUMNS, workers, queueCapacity, gravityToleranceMillis, cacheEntries);
+    }
+
+    /**
+     * Creates a verifier.
+     *
+     * @param rows                   board rows every submission must have been played on
+     * @param columns                board columns every submission must have been played on
+     * @param workers                number of worker threads
+     * @param queueCapacity          submissions that may wait for a worker
+     * @param gravityToleranceMillis slack on the gravity delay for timer jitter
+     * @param cacheEntries           verdicts kept, least recently used evicted first
+     */
+    public ReplayVerifier(int rows, int columns, int workers, int queueCapacity, long gravityToleranceMillis,
+                          int cacheEntries) {
+        this.rows = rows;
+        this.columns = columns;
+        this.gravityToleranceMillis = gravityToleranceMillis;
+        this.cacheEntries = cacheEntries;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<Verdict>> eldest) {
+                return size() > ReplayVerifier.this.cacheEntries;
+            }
+        };
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "replay-verify-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queues a submission for verification, or returns the cached verdict of
+     * an identical one.
+     *
+     * @param submission the run to check
+     * @return the verdict, completed by a worker; it completes exceptionally
+     *         with {@link RejectedExecutionException} if the queue is full
+     */
+    public CompletableFuture<Verdict> submit(ReplaySubmission submission) {
+        String key = submission.getDigest();
+        CompletableFuture<Verdict> future;
+        cacheLock.lock();
+        try {
+            CompletableFuture<Verdict> cached = cache.get(key);
+            if (cached != null) {
+                cacheHits.incrementAndGet();
+                return cached;
+            }
+            future = new CompletableFuture<>();
+            cache.put(key, future);
+        } finally {
+            cacheLock.unlock();
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(verify(submission));
+                } catch (RuntimeException e) {
+                    forget(key, future);
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            forget(key, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void forget(String key, CompletableFuture<Verdict> future) {
+        cacheLock.lock();
+        try {
+            cache.remove(key, future);
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    /**
+     * Replays a submission on the calling thread, bypassing the cache.
+     *
+     * @param submission the run to check
+     * @return the verdict
+     */
+    public Verdict verify(ReplaySubmission submission) {
+        replays.incrementAndGet();
+        List<TimedMove> moves = submission.getMoves();
+        if (submission.getRows() != rows || submission.getColumns() != columns) {
+            return new Verdict(Status.WRONG_BOARD_SIZE, 0, 0, 0, 0, 0);
+        }
+        if (moves.size() > MAX_MOVES) {
+            return new Verdict(Status.TOO_LONG, 0, 0, 0, 0, 0);
+        }
+        SimpleBoard board = new SimpleBoard(rows, columns, new RandomBrickGenerator(submission.getSeed()));
+        GameController controller = new GameController(board);
+        controller.initGame();
+
+        long previousMillis = 0;
+        long lastDownMillis = 0;
+        int replayed = 0;
+        for (TimedMove move : moves) {
+            long time = move.getTimeMillis();
+            if (time < previousMillis || time - lastDownMillis > controller.getSpeedDelay() + gravityToleranceMillis) {
+                return verdict(Status.BAD_TIMING, board, controller, replayed, previousMillis);
+            }
+            if (controller.isGameOver()) {
+                return verdict(Status.MOVE_AFTER_GAME_OVER, board, controller, replayed, previousMillis);
+            }
+            MoveEvent event = move.getEvent();
+            apply(controller, event);
+            if (event.getEventType() == EventType.DOWN) {
+                lastDownMillis = time;
+            }
+            previousMillis = time;
+            replayed++;
+        }
+
+        int score = board.getScore().scoreProperty().get();
+        Status status;
+        if (score != submission.getClaimedScore()) {
+            status = Status.SCORE_MISMATCH;
+        } else if (controller.getLinesCleared() != submission.getClaimedLines()) {
+            status = Status.LINES_MISMATCH;
+        } else {
+            status = Status.ACCEPTED;
+        }
+        return verdict(status, board, controller, replayed, previousMillis);
+    }
+
+    private static void apply(GameController controller, MoveEvent event) {
+        switch (event.getEventType()) {
+            case LEFT:
+                controller.onLeftEvent(event);
+                break;
+            case RIGHT:
+                controller.onRightEvent(event);
+                break;
+            case ROTATE:
+                controller.onRotateEvent(event);
+                break;
+            default:
+                controller.onDownEvent(event);
+                break;
+        }
+    }
+
+    private static Verdict verdict(Status status, SimpleBoard board, GameController controller, int replayed,
+                                   long gameMillis) {
+        return new Verdict(status, board.getScore().scoreProperty().get(), controller.getLinesCleared(),
+                controller.getPiecesLocked(), replayed, gameMillis);
+    }
+
+    /** @return submissions answered from the cache */
+    public int getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /** @return submissions actually replayed */
+    public long getReplays() {
+        return replays.get();
+    }
+
+    /**
+     * Stops the workers. Queued submissions are abandoned.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Records an autoplayed game the way the game loop would play it: gravity
+     * every speed delay, player moves at a fixed pace in between.
+     *
+     * @param rows       board rows
+     * @param columns    board columns
+     * @param seed       seed of the brick sequence
+     * @param maxPieces  stop after this many bricks have locked
+     * @param moveMillis time between two player moves
+     * @return the recorded run, claiming the score and lines it reached
+     */
+    public static ReplaySubmission recordAutoplay(int rows, int columns, long seed, int maxPieces, long moveMillis) {
+        SimpleBoard board = new SimpleBoard(rows, columns, new RandomBrickGenerator(seed));
+        GameController controller = new GameController(board);
+        controller.initGame();
+        AutoPlayer player = new AutoPlayer(rows, columns);
+        ReplayRecorder recorder = new ReplayRecorder(rows, columns, seed);
+        MoveEvent gravity = new MoveEvent(EventType.DOWN, EventSource.THREAD);
+        long time = 0;
+        long nextGravity = controller.getSpeedDelay();
+        while (!controller.isGameOver() && controller.getPiecesLocked() < maxPieces) {
+            time += moveMillis;
+            if (time >= nextGravity) {
+                time = nextGravity;
+                nextGravity += controller.getSpeedDelay();
+                recorder.record(time, gravity);
+                controller.onDownEvent(gravity);
+                continue;
+            }
+            EventType move = player.nextMove(controller);
+            if (move == null) {
+                break;
+            }
+            MoveEvent event = new MoveEvent(move, EventSource.USER);
+            recorder.record(time, event);
+            apply(controller, event);
+        }
+        return recorder.toSubmission(board.getScore().scoreProperty().get(), controller.getLinesCleared());
+    }
+
+    /**
+     * Records autoplayed runs and verifies them all, reporting throughput.
+     * Usage: {@code ReplayVerifier [runs] [maxPieces] [workers]}.
+     */
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int maxPieces = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int workers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        List<ReplaySubmission> submissions = new ArrayList<>(runs);
+        for (int i = 0; i < runs; i++) {
+            submissions.add(recordAutoplay(BOARD_ROWS, BOARD_COLUMNS, i, maxPieces, 50));
+        }
+        try (ReplayVerifier verifier = new ReplayVerifier(workers, runs)) {
+            long start = System.nanoTime();
+            List<CompletableFuture<Verdict>> verdicts = new ArrayList<>(runs);
+            for (ReplaySubmission submission : submissions) {
+                verdicts.add(verifier.submit(submission));
+            }
+            int accepted = 0;
+            long moves = 0;
+            long gameMillis = 0;
+            for (CompletableFuture<Verdict> future : verdicts) {
+                Verdict verdict = future.get();
+                accepted += verdict.isAccepted() ? 1 : 0;
+                moves += verdict.getMovesReplayed();
+                gameMillis += verdict.getGameMillis();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d runs (%d accepted), %d moves in %.2f s: %.0f runs/s, %.0fx real time%n",
+                    runs, accepted, moves, seconds, runs / seconds, gameMillis / 1e3 / seconds);
+        }
+    }
+}
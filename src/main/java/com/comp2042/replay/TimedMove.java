@@ -0,0 +1,30 @@
+package com.comp2042.replay;
+
+import com.comp2042.event.MoveEvent;
+
+/**
+ * One input of a recorded run and the game time it was applied at.
+ */
+public final class TimedMove {
+
+    private final long timeMillis;
+    private final MoveEvent event;
+
+    /**
+     * Creates a timed move.
+     *
+     * @param timeMillis game time in milliseconds since the first brick
+     *                   spawned, excluding time spent paused
+     * @param event      the move
+     */
+    public TimedMove(long timeMillis, MoveEvent event) {
+        this.timeMillis = timeMillis;
+        this.event = event;
+    }
+
+    /** @return game time of the move in milliseconds */
+    public long getTimeMillis() { return timeMillis; }
+
+    /** @return the move */
+    public MoveEvent getEvent() { return event; }
+}
@@ -0,0 +1,240 @@
+package com.comp2042.server;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * One session's state as sent over the wire: the server captures it after each
+ * tick, and a client rebuilds it from {@link Protocol#MSG_STATE} and
+ * {@link Protocol#MSG_DELTA} frames. Decoding reuses the instance, so a client
+ * can keep one per session without allocating per frame.
+ */
+public final class ClientState {
+
+    private long tick;
+    private int lastInputSeq;
+    private int score;
+    private int lines;
+    private int pieces;
+    private boolean gameOver;
+    private int brickId;
+    private int rotation;
+    private int x;
+    private int y;
+    private int nextBrickId;
+    private int[] rowMasks = new int[0];
+    private int[] scratchRows = new int[0];
+
+    /**
+     * Sets everything but the rows. Used by the server when capturing a tick.
+     */
+    void set(long tick, int lastInputSeq, int score, int lines, int pieces, boolean gameOver,
+             int brickId, int rotation, int x, int y, int nextBrickId) {
+        this.tick = tick;
+        this.lastInputSeq = lastInputSeq;
+        this.score = score;
+        this.lines = lines;
+        this.pieces = pieces;
+        this.gameOver = gameOver;
+        this.brickId = brickId;
+        this.rotation = rotation;
+        this.x = x;
+        this.y = y;
+        this.nextBrickId = nextBrickId;
+    }
+
+    /**
+     * Sets the number of rows, clearing them if it changes.
+     */
+    void setRows(int rows) {
+        if (rowMasks.length != rows) {
+            rowMasks = new int[rows];
+            scratchRows = new int[rows];
+        }
+    }
+
+    void setRowMask(int row, int mask) {
+        rowMasks[row] = mask;
+    }
+
+    /**
+     * Writes the payload of a state frame, after its type byte.
+     *
+     * @param out the buffer to write to
+     */
+    public void write(ByteBuffer out) {
+        out.putLong(tick);
+        out.putInt(lastInputSeq);
+        out.putInt(score);
+        out.putInt(lines);
+        out.putInt(pieces);
+        out.put((byte) (gameOver ? Protocol.FLAG_GAME_OVER : 0));
+        out.put((byte) brickId);
+        out.put((byte) rotation);
+        out.put((byte) x);
+        out.put((byte) y);
+        out.put((byte) nextBrickId);
+        out.put((byte) rowMasks.length);
+        for (int mask : rowMasks) {
+            out.putInt(mask);
+        }
+    }
+
+    /**
+     * Decodes the payload of a state frame, after its type byte.
+     *
+     * @param in buffer positioned at the payload
+     */
+    public void read(ByteBuffer in) {
+        tick = in.getLong();
+        lastInputSeq = in.getInt();
+        score = in.getInt();
+        lines = in.getInt();
+        pieces = in.getInt();
+        gameOver = (in.get() & Protocol.FLAG_GAME_OVER) != 0;
+        brickId = in.get();
+        rotation = in.get();
+        x = in.get();
+        y = in.get();
+        nextBrickId = in.get();
+        setRows(in.get());
+        for (int row = 0; row < rowMasks.length; row++) {
+            rowMasks[row] = in.getInt();
+        }
+    }
+
+    /**
+     * Applies the payload of a delta frame, after its type byte, to the state
+     * it was encoded against. See {@link DeltaEncoder} for the layout.
+     *
+     * @param in buffer positioned at the payload
+     */
+    public void applyDelta(ByteBuffer in) {
+        int flags = in.get();
+        tick += Protocol.getVarLong(in);
+        gameOver = (flags & DeltaEncoder.GAME_OVER) != 0;
+        if ((flags & DeltaEncoder.SEQ) != 0) {
+            lastInputSeq += (int) Protocol.getVarLong(in);
+        }
+        if ((flags & DeltaEncoder.COUNTERS) != 0) {
+            score += (int) Protocol.unZigZag(Protocol.getVarLong(in));
+            lines += (int) Protocol.unZigZag(Protocol.getVarLong(in));
+            pieces += (int) Protocol.unZigZag(Protocol.getVarLong(in));
+        }
+        if ((flags & DeltaEncoder.PIECE) != 0) {
+            brickId = in.get();
+            rotation = in.get();
+            x = in.get();
+            y = in.get();
+        }
+        if ((flags & DeltaEncoder.NEXT) != 0) {
+            nextBrickId = in.get();
+        }
+        if ((flags & DeltaEncoder.CLEARS) != 0) {
+            for (int count = in.get(); count > 0; count--) {
+                removeRows(rowMasks, scratchRows, Protocol.getVarLong(in));
+            }
+        }
+        if ((flags & DeltaEncoder.ROWS) != 0) {
+            long changed = Protocol.getVarLong(in);
+            while (changed != 0) {
+                int row = Long.numberOfTrailingZeros(changed);
+                rowMasks[row] ^= (int) Protocol.getVarLong(in);
+                changed &= changed - 1;
+            }
+        }
+    }
+
+    /**
+     * Removes the rows set in {@code cleared} and moves the rows above them
+     * down, as a line clear does.
+     *
+     * @param rows    row masks, updated in place
+     * @param scratch buffer of the same length
+     * @param cleared bit {@code r} set for each removed row {@code r}
+     */
+    static void removeRows(int[] rows, int[] scratch, long cleared) {
+        int target = rows.length - 1;
+        for (int row = rows.length - 1; row >= 0; row--) {
+            if ((cleared & (1L << row)) == 0) {
+                scratch[target--] = rows[row];
+            }
+        }
+        while (target >= 0) {
+            scratch[target--] = 0;
+        }
+        System.arraycopy(scratch, 0, rows, 0, rows.length);
+    }
+
+    /**
+     * Copies another state into this one.
+     *
+     * @param other the state to copy
+     */
+    public void copyFrom(ClientState other) {
+        tick = other.tick;
+        lastInputSeq = other.lastInputSeq;
+        score = other.score;
+        lines = other.lines;
+        pieces = other.pieces;
+        gameOver = other.gameOver;
+        brickId = other.brickId;
+        rotation = other.rotation;
+        x = other.x;
+        y = other.y;
+        nextBrickId = other.nextBrickId;
+        setRows(other.rowMasks.length);
+        System.arraycopy(other.rowMasks, 0, rowMasks, 0, rowMasks.length);
+    }
+
+    /** @return the server tick the state was taken at */
+    public long getTick() { return tick; }
+
+    /** @return sequence number of the last input the server has applied */
+    public int getLastInputSeq() { return lastInputSeq; }
+
+    /** @return the score */
+    public int getScore() { return score; }
+
+    /** @return lines cleared */
+    public int getLines() { return lines; }
+
+    /** @return bricks locked */
+    public int getPieces() { return pieces; }
+
+    /** @return {@code true} once the game is over */
+    public boolean isGameOver() { return gameOver; }
+
+    /** @return active brick id */
+    public int getBrickId() { return brickId; }
+
+    /** @return active brick rotation */
+    public int getRotation() { return rotation; }
+
+    /** @return active brick column */
+    public int getX() { return x; }
+
+    /** @return active brick row */
+    public int getY() { return y; }
+
+    /** @return previewed next brick id */
+    public int getNextBrickId() { return nextBrickId; }
+
+    /** @return number of board rows */
+    public int getRows() { return rowMasks.length; }
+
+    /**
+     * Returns the filled columns of a locked row.
+     *
+     * @param row the row
+     * @return bit mask with bit {@code c} set for a filled column {@code c}
+     */
+    public int getRowMask(int row) { return rowMasks[row]; }
+
+    @Override
+    public String toString() {
+        return "tick=" + tick + " seq=" + lastInputSeq + " score=" + score + " lines=" + lines
+                + " pieces=" + pieces + " brick=" + brickId + "@" + x + "," + y + " r" + rotation
+                + (gameOver ? " game over" : "") + " rows=" + Arrays.toString(rowMasks);
+    }
+}
@@ -0,0 +1,179 @@
+package com.comp2042.server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes one stream of session states, sending each state as the changes
+ * from the previous one.
+ * <p>
+ * The first frame, and any frame after {@link #reset()}, is a full
+ * {@link Protocol#MSG_STATE} keyframe. Later frames are
+ * {@link Protocol#MSG_DELTA} frames whose payload is a flags byte, the tick
+ * advance as a varint, and then only the sections named by the flags:
+ * <ul>
+ *     <li>{@link #SEQ}: advance of the last applied input sequence.</li>
+ *     <li>{@link #COUNTERS}: score, line and brick count changes as zigzag varints.</li>
+ *     <li>{@link #PIECE}: active brick id, rotation, x and y, one byte each.</li>
+ *     <li>{@link #NEXT}: previewed brick id.</li>
+ *     <li>{@link #CLEARS}: a count and, per line clear since the last frame,
+ *     the mask of cleared row indices from {@link com.comp2042.model.ClearRow},
+ *     which the decoder replays so the rows that merely moved down need not be
+ *     sent.</li>
+ *     <li>{@link #ROWS}: a varint mask of changed rows, then per changed row
+ *     the XOR of old and new column masks as a varint. These are the cells
+ *     added by merging bricks into the background.</li>
+ * </ul>
+ * {@link #GAME_OVER} carries the game-over state itself. A typical move costs
+ * three to seven bytes and a lock with a clear a few dozen, against over a
+ * hundred for a keyframe. Encoding reuses the encoder's buffers, so it does
+ * not allocate.
+ * <p>
+ * An encoder belongs to a single stream and is not thread-safe.
+ */
+public final class DeltaEncoder {
+
+    /** Flag: the last input sequence advanced. */
+    public static final int SEQ = 1;
+    /** Flag: score, lines or brick count changed. */
+    public static final int COUNTERS = 1 << 1;
+    /** Flag: the active brick moved, rotated or changed. */
+    public static final int PIECE = 1 << 2;
+    /** Flag: the previewed brick changed. */
+    public static final int NEXT = 1 << 3;
+    /** Flag: rows were cleared. */
+    public static final int CLEARS = 1 << 4;
+    /** Flag: row cells changed. */
+    public static final int ROWS = 1 << 5;
+    /** Flag: the game is over. */
+    public static final int GAME_OVER = 1 << 6;
+
+    private final ClientState known = new ClientState();
+    private int[] rows = new int[0];
+    private int[] scratch = new int[0];
+    private boolean primed;
+    private long clearsSeen;
+
+    /**
+     * Makes the next frame a keyframe, for example after the receiver lost
+     * frames.
+     */
+    public void reset() {
+        primed = false;
+    }
+
+    /**
+     * Appends a frame that brings the receiver from the previously encoded
+     * state to {@code current}.
+     *
+     * @param out        the buffer to write to
+     * @param current    the state to send
+     * @param clearLog   ring of cleared-row masks, entry {@code i % length} holding clear number {@code i}
+     * @param clearCount number of clears ever written to the log
+     */
+    public void encode(ByteBuffer out, ClientState current, long[] clearLog, long clearCount) {
+        if (!primed || current.getRows() != known.getRows() || clearCount - clearsSeen > clearLog.length) {
+            writeKeyframe(out, current, clearCount);
+            return;
+        }
+        int start = Protocol.beginFrame(out, Protocol.MSG_DELTA);
+        int flagsPosition = out.position();
+        out.put((byte) 0);
+        Protocol.putVarLong(out, current.getTick() - known.getTick());
+        int flags = current.isGameOver() ? GAME_OVER : 0;
+        if (current.getLastInputSeq() != known.getLastInputSeq()) {
+            flags |= SEQ;
+            Protocol.putVarLong(out, current.getLastInputSeq() - known.getLastInputSeq());
+        }
+        if (current.getScore() != known.getScore() || current.getLines() != known.getLines()
+                || current.getPieces() != known.getPieces()) {
+            flags |= COUNTERS;
+            Protocol.putVarLong(out, Protocol.zigZag(current.getScore() - known.getScore()));
+            Protocol.putVarLong(out, Protocol.zigZag(current.getLines() - known.getLines()));
+            Protocol.putVarLong(out, Protocol.zigZag(current.getPieces() - known.getPieces()));
+        }
+        if (current.getBrickId() != known.getBrickId() || current.getRotation() != known.getRotation()
+                || current.getX() != known.getX() || current.getY() != known.getY()) {
+            flags |= PIECE;
+            out.put((byte) current.getBrickId());
+            out.put((byte) current.getRotation());
+            out.put((byte) current.getX());
+            out.put((byte) current.getY());
+        }
+        if (current.getNextBrickId() != known.getNextBrickId()) {
+            flags |= NEXT;
+            out.put((byte) current.getNextBrickId());
+        }
+
+        int rowCount = current.getRows();
+        for (int row = 0; row < rowCount; row++) {
+            rows[row] = known.getRowMask(row);
+        }
+        if (clearCount != clearsSeen) {
+            flags |= CLEARS;
+            out.put((byte) (clearCount - clearsSeen));
+            for (long i = clearsSeen; i < clearCount; i++) {
+                long cleared = clearLog[(int) (i % clearLog.length)];
+                Protocol.putVarLong(out, cleared);
+                ClientState.removeRows(rows, scratch, cleared);
+            }
+        }
+        long changed = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (rows[row] != current.getRowMask(row)) {
+                changed |= 1L << row;
+            }
+        }
+        if (changed != 0) {
+            flags |= ROWS;
+            Protocol.putVarLong(out, changed);
+            for (long bits = changed; bits != 0; bits &= bits - 1) {
+                int row = Long.numberOfTrailingZeros(bits);
+                Protocol.putVarLong(out, (rows[row] ^ current.getRowMask(row)) & 0xFFFFFFFFL);
+            }
+        }
+        out.put(flagsPosition, (byte) flags);
+        Protocol.endFrame(out, start);
+        known.copyFrom(current);
+        clearsSeen = clearCount;
+    }
+
+    private void writeKeyframe(ByteBuffer out, ClientState current, long clearCount) {
+        int start = Protocol.beginFrame(out, Protocol.MSG_STATE);
+        current.write(out);
+        Protocol.endFrame(out, start);
+        known.copyFrom(current);
+        if (rows.length != current.getRows()) {
+            rows = new int[current.getRows()];
+            scratch = new int[current.getRows()];
+        }
+        clearsSeen = clearCount;
+        primed = true;
+    }
+
+    /**
+     * Appends a keyframe of the state the last frame brought the receiver to.
+     * Frames encoded afterwards apply on top of it, which lets a receiver
+     * that missed frames rejoin a stream shared with others.
+     *
+     * @param out the buffer to write to
+     * @throws IllegalStateException if nothing has been encoded since the last reset
+     */
+    public void writeLastState(ByteBuffer out) {
+        if (!primed) {
+            throw new IllegalStateException("No state encoded yet");
+        }
+        int start = Protocol.beginFrame(out, Protocol.MSG_STATE);
+        known.write(out);
+        Protocol.endFrame(out, start);
+    }
+
+    /**
+     * Returns whether the encoder has a state to diff against; if not, the
+     * next frame is a keyframe.
+     *
+     * @return {@code true} after the first frame until {@link #reset()}
+     */
+    public boolean isPrimed() {
+        return primed;
+    }
+}
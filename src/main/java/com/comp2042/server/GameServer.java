@@ -0,0 +1,465 @@
+package com.comp2042.server;
+
+import com.comp2042.diagnostics.LogHistogram;
+import com.comp2042.event.EventType;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hosts many concurrent {@link GameSession}s and serves them to clients over
+ * TCP, using the wire format described in {@link Protocol}.
+ * <p>
+ * Sessions are spread over a small, fixed number of tick shards. Each shard
+ * is one periodic task on a shared scheduler that ticks all of its sessions in
+ * turn, so the number of platform threads does not grow with the number of
+ * games. Every connection gets two virtual threads: one blocks reading the
+ * client's inputs and queues them on the session, the other waits until a tick
+ * has changed the session and then writes what changed since the last frame it
+ * sent, see {@link DeltaEncoder}. A slow client therefore only delays its own
+ * writer, never a tick; it simply receives fewer, larger deltas.
+ * <p>
+ * Spectators connect with a {@link Protocol#HELLO_SPECTATE} hello. Each
+ * watched session gets one {@link SpectatorBroadcast}, created on the first
+ * spectator, that encodes every update once for all of them on its own
+ * virtual thread; each spectator's writer only copies shared frames to its
+ * socket.
+ * <p>
+ * Sessions may also be opened without a connection, for example by an
+ * in-process room, with {@link #openSession(long)}.
+ */
+public final class GameServer implements AutoCloseable {
+
+    /** Default tick length, 60 ticks per second. */
+    public static final int DEFAULT_TICK_MILLIS = 16;
+
+    /** Pending connections the operating system may queue, for bursts of players joining at once. */
+    private static final int ACCEPT_BACKLOG = 1024;
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+
+    private final int tickMillis;
+    private final ScheduledExecutorService scheduler;
+    private final List<Shard> shards = new ArrayList<>();
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, GameSession> sessions = new ConcurrentHashMap<>();
+    private final Map<GameSession, SpectatorBroadcast> broadcasts = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSessionId = new AtomicInteger(1);
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private ServerSocketChannel serverChannel;
+
+    /**
+     * Creates a server and starts its tick shards.
+     *
+     * @param tickMillis  length of one tick
+     * @param tickThreads number of shards, and of scheduler threads
+     */
+    public GameServer(int tickMillis, int tickThreads) {
+        this.tickMillis = tickMillis;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(tickThreads, runnable -> {
+            Thread thread = new Thread(runnable, "game-tick-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < tickThreads; i++) {
+            Shard shard = new Shard();
+            shards.add(shard);
+            scheduler.scheduleAtFixedRate(shard::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sessions ticked together by one periodic task, and how long their
+     * ticks took.
+     */
+    private static final class Shard {
+        private final List<GameSession> sessions = new CopyOnWriteArrayList<>();
+        private final LogHistogram tickNanos = new LogHistogram();
+        private final ReentrantLock statsLock = new ReentrantLock();
+
+        void tick() {
+            long start = System.nanoTime();
+            for (GameSession session : sessions) {
+                try {
+                    session.tick();
+                } catch (RuntimeException e) {
+                    // One broken game must not stop the shard's other games.
+                    System.err.println("Error ticking session " + session.getId() + ": " + e.getMessage());
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            statsLock.lock();
+            try {
+                tickNanos.record(elapsed);
+            } finally {
+                statsLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Starts accepting connections.
+     *
+     * @param port the port to listen on, or {@code 0} for any free port
+     * @return the bound port
+     * @throws IOException if the port cannot be bound
+     */
+    public int start(int port) throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), ACCEPT_BACKLOG);
+        Thread.ofVirtual().name("game-accept").start(this::acceptLoop);
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    private void acceptLoop() {
+        while (!closed.get()) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                Connection connection = new Connection(channel);
+                connections.add(connection);
+                Thread.ofVirtual().name("game-in").start(connection::readLoop);
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                System.err.println("Error accepting connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Creates a session and adds it to the least loaded tick shard.
+     *
+     * @param seed seed of the brick sequence
+     * @return the new session, ticked until {@link #closeSession} is called
+     */
+    public GameSession openSession(long seed) {
+        GameSession session = new GameSession(nextSessionId.getAndIncrement(), ROWS, COLUMNS, seed, tickMillis);
+        Shard target = shards.get(0);
+        for (Shard shard : shards) {
+            if (shard.sessions.size() < target.sessions.size()) {
+                target = shard;
+            }
+        }
+        sessions.put(session.getId(), session);
+        target.sessions.add(session);
+        sessionCount.incrementAndGet();
+        return session;
+    }
+
+    /**
+     * Stops ticking a session.
+     *
+     * @param session the session to remove
+     */
+    public void closeSession(GameSession session) {
+        sessions.remove(session.getId());
+        SpectatorBroadcast broadcast = broadcasts.remove(session);
+        if (broadcast != null) {
+            broadcast.close();
+        }
+        for (Shard shard : shards) {
+            if (shard.sessions.remove(session)) {
+                sessionCount.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Subscribes to a session's broadcast, starting the broadcast if this is
+     * its first spectator.
+     *
+     * @param sessionId id of the session to watch
+     * @return the subscription, or {@code null} if no such session is open
+     */
+    public SpectatorBroadcast.Subscription spectate(int sessionId) {
+        GameSession session = sessions.get(sessionId);
+        if (session == null) {
+            return null;
+        }
+        SpectatorBroadcast broadcast = broadcasts.computeIfAbsent(session, watched -> {
+            SpectatorBroadcast created = new SpectatorBroadcast(watched, SpectatorBroadcast.DEFAULT_QUEUE_FRAMES);
+            created.start();
+            return created;
+        });
+        SpectatorBroadcast.Subscription subscription = broadcast.subscribe();
+        if (!sessions.containsKey(sessionId)) {
+            // The session closed while subscribing; its broadcast may have been missed.
+            broadcast.close();
+            broadcasts.remove(session);
+            return null;
+        }
+        return subscription;
+    }
+
+    /** @return the number of open sessions */
+    public int getSessionCount() {
+        return sessionCount.get();
+    }
+
+    /**
+     * Adds the durations of all shard ticks so far, in nanoseconds, to a
+     * histogram. A shard tick covers every session of the shard.
+     *
+     * @param target the histogram to add to
+     */
+    public void copyTickNanos(LogHistogram target) {
+        for (Shard shard : shards) {
+            shard.statsLock.lock();
+            try {
+                target.add(shard.tickNanos);
+            } finally {
+                shard.statsLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Discards the recorded tick durations, for example after a warm-up.
+     */
+    public void resetTickNanos() {
+        for (Shard shard : shards) {
+            shard.statsLock.lock();
+            try {
+                shard.tickNanos.reset();
+            } finally {
+                shard.statsLock.unlock();
+            }
+        }
+    }
+
+    /** @return the tick length in milliseconds */
+    public int getTickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * Stops accepting connections, disconnects all clients and stops ticking.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Error closing server socket: " + e.getMessage());
+        }
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        for (SpectatorBroadcast broadcast : broadcasts.values()) {
+            broadcast.close();
+        }
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * One client connection and the session it plays or watches.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final Semaphore updated = new Semaphore(0);
+        private final AtomicBoolean pending = new AtomicBoolean();
+        private final Runnable listener = this::signal;
+        private volatile GameSession session;
+        private volatile SpectatorBroadcast.Subscription subscription;
+        private volatile boolean open = true;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void readLoop() {
+            ByteBuffer in = ByteBuffer.allocate(Protocol.INPUT_BYTES * 64);
+            try {
+                in.limit(Protocol.HELLO_BYTES);
+                readFully(in);
+                in.flip();
+                byte kind = in.get();
+                long value = in.getLong();
+                if (kind == Protocol.HELLO_SPECTATE) {
+                    watch((int) value, in);
+                    return;
+                }
+                GameSession opened = openSession(value);
+                session = opened;
+                opened.addUpdateListener(listener);
+                Thread.ofVirtual().name("game-out-" + opened.getId()).start(this::writeLoop);
+                signal();
+
+                in.clear();
+                while (open) {
+                    if (channel.read(in) < 0) {
+                        break;
+                    }
+                    in.flip();
+                    while (in.remaining() >= Protocol.INPUT_BYTES) {
+                        EventType move = Protocol.moveOf(in.get());
+                        int seq = in.getInt();
+                        if (move != null) {
+                            opened.submit(move, seq);
+                        }
+                    }
+                    in.compact();
+                }
+            } catch (IOException e) {
+                if (open) {
+                    System.err.println("Error reading from client: " + e.getMessage());
+                }
+            } finally {
+                close();
+            }
+        }
+
+        private void watch(int sessionId, ByteBuffer in) throws IOException {
+            GameSession watched = sessions.get(sessionId);
+            SpectatorBroadcast.Subscription watching = spectate(sessionId);
+            if (watched == null || watching == null) {
+                return;
+            }
+            subscription = watching;
+            Thread.ofVirtual().name("spectate-out-" + sessionId).start(() -> spectatorWriteLoop(watched, watching));
+            in.clear();
+            while (open && channel.read(in) >= 0) {
+                in.clear();
+            }
+        }
+
+        void spectatorWriteLoop(GameSession watched, SpectatorBroadcast.Subscription watching) {
+            ByteBuffer welcome = ByteBuffer.allocate(Protocol.MAX_PAYLOAD_BYTES);
+            watched.encodeWelcome(welcome);
+            welcome.flip();
+            try {
+                while (welcome.hasRemaining()) {
+                    channel.write(welcome);
+                }
+                SharedFrame frame;
+                while (open && (frame = watching.take()) != null) {
+                    try {
+                        ByteBuffer bytes = frame.bytes();
+                        while (bytes.hasRemaining()) {
+                            channel.write(bytes);
+                        }
+                    } finally {
+                        frame.release();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                if (open) {
+                    System.err.println("Error writing to spectator: " + e.getMessage());
+                }
+            } finally {
+                close();
+            }
+        }
+
+        void writeLoop() {
+            ByteBuffer out = ByteBuffer.allocate(Protocol.MAX_PAYLOAD_BYTES * 2);
+            DeltaEncoder encoder = new DeltaEncoder();
+            GameSession current = session;
+            current.encodeWelcome(out);
+            try {
+                while (open) {
+                    updated.acquire();
+                    pending.set(false);
+                    current.encodeUpdate(out, encoder);
+                    out.flip();
+                    while (out.hasRemaining()) {
+                        channel.write(out);
+                    }
+                    out.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                if (open) {
+                    System.err.println("Error writing to client: " + e.getMessage());
+                }
+            } finally {
+                close();
+            }
+        }
+
+        /** Wakes the writer, at most one pending wake-up at a time. */
+        void signal() {
+            if (pending.compareAndSet(false, true)) {
+                updated.release();
+            }
+        }
+
+        private void readFully(ByteBuffer in) throws IOException {
+            while (in.hasRemaining()) {
+                if (channel.read(in) < 0) {
+                    throw new EOFException("Client closed before hello");
+                }
+            }
+        }
+
+        void close() {
+            if (!open) {
+                return;
+            }
+            open = false;
+            connections.remove(this);
+            GameSession current = session;
+            if (current != null) {
+                current.removeUpdateListener(listener);
+                closeSession(current);
+            }
+            SpectatorBroadcast.Subscription watching = subscription;
+            if (watching != null) {
+                watching.close();
+            }
+            updated.release();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Error closing client connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs a server until the process is stopped.
+     * Arguments: port, tick length in milliseconds, tick threads.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        int tickMillis = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TICK_MILLIS;
+        int tickThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        GameServer server = new GameServer(tickMillis, tickThreads);
+        int bound = server.start(port);
+        System.out.printf("Listening on port %d, %d ms ticks on %d threads%n", bound, tickMillis, tickThreads);
+        while (true) {
+            Thread.sleep(10_000);
+            System.out.println(server.getSessionCount() + " sessions");
+        }
+    }
+}
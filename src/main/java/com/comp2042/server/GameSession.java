@@ -0,0 +1,303 @@
+package com.comp2042.server;
+
+import com.comp2042.controller.GameController;
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.event.EventSource;
+import com.comp2042.event.EventType;
+import com.comp2042.event.MoveEvent;
+import com.comp2042.model.ClearRow;
+import com.comp2042.model.DownData;
+import com.comp2042.model.PieceTable;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.model.ViewData;
+import com.comp2042.model.ZobristHash;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One game hosted by a {@link GameServer}: a {@link SimpleBoard} driven by a
+ * headless {@link GameController}, so the server applies exactly the rules of
+ * the desktop game.
+ * <p>
+ * Inputs may be submitted from any thread; they are queued and applied on the
+ * next {@link #tick()}, which also applies gravity at the controller's drop
+ * speed. Ticks and state encoding hold the session's lock, so a state is
+ * always encoded between ticks.
+ * <p>
+ * After a tick that changed the game, the session captures its state as a
+ * {@link ClientState} and appends any line clears to a short log, which
+ * {@link DeltaEncoder}s use to send only what changed.
+ */
+public final class GameSession {
+
+    private static final MoveEvent[] USER_MOVES = new MoveEvent[EventType.values().length];
+    private static final MoveEvent GRAVITY = new MoveEvent(EventType.DOWN, EventSource.THREAD);
+    private static final int CLEAR_LOG_SIZE = 16;
+
+    static {
+        for (EventType type : EventType.values()) {
+            USER_MOVES[type.ordinal()] = new MoveEvent(type, EventSource.USER);
+        }
+    }
+
+    private final int id;
+    private final int rows;
+    private final int columns;
+    private final SimpleBoard board;
+    private final GameController controller;
+    private final int tickMillis;
+    private final ConcurrentLinkedQueue<Input> inputs = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ClientState state = new ClientState();
+    private final long[] clearLog = new long[CLEAR_LOG_SIZE];
+    private long clearCount;
+    private ViewData view;
+    private volatile Runnable[] updateListeners = new Runnable[0];
+    private long tick;
+    private int lastInputSeq;
+    private int gravityCounter;
+
+    /**
+     * A queued move and its client sequence number.
+     */
+    private static final class Input {
+        private final EventType move;
+        private final int seq;
+
+        Input(EventType move, int seq) {
+            this.move = move;
+            this.seq = seq;
+        }
+    }
+
+    /**
+     * Creates a session and spawns its first brick.
+     *
+     * @param id         session id, unique within the server
+     * @param rows       number of board rows
+     * @param columns    number of board columns
+     * @param seed       seed of the brick sequence
+     * @param tickMillis length of one server tick
+     */
+    public GameSession(int id, int rows, int columns, long seed, int tickMillis) {
+        this.id = id;
+        this.rows = rows;
+        this.columns = columns;
+        this.tickMillis = tickMillis;
+        this.board = new SimpleBoard(rows, columns, new RandomBrickGenerator(seed));
+        this.controller = new GameController(board);
+        controller.initGame();
+        view = board.getViewData();
+        state.setRows(rows);
+        capture();
+    }
+
+    /**
+     * Queues a move for the next tick. Moves after the game is over are
+     * acknowledged but ignored.
+     *
+     * @param move the move
+     * @param seq  the client's sequence number for it
+     */
+    public void submit(EventType move, int seq) {
+        inputs.add(new Input(move, seq));
+    }
+
+    /**
+     * Adds a callback run after each tick that changed the game, on the
+     * ticking thread. It must return quickly.
+     *
+     * @param listener the callback
+     */
+    public void addUpdateListener(Runnable listener) {
+        lock.lock();
+        try {
+            Runnable[] listeners = Arrays.copyOf(updateListeners, updateListeners.length + 1);
+            listeners[listeners.length - 1] = listener;
+            updateListeners = listeners;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a callback added with {@link #addUpdateListener}.
+     *
+     * @param listener the callback
+     */
+    public void removeUpdateListener(Runnable listener) {
+        lock.lock();
+        try {
+            Runnable[] listeners = updateListeners;
+            for (int i = 0; i < listeners.length; i++) {
+                if (listeners[i] == listener) {
+                    Runnable[] remaining = new Runnable[listeners.length - 1];
+                    System.arraycopy(listeners, 0, remaining, 0, i);
+                    System.arraycopy(listeners, i + 1, remaining, i, remaining.length - i);
+                    updateListeners = remaining;
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies queued inputs and gravity, then notifies the update listeners
+     * if anything changed.
+     *
+     * @return {@code true} if the game changed
+     */
+    public boolean tick() {
+        boolean changed = false;
+        lock.lock();
+        try {
+            tick++;
+            Input input;
+            while ((input = inputs.poll()) != null) {
+                if (!controller.isGameOver()) {
+                    apply(input.move);
+                }
+                lastInputSeq = input.seq;
+                changed = true;
+            }
+            if (!controller.isGameOver()) {
+                int gravityTicks = Math.max(1, controller.getSpeedDelay() / tickMillis);
+                if (++gravityCounter >= gravityTicks) {
+                    gravityCounter = 0;
+                    down(GRAVITY);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                capture();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (changed) {
+            for (Runnable listener : updateListeners) {
+                listener.run();
+            }
+        }
+        return changed;
+    }
+
+    private void apply(EventType move) {
+        MoveEvent event = USER_MOVES[move.ordinal()];
+        switch (move) {
+            case LEFT:
+                view = controller.onLeftEvent(event);
+                break;
+            case RIGHT:
+                view = controller.onRightEvent(event);
+                break;
+            case ROTATE:
+                view = controller.onRotateEvent(event);
+                break;
+            default:
+                down(event);
+                break;
+        }
+    }
+
+    private void down(MoveEvent event) {
+        DownData data = controller.onDownEvent(event);
+        view = data.getViewData();
+        ClearRow clearRow = data.getClearRow();
+        if (clearRow != null && clearRow.getLinesRemoved() > 0) {
+            long cleared = 0;
+            for (int row : clearRow.getClearedRowIndices()) {
+                cleared |= 1L << row;
+            }
+            clearLog[(int) (clearCount % CLEAR_LOG_SIZE)] = cleared;
+            clearCount++;
+        }
+    }
+
+    /**
+     * Copies the game into {@link #state}, using the view data returned by
+     * the last event so nothing needs to be recomputed.
+     */
+    private void capture() {
+        state.set(tick, lastInputSeq, board.getScore().scoreProperty().get(), controller.getLinesCleared(),
+                controller.getPiecesLocked(), controller.isGameOver(), board.getCurrentBrickId(),
+                board.getCurrentRotation(), view.getxPosition(), view.getyPosition(),
+                PieceTable.idOf(view.getNextBrickData()));
+        int[][] matrix = board.getBoardMatrix();
+        for (int row = 0; row < rows; row++) {
+            state.setRowMask(row, ZobristHash.rowMask(matrix[row]));
+        }
+    }
+
+    /**
+     * Appends a {@link Protocol#MSG_STATE} frame with the state after the
+     * last tick that changed the game.
+     *
+     * @param out the buffer to write to
+     */
+    public void encodeState(ByteBuffer out) {
+        lock.lock();
+        try {
+            int start = Protocol.beginFrame(out, Protocol.MSG_STATE);
+            state.write(out);
+            Protocol.endFrame(out, start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a frame bringing one stream up to date: a delta from the state
+     * the encoder last sent, or a keyframe if it has none.
+     *
+     * @param out     the buffer to write to
+     * @param encoder the stream's encoder
+     */
+    public void encodeUpdate(ByteBuffer out, DeltaEncoder encoder) {
+        lock.lock();
+        try {
+            encoder.encode(out, state, clearLog, clearCount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a {@link Protocol#MSG_WELCOME} frame for this session.
+     *
+     * @param out the buffer to write to
+     */
+    public void encodeWelcome(ByteBuffer out) {
+        int start = Protocol.beginFrame(out, Protocol.MSG_WELCOME);
+        out.putInt(id);
+        out.put((byte) rows);
+        out.put((byte) columns);
+        Protocol.endFrame(out, start);
+    }
+
+    /** @return the session id */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the session's controller, for in-process bots and tests. It may
+     * only be used on the ticking thread, or while the session is not
+     * scheduled on a server.
+     *
+     * @return the controller
+     */
+    public GameController getController() {
+        return controller;
+    }
+
+    /** @return {@code true} once the game is over */
+    public boolean isGameOver() {
+        return controller.isGameOver();
+    }
+}
@@ -0,0 +1,316 @@
+package com.comp2042.server;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.diagnostics.LogHistogram;
+import com.comp2042.event.EventType;
+import com.comp2042.model.BitBoard;
+import com.comp2042.model.SplitMix;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Measures how many players a {@link GameServer} can host by connecting
+ * simulated players to it over TCP.
+ * <p>
+ * Every player is a virtual thread with its own {@link LocalClient}. It sends
+ * one move, waits until a state acknowledges it, optionally pauses to think,
+ * and repeats; when its game ends it starts a new one. The time from sending
+ * a move to receiving its acknowledgement is the end-to-end input latency
+ * seen by a player, and is recorded in a {@link LogHistogram} per player,
+ * merged when the run ends. Moves come from a {@link Policy}: an
+ * {@link AutoPlayer} planning from the received state, or random inputs.
+ * <p>
+ * {@link #main} hosts the server in-process, runs one step per player count
+ * and appends input latency and server tick time percentiles to a CSV file.
+ */
+public final class LoadGenerator {
+
+    /** How long a player waits for an acknowledgement before giving up on its game. */
+    public static final long ACK_TIMEOUT_MILLIS = 5_000;
+
+    private static final String CSV_HEADER =
+            "players,policy,tick_threads,seconds,metric,count,mean_us,p50_us,p90_us,p99_us,p999_us,max_us";
+    private static final EventType[] MOVES = EventType.values();
+
+    /**
+     * How simulated players choose their moves.
+     */
+    public enum Policy {
+        /** Plans placements with an {@link AutoPlayer}, like a skilled player. */
+        AUTOPLAY,
+        /** Sends uniformly random moves. Games are short, so players reconnect often. */
+        RANDOM
+    }
+
+    private final String host;
+    private final int port;
+    private final int players;
+    private final Policy policy;
+    private final long durationMillis;
+    private final long rampMillis;
+    private final long thinkMillis;
+    private final long seed;
+
+    /**
+     * Creates a load generator.
+     *
+     * @param host           server host
+     * @param port           server port
+     * @param players        number of simulated players
+     * @param policy         how players choose moves
+     * @param durationMillis how long to play, ramp-up included
+     * @param rampMillis     time over which players connect, spread evenly
+     * @param thinkMillis    pause after each acknowledged move
+     * @param seed           seed of the players' games and random moves
+     */
+    public LoadGenerator(String host, int port, int players, Policy policy, long durationMillis,
+                         long rampMillis, long thinkMillis, long seed) {
+        this.host = host;
+        this.port = port;
+        this.players = players;
+        this.policy = policy;
+        this.durationMillis = durationMillis;
+        this.rampMillis = rampMillis;
+        this.thinkMillis = thinkMillis;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs all players until the duration has passed.
+     *
+     * @return the combined measurements, without server tick times
+     * @throws InterruptedException if interrupted while waiting for players
+     */
+    public Result run() throws InterruptedException {
+        Result result = new Result(players, policy);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        List<Thread> threads = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            int index = i;
+            long delayNanos = TimeUnit.MILLISECONDS.toNanos(rampMillis) * i / players;
+            threads.add(Thread.ofVirtual().name("load-player-" + i)
+                    .start(() -> play(index, start + delayNanos, deadline, result)));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        result.seconds = (System.nanoTime() - start) / 1e9;
+        return result;
+    }
+
+    private void play(int index, long startAt, long deadline, Result result) {
+        LogHistogram ackNanos = new LogHistogram();
+        Random random = new Random(seed + index * SplitMix.GOLDEN_GAMMA);
+        AutoPlayer bot = null;
+        BitBoard board = null;
+        long inputs = 0;
+        int games = 0;
+        int timeouts = 0;
+        int errors = 0;
+        try {
+            long wait = startAt - System.nanoTime();
+            if (wait > 0) {
+                Thread.sleep(TimeUnit.NANOSECONDS.toMillis(wait));
+            }
+            while (System.nanoTime() < deadline) {
+                try (LocalClient client = LocalClient.connect(host, port, random.nextLong())) {
+                    ClientState state = client.await(s -> true, ACK_TIMEOUT_MILLIS);
+                    if (state == null) {
+                        timeouts++;
+                        continue;
+                    }
+                    games++;
+                    if (policy == Policy.AUTOPLAY && bot == null) {
+                        bot = new AutoPlayer(client.getRows(), client.getColumns());
+                        board = new BitBoard(client.getRows(), client.getColumns());
+                    }
+                    int plannedPiece = -1;
+                    while (!state.isGameOver() && System.nanoTime() < deadline) {
+                        EventType move;
+                        if (policy == Policy.RANDOM) {
+                            move = MOVES[random.nextInt(MOVES.length)];
+                        } else {
+                            if (state.getPieces() != plannedPiece) {
+                                plannedPiece = state.getPieces();
+                                for (int row = 0; row < state.getRows(); row++) {
+                                    board.setRow(row, state.getRowMask(row));
+                                }
+                                bot.plan(board, state.getBrickId(), state.getRotation(), state.getX(), state.getY(),
+                                        state.getNextBrickId());
+                            }
+                            move = bot.nextPlannedMove();
+                        }
+                        long sent = System.nanoTime();
+                        int seq = client.send(move);
+                        ClientState acked = client.await(s -> s.getLastInputSeq() >= seq, ACK_TIMEOUT_MILLIS);
+                        if (acked == null) {
+                            timeouts++;
+                            break;
+                        }
+                        ackNanos.record(System.nanoTime() - sent);
+                        inputs++;
+                        state = acked;
+                        if (thinkMillis > 0) {
+                            Thread.sleep(thinkMillis);
+                        }
+                    }
+                } catch (IOException e) {
+                    errors++;
+                    System.err.println("Error in simulated player " + index + ": " + e.getMessage());
+                    Thread.sleep(100);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        result.add(ackNanos, inputs, games, timeouts, errors);
+    }
+
+    /**
+     * Measurements of one run.
+     */
+    public static final class Result {
+        private final int players;
+        private final Policy policy;
+        private final LogHistogram ackNanos = new LogHistogram();
+        private final LogHistogram tickNanos = new LogHistogram();
+        private final ReentrantLock lock = new ReentrantLock();
+        private long inputs;
+        private int games;
+        private int timeouts;
+        private int errors;
+        private int tickThreads;
+        private double seconds;
+
+        Result(int players, Policy policy) {
+            this.players = players;
+            this.policy = policy;
+        }
+
+        void add(LogHistogram playerAckNanos, long playerInputs, int playerGames, int playerTimeouts,
+                 int playerErrors) {
+            lock.lock();
+            try {
+                ackNanos.add(playerAckNanos);
+                inputs += playerInputs;
+                games += playerGames;
+                timeouts += playerTimeouts;
+                errors += playerErrors;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Adds the tick times recorded by the server that was tested.
+         *
+         * @param server  the server
+         * @param threads its number of tick threads, for the CSV
+         */
+        public void addServerTicks(GameServer server, int threads) {
+            server.copyTickNanos(tickNanos);
+            tickThreads = threads;
+        }
+
+        /** @return input-to-acknowledgement latencies in nanoseconds */
+        public LogHistogram getAckNanos() { return ackNanos; }
+
+        /** @return server shard tick durations in nanoseconds */
+        public LogHistogram getTickNanos() { return tickNanos; }
+
+        /** @return acknowledged inputs */
+        public long getInputs() { return inputs; }
+
+        /** @return games started */
+        public int getGames() { return games; }
+
+        /** @return acknowledgements not received in time */
+        public int getTimeouts() { return timeouts; }
+
+        /** @return connection failures */
+        public int getErrors() { return errors; }
+
+        /**
+         * Appends one row per metric to a CSV file, writing the header first
+         * if the file is new, so several runs can be collected in one file.
+         *
+         * @param file the CSV file
+         * @throws IOException if the file cannot be written
+         */
+        public void appendCsv(Path file) throws IOException {
+            boolean header = !Files.exists(file) || Files.size(file) == 0;
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND)) {
+                if (header) {
+                    writer.write(CSV_HEADER);
+                    writer.newLine();
+                }
+                writeRow(writer, "input_ack", ackNanos);
+                writeRow(writer, "server_tick", tickNanos);
+            }
+        }
+
+        private void writeRow(BufferedWriter writer, String metric, LogHistogram nanos) throws IOException {
+            writer.write(String.format(Locale.ROOT, "%d,%s,%d,%.1f,%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f",
+                    players, policy.name().toLowerCase(Locale.ROOT), tickThreads, seconds, metric, nanos.getCount(),
+                    nanos.getMean() / 1e3, nanos.getValueAtPercentile(50) / 1e3, nanos.getValueAtPercentile(90) / 1e3,
+                    nanos.getValueAtPercentile(99) / 1e3, nanos.getValueAtPercentile(99.9) / 1e3,
+                    nanos.getMax() / 1e3));
+            writer.newLine();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%d players (%s): %d inputs in %.1f s (%.0f/s), %d games, %d timeouts, %d errors%n"
+                            + "  input ack  p50 %.2f ms  p99 %.2f ms  max %.2f ms%n"
+                            + "  server tick p50 %.2f ms  p99 %.2f ms  max %.2f ms",
+                    players, policy.name().toLowerCase(Locale.ROOT), inputs, seconds, inputs / seconds, games,
+                    timeouts, errors, ackNanos.getValueAtPercentile(50) / 1e6, ackNanos.getValueAtPercentile(99) / 1e6,
+                    ackNanos.getMax() / 1e6, tickNanos.getValueAtPercentile(50) / 1e6,
+                    tickNanos.getValueAtPercentile(99) / 1e6, tickNanos.getMax() / 1e6);
+        }
+    }
+
+    /**
+     * Runs one load step per player count against an in-process server.
+     * Arguments: comma-separated player counts, policy ({@code autoplay} or
+     * {@code random}), seconds per step, think time in milliseconds, tick
+     * threads, CSV file.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String[] counts = (args.length > 0 ? args[0] : "250,500,1000,2000").split(",");
+        Policy policy = Policy.valueOf((args.length > 1 ? args[1] : "autoplay").toUpperCase(Locale.ROOT));
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        long thinkMillis = args.length > 3 ? Long.parseLong(args[3]) : 100;
+        int tickThreads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        Path csv = Paths.get(args.length > 5 ? args[5] : "load-test.csv");
+
+        for (String count : counts) {
+            int players = Integer.parseInt(count.trim());
+            try (GameServer server = new GameServer(GameServer.DEFAULT_TICK_MILLIS, tickThreads)) {
+                int port = server.start(0);
+                long durationMillis = TimeUnit.SECONDS.toMillis(seconds);
+                LoadGenerator generator = new LoadGenerator("localhost", port, players, policy, durationMillis,
+                        durationMillis / 4, thinkMillis, System.nanoTime());
+                Result result = generator.run();
+                result.addServerTicks(server, tickThreads);
+                result.appendCsv(csv);
+                System.out.println(result);
+            }
+        }
+        System.out.println("Results appended to " + csv.toAbsolutePath());
+    }
+}
@@ -0,0 +1,225 @@
+package com.comp2042.server;
+
+import com.comp2042.event.EventType;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * In-process stand-in for a remote player: connects to a {@link GameServer}
+ * over a real socket, sends moves and keeps the latest state pushed back.
+ * <p>
+ * A virtual thread reads the server's frames. {@link #send} may be called
+ * from any thread; {@link #await} blocks until the state matches a condition,
+ * which keeps tests free of sleeps.
+ */
+public final class LocalClient implements AutoCloseable {
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocate(Protocol.INPUT_BYTES);
+    private final ClientState latest = new ClientState();
+    private final ReentrantLock sendLock = new ReentrantLock();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private int sessionId;
+    private int rows;
+    private int columns;
+    private int nextSeq;
+    private int statesReceived;
+    private volatile boolean open = true;
+
+    private LocalClient(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Connects to a server and starts a game.
+     *
+     * @param host server host
+     * @param port server port
+     * @param seed seed of the brick sequence to play
+     * @return the connected client
+     * @throws IOException if the connection fails
+     */
+    public static LocalClient connect(String host, int port, long seed) throws IOException {
+        return open(host, port, Protocol.HELLO_PLAY, seed);
+    }
+
+    /**
+     * Connects to a server to watch another client's session. The server
+     * disconnects spectators of unknown or closed sessions.
+     *
+     * @param host      server host
+     * @param port      server port
+     * @param sessionId id of the session to watch
+     * @return the connected client, which must not {@link #send} moves
+     * @throws IOException if the connection fails
+     */
+    public static LocalClient spectate(String host, int port, int sessionId) throws IOException {
+        return open(host, port, Protocol.HELLO_SPECTATE, sessionId);
+    }
+
+    private static LocalClient open(String host, int port, byte kind, long value) throws IOException {
+        SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.socket().setTcpNoDelay(true);
+        LocalClient client = new LocalClient(channel);
+        ByteBuffer hello = ByteBuffer.allocate(Protocol.HELLO_BYTES);
+        hello.put(kind).putLong(value).flip();
+        while (hello.hasRemaining()) {
+            channel.write(hello);
+        }
+        Thread.ofVirtual().name("local-client").start(client::readLoop);
+        return client;
+    }
+
+    /**
+     * Sends one move.
+     *
+     * @param move the move
+     * @return the move's sequence number, see {@link ClientState#getLastInputSeq()}
+     * @throws IOException if the connection fails
+     */
+    public int send(EventType move) throws IOException {
+        sendLock.lock();
+        try {
+            int seq = ++nextSeq;
+            out.clear();
+            Protocol.writeInput(out, move, seq);
+            out.flip();
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            return seq;
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the latest state satisfies a condition.
+     *
+     * @param condition     the condition, evaluated under the client's lock
+     * @param timeoutMillis how long to wait
+     * @return a copy of the matching state, or {@code null} on timeout or disconnect
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public ClientState await(Predicate<ClientState> condition, long timeoutMillis) throws InterruptedException {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lock();
+        try {
+            while (statesReceived == 0 || !condition.test(latest)) {
+                if (remaining <= 0 || !open) {
+                    return null;
+                }
+                remaining = changed.awaitNanos(remaining);
+            }
+            ClientState copy = new ClientState();
+            copy.copyFrom(latest);
+            return copy;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return id of the session the server opened, or {@code 0} before the welcome */
+    public int getSessionId() {
+        lock.lock();
+        try {
+            return sessionId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return board columns from the welcome, or {@code 0} before it */
+    public int getColumns() {
+        lock.lock();
+        try {
+            return columns;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return board rows from the welcome, or {@code 0} before it */
+    public int getRows() {
+        lock.lock();
+        try {
+            return rows;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void readLoop() {
+        ByteBuffer in = ByteBuffer.allocate(Protocol.MAX_PAYLOAD_BYTES * 4);
+        try {
+            while (open) {
+                if (channel.read(in) < 0) {
+                    break;
+                }
+                in.flip();
+                while (in.remaining() >= Protocol.FRAME_HEADER_BYTES
+                        && in.remaining() >= Protocol.FRAME_HEADER_BYTES + in.getShort(in.position())) {
+                    int length = in.getShort();
+                    int end = in.position() + length;
+                    handle(in);
+                    in.position(end);
+                }
+                in.compact();
+            }
+        } catch (IOException e) {
+            if (open) {
+                System.err.println("Error reading from server: " + e.getMessage());
+            }
+        } finally {
+            close();
+        }
+    }
+
+    private void handle(ByteBuffer frame) {
+        byte type = frame.get();
+        lock.lock();
+        try {
+            if (type == Protocol.MSG_WELCOME) {
+                sessionId = frame.getInt();
+                rows = frame.get();
+                columns = frame.get();
+            } else if (type == Protocol.MSG_STATE) {
+                latest.read(frame);
+                statesReceived++;
+            } else if (type == Protocol.MSG_DELTA) {
+                latest.applyDelta(frame);
+                statesReceived++;
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Disconnects; the server closes the session.
+     */
+    @Override
+    public void close() {
+        open = false;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing client: " + e.getMessage());
+        }
+        lock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.comp2042.server;
+
+import com.comp2042.event.EventType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Wire format between {@link GameServer} and its clients.
+ * <p>
+ * A connection starts with the client sending {@link #HELLO_BYTES} bytes: a
+ * kind byte and a long. For {@link #HELLO_PLAY} the long is the seed of the
+ * player's brick sequence; for {@link #HELLO_SPECTATE} it is the id of the
+ * session to watch. The server answers with a {@link #MSG_WELCOME} frame, a
+ * {@link #MSG_STATE} keyframe and then a {@link #MSG_DELTA} frame after every
+ * tick that changed the game. Spectators may also receive a keyframe later on,
+ * when they fell behind. After the hello, a player only sends fixed-size input
+ * messages of {@link #INPUT_BYTES} bytes: a move code and an int sequence
+ * number that the server echoes back in later states once the input has been
+ * applied. Spectators send nothing more.
+ * <p>
+ * Server frames are a {@code short} payload length followed by the payload,
+ * whose first byte is the message type. All values are big-endian.
+ */
+public final class Protocol {
+
+    /** Size of the client hello: the kind and the seed or session id. */
+    public static final int HELLO_BYTES = 1 + Long.BYTES;
+
+    /** Hello kind of a player starting a game. */
+    public static final byte HELLO_PLAY = 0;
+
+    /** Hello kind of a spectator watching a session. */
+    public static final byte HELLO_SPECTATE = 1;
+
+    /** Size of one client input message. */
+    public static final int INPUT_BYTES = 1 + Integer.BYTES;
+
+    /** Size of the length prefix of a server frame. */
+    public static final int FRAME_HEADER_BYTES = Short.BYTES;
+
+    /** Largest server frame payload. */
+    public static final int MAX_PAYLOAD_BYTES = 1024;
+
+    /** Welcome frame: {@code int sessionId, byte rows, byte columns}. */
+    public static final byte MSG_WELCOME = 1;
+
+    /**
+     * State frame: {@code long tick, int lastInputSeq, int score, int lines,
+     * int pieces, byte flags, byte brickId, byte rotation, byte x, byte y,
+     * byte nextBrickId, byte rows, int[rows] rowMasks}.
+     */
+    public static final byte MSG_STATE = 2;
+
+    /**
+     * Delta frame: changes since the previous state or delta frame on the same
+     * stream, see {@link DeltaEncoder}.
+     */
+    public static final byte MSG_DELTA = 3;
+
+    /** State flag set once the game is over. */
+    public static final int FLAG_GAME_OVER = 1;
+
+    private static final EventType[] MOVES = EventType.values();
+
+    private Protocol() {
+
+    }
+
+    /**
+     * Appends an input message.
+     *
+     * @param out  the buffer to write to
+     * @param move the move
+     * @param seq  the input's sequence number
+     */
+    public static void writeInput(ByteBuffer out, EventType move, int seq) {
+        out.put((byte) move.ordinal());
+        out.putInt(seq);
+    }
+
+    /**
+     * Decodes the move code of an input message.
+     *
+     * @param code the code byte
+     * @return the move, or {@code null} for an unknown code
+     */
+    public static EventType moveOf(byte code) {
+        return code >= 0 && code < MOVES.length ? MOVES[code] : null;
+    }
+
+    /**
+     * Writes an unsigned variable-length integer, seven bits per byte with
+     * the high bit marking that more bytes follow.
+     *
+     * @param out   the buffer to write to
+     * @param value the value, treated as unsigned
+     */
+    public static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Reads a value written by {@link #putVarLong}.
+     *
+     * @param in the buffer to read from
+     * @return the value
+     */
+    public static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    /**
+     * Maps a signed value onto an unsigned one with small magnitudes staying
+     * small, for {@link #putVarLong}.
+     *
+     * @param value the signed value
+     * @return the zigzag encoding
+     */
+    public static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Reverses {@link #zigZag}.
+     *
+     * @param value the zigzag encoding
+     * @return the signed value
+     */
+    public static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Starts a server frame, leaving room for the length prefix.
+     *
+     * @param out  the buffer to write to
+     * @param type the message type
+     * @return position of the frame, to pass to {@link #endFrame}
+     */
+    public static int beginFrame(ByteBuffer out, byte type) {
+        int start = out.position();
+        out.putShort((short) 0);
+        out.put(type);
+        return start;
+    }
+
+    /**
+     * Fills in the length prefix of a frame started with {@link #beginFrame}.
+     *
+     * @param out   the buffer holding the frame
+     * @param start position returned by {@link #beginFrame}
+     */
+    public static void endFrame(ByteBuffer out, int start) {
+        out.putShort(start, (short) (out.position() - start - FRAME_HEADER_BYTES));
+    }
+}
@@ -0,0 +1,74 @@
+package com.comp2042.server;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One encoded server frame in a direct buffer, shared by every subscriber it
+ * is sent to instead of being copied per subscriber.
+ * <p>
+ * The frame is reference-counted: whoever queues it calls {@link #retain()},
+ * and whoever is done with it calls {@link #release()}. The last release
+ * returns the frame to the pool it came from. Readers must not change the
+ * buffer's position; {@link #bytes()} gives each one its own view.
+ */
+public final class SharedFrame {
+
+    private final ByteBuffer buffer;
+    private final Queue<SharedFrame> pool;
+    private final AtomicInteger references = new AtomicInteger();
+
+    SharedFrame(int capacity, Queue<SharedFrame> pool) {
+        this.buffer = ByteBuffer.allocateDirect(capacity);
+        this.pool = pool;
+    }
+
+    /**
+     * Prepares a pooled frame for writing, holding one reference for the
+     * writer.
+     *
+     * @return the buffer to encode into
+     */
+    ByteBuffer open() {
+        references.set(1);
+        buffer.clear();
+        return buffer;
+    }
+
+    /** Finishes writing; the frame is then read-only. */
+    void seal() {
+        buffer.flip();
+    }
+
+    /** Adds a reference. */
+    public void retain() {
+        references.incrementAndGet();
+    }
+
+    /**
+     * Drops a reference, returning the frame to its pool on the last one.
+     */
+    public void release() {
+        int remaining = references.decrementAndGet();
+        if (remaining == 0) {
+            pool.offer(this);
+        } else if (remaining < 0) {
+            throw new IllegalStateException("Frame released more often than retained");
+        }
+    }
+
+    /**
+     * Returns a read-only view of the encoded frame, length prefix included.
+     *
+     * @return a view with its own position
+     */
+    public ByteBuffer bytes() {
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /** @return the frame's message type */
+    public byte getType() {
+        return buffer.get(Protocol.FRAME_HEADER_BYTES);
+    }
+}
@@ -0,0 +1,285 @@
+package com.comp2042.server;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Streams one session to any number of spectators.
+ * <p>
+ * Each update is encoded once, by a single {@link DeltaEncoder}, into a
+ * pooled {@link SharedFrame} that every subscriber's queue references. The
+ * ticking thread only wakes the broadcast's own virtual thread, so the match
+ * never waits for encoding or for spectators; updates that arrive while the
+ * broadcast is busy are merged into its next frame.
+ * <p>
+ * Subscriber queues are bounded. When one is full, the subscriber has fallen
+ * behind: its queued frames are dropped and replaced by a single keyframe of
+ * the state the current frame leads to, after which it follows the shared
+ * deltas again. The keyframe is also encoded at most once per update,
+ * however many subscribers need it.
+ */
+public final class SpectatorBroadcast implements AutoCloseable {
+
+    /** Default number of frames a subscriber may have queued. */
+    public static final int DEFAULT_QUEUE_FRAMES = 8;
+
+    private static final int FRAME_CAPACITY = Protocol.FRAME_HEADER_BYTES + Protocol.MAX_PAYLOAD_BYTES;
+    private static final SharedFrame END = new SharedFrame(0, new ConcurrentLinkedQueue<>());
+
+    private final GameSession session;
+    private final int queueFrames;
+    private final DeltaEncoder encoder = new DeltaEncoder();
+    private final List<Subscription> subscribers = new CopyOnWriteArrayList<>();
+    private final Queue<SharedFrame> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger framesAllocated = new AtomicInteger();
+    private final AtomicInteger resyncs = new AtomicInteger();
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final Semaphore updated = new Semaphore(0);
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final Runnable listener = this::signal;
+    private volatile boolean open = true;
+
+    /**
+     * Creates a broadcast of a session. Frames are only sent after
+     * {@link #start()}, or when {@link #publish()} is called directly.
+     *
+     * @param session     the session to stream
+     * @param queueFrames frames each subscriber may have queued, at least one
+     */
+    public SpectatorBroadcast(GameSession session, int queueFrames) {
+        if (queueFrames < 1) {
+            throw new IllegalArgumentException("Queue must hold at least one frame, got " + queueFrames);
+        }
+        this.session = session;
+        this.queueFrames = queueFrames;
+    }
+
+    /**
+     * Starts publishing after every tick that changes the session.
+     */
+    public void start() {
+        session.addUpdateListener(listener);
+        Thread.ofVirtual().name("spectate-" + session.getId()).start(this::publishLoop);
+    }
+
+    private void publishLoop() {
+        try {
+            while (open) {
+                updated.acquire();
+                pending.set(false);
+                if (open) {
+                    publish();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void signal() {
+        if (pending.compareAndSet(false, true)) {
+            updated.release();
+        }
+    }
+
+    /**
+     * Adds a spectator. Its first frame is a keyframe.
+     *
+     * @return the spectator's subscription
+     */
+    public Subscription subscribe() {
+        Subscription subscription = new Subscription(queueFrames);
+        publishLock.lock();
+        try {
+            if (!open) {
+                subscription.end();
+                return subscription;
+            }
+            subscribers.add(subscription);
+        } finally {
+            publishLock.unlock();
+        }
+        signal();
+        return subscription;
+    }
+
+    /**
+     * Encodes the session's latest state once and queues it for every
+     * subscriber, resyncing those that fell behind. Called by the broadcast's
+     * thread after {@link #start()}.
+     */
+    public void publish() {
+        publishLock.lock();
+        try {
+            if (subscribers.isEmpty()) {
+                encoder.reset();
+                return;
+            }
+            SharedFrame update = acquire();
+            session.encodeUpdate(update.open(), encoder);
+            update.seal();
+            SharedFrame keyframe = update.getType() == Protocol.MSG_STATE ? update : null;
+            for (Subscription subscription : subscribers) {
+                if (!subscription.needsKeyframe && subscription.offer(update)) {
+                    continue;
+                }
+                if (keyframe == null) {
+                    keyframe = acquire();
+                    encoder.writeLastState(keyframe.open());
+                    keyframe.seal();
+                }
+                if (!subscription.needsKeyframe) {
+                    resyncs.incrementAndGet();
+                }
+                subscription.resync(keyframe);
+            }
+            update.release();
+            if (keyframe != null && keyframe != update) {
+                keyframe.release();
+            }
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private SharedFrame acquire() {
+        SharedFrame frame = pool.poll();
+        if (frame == null) {
+            frame = new SharedFrame(FRAME_CAPACITY, pool);
+            framesAllocated.incrementAndGet();
+        }
+        return frame;
+    }
+
+    /** @return number of subscribers */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /** @return times a subscriber fell behind and was sent a keyframe */
+    public int getResyncs() {
+        return resyncs.get();
+    }
+
+    /** @return frames allocated so far; the pool reuses them after that */
+    public int getFramesAllocated() {
+        return framesAllocated.get();
+    }
+
+    /** @return frames back in the pool, all of them once every reference is released */
+    public int getFramesPooled() {
+        return pool.size();
+    }
+
+    /**
+     * Stops publishing and ends every subscription.
+     */
+    @Override
+    public void close() {
+        publishLock.lock();
+        try {
+            if (!open) {
+                return;
+            }
+            open = false;
+            session.removeUpdateListener(listener);
+            updated.release();
+            for (Subscription subscription : subscribers) {
+                subscription.end();
+            }
+            subscribers.clear();
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * One spectator's queue of frames.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final BlockingQueue<SharedFrame> queue;
+        private volatile boolean needsKeyframe = true;
+
+        Subscription(int capacity) {
+            // One extra slot so the end marker always fits.
+            this.queue = new ArrayBlockingQueue<>(capacity + 1);
+        }
+
+        /**
+         * Waits for the next frame. The caller must {@link SharedFrame#release()}
+         * it once written.
+         *
+         * @return the frame, or {@code null} once the subscription has ended
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public SharedFrame take() throws InterruptedException {
+            SharedFrame frame = queue.take();
+            if (frame == END) {
+                queue.offer(END);
+                return null;
+            }
+            return frame;
+        }
+
+        /** @return the next frame without waiting, or {@code null} if none is queued or it has ended */
+        public SharedFrame poll() {
+            SharedFrame frame = queue.poll();
+            if (frame == END) {
+                queue.offer(END);
+                return null;
+            }
+            return frame;
+        }
+
+        private boolean offer(SharedFrame frame) {
+            if (queue.size() >= queueFrames) {
+                return false;
+            }
+            frame.retain();
+            queue.offer(frame);
+            return true;
+        }
+
+        private void resync(SharedFrame keyframe) {
+            drain();
+            needsKeyframe = false;
+            offer(keyframe);
+        }
+
+        private void drain() {
+            SharedFrame frame;
+            while ((frame = queue.poll()) != null) {
+                if (frame != END) {
+                    frame.release();
+                }
+            }
+        }
+
+        private void end() {
+            drain();
+            queue.offer(END);
+        }
+
+        /**
+         * Unsubscribes, releasing any queued frames.
+         */
+        @Override
+        public void close() {
+            publishLock.lock();
+            try {
+                subscribers.remove(this);
+                end();
+            } finally {
+                publishLock.unlock();
+            }
+        }
+    }
+}
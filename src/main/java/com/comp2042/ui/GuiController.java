@@ -2,7 +2,8 @@ package com.comp2042.ui;
 
 import com.comp2042.event.EventSource;
 import com.comp2042.event.EventType;
-import com.comp2042.event.InputEventListener;
+import com.comp2042.event.GameEventListener;
+import com.comp2042.event.GameEventType;
 import com.comp2042.event.MoveEvent;
 import com.comp2042.model.DownData;
 import com.comp2042.model.ViewData;
@@ -37,18 +38,33 @@ import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.ResourceBundle;
 import javafx.scene.layout.StackPane;
+import javafx.geometry.Pos;
 import javafx.scene.shape.Circle;
 import javafx.scene.control.Slider;
 import com.comp2042.controller.HighScoreManager;
 import com.comp2042.controller.GameController;
 import com.comp2042.controller.LevelManager;
 import com.comp2042.model.Board;
+import com.comp2042.model.BoardAnalytics;
 import com.comp2042.model.SimpleBoard;
 import com.comp2042.model.MatrixOperations;
-import com.comp2042.model.GameConfig;
-import com.comp2042.controller.SoundManager;
+import com.comp2042.model.PieceTable;
+import com.comp2042.model.TetrominoFactory;
+import com.comp2042.controller.GameContext;
+import com.comp2042.versus.SplitScreenMatch;
+import com.comp2042.controller.AssetManager;
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.diagnostics.InputLatencyEvent;
+import com.comp2042.diagnostics.RenderPassEvent;
+import javafx.application.Platform;
+import javafx.scene.layout.BackgroundImage;
+import javafx.scene.layout.BackgroundPosition;
+import javafx.scene.layout.BackgroundRepeat;
+import javafx.scene.layout.BackgroundSize;
 import javafx.scene.paint.ImagePattern;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundFill;
@@ -58,9 +74,11 @@ import com.comp2042.ui.LevelSelectionPanel;
 import com.comp2042.ui.LevelCompletePanel;
 import com.comp2042.ui.SettingsPanel;
 
-public class GuiController implements Initializable {
+public class GuiController implements Initializable, GameEventListener {
 
     private static final int BRICK_SIZE = 20;
+    private static final int BOARD_ROWS = 25;
+    private static final int BOARD_COLUMNS = 13;
 
     /**
      * Unified coordinate conversion: Converts grid coordinates to pixel coordinates.
@@ -108,12 +126,21 @@ public class GuiController implements Initializable {
     @FXML
     private StackPane mainMenu;
 
+    @FXML
+    private ImageView menuLogo;
+
+    @FXML
+    private Button continueButton;
+
     @FXML
     private GridPane brickPanel;
 
     @FXML
     private GridPane ghostPanel;
 
+    @FXML
+    private GridPane hintPanel;
+
     @FXML
     private GridPane nextBlockPanel;
 
@@ -206,13 +233,28 @@ public class GuiController implements Initializable {
 
     private Rectangle[][] displayMatrix;
 
+    /** Colour id currently shown by each cell of {@link #displayMatrix}. */
+    private int[][] displayedColours;
+
+    private SpriteAtlas spriteAtlas;
+
     private int[][] currentBoardMatrix;
 
-    private InputEventListener eventListener;
+    private GameController gameController;
 
     private Rectangle[][] rectangles;
 
     private Timeline timeLine;
+    private PerformanceOverlay performanceOverlay;
+    private AutoPlayer autoPlayer;
+    private Timeline autoPlayTimeline;
+    private static final int AUTO_PLAY_STEP_MILLIS = 60;
+    private MoveHintService moveHints;
+    private boolean hintMode;
+    private int hintPiece = -1;
+    private int hintRequestX;
+    private int hintRequestY;
+    private int hintRequestRotation;
     private Timeline laserTimeline;
 
     private final BooleanProperty isPause = new SimpleBooleanProperty();
@@ -221,9 +263,42 @@ public class GuiController implements Initializable {
     
     private boolean isGameActive = false;
 
+    private final GameContext context;
+
+    private SplitScreenView splitScreenView;
+
+    /**
+     * Creates a controller for the desktop application, using the shared
+     * {@link GameContext#desktop()} context. Used when the FXML loader creates
+     * the controller itself.
+     */
+    public GuiController() {
+        this(GameContext.desktop());
+    }
+
+    /**
+     * Creates a controller that takes its settings, sound and stores from
+     * the given context, e.g. through an FXML controller factory.
+     *
+     * @param context the session's configuration and services
+     */
+    public GuiController(GameContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Returns the configuration and services this view was created with.
+     *
+     * @return the session's context
+     */
+    public GameContext getContext() {
+        return context;
+    }
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        Font.loadFont(getClass().getClassLoader().getResource("digital.ttf").toExternalForm(), 38);
+        loadStartupAssets();
+        spriteAtlas = SpriteAtlas.build(BRICK_SIZE, this::getFillColor);
         gamePanel.setFocusTraversable(true);
         gamePanel.requestFocus();
         gamePanel.setOnKeyPressed(new EventHandler<KeyEvent>() {
@@ -245,19 +320,21 @@ public class GuiController implements Initializable {
                     return;
                 }
                 if (isPause.getValue() == Boolean.FALSE && isGameOver.getValue() == Boolean.FALSE) {
+                    InputLatencyEvent latency = InputLatencyEvent.start();
+                    long receivedNanos = System.nanoTime();
                     if (keyEvent.getCode() == KeyCode.LEFT || keyEvent.getCode() == KeyCode.A) {
-                        refreshBrick(eventListener.onLeftEvent(new MoveEvent(EventType.LEFT, EventSource.USER)));
-                        SoundManager.getInstance().playMove();
+                        refreshBrick(gameController.onLeftEvent(new MoveEvent(EventType.LEFT, EventSource.USER)));
+                        context.getSound().playMove();
                         keyEvent.consume();
                     }
                     if (keyEvent.getCode() == KeyCode.RIGHT || keyEvent.getCode() == KeyCode.D) {
-                        refreshBrick(eventListener.onRightEvent(new MoveEvent(EventType.RIGHT, EventSource.USER)));
-                        SoundManager.getInstance().playMove();
+                        refreshBrick(gameController.onRightEvent(new MoveEvent(EventType.RIGHT, EventSource.USER)));
+                        context.getSound().playMove();
                         keyEvent.consume();
                     }
                     if (keyEvent.getCode() == KeyCode.UP || keyEvent.getCode() == KeyCode.W) {
-                        refreshBrick(eventListener.onRotateEvent(new MoveEvent(EventType.ROTATE, EventSource.USER)));
-                        SoundManager.getInstance().playRotate();
+                        refreshBrick(gameController.onRotateEvent(new MoveEvent(EventType.ROTATE, EventSource.USER)));
+                        context.getSound().playRotate();
                         keyEvent.consume();
                     }
                     if (keyEvent.getCode() == KeyCode.DOWN || keyEvent.getCode() == KeyCode.S) {
@@ -268,10 +345,24 @@ public class GuiController implements Initializable {
                         hardDrop();
                         keyEvent.consume();
                     }
+                    if (keyEvent.isConsumed()) {
+                        InputLatencyEvent.finish(latency, keyEvent.getCode().name());
+                        if (performanceOverlay != null) {
+                            performanceOverlay.inputReceived(receivedNanos);
+                        }
+                    }
                 }
                 if (keyEvent.getCode() == KeyCode.N) {
                     newGame(null);
                 }
+                if (keyEvent.getCode() == KeyCode.B) {
+                    toggleAutoPlay();
+                    keyEvent.consume();
+                }
+                if (keyEvent.getCode() == KeyCode.H) {
+                    toggleHintMode();
+                    keyEvent.consume();
+                }
             }
         });
         gameOverPanel.setVisible(false);
@@ -282,7 +373,7 @@ public class GuiController implements Initializable {
             countdownLabel.setVisible(false);
         }
         
-        SoundManager.getInstance().playMenuMusic();
+        context.getSound().playMenuMusic();
         if (groupSettings != null) {
             groupSettings.setVisible(false);
         }
@@ -297,6 +388,7 @@ public class GuiController implements Initializable {
         }
 
         pauseMenuPanel.setOnResume(event -> resumeGame());
+        pauseMenuPanel.setOnSaveAndQuit(event -> saveAndQuitToMenu());
         pauseMenuPanel.setOnSettings(event -> showPauseSettings());
         pauseMenuPanel.setOnBackToMenu(event -> {
             cleanupGame();
@@ -328,7 +420,7 @@ public class GuiController implements Initializable {
                     settingsContainer.setVisible(false);
                 }
             });
-            settingsPanel.initializeGhostMode();
+            settingsPanel.initializeGhostMode(context.getConfig());
         }
         
         // Wire up main menu ghost mode switch
@@ -360,7 +452,7 @@ public class GuiController implements Initializable {
         }
         if (ghostModeOnLabel != null) {
             // Default to ON state (enabled by default)
-            if (GameConfig.isGhostModeEnabled()) {
+            if (context.getConfig().isGhostModeEnabled()) {
                 ghostModeOnLabel.getStyleClass().add("toggle-on");
             } else {
                 ghostModeOnLabel.getStyleClass().add("toggle-off");
@@ -369,14 +461,15 @@ public class GuiController implements Initializable {
         
         // Wire up music volume slider
         if (musicVolumeSlider != null) {
-            musicVolumeSlider.setValue(GameConfig.getMusicVolume());
+            musicVolumeSlider.setValue(context.getConfig().getMusicVolume());
             musicVolumeSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
-                GameConfig.setMusicVolume(newVal.doubleValue());
-                SoundManager.getInstance().updateMusicVolume();
+                context.getConfig().setMusicVolume(newVal.doubleValue());
+                context.getSound().updateMusicVolume();
             });
         }
         
         if (levelSelectionPanel != null) {
+            levelSelectionPanel.setLevelProgress(context.getLevelProgress());
             levelSelectionPanel.setOnLevelSelected(event -> {
                 if (event.getSource() instanceof Button) {
                     Button source = (Button) event.getSource();
@@ -433,13 +526,73 @@ public class GuiController implements Initializable {
         isPause.setValue(Boolean.TRUE);
         gamePanel.setOpacity(0.5);
 
-        HighScoreManager hsManager = new HighScoreManager();
+        HighScoreManager hsManager = context.getHighScores();
         int currentHigh = hsManager.loadHighScore();
         highScoreValue.setText(String.valueOf(currentHigh));
         
         initializeShatterSystem();
+        initializePerformanceOverlay();
+        refreshContinueButton();
     }
     
+    /**
+     * Requests the assets used by the main menu from the {@link AssetManager}
+     * instead of decoding them on the FX thread, so the menu is shown as soon as
+     * the layout is ready. Each asset is applied on the FX thread when it arrives.
+     */
+    private void loadStartupAssets() {
+        AssetManager assets = AssetManager.getInstance();
+        assets.loadFont("digital.ttf", 38, AssetManager.Priority.FIRST_SCREEN)
+                .thenRunAsync(this::reapplyStylesheets, Platform::runLater);
+        if (menuLogo != null) {
+            assets.loadImage("logo1.png", (int) menuLogo.getFitWidth(), (int) menuLogo.getFitHeight(),
+                            AssetManager.Priority.FIRST_SCREEN)
+                    .thenAcceptAsync(menuLogo::setImage, Platform::runLater);
+        }
+        if (rootStackPane != null) {
+            assets.loadImage("neon_bg.png", AssetManager.Priority.FIRST_SCREEN)
+                    .thenAcceptAsync(image -> rootStackPane.setBackground(new Background(new BackgroundImage(
+                            image, BackgroundRepeat.NO_REPEAT, BackgroundRepeat.NO_REPEAT, BackgroundPosition.CENTER,
+                            new BackgroundSize(100, 100, true, true, false, false)))), Platform::runLater);
+        }
+    }
+
+    /**
+     * Re-applies the scene stylesheets so labels styled with the digital font
+     * pick it up once it has been registered.
+     */
+    private void reapplyStylesheets() {
+        if (rootStackPane == null) {
+            return;
+        }
+        List<String> stylesheets = new ArrayList<>(rootStackPane.getStylesheets());
+        rootStackPane.getStylesheets().clear();
+        rootStackPane.getStylesheets().addAll(stylesheets);
+    }
+
+    /**
+     * Adds the diagnostics overlay on top of the whole scene and binds F3 to
+     * toggle it from any screen.
+     */
+    private void initializePerformanceOverlay() {
+        if (rootStackPane == null) {
+            return;
+        }
+        performanceOverlay = new PerformanceOverlay(() -> gameController != null
+                ? gameController.getActiveShards().size() : 0);
+        performanceOverlay.watch("Effects", laserContainer);
+        performanceOverlay.watch("Ghost", ghostPanel);
+        performanceOverlay.watch("Next", nextBlockPanel);
+        StackPane.setAlignment(performanceOverlay, Pos.TOP_LEFT);
+        rootStackPane.getChildren().add(performanceOverlay);
+        rootStackPane.addEventFilter(KeyEvent.KEY_PRESSED, keyEvent -> {
+            if (keyEvent.getCode() == KeyCode.F3) {
+                performanceOverlay.toggle();
+                keyEvent.consume();
+            }
+        });
+    }
+
     private void initializeShatterSystem() {
         if (laserContainer == null) {
             return;
@@ -457,11 +610,11 @@ public class GuiController implements Initializable {
             return;
         }
         
-        if (!(eventListener instanceof GameController)) {
+        if (gameController == null) {
             return;
         }
         
-        GameController gameController = (GameController) eventListener;
+        RenderPassEvent renderPass = RenderPassEvent.start();
         
         double deltaTime = 0.016;
         gameController.updateFlashes(deltaTime);
@@ -476,6 +629,7 @@ public class GuiController implements Initializable {
         for (GameController.Shard shard : gameController.getActiveShards()) {
             renderShard(shard);
         }
+        RenderPassEvent.finish(renderPass, "effects", laserContainer.getChildren().size());
     }
     
     private void renderShard(GameController.Shard shard) {
@@ -550,8 +704,8 @@ public class GuiController implements Initializable {
         }
         
         Board board = null;
-        if (eventListener instanceof GameController) {
-            board = ((GameController) eventListener).getBoard();
+        if (gameController != null) {
+            board = gameController.getBoard();
         }
         if (board == null) {
             return;
@@ -591,8 +745,8 @@ public class GuiController implements Initializable {
     }
 
     public void initGameView(int[][] boardMatrix, ViewData brick) {
-        if (eventListener instanceof GameController) {
-            ((GameController) eventListener).clearAllShards();
+        if (gameController != null) {
+            gameController.clearAllShards();
         }
         if (laserContainer != null) {
             laserContainer.getChildren().clear();
@@ -615,6 +769,7 @@ public class GuiController implements Initializable {
         }
         
         displayMatrix = new Rectangle[boardMatrix.length][boardMatrix[0].length];
+        displayedColours = new int[boardMatrix.length][boardMatrix[0].length];
         for (int i = 2; i < boardMatrix.length; i++) {
             for (int j = 0; j < boardMatrix[i].length; j++) {
                 Rectangle rectangle = new Rectangle(BRICK_SIZE, BRICK_SIZE);
@@ -622,6 +777,7 @@ public class GuiController implements Initializable {
                 // CRITICAL: Explicitly remove any effects to ensure flat, matte blocks
                 rectangle.setEffect(null);
                 displayMatrix[i][j] = rectangle;
+                displayedColours[i][j] = 0;
                 gamePanel.add(rectangle, j, i - 2);
             }
         }
@@ -630,9 +786,9 @@ public class GuiController implements Initializable {
         for (int i = 0; i < brick.getBrickData().length; i++) {
             for (int j = 0; j < brick.getBrickData()[i].length; j++) {
                 Rectangle rectangle = new Rectangle(BRICK_SIZE, BRICK_SIZE);
-                rectangle.setFill(getFillColor(brick.getBrickData()[i][j]));
                 // CRITICAL: Explicitly remove any effects to ensure flat, matte blocks
                 rectangle.setEffect(null);
+                setRectangleData(brick.getBrickData()[i][j], rectangle);
                 rectangles[i][j] = rectangle;
                 brickPanel.add(rectangle, j, i);
             }
@@ -642,6 +798,8 @@ public class GuiController implements Initializable {
 
         // Initialize ghost piece and next block display
         drawGhost(boardMatrix, brick);
+        clearHint();
+        updateHint(brick);
         updateNextBlock(brick.getNextBrickData());
 
         updateTimelineSpeed(400);
@@ -654,15 +812,14 @@ public class GuiController implements Initializable {
             timeLine.stop();
         }
         int delay = baseDelay;
-        if (eventListener != null && eventListener instanceof GameController) {
-            GameController gc = (GameController) eventListener;
-            if (gc.isLevelMode()) {
-                delay = gc.getSpeedDelay();
+        if (gameController != null) {
+            if (gameController.isLevelMode()) {
+                delay = gameController.getSpeedDelay();
             }
         }
         timeLine = new Timeline(new KeyFrame(
                 Duration.millis(delay),
-                ae -> moveDown(new MoveEvent(EventType.DOWN, EventSource.THREAD))
+                ae -> timedTick()
         ));
         timeLine.setCycleCount(Timeline.INDEFINITE);
         if (isPause.getValue() == Boolean.FALSE) {
@@ -701,6 +858,10 @@ public class GuiController implements Initializable {
             case 7:
                 returnPaint = Color.BURLYWOOD;
                 break;
+            case 8:
+                // Garbage rows in versus mode
+                returnPaint = Color.DARKGRAY;
+                break;
             default:
                 returnPaint = Color.WHITE;
                 break;
@@ -711,11 +872,11 @@ public class GuiController implements Initializable {
 
     private void refreshBrick(ViewData brick) {
         if (isPause.getValue() == Boolean.FALSE) {
+            RenderPassEvent renderPass = RenderPassEvent.start();
             // CRUCIAL: Draw ghost BEFORE the active block so it appears behind it
             // Update ghost piece first - Get the latest board matrix directly from the board to ensure accuracy
-            if (eventListener instanceof GameController) {
-                GameController gc = (GameController) eventListener;
-                Board board = gc.getBoard();
+            if (gameController != null) {
+                Board board = gameController.getBoard();
                 if (board != null) {
                     int[][] latestBoardMatrix = board.getBoardMatrix();
                     if (latestBoardMatrix != null) {
@@ -727,6 +888,8 @@ public class GuiController implements Initializable {
                 drawGhost(currentBoardMatrix, brick);
             }
             
+            updateHint(brick);
+
             // Now update the active block (drawn after ghost, so it appears on top)
             // Use unified positioning method to ensure perfect alignment with ghost
             positionPanelAtGrid(brickPanel, brick.getxPosition(), brick.getyPosition());
@@ -738,6 +901,7 @@ public class GuiController implements Initializable {
             
             // Update next block display
             updateNextBlock(brick.getNextBrickData());
+            RenderPassEvent.finish(renderPass, "brick", rectangles.length * rectangles[0].length);
         }
     }
 
@@ -762,10 +926,8 @@ public class GuiController implements Initializable {
             for (int j = 0; j < nextBrickData[i].length; j++) {
                 if (nextBrickData[i][j] != 0) {
                     Rectangle rectangle = new Rectangle(blockSize, blockSize);
-                    rectangle.setFill(getFillColor(nextBrickData[i][j]));
+                    rectangle.setFill(spriteAtlas.getCellPaint(SpriteAtlas.Variant.NORMAL, nextBrickData[i][j]));
                     rectangle.setEffect(null);
-                    rectangle.setArcHeight(5);
-                    rectangle.setArcWidth(5);
                     // Center the block in the grid
                     int offsetX = (maxWidth - nextBrickData[i].length) / 2;
                     nextBlockPanel.add(rectangle, j + offsetX, i);
@@ -776,19 +938,27 @@ public class GuiController implements Initializable {
 
     public void refreshGameBackground(int[][] board) {
         currentBoardMatrix = board; // Store board matrix for ghost piece calculation
+        RenderPassEvent renderPass = RenderPassEvent.start();
+        int updated = 0;
         for (int i = 2; i < board.length; i++) {
             for (int j = 0; j < board[i].length; j++) {
-                setRectangleData(board[i][j], displayMatrix[i][j]);
+                // Only touch nodes whose colour actually changed since the last refresh
+                if (displayedColours[i][j] != board[i][j]) {
+                    displayedColours[i][j] = board[i][j];
+                    setRectangleData(board[i][j], displayMatrix[i][j]);
+                    updated++;
+                }
             }
         }
+        RenderPassEvent.finish(renderPass, "background", updated);
     }
 
+    /**
+     * Fills a cell node with the pre-rendered sprite for a colour id. The
+     * sprite already carries the rounded corners, so no per-node styling is needed.
+     */
     private void setRectangleData(int color, Rectangle rectangle) {
-        rectangle.setFill(getFillColor(color));
-        rectangle.setArcHeight(9);
-        rectangle.setArcWidth(9);
-        // CRITICAL: Explicitly remove any effects to ensure flat, matte blocks
-        rectangle.setEffect(null);
+        rectangle.setFill(spriteAtlas.getCellPaint(SpriteAtlas.Variant.NORMAL, color));
     }
 
     /**
@@ -819,6 +989,18 @@ public class GuiController implements Initializable {
             return currentY;
         }
         
+        // Fast path: when the brick is above every column it covers, it lands
+        // on the column tops kept by the board analytics - no scanning needed.
+        if (gameController != null) {
+            BoardAnalytics analytics = gameController.getBoard().getAnalytics();
+            if (analytics.getRows() == boardMatrix.length) {
+                int landing = dropOntoColumnTops(analytics, brickData, currentX, currentY);
+                if (landing >= 0) {
+                    return landing;
+                }
+            }
+        }
+
         // Start with ghostY = currentBlock.getY()
         int ghostY = currentY;
         
@@ -842,6 +1024,38 @@ public class GuiController implements Initializable {
         return ghostY;
     }
 
+    /**
+     * Landing row of a brick dropped straight down, computed from the column
+     * tops alone. This is only exact while every cell of the brick is above
+     * the top of its column; otherwise an overhang could stop the brick
+     * earlier, and {@code -1} is returned so the caller falls back to scanning.
+     */
+    private int dropOntoColumnTops(BoardAnalytics analytics, int[][] brickData, int x, int y) {
+        int landing = Integer.MAX_VALUE;
+        for (int col = 0; col < brickData[0].length; col++) {
+            int bottom = -1;
+            for (int row = brickData.length - 1; row >= 0; row--) {
+                if (brickData[row][col] != 0) {
+                    bottom = row;
+                    break;
+                }
+            }
+            if (bottom < 0) {
+                continue;
+            }
+            int boardCol = x + col;
+            if (boardCol < 0 || boardCol >= analytics.getColumns()) {
+                return -1;
+            }
+            int top = analytics.getColumnTop(boardCol);
+            if (y + bottom >= top) {
+                return -1;
+            }
+            landing = Math.min(landing, top - 1 - bottom);
+        }
+        return landing == Integer.MAX_VALUE ? -1 : landing;
+    }
+
     /**
      * Draw the ghost piece (shadow piece) showing where the block will land.
      * This method is called in the draw loop every frame.
@@ -886,8 +1100,8 @@ public class GuiController implements Initializable {
         // a valid ghostY, that position is guaranteed to be safe (no collision, within bounds).
         // We trust getGhostY()'s validation rather than double-checking, which could cause
         // false negatives when blocks are rotated near borders.
-        // Check if ghost mode is enabled in GameConfig
-        if (!GameConfig.isGhostModeEnabled()) {
+        // Check if ghost mode is enabled in this session's config
+        if (!context.getConfig().isGhostModeEnabled()) {
             return; // Ghost mode disabled, don't draw ghost
         }
         
@@ -908,24 +1122,9 @@ public class GuiController implements Initializable {
                     if (brickData[i][j] != 0) { // Use [i][j] to match active block rendering
                         Rectangle ghostRect = new Rectangle(BRICK_SIZE, BRICK_SIZE);
                         
-                        // Style: Use transparent fill or outline style so it looks like a shadow
-                        Paint blockColor = getFillColor(brickData[i][j]);
-                        if (blockColor instanceof Color) {
-                            Color c = (Color) blockColor;
-                            // Transparent fill (ghost appears behind active block)
-                            Color ghostColor = new Color(c.getRed(), c.getGreen(), c.getBlue(), 0.3);
-                            ghostRect.setFill(ghostColor);
-                            // Also add a stroke for better visibility
-                            ghostRect.setStroke(c.deriveColor(0, 1, 1, 0.5));
-                            ghostRect.setStrokeWidth(2.0);
-                        } else {
-                            ghostRect.setFill(Color.WHITE.deriveColor(0, 1, 1, 0.3));
-                            ghostRect.setStroke(Color.WHITE.deriveColor(0, 1, 1, 0.5));
-                            ghostRect.setStrokeWidth(2.0);
-                        }
+                        // Style: the ghost sprite is a translucent, outlined copy of the block
+                        ghostRect.setFill(spriteAtlas.getCellPaint(SpriteAtlas.Variant.GHOST, brickData[i][j]));
                         ghostRect.setEffect(null);
-                        ghostRect.setArcHeight(9);
-                        ghostRect.setArcWidth(9);
                         
                         // Add rectangle to grid using EXACT same indexing as brickPanel
                         // brickPanel uses (j, i) - column j, row i - to match active block
@@ -942,21 +1141,119 @@ public class GuiController implements Initializable {
         }
     }
 
+    /**
+     * Turns move hints on or off. While on, the best placement for the active
+     * brick is computed in the background by {@link MoveHintService} and shown
+     * as an outlined, glowing copy of the brick.
+     */
+    @FXML
+    public void toggleHintMode() {
+        hintMode = !hintMode;
+        if (!hintMode) {
+            clearHint();
+            return;
+        }
+        if (gameController != null && isGameActive) {
+            updateHint(gameController.getBoard().getViewData());
+        }
+    }
+
+    /**
+     * Requests a new hint when the active brick has moved, spawned or rotated
+     * since the last request. A request supersedes the one still running, and
+     * the hint of a brick that has locked is removed straight away.
+     */
+    private void updateHint(ViewData brick) {
+        if (!hintMode || brick == null || gameController == null) {
+            return;
+        }
+        Board board = gameController.getBoard();
+        if (moveHints == null) {
+            int[][] matrix = board.getBoardMatrix();
+            moveHints = new MoveHintService(matrix.length, matrix[0].length,
+                    () -> gameController.getPiecesLocked(), this::drawHint);
+        }
+        boolean newPiece = gameController.getPiecesLocked() != hintPiece;
+        if (newPiece) {
+            hintPiece = gameController.getPiecesLocked();
+            if (hintPanel != null) {
+                hintPanel.getChildren().clear();
+            }
+        } else if (brick.getxPosition() == hintRequestX && brick.getyPosition() == hintRequestY
+                && board.getCurrentRotation() == hintRequestRotation) {
+            return;
+        }
+        hintRequestX = brick.getxPosition();
+        hintRequestY = brick.getyPosition();
+        hintRequestRotation = board.getCurrentRotation();
+        moveHints.request(board.getBoardMatrix(), board.getCurrentBrickId(), hintRequestRotation,
+                hintRequestX, hintRequestY, PieceTable.idOf(brick.getNextBrickData()));
+    }
+
+    /**
+     * Removes the hint and stops the hint thread; the next hint request
+     * starts a new one.
+     */
+    private void stopHints() {
+        clearHint();
+        if (moveHints != null) {
+            moveHints.shutdown();
+            moveHints = null;
+        }
+    }
+
+    /**
+     * Abandons any pending hint and removes the one on screen.
+     */
+    private void clearHint() {
+        if (moveHints != null) {
+            moveHints.cancel();
+        }
+        hintPiece = -1;
+        if (hintPanel != null) {
+            hintPanel.getChildren().clear();
+        }
+    }
+
+    /**
+     * Draws a suggested placement the same way {@link #drawGhost} draws the
+     * landing shadow: ghost sprites in a grid positioned over the board.
+     * Called on the FX thread when a hint search finishes.
+     */
+    private void drawHint(MoveHintService.Hint hint) {
+        if (hintPanel == null || brickPanel == null || !hintMode || isPause.getValue() == Boolean.TRUE) {
+            return;
+        }
+        hintPanel.getChildren().clear();
+        hintPanel.setVgap(brickPanel.getVgap());
+        hintPanel.setHgap(brickPanel.getHgap());
+        int[][] shape = TetrominoFactory.createBlock(hint.getBrickId()).getShapeMatrix().get(hint.getRotation());
+        for (int i = 0; i < shape.length; i++) {
+            for (int j = 0; j < shape[i].length; j++) {
+                if (shape[i][j] != 0) {
+                    Rectangle hintRect = new Rectangle(BRICK_SIZE, BRICK_SIZE);
+                    hintRect.setFill(spriteAtlas.getCellPaint(SpriteAtlas.Variant.GHOST, shape[i][j]));
+                    hintPanel.add(hintRect, j, i);
+                }
+            }
+        }
+        positionPanelAtGrid(hintPanel, hint.getX(), hint.getY());
+    }
+
     /**
      * Hard drop: instantly drop the block to the EXACT ghost position
      */
     private void hardDrop() {
-        if (eventListener == null || currentBoardMatrix == null || rectangles == null) {
+        if (gameController == null || currentBoardMatrix == null || rectangles == null) {
             return;
         }
         
-        SoundManager.getInstance().playHardDrop();
+        context.getSound().playHardDrop();
         
         // Get current brick position from event listener
         // We need to get ViewData from the board, not from onDownEvent
-        if (eventListener instanceof GameController) {
-            GameController gc = (GameController) eventListener;
-            Board board = gc.getBoard();
+        if (gameController != null) {
+            Board board = gameController.getBoard();
             if (board == null) {
                 return;
             }
@@ -977,7 +1274,7 @@ public class GuiController implements Initializable {
                 // The ghost Y is the last safe position, so we need to reach it exactly
                 while (currentY < ghostY) {
                     int previousY = currentY;
-                    DownData downData = eventListener.onDownEvent(new MoveEvent(EventType.DOWN, EventSource.USER));
+                    DownData downData = gameController.onDownEvent(new MoveEvent(EventType.DOWN, EventSource.USER));
                     if (downData == null) {
                         break;
                     }
@@ -1011,9 +1308,66 @@ public class GuiController implements Initializable {
         }
     }
 
+    /**
+     * Turns autoplay (attract mode) on or off. While on, an {@link AutoPlayer}
+     * sends one move every {@value #AUTO_PLAY_STEP_MILLIS} ms through the same
+     * paths as keyboard input; it is idle while the game is paused or over.
+     */
+    private void toggleAutoPlay() {
+        if (autoPlayTimeline != null) {
+            autoPlayTimeline.stop();
+            autoPlayTimeline = null;
+            return;
+        }
+        autoPlayTimeline = new Timeline(new KeyFrame(Duration.millis(AUTO_PLAY_STEP_MILLIS), ae -> autoPlayStep()));
+        autoPlayTimeline.setCycleCount(Timeline.INDEFINITE);
+        autoPlayTimeline.play();
+    }
+
+    private void autoPlayStep() {
+        if (!isGameActive || isPause.getValue() == Boolean.TRUE || isGameOver.getValue() == Boolean.TRUE
+                || gameController == null) {
+            return;
+        }
+        if (autoPlayer == null) {
+            int[][] matrix = gameController.getBoard().getBoardMatrix();
+            autoPlayer = new AutoPlayer(matrix.length, matrix[0].length);
+        }
+        EventType move = autoPlayer.nextMove(gameController);
+        if (move == null) {
+            return;
+        }
+        switch (move) {
+            case LEFT:
+                refreshBrick(gameController.onLeftEvent(new MoveEvent(EventType.LEFT, EventSource.THREAD)));
+                break;
+            case RIGHT:
+                refreshBrick(gameController.onRightEvent(new MoveEvent(EventType.RIGHT, EventSource.THREAD)));
+                break;
+            case ROTATE:
+                refreshBrick(gameController.onRotateEvent(new MoveEvent(EventType.ROTATE, EventSource.THREAD)));
+                break;
+            default:
+                moveDown(new MoveEvent(EventType.DOWN, EventSource.THREAD));
+                break;
+        }
+    }
+
+    /**
+     * Runs one gravity step of the game loop, reporting its duration to the
+     * performance overlay.
+     */
+    private void timedTick() {
+        long start = System.nanoTime();
+        moveDown(new MoveEvent(EventType.DOWN, EventSource.THREAD));
+        if (performanceOverlay != null) {
+            performanceOverlay.recordTick(System.nanoTime() - start);
+        }
+    }
+
     private void moveDown(MoveEvent event) {
         if (isPause.getValue() == Boolean.FALSE) {
-            DownData downData = eventListener.onDownEvent(event);
+            DownData downData = gameController.onDownEvent(event);
             if (downData.getClearRow() != null && downData.getClearRow().getLinesRemoved() > 0) {
                 NotificationPanel notificationPanel = new NotificationPanel("+" + downData.getScoreBonus());
                 groupNotification.getChildren().add(notificationPanel);
@@ -1024,17 +1378,57 @@ public class GuiController implements Initializable {
         gamePanel.requestFocus();
     }
 
-    public void setEventListener(InputEventListener eventListener) {
-        this.eventListener = eventListener;
+    /**
+     * Makes this view show and drive the given game. The diagnostics overlay
+     * follows the game's events from now on.
+     *
+     * @param gameController the game, which has already subscribed this view
+     */
+    public void setGameController(GameController gameController) {
+        if (performanceOverlay != null) {
+            if (this.gameController != null) {
+                this.gameController.getEvents().unsubscribe(performanceOverlay);
+            }
+            gameController.getEvents().subscribe(performanceOverlay);
+        }
+        this.gameController = gameController;
+    }
+
+    /**
+     * Reacts to the outcomes published by the game this view drives: redraws
+     * the locked cells and shows the level and game over panels.
+     */
+    @Override
+    public void onGameEvent(GameEventType type, int value, int detail) {
+        if (gameController == null) {
+            return;
+        }
+        switch (type) {
+            case BOARD_CHANGED:
+                refreshGameBackground(gameController.getBoard().getBoardMatrix());
+                break;
+            case LEVEL_UP:
+                levelWon(value, detail != 0);
+                break;
+            case LEVEL_FAILED:
+                levelFailed(value, detail, gameController.getLevelManager().getScoreRequired());
+                break;
+            case TOP_OUT:
+                gameOver();
+                break;
+            default:
+                break;
+        }
     }
     
     private void cleanupGame() {
         if (timeLine != null) {
             timeLine.stop();
         }
+        stopHints();
         
-        if (eventListener != null) {
-            eventListener.createNewGame();
+        if (gameController != null) {
+            gameController.createNewGame();
         }
         
         isPause.setValue(Boolean.FALSE);
@@ -1159,8 +1553,9 @@ public class GuiController implements Initializable {
     }
 
     public void gameOver() {
-        SoundManager.getInstance().playGameOver();
-        SoundManager.getInstance().stopMusic();
+        clearHint();
+        context.getSound().playGameOver();
+        context.getSound().stopMusic();
         if (timeLine != null) {
             timeLine.stop();
         }
@@ -1198,10 +1593,9 @@ public class GuiController implements Initializable {
         gamePanel.requestFocus();
         
         gameOverPanel.setOnRestart(event -> {
-            if (eventListener != null && eventListener instanceof GameController) {
-                GameController gc = (GameController) eventListener;
-                if (gc.isLevelMode() && gc.getLevelManager() != null) {
-                    int currentLevel = gc.getLevelManager().getCurrentLevel();
+            if (gameController != null) {
+                if (gameController.isLevelMode() && gameController.getLevelManager() != null) {
+                    int currentLevel = gameController.getLevelManager().getCurrentLevel();
                     startLevelGame(currentLevel);
                 } else {
                     newGame(null);
@@ -1232,8 +1626,8 @@ public class GuiController implements Initializable {
     }
 
     public void newGame(ActionEvent actionEvent) {
-        if (eventListener instanceof GameController) {
-            ((GameController) eventListener).clearAllShards();
+        if (gameController != null) {
+            gameController.clearAllShards();
         }
         if (laserContainer != null) {
             laserContainer.getChildren().clear();
@@ -1241,7 +1635,7 @@ public class GuiController implements Initializable {
         timeLine.stop();
         gameOverPanel.setVisible(false);
         groupPauseMenu.setVisible(false);
-        eventListener.createNewGame();
+        gameController.createNewGame();
         gamePanel.requestFocus();
         isPause.setValue(Boolean.FALSE);
         isGameOver.setValue(Boolean.FALSE);
@@ -1331,7 +1725,7 @@ public class GuiController implements Initializable {
     private void startCountdown() {
         isGameActive = false;
         
-        SoundManager.getInstance().stopMusic();
+        context.getSound().stopMusic();
         
         if (timeLine != null) {
             timeLine.stop();
@@ -1339,7 +1733,7 @@ public class GuiController implements Initializable {
         
         if (countdownLabel == null) {
             isGameActive = true;
-            SoundManager.getInstance().playGameMusic();
+            context.getSound().playGameMusic();
             if (timeLine != null) {
                 timeLine.play();
             }
@@ -1349,18 +1743,18 @@ public class GuiController implements Initializable {
         countdownLabel.setVisible(true);
         countdownLabel.getStyleClass().remove("go-text");
         countdownLabel.setText("3");
-        SoundManager.getInstance().playCountBlip();
+        context.getSound().playCountBlip();
         
         Timeline countdownTimeline = new Timeline();
         
         KeyFrame frame1 = new KeyFrame(Duration.seconds(1.0), e -> {
             countdownLabel.setText("2");
-            SoundManager.getInstance().playCountBlip();
+            context.getSound().playCountBlip();
         });
         
         KeyFrame frame2 = new KeyFrame(Duration.seconds(2.0), e -> {
             countdownLabel.setText("1");
-            SoundManager.getInstance().playCountBlip();
+            context.getSound().playCountBlip();
         });
         
         KeyFrame frame3 = new KeyFrame(Duration.seconds(3.0), e -> {
@@ -1372,7 +1766,7 @@ public class GuiController implements Initializable {
             countdownLabel.setVisible(false);
             countdownLabel.getStyleClass().remove("go-text");
             isGameActive = true;
-            SoundManager.getInstance().playGameMusic();
+            context.getSound().playGameMusic();
             if (timeLine != null) {
                 timeLine.play();
             }
@@ -1382,6 +1776,35 @@ public class GuiController implements Initializable {
         countdownTimeline.play();
     }
     
+    /**
+     * Starts a local two-player versus match in place of the menu. Both
+     * boards are drawn by one {@link SplitScreenView} with the sprite atlas
+     * of this view.
+     */
+    @FXML
+    public void startSplitScreen() {
+        if (rootStackPane == null || splitScreenView != null) {
+            return;
+        }
+        mainMenu.setVisible(false);
+        SplitScreenMatch match = new SplitScreenMatch(context, BOARD_ROWS, BOARD_COLUMNS, System.nanoTime());
+        splitScreenView = new SplitScreenView(match, spriteAtlas, BRICK_SIZE, context.getSound(), this::exitSplitScreen);
+        rootStackPane.getChildren().add(splitScreenView);
+        context.getSound().playGameMusic();
+        splitScreenView.start();
+    }
+
+    private void exitSplitScreen() {
+        if (splitScreenView == null) {
+            return;
+        }
+        splitScreenView.stop();
+        rootStackPane.getChildren().remove(splitScreenView);
+        splitScreenView = null;
+        mainMenu.setVisible(true);
+        context.getSound().playMenuMusic();
+    }
+
     @FXML
     public void showLevelSelection() {
         mainMenu.setVisible(false);
@@ -1438,11 +1861,11 @@ public class GuiController implements Initializable {
                 ghostModeThumb.setVisible(true);
             }
             
-            // Initialize ghost mode switch with current GameConfig value
+            // Initialize ghost mode switch with the session's current config value
             updateGhostModeSwitch();
             // Initialize music volume slider
             if (musicVolumeSlider != null) {
-                musicVolumeSlider.setValue(GameConfig.getMusicVolume());
+                musicVolumeSlider.setValue(context.getConfig().getMusicVolume());
             }
         }
     }
@@ -1491,11 +1914,11 @@ public class GuiController implements Initializable {
                 ghostModeThumb.setVisible(true);
             }
             
-            // Initialize ghost mode switch with current GameConfig value
+            // Initialize ghost mode switch with the session's current config value
             updateGhostModeSwitch();
             // Initialize music volume slider
             if (musicVolumeSlider != null) {
-                musicVolumeSlider.setValue(GameConfig.getMusicVolume());
+                musicVolumeSlider.setValue(context.getConfig().getMusicVolume());
             }
         }
     }
@@ -1513,7 +1936,7 @@ public class GuiController implements Initializable {
         // Show main menu buttons if we're in the main menu
         if (menuContainer != null && mainMenu != null && mainMenu.isVisible()) {
             menuContainer.setVisible(true);
-            SoundManager.getInstance().playMenuMusic();
+            context.getSound().playMenuMusic();
         }
         
         // Show pause menu if we came from pause menu
@@ -1547,8 +1970,8 @@ public class GuiController implements Initializable {
     @FXML
     public void toggleGhostMode() {
         // Toggle ghost mode
-        boolean newValue = !GameConfig.isGhostModeEnabled();
-        GameConfig.setGhostModeEnabled(newValue);
+        boolean newValue = !context.getConfig().isGhostModeEnabled();
+        context.getConfig().setGhostModeEnabled(newValue);
         updateGhostModeSwitch();
     }
     
@@ -1558,7 +1981,7 @@ public class GuiController implements Initializable {
             return;
         }
         
-        boolean enabled = GameConfig.isGhostModeEnabled();
+        boolean enabled = context.getConfig().isGhostModeEnabled();
         
         // Precise positioning: Circle is centered in StackPane (at 0,0)
         // Track is 60px wide, circle radius is 10px (diameter 20px)
@@ -1601,7 +2024,86 @@ public class GuiController implements Initializable {
     
     public void startLevelGame(int levelId) {
         cleanupGame();
+        showGameScreen(true);
+        
+        if (timeLine != null) {
+            timeLine.stop();
+        }
+        
+        Board board = new SimpleBoard(25, 13);
+        GameController newGameController = new GameController(this, board);
+        setGameController(newGameController);
+        newGameController.initLevelGame(levelId);
+        
+        isPause.setValue(Boolean.FALSE);
+        isGameOver.setValue(Boolean.FALSE);
+        gamePanel.setOpacity(1.0);
+        gamePanel.requestFocus();
+        
+        startCountdown();
+    }
+
+    /**
+     * Resumes the game saved with "SAVE & QUIT" from the pause menu, in the
+     * mode (endless or level) it was saved in.
+     */
+    @FXML
+    public void continueSavedGame() {
+        cleanupGame();
+        Board board = new SimpleBoard(25, 13);
+        GameController resumedController = new GameController(this, board);
+        if (!resumedController.resumeSavedGame()) {
+            refreshContinueButton();
+            mainMenu.setVisible(true);
+            return;
+        }
+        refreshContinueButton();
+        showGameScreen(resumedController.isLevelMode());
         
+        isPause.setValue(Boolean.FALSE);
+        isGameOver.setValue(Boolean.FALSE);
+        gamePanel.setOpacity(1.0);
+        gamePanel.requestFocus();
+        
+        startCountdown();
+    }
+
+    /**
+     * Saves the game in progress and returns to the main menu.
+     */
+    private void saveAndQuitToMenu() {
+        if (gameController != null) {
+            gameController.saveGame();
+        }
+        cleanupGame();
+        mainMenu.setVisible(true);
+        if (menuContainer != null) {
+            menuContainer.setVisible(true);
+        }
+        if (settingsContainer != null) {
+            settingsContainer.setVisible(false);
+        }
+        refreshContinueButton();
+    }
+
+    /**
+     * Shows the main menu's CONTINUE button only while a saved game exists.
+     */
+    private void refreshContinueButton() {
+        if (continueButton == null) {
+            return;
+        }
+        boolean hasSave = context.getSaves().hasSave();
+        continueButton.setVisible(hasSave);
+        continueButton.setManaged(hasSave);
+    }
+
+    /**
+     * Hides the menus and overlays and shows the board and HUD for a game.
+     *
+     * @param showLevelInfo whether the level, blocks-left and score-need values are shown
+     */
+    private void showGameScreen(boolean showLevelInfo) {
         mainMenu.setVisible(false);
         groupLevelSelection.setVisible(false);
         groupPauseMenu.setVisible(false);
@@ -1642,30 +2144,14 @@ public class GuiController implements Initializable {
             highScoreValue.setVisible(true);
         }
         if (levelValue != null) {
-            levelValue.setVisible(true);
+            levelValue.setVisible(showLevelInfo);
         }
         if (blocksRemainingValue != null) {
-            blocksRemainingValue.setVisible(true);
+            blocksRemainingValue.setVisible(showLevelInfo);
         }
         if (scoreNeedValue != null) {
-            scoreNeedValue.setVisible(true);
+            scoreNeedValue.setVisible(showLevelInfo);
         }
-        
-        if (timeLine != null) {
-            timeLine.stop();
-        }
-        
-        Board board = new SimpleBoard(25, 13);
-        GameController newGameController = new GameController(this, board);
-        setEventListener(newGameController);
-        newGameController.initLevelGame(levelId);
-        
-        isPause.setValue(Boolean.FALSE);
-        isGameOver.setValue(Boolean.FALSE);
-        gamePanel.setOpacity(1.0);
-        gamePanel.requestFocus();
-        
-        startCountdown();
     }
     
     @FXML
@@ -1673,8 +2159,20 @@ public class GuiController implements Initializable {
         startLevelGame(1);
     }
 
+    /**
+     * Stops the timeline and the background threads of this view. Called when
+     * the stage closes.
+     */
+    public void shutdown() {
+        if (timeLine != null) {
+            timeLine.stop();
+        }
+        stopHints();
+    }
+
     @FXML
     public void exitGame() {
+        shutdown();
         System.exit(0);
     }
 
@@ -1,7 +1,10 @@
 package com.comp2042.ui;
 
 import com.comp2042.model.LevelConfig;
+import com.comp2042.controller.AssetManager;
 import com.comp2042.controller.LevelManager;
+import com.comp2042.controller.LevelProgressManager;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.geometry.Insets;
@@ -13,11 +16,11 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 public class LevelSelectionPanel extends BorderPane {
     
+    private LevelProgressManager levelProgress = LevelProgressManager.inMemory();
     private LevelManager levelManager;
     private EventHandler<ActionEvent> onLevelSelected;
     private EventHandler<ActionEvent> onBackToMenu;
@@ -25,7 +28,7 @@ public class LevelSelectionPanel extends BorderPane {
     private ImageView backgroundImageView;
     
     public LevelSelectionPanel() {
-        levelManager = new LevelManager();
+        levelManager = new LevelManager(levelProgress);
         createUI();
         updateLevelButtons();
     }
@@ -33,19 +36,17 @@ public class LevelSelectionPanel extends BorderPane {
     private void createUI() {
         StackPane stackPane = new StackPane();
         
-        try {
-            Image backgroundImage = new Image(getClass().getClassLoader().getResource("level.png").toExternalForm());
-            backgroundImageView = new ImageView(backgroundImage); 
-            backgroundImageView.fitWidthProperty().bind(this.widthProperty());
-            backgroundImageView.fitHeightProperty().bind(this.heightProperty());
-            backgroundImageView.setPreserveRatio(false);
-            backgroundImageView.setSmooth(true);
-            backgroundImageView.setPickOnBounds(true);
-            backgroundImageView.setMouseTransparent(true);
-            stackPane.getChildren().add(backgroundImageView);
-        } catch (Exception e) {
-            System.out.println("Background image not found: " + e.getMessage());
-        }
+        backgroundImageView = new ImageView();
+        backgroundImageView.fitWidthProperty().bind(this.widthProperty());
+        backgroundImageView.fitHeightProperty().bind(this.heightProperty());
+        backgroundImageView.setPreserveRatio(false);
+        backgroundImageView.setSmooth(true);
+        backgroundImageView.setPickOnBounds(true);
+        backgroundImageView.setMouseTransparent(true);
+        stackPane.getChildren().add(backgroundImageView);
+        // Decoded in the background; the level screen is never the first one shown.
+        AssetManager.getInstance().loadImage("level.png", AssetManager.Priority.BACKGROUND)
+                .thenAcceptAsync(backgroundImageView::setImage, Platform::runLater);
         
         VBox mainContainer = new VBox(20);
         mainContainer.setAlignment(Pos.CENTER);
@@ -138,8 +139,18 @@ public class LevelSelectionPanel extends BorderPane {
         this.onBackToMenu = handler;
     }
     
+    /**
+     * Shows the levels unlocked in the given store from now on.
+     *
+     * @param levelProgress the session's level progress store
+     */
+    public void setLevelProgress(LevelProgressManager levelProgress) {
+        this.levelProgress = levelProgress;
+        refreshLevels();
+    }
+
     public void refreshLevels() {
-        levelManager = new LevelManager();
+        levelManager = new LevelManager(levelProgress);
         updateLevelButtons();
     }
 }
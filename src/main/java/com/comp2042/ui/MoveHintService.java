@@ -0,0 +1,168 @@
+package com.comp2042.ui;
+
+import com.comp2042.bot.BoardEvaluator;
+import com.comp2042.bot.LookaheadSearch;
+import com.comp2042.model.BitBoard;
+import javafx.application.Platform;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+/**
+ * Computes move hints for the active brick on a background thread.
+ * <p>
+ * Every {@link #request} supersedes the previous one: it bumps a generation
+ * counter and cancels the running search, which then returns at once. A
+ * finished search posts its hint with {@link Platform#runLater}, and the hint
+ * is dropped on the FX thread if a newer request or {@link #cancel()} came in
+ * meanwhile, so the listener only ever sees hints for the current position.
+ * Each hint also records the number of pieces locked when it was requested,
+ * and it is dropped as well once that count has moved on, so the hint for a
+ * brick that has since locked is never drawn over the next one.
+ * The FX thread only copies the board and hands it over; it never waits for a
+ * search.
+ */
+public final class MoveHintService {
+
+    private static final int SEARCH_DEPTH = 2;
+    private static final int BEAM_WIDTH = 4;
+    private static final long SEARCH_BUDGET_NANOS = 40_000_000L;
+
+    private final int rows;
+    private final int columns;
+    private final LookaheadSearch search;
+    private final ExecutorService executor;
+    private final AtomicLong generation = new AtomicLong();
+    private final IntSupplier piecesLocked;
+    private final Executor fxThread;
+    private final Consumer<Hint> listener;
+
+    /**
+     * Suggested placement for one brick.
+     */
+    public static final class Hint {
+        private final int piece;
+        private final int brickId;
+        private final int rotation;
+        private final int x;
+        private final int y;
+
+        Hint(int piece, int brickId, int rotation, int x, int y) {
+            this.piece = piece;
+            this.brickId = brickId;
+            this.rotation = rotation;
+            this.x = x;
+            this.y = y;
+        }
+
+        /** @return number of pieces locked when the hint was requested */
+        public int getPiece() { return piece; }
+
+        /** @return id of the brick the hint is for */
+        public int getBrickId() { return brickId; }
+
+        /** @return suggested rotation index */
+        public int getRotation() { return rotation; }
+
+        /** @return suggested column of the shape origin */
+        public int getX() { return x; }
+
+        /** @return landing row of the shape origin */
+        public int getY() { return y; }
+    }
+
+    /**
+     * Creates a hint service that delivers hints on the FX thread.
+     *
+     * @param rows         number of board rows
+     * @param columns      number of board columns
+     * @param piecesLocked current number of pieces locked in the game
+     * @param listener     receives each current hint on the FX thread
+     */
+    public MoveHintService(int rows, int columns, IntSupplier piecesLocked, Consumer<Hint> listener) {
+        this(rows, columns, piecesLocked, Platform::runLater, listener);
+    }
+
+    /**
+     * Creates a hint service.
+     *
+     * @param rows         number of board rows
+     * @param columns      number of board columns
+     * @param piecesLocked current number of pieces locked in the game, read
+     *                     when a request is made and again on delivery
+     * @param fxThread     runs the delivery of finished hints
+     * @param listener     receives each current hint through {@code fxThread}
+     */
+    public MoveHintService(int rows, int columns, IntSupplier piecesLocked, Executor fxThread,
+                           Consumer<Hint> listener) {
+        this.rows = rows;
+        this.columns = columns;
+        this.piecesLocked = piecesLocked;
+        this.fxThread = fxThread;
+        this.listener = listener;
+        this.search = new LookaheadSearch(rows, columns, BoardEvaluator.defaultWeights(),
+                ForkJoinPool.commonPool(), BEAM_WIDTH);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "move-hint");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts computing a hint for the given position, abandoning any earlier
+     * request. Call on the FX thread.
+     *
+     * @param boardMatrix locked cells, copied before this method returns
+     * @param brickId     active brick id
+     * @param rotation    active brick rotation
+     * @param x           active brick column
+     * @param y           active brick row
+     * @param nextBrickId previewed brick id, or {@code 0} if unknown
+     */
+    public void request(int[][] boardMatrix, int brickId, int rotation, int x, int y, int nextBrickId) {
+        BitBoard board = new BitBoard(rows, columns);
+        board.load(boardMatrix);
+        int piece = piecesLocked.getAsInt();
+        long requestGeneration = generation.incrementAndGet();
+        search.cancel();
+        executor.execute(() -> {
+            if (generation.get() != requestGeneration) {
+                return;
+            }
+            LookaheadSearch.Result result = search.search(board, brickId, rotation, x, y, nextBrickId,
+                    SEARCH_DEPTH, SEARCH_BUDGET_NANOS);
+            if (result == null || generation.get() != requestGeneration) {
+                return;
+            }
+            Hint hint = new Hint(piece, brickId, result.getRotation(), result.getX(), result.getY());
+            fxThread.execute(() -> {
+                if (generation.get() == requestGeneration && piecesLocked.getAsInt() == piece) {
+                    listener.accept(hint);
+                }
+            });
+        });
+    }
+
+    /**
+     * Abandons the pending request, if any. A hint that is already queued for
+     * the FX thread is discarded.
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+        search.cancel();
+    }
+
+    /**
+     * Cancels pending work and stops the background thread.
+     */
+    public void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+}
@@ -10,10 +10,12 @@ import javafx.scene.layout.VBox;
 public class PauseMenuPanel extends BorderPane {
 
     private Button resumeButton;
+    private Button saveAndQuitButton;
     private Button backToMenuButton;
     private Button settingsButton;
     private Button quitButton;
     private EventHandler<ActionEvent> onResume;
+    private EventHandler<ActionEvent> onSaveAndQuit;
     private EventHandler<ActionEvent> onBackToMenu;
     private EventHandler<ActionEvent> onSettings;
     private EventHandler<ActionEvent> onQuit;
@@ -37,6 +39,14 @@ public class PauseMenuPanel extends BorderPane {
             }
         });
 
+        saveAndQuitButton = new Button("SAVE & QUIT");
+        saveAndQuitButton.getStyleClass().add("menuButton");
+        saveAndQuitButton.setOnAction(event -> {
+            if (onSaveAndQuit != null) {
+                onSaveAndQuit.handle(event);
+            }
+        });
+
         backToMenuButton = new Button("BACK TO MENU");
         backToMenuButton.getStyleClass().add("menuButton");
         backToMenuButton.setOnAction(event -> {
@@ -61,7 +71,7 @@ public class PauseMenuPanel extends BorderPane {
             }
         });
 
-        buttonContainer.getChildren().addAll(resumeButton, backToMenuButton, settingsButton, quitButton);
+        buttonContainer.getChildren().addAll(resumeButton, saveAndQuitButton, backToMenuButton, settingsButton, quitButton);
         mainContainer.getChildren().addAll(pausedLabel, buttonContainer);
         setCenter(mainContainer);
     }
@@ -71,6 +81,10 @@ public class PauseMenuPanel extends BorderPane {
         this.onResume = handler;
     }
 
+    public void setOnSaveAndQuit(EventHandler<ActionEvent> handler) {
+        this.onSaveAndQuit = handler;
+    }
+
     public void setOnBackToMenu(EventHandler<ActionEvent> handler) {
         this.onBackToMenu = handler;
     }
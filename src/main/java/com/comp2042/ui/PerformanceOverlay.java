@@ -0,0 +1,233 @@
+package com.comp2042.ui;
+
+import com.comp2042.diagnostics.LogHistogram;
+import com.comp2042.event.GameEventListener;
+import com.comp2042.event.GameEventType;
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Diagnostics panel showing frame, simulation and input timings together with
+ * scene-graph size, live particle count, game event rate and allocation rate.
+ * The overlay subscribes to the running game's event bus and counts the
+ * events and cleared lines of each window.
+ * <p>
+ * Timings are collected into {@link LogHistogram}s while the overlay is shown
+ * and summarised twice a second; the histograms are then cleared so every
+ * refresh covers the last half second. While hidden, the recording methods
+ * return after a single field check and the frame timer is stopped.
+ * <p>
+ * All methods must be called on the JavaFX application thread.
+ */
+public class PerformanceOverlay extends VBox implements GameEventListener {
+
+    private static final long REFRESH_INTERVAL_NANOS = 500_000_000L;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LogHistogram frameTimes = new LogHistogram();
+    private final LogHistogram tickTimes = new LogHistogram();
+    private final LogHistogram inputLatencies = new LogHistogram();
+    private final List<String> watchedNames = new ArrayList<>();
+    private final List<Parent> watchedNodes = new ArrayList<>();
+    private final IntSupplier shardCount;
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private final Label text;
+    private final StringBuilder buffer = new StringBuilder(512);
+    private final AnimationTimer frameTimer;
+
+    private boolean showing;
+    private long lastFrameNanos;
+    private long pendingInputNanos;
+    private long windowStartNanos;
+    private long windowStartAllocatedBytes;
+    private int gameEvents;
+    private int linesCleared;
+
+    /**
+     * Creates a hidden overlay.
+     *
+     * @param shardCount supplies the number of live line-clear shards
+     */
+    public PerformanceOverlay(IntSupplier shardCount) {
+        this.shardCount = shardCount;
+        this.allocationBean = createAllocationBean();
+
+        text = new Label();
+        text.setStyle("-fx-font-family: 'monospace'; -fx-font-size: 12px; -fx-text-fill: #00ff66;");
+        getChildren().add(text);
+        setStyle("-fx-background-color: rgba(0, 0, 0, 0.75); -fx-padding: 8; -fx-border-color: #00ff66; -fx-border-width: 1;");
+        setMaxSize(USE_PREF_SIZE, USE_PREF_SIZE);
+        setMouseTransparent(true);
+        setVisible(false);
+
+        frameTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onFrame();
+            }
+        };
+    }
+
+    private static com.sun.management.ThreadMXBean createAllocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean extended = (com.sun.management.ThreadMXBean) bean;
+            if (extended.isThreadAllocatedMemorySupported() && extended.isThreadAllocatedMemoryEnabled()) {
+                return extended;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds a node whose descendant count is shown in the overlay.
+     *
+     * @param name label shown next to the count
+     * @param node the node to watch, ignored if {@code null}
+     */
+    public void watch(String name, Parent node) {
+        if (node != null) {
+            watchedNames.add(name);
+            watchedNodes.add(node);
+        }
+    }
+
+    /**
+     * Shows the overlay if it is hidden and hides it otherwise.
+     */
+    public void toggle() {
+        showing = !showing;
+        setVisible(showing);
+        if (showing) {
+            resetWindow(System.nanoTime());
+            lastFrameNanos = 0;
+            pendingInputNanos = 0;
+            text.setText("Collecting...");
+            frameTimer.start();
+        } else {
+            frameTimer.stop();
+        }
+    }
+
+    /**
+     * Returns whether the overlay is currently shown and collecting data.
+     *
+     * @return {@code true} while shown
+     */
+    public boolean isShowing() {
+        return showing;
+    }
+
+    /**
+     * Records the duration of one gravity tick of the game loop.
+     *
+     * @param nanos time spent in the tick
+     */
+    public void recordTick(long nanos) {
+        if (showing) {
+            tickTimes.record(nanos);
+        }
+    }
+
+    /**
+     * Marks the arrival of a gameplay key press. The latency is closed at the
+     * start of the next frame, once the resulting changes are about to be drawn.
+     *
+     * @param nanos {@link System#nanoTime()} at which the key event was received
+     */
+    public void inputReceived(long nanos) {
+        if (showing && pendingInputNanos == 0) {
+            pendingInputNanos = nanos;
+        }
+    }
+
+    @Override
+    public void onGameEvent(GameEventType type, int value, int detail) {
+        if (!showing) {
+            return;
+        }
+        gameEvents++;
+        if (type == GameEventType.LINES_CLEARED) {
+            linesCleared += value;
+        }
+    }
+
+    private void onFrame() {
+        long now = System.nanoTime();
+        if (lastFrameNanos != 0) {
+            frameTimes.record(now - lastFrameNanos);
+        }
+        lastFrameNanos = now;
+        if (pendingInputNanos != 0) {
+            inputLatencies.record(now - pendingInputNanos);
+            pendingInputNanos = 0;
+        }
+        if (now - windowStartNanos >= REFRESH_INTERVAL_NANOS) {
+            refreshText(now);
+            resetWindow(now);
+        }
+    }
+
+    private void resetWindow(long now) {
+        frameTimes.reset();
+        tickTimes.reset();
+        inputLatencies.reset();
+        gameEvents = 0;
+        linesCleared = 0;
+        windowStartNanos = now;
+        windowStartAllocatedBytes = allocationBean != null ? allocationBean.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    private void refreshText(long now) {
+        double seconds = (now - windowStartNanos) / 1_000_000_000.0;
+        buffer.setLength(0);
+        buffer.append(String.format("FPS        %6.1f%n", frameTimes.getCount() / seconds));
+        appendTimings("Frame", frameTimes);
+        appendTimings("Tick", tickTimes);
+        appendTimings("Input", inputLatencies);
+        for (int i = 0; i < watchedNodes.size(); i++) {
+            buffer.append(String.format("%-10s %6d nodes%n", watchedNames.get(i), countDescendants(watchedNodes.get(i))));
+        }
+        buffer.append(String.format("Shards     %6d%n", shardCount.getAsInt()));
+        buffer.append(String.format("Events     %6.1f /s  lines %d%n", gameEvents / seconds, linesCleared));
+        if (allocationBean != null) {
+            long allocated = allocationBean.getCurrentThreadAllocatedBytes() - windowStartAllocatedBytes;
+            buffer.append(String.format("FX alloc   %6.1f MB/s", allocated / seconds / (1024.0 * 1024.0)));
+        } else {
+            buffer.append("FX alloc      n/a");
+        }
+        text.setText(buffer.toString());
+    }
+
+    private void appendTimings(String name, LogHistogram histogram) {
+        if (histogram.getCount() == 0) {
+            buffer.append(String.format("%-10s      -%n", name));
+            return;
+        }
+        buffer.append(String.format("%-10s p50 %5.1f  p95 %5.1f  p99 %5.1f  max %5.1f ms%n", name,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(95) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getMax() / NANOS_PER_MILLI));
+    }
+
+    private static int countDescendants(Parent parent) {
+        int count = 0;
+        for (Node child : parent.getChildrenUnmodifiable()) {
+            count++;
+            if (child instanceof Parent) {
+                count += countDescendants((Parent) child);
+            }
+        }
+        return count;
+    }
+}
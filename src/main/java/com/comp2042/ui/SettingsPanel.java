@@ -14,6 +14,7 @@ public class SettingsPanel extends BorderPane {
     private Button backToMenuButton;
     private CheckBox ghostModeCheckBox;
     private EventHandler<ActionEvent> onBackToMenu;
+    private GameConfig config;
 
     public SettingsPanel() {
         VBox mainContainer = new VBox(30);
@@ -33,8 +34,10 @@ public class SettingsPanel extends BorderPane {
         ghostModeCheckBox = new CheckBox("Enable Ghost Mode");
         ghostModeCheckBox.setStyle("-fx-font-family: 'Let's go Digital'; -fx-font-size: 16px; -fx-text-fill: #ffffff;");
         ghostModeCheckBox.setOnAction(event -> {
-            // Update GameConfig immediately when checkbox is toggled
-            GameConfig.setGhostModeEnabled(ghostModeCheckBox.isSelected());
+            // Update the session's config immediately when checkbox is toggled
+            if (config != null) {
+                config.setGhostModeEnabled(ghostModeCheckBox.isSelected());
+            }
         });
         
         VBox ghostModeSection = new VBox(10);
@@ -59,13 +62,17 @@ public class SettingsPanel extends BorderPane {
     }
 
     /**
-     * Initialize the ghost mode checkbox with the current GameConfig value.
-     * This should be called after the panel is created to sync with GameConfig.
+     * Binds the panel to a session's config and initializes the ghost mode
+     * checkbox with its current value.
+     * This should be called after the panel is created to sync with the config.
+     *
+     * @param config the config the panel edits
      */
-    public void initializeGhostMode() {
+    public void initializeGhostMode(GameConfig config) {
+        this.config = config;
         if (ghostModeCheckBox != null) {
-            // Set initial state from GameConfig
-            ghostModeCheckBox.setSelected(GameConfig.isGhostModeEnabled());
+            // Set initial state from the config
+            ghostModeCheckBox.setSelected(config.isGhostModeEnabled());
         }
     }
 }
@@ -0,0 +1,304 @@
+package com.comp2042.ui;
+
+import com.comp2042.controller.SoundManager;
+import com.comp2042.diagnostics.RenderPassEvent;
+import com.comp2042.event.EventType;
+import com.comp2042.model.MatrixOperations;
+import com.comp2042.model.ViewData;
+import com.comp2042.versus.SplitScreenMatch;
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Draws a {@link SplitScreenMatch} with both boards side by side.
+ * <p>
+ * The whole view is one {@link Canvas}: a single {@link AnimationTimer} runs
+ * the match's gravity and, only when the match or a clear flash changed,
+ * redraws both boards in one pass by blitting cells from the shared
+ * {@link SpriteAtlas}. There are no per-cell nodes, per-board timelines or
+ * shard containers, so two boards cost about as much as one. One key handler
+ * routes input to either player: A/D/W/S for the left board, the arrow keys
+ * for the right one. Enter starts a new round once the match is over and
+ * Escape leaves.
+ */
+public final class SplitScreenView extends StackPane {
+
+    private static final int HIDDEN_ROWS = 2;
+    private static final int NEXT_CELL = 12;
+    private static final double MARGIN = 24;
+    private static final double HEADER = 56;
+    private static final double FLASH_NANOS = 250_000_000.0;
+    private static final Color BOARD_FILL = Color.rgb(0, 0, 0, 0.6);
+    private static final Color BORDER = Color.rgb(0, 255, 255);
+    private static final Color PENDING_GARBAGE = Color.rgb(255, 60, 60);
+    private static final Map<KeyCode, Integer> BINDINGS = new EnumMap<>(KeyCode.class);
+    private static final EventType[] MOVES = EventType.values();
+
+    static {
+        bind(KeyCode.A, 0, EventType.LEFT);
+        bind(KeyCode.D, 0, EventType.RIGHT);
+        bind(KeyCode.W, 0, EventType.ROTATE);
+        bind(KeyCode.S, 0, EventType.DOWN);
+        bind(KeyCode.LEFT, 1, EventType.LEFT);
+        bind(KeyCode.RIGHT, 1, EventType.RIGHT);
+        bind(KeyCode.UP, 1, EventType.ROTATE);
+        bind(KeyCode.DOWN, 1, EventType.DOWN);
+    }
+
+    private static void bind(KeyCode key, int player, EventType move) {
+        BINDINGS.put(key, player * MOVES.length + move.ordinal());
+    }
+
+    private final SplitScreenMatch match;
+    private final SpriteAtlas atlas;
+    private final SoundManager sound;
+    private final Runnable onExit;
+    private final int cellSize;
+    private final int rows;
+    private final int columns;
+    private final double boardWidth;
+    private final Canvas canvas;
+    private final int[] clearsSeen = new int[SplitScreenMatch.PLAYERS];
+    /** Clear flash per board row, as the time it started in nanoseconds, or 0. */
+    private final long[][] flashStart;
+    private long drawnVersion = -1;
+    private boolean flashing;
+    private boolean overAnnounced;
+    private final AnimationTimer loop = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            tick(now);
+        }
+    };
+
+    /**
+     * Creates the view of a match.
+     *
+     * @param match    the match to show and drive
+     * @param atlas    pre-rendered cells, shared with the single-player view
+     * @param cellSize drawn edge length of a board cell
+     * @param sound    sound for clears and the end of the match
+     * @param onExit   called on the FX thread when the players leave
+     */
+    public SplitScreenView(SplitScreenMatch match, SpriteAtlas atlas, int cellSize, SoundManager sound,
+                           Runnable onExit) {
+        this.match = match;
+        this.atlas = atlas;
+        this.cellSize = cellSize;
+        this.sound = sound;
+        this.onExit = onExit;
+        int[][] matrix = match.getSeat(0).getBoard().getBoardMatrix();
+        this.rows = matrix.length;
+        this.columns = matrix[0].length;
+        this.boardWidth = columns * cellSize;
+        this.flashStart = new long[SplitScreenMatch.PLAYERS][rows];
+        double width = SplitScreenMatch.PLAYERS * boardWidth + (SplitScreenMatch.PLAYERS + 1) * MARGIN;
+        double height = HEADER + (rows - HIDDEN_ROWS) * cellSize + MARGIN;
+        this.canvas = new Canvas(width, height);
+        getChildren().add(canvas);
+        setStyle("-fx-background-color: #0a1520;");
+        setFocusTraversable(true);
+        addEventHandler(KeyEvent.KEY_PRESSED, this::onKeyPressed);
+    }
+
+    /**
+     * Starts the match clock and the render loop, and takes keyboard focus.
+     */
+    public void start() {
+        match.start(System.nanoTime() / 1_000_000L);
+        loop.start();
+        requestFocus();
+    }
+
+    /**
+     * Stops the render loop.
+     */
+    public void stop() {
+        loop.stop();
+    }
+
+    private void onKeyPressed(KeyEvent event) {
+        KeyCode code = event.getCode();
+        if (code == KeyCode.ESCAPE) {
+            stop();
+            onExit.run();
+        } else if (code == KeyCode.ENTER && match.isOver()) {
+            match.restart(System.nanoTime() / 1_000_000L);
+            Arrays.fill(clearsSeen, 0);
+            overAnnounced = false;
+        } else {
+            Integer binding = BINDINGS.get(code);
+            if (binding == null) {
+                return;
+            }
+            match.apply(binding / MOVES.length, MOVES[binding % MOVES.length]);
+        }
+        event.consume();
+    }
+
+    private void tick(long now) {
+        match.update(now / 1_000_000L);
+        for (int player = 0; player < SplitScreenMatch.PLAYERS; player++) {
+            SplitScreenMatch.Seat seat = match.getSeat(player);
+            if (seat.getClears() != clearsSeen[player]) {
+                clearsSeen[player] = seat.getClears();
+                List<Integer> cleared = seat.getLastClearedRows();
+                for (int row : cleared) {
+                    flashStart[player][row] = now;
+                }
+                flashing = true;
+                sound.playClear();
+            }
+        }
+        if (match.isOver() && !overAnnounced) {
+            overAnnounced = true;
+            sound.playGameOver();
+        }
+        if (match.getVersion() != drawnVersion || flashing) {
+            drawnVersion = match.getVersion();
+            render(now);
+        }
+    }
+
+    private void render(long now) {
+        RenderPassEvent renderPass = RenderPassEvent.start();
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        int cells = 0;
+        flashing = false;
+        for (int player = 0; player < SplitScreenMatch.PLAYERS; player++) {
+            double left = MARGIN + player * (boardWidth + MARGIN);
+            cells += drawSeat(gc, match.getSeat(player), left, now);
+        }
+        if (match.isOver()) {
+            drawBanner(gc);
+        }
+        RenderPassEvent.finish(renderPass, "split-screen", cells);
+    }
+
+    private int drawSeat(GraphicsContext gc, SplitScreenMatch.Seat seat, double left, long now) {
+        double top = HEADER;
+        double height = (rows - HIDDEN_ROWS) * cellSize;
+        gc.setFill(BOARD_FILL);
+        gc.fillRect(left, top, boardWidth, height);
+        gc.setStroke(BORDER);
+        gc.setLineWidth(2);
+        gc.strokeRect(left - 1, top - 1, boardWidth + 2, height + 2);
+
+        int cells = 0;
+        int[][] matrix = seat.getBoard().getBoardMatrix();
+        for (int row = HIDDEN_ROWS; row < rows; row++) {
+            double y = top + (row - HIDDEN_ROWS) * cellSize;
+            for (int col = 0; col < columns; col++) {
+                if (matrix[row][col] != 0) {
+                    atlas.drawCell(gc, SpriteAtlas.Variant.NORMAL, matrix[row][col], left + col * cellSize, y, cellSize);
+                    cells++;
+                }
+            }
+        }
+
+        if (!seat.getController().isGameOver()) {
+            ViewData view = seat.getBoard().getViewData();
+            int[][] shape = view.getBrickData();
+            int x = view.getxPosition();
+            int y = view.getyPosition();
+            if (seat.getConfig().isGhostModeEnabled()) {
+                int ghostY = y;
+                while (ghostY < rows && !MatrixOperations.intersect(matrix, shape, x, ghostY + 1)) {
+                    ghostY++;
+                }
+                cells += drawShape(gc, SpriteAtlas.Variant.GHOST, shape, left, top, x, ghostY);
+            }
+            cells += drawShape(gc, SpriteAtlas.Variant.NORMAL, shape, left, top, x, y);
+            cells += drawNext(gc, view.getNextBrickData(), left + boardWidth - 4 * NEXT_CELL, 8);
+        }
+
+        long[] flashes = flashStart[seat.getIndex()];
+        for (int row = HIDDEN_ROWS; row < rows; row++) {
+            if (flashes[row] == 0) {
+                continue;
+            }
+            double life = 1.0 - (now - flashes[row]) / FLASH_NANOS;
+            if (life <= 0) {
+                flashes[row] = 0;
+                continue;
+            }
+            flashing = true;
+            gc.setFill(Color.rgb(255, 255, 255, life * 0.8));
+            gc.fillRect(left, top + (row - HIDDEN_ROWS) * cellSize, boardWidth, cellSize);
+        }
+
+        int pending = Math.min(seat.getPendingLines(), rows - HIDDEN_ROWS);
+        if (pending > 0) {
+            gc.setFill(PENDING_GARBAGE);
+            gc.fillRect(left - 6, top + height - pending * cellSize, 4, pending * cellSize);
+        }
+
+        gc.setFill(Color.WHITE);
+        gc.setFont(Font.font(14));
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.fillText("P" + (seat.getIndex() + 1) + "  " + seat.getBoard().getScore().scoreProperty().get(),
+                left, 24);
+        gc.fillText("Lines " + seat.getController().getLinesCleared() + "  Sent " + seat.getLinesSent(),
+                left, 44);
+        return cells;
+    }
+
+    private int drawShape(GraphicsContext gc, SpriteAtlas.Variant variant, int[][] shape, double left, double top,
+                          int x, int y) {
+        int cells = 0;
+        for (int i = 0; i < shape.length; i++) {
+            int row = y + i;
+            if (row < HIDDEN_ROWS) {
+                continue;
+            }
+            for (int j = 0; j < shape[i].length; j++) {
+                if (shape[i][j] != 0) {
+                    atlas.drawCell(gc, variant, shape[i][j], left + (x + j) * cellSize,
+                            top + (row - HIDDEN_ROWS) * cellSize, cellSize);
+                    cells++;
+                }
+            }
+        }
+        return cells;
+    }
+
+    private int drawNext(GraphicsContext gc, int[][] shape, double left, double top) {
+        int cells = 0;
+        for (int i = 0; i < shape.length; i++) {
+            for (int j = 0; j < shape[i].length; j++) {
+                if (shape[i][j] != 0) {
+                    atlas.drawCell(gc, SpriteAtlas.Variant.NORMAL, shape[i][j], left + j * NEXT_CELL,
+                            top + i * NEXT_CELL, NEXT_CELL);
+                    cells++;
+                }
+            }
+        }
+        return cells;
+    }
+
+    private void drawBanner(GraphicsContext gc) {
+        double centre = canvas.getWidth() / 2;
+        double middle = canvas.getHeight() / 2;
+        gc.setFill(Color.rgb(0, 0, 0, 0.75));
+        gc.fillRect(0, middle - 40, canvas.getWidth(), 80);
+        gc.setFill(BORDER);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setFont(Font.font(28));
+        gc.fillText("PLAYER " + (match.getWinner() + 1) + " WINS", centre, middle);
+        gc.setFont(Font.font(14));
+        gc.fillText("ENTER to play again, ESC for menu", centre, middle + 26);
+    }
+}
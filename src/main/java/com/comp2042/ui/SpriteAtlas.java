@@ -0,0 +1,217 @@
+package com.comp2042.ui;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.effect.BlurType;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.paint.Paint;
+
+import java.util.function.IntFunction;
+
+/**
+ * Pre-rendered block cells for every colour id, packed into a single texture.
+ * <p>
+ * Each colour id has three variants laid out side by side: the normal rounded
+ * cell, the translucent ghost cell and a glowing cell. Renderers either blit
+ * directly from {@link #getAtlasImage()} with {@link #drawCell} or fill nodes with
+ * the cached {@link #getCellPaint} patterns instead of restyling each node.
+ * <p>
+ * Must be built on the JavaFX application thread.
+ */
+public final class SpriteAtlas {
+
+    /**
+     * Rendering variant of a block cell.
+     */
+    public enum Variant {
+        /** Solid rounded cell used for the board and the active piece. */
+        NORMAL,
+        /** Translucent outlined cell used for the landing shadow. */
+        GHOST,
+        /** Cell surrounded by a soft glow of its own colour. */
+        GLOW
+    }
+
+    /** Number of colour ids covered by the atlas, including empty (0). */
+    public static final int COLOUR_COUNT = 9;
+
+    private static final double ARC = 9;
+    private static final double GHOST_FILL_OPACITY = 0.3;
+    private static final double GHOST_STROKE_OPACITY = 0.5;
+    private static final double GHOST_STROKE_WIDTH = 2.0;
+
+    private final int cellSize;
+    private final int padding;
+    private final int slotSize;
+    private final WritableImage atlas;
+    private final Image[][] cells;
+    private final Paint[][] paints;
+
+    private SpriteAtlas(int cellSize, WritableImage atlas, Image[][] cells, Paint[][] paints) {
+        this.cellSize = cellSize;
+        this.padding = glowPadding(cellSize);
+        this.slotSize = cellSize + 2 * padding;
+        this.atlas = atlas;
+        this.cells = cells;
+        this.paints = paints;
+    }
+
+    /**
+     * Renders all cell variants for colour ids {@code 0..COLOUR_COUNT-1}.
+     *
+     * @param cellSize edge length of a block cell in pixels
+     * @param palette  fill paint for a colour id, normally {@link GuiController#getFillColor}
+     * @return the built atlas
+     */
+    public static SpriteAtlas build(int cellSize, IntFunction<Paint> palette) {
+        int padding = glowPadding(cellSize);
+        int slot = cellSize + 2 * padding;
+        Variant[] variants = Variant.values();
+
+        Canvas canvas = new Canvas(slot * variants.length, slot * COLOUR_COUNT);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        for (int id = 1; id < COLOUR_COUNT; id++) {
+            Color colour = toColor(palette.apply(id));
+            for (Variant variant : variants) {
+                double x = variant.ordinal() * slot + padding;
+                double y = id * slot + padding;
+                renderCell(gc, variant, colour, x, y, cellSize);
+            }
+        }
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        WritableImage atlas = canvas.snapshot(parameters, null);
+
+        Image[][] cells = new Image[variants.length][COLOUR_COUNT];
+        Paint[][] paints = new Paint[variants.length][COLOUR_COUNT];
+        for (Variant variant : variants) {
+            int v = variant.ordinal();
+            paints[v][0] = Color.TRANSPARENT;
+            for (int id = 1; id < COLOUR_COUNT; id++) {
+                Image cell = new WritableImage(atlas.getPixelReader(), v * slot + padding, id * slot + padding,
+                        cellSize, cellSize);
+                // The glow sprite keeps its padding so the halo is not clipped,
+                // but a paint fills a cell-sized node and must show the cell only.
+                cells[v][id] = variant == Variant.GLOW
+                        ? new WritableImage(atlas.getPixelReader(), v * slot, id * slot, slot, slot)
+                        : cell;
+                paints[v][id] = new ImagePattern(cell);
+            }
+        }
+        return new SpriteAtlas(cellSize, atlas, cells, paints);
+    }
+
+    private static void renderCell(GraphicsContext gc, Variant variant, Color colour, double x, double y, int size) {
+        switch (variant) {
+            case NORMAL:
+                gc.setEffect(null);
+                gc.setFill(colour);
+                gc.fillRoundRect(x, y, size, size, ARC, ARC);
+                break;
+            case GHOST:
+                gc.setEffect(null);
+                gc.setFill(colour.deriveColor(0, 1, 1, GHOST_FILL_OPACITY));
+                gc.fillRoundRect(x, y, size, size, ARC, ARC);
+                gc.setStroke(colour.deriveColor(0, 1, 1, GHOST_STROKE_OPACITY));
+                gc.setLineWidth(GHOST_STROKE_WIDTH);
+                double half = GHOST_STROKE_WIDTH / 2.0;
+                gc.strokeRoundRect(x + half, y + half, size - GHOST_STROKE_WIDTH, size - GHOST_STROKE_WIDTH, ARC, ARC);
+                break;
+            case GLOW:
+                gc.setEffect(new DropShadow(BlurType.GAUSSIAN, colour, glowPadding(size), 0.5, 0, 0));
+                gc.setFill(colour);
+                gc.fillRoundRect(x, y, size, size, ARC, ARC);
+                gc.setEffect(null);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static int glowPadding(int cellSize) {
+        return Math.max(2, cellSize / 2);
+    }
+
+    private static Color toColor(Paint paint) {
+        return paint instanceof Color ? (Color) paint : Color.WHITE;
+    }
+
+    /**
+     * Returns a paint that fills a cell-sized node with the pre-rendered sprite.
+     * Colour id {@code 0} maps to a transparent paint. Glow paints show the
+     * cell without its halo, which lies outside the node.
+     *
+     * @param variant  the rendering variant
+     * @param colourId the board colour id
+     * @return the cached paint
+     */
+    public Paint getCellPaint(Variant variant, int colourId) {
+        return paints[variant.ordinal()][clamp(colourId)];
+    }
+
+    /**
+     * Returns the pre-rendered sprite for a colour id. Glow sprites include
+     * their halo and are larger than {@link #getCellSize()}.
+     *
+     * @param variant  the rendering variant
+     * @param colourId the board colour id, must not be {@code 0}
+     * @return the sprite image
+     */
+    public Image getCellImage(Variant variant, int colourId) {
+        return cells[variant.ordinal()][clamp(colourId)];
+    }
+
+    /**
+     * Blits one cell from the atlas texture. Empty cells are skipped.
+     *
+     * @param gc       the target graphics context
+     * @param variant  the rendering variant
+     * @param colourId the board colour id
+     * @param x        left edge of the cell in canvas coordinates
+     * @param y        top edge of the cell in canvas coordinates
+     * @param size     drawn edge length of the cell
+     */
+    public void drawCell(GraphicsContext gc, Variant variant, int colourId, double x, double y, double size) {
+        if (colourId == 0) {
+            return;
+        }
+        int id = clamp(colourId);
+        double sourceX = variant.ordinal() * slotSize;
+        double sourceY = id * slotSize;
+        if (variant == Variant.GLOW) {
+            double scale = size / cellSize;
+            double pad = padding * scale;
+            gc.drawImage(atlas, sourceX, sourceY, slotSize, slotSize, x - pad, y - pad, size + 2 * pad, size + 2 * pad);
+        } else {
+            gc.drawImage(atlas, sourceX + padding, sourceY + padding, cellSize, cellSize, x, y, size, size);
+        }
+    }
+
+    /**
+     * Returns the packed atlas texture.
+     *
+     * @return the atlas image
+     */
+    public Image getAtlasImage() {
+        return atlas;
+    }
+
+    /**
+     * Returns the edge length of a cell sprite, excluding glow padding.
+     *
+     * @return cell size in pixels
+     */
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    private static int clamp(int colourId) {
+        return colourId >= 0 && colourId < COLOUR_COUNT ? colourId : COLOUR_COUNT - 1;
+    }
+}
@@ -0,0 +1,61 @@
+package com.comp2042.versus;
+
+import java.util.Comparator;
+
+/**
+ * Garbage sent by one player to another: a number of rows sharing one hole
+ * column, stamped with the tick and sender so that every receiver applies
+ * attacks in the same order however the threads were scheduled.
+ */
+public final class Attack {
+
+    /** Replay order: by send tick, then sender, then the sender's own order. */
+    public static final Comparator<Attack> ORDER = Comparator.comparingLong(Attack::getTick)
+            .thenComparingInt(Attack::getSenderId)
+            .thenComparingInt(Attack::getSequence);
+
+    private final long tick;
+    private final int senderId;
+    private final int sequence;
+    private final int lines;
+    private final int holeColumn;
+    /** Link in the {@link AttackQueue} stack, written before publication. */
+    Attack next;
+
+    /**
+     * Creates an attack.
+     *
+     * @param tick       the tick it was sent on
+     * @param senderId   id of the sending player
+     * @param sequence   number of attacks the sender sent before this one
+     * @param lines      garbage rows
+     * @param holeColumn the empty column of the rows
+     */
+    public Attack(long tick, int senderId, int sequence, int lines, int holeColumn) {
+        this.tick = tick;
+        this.senderId = senderId;
+        this.sequence = sequence;
+        this.lines = lines;
+        this.holeColumn = holeColumn;
+    }
+
+    /** @return the tick the attack was sent on */
+    public long getTick() { return tick; }
+
+    /** @return id of the sending player */
+    public int getSenderId() { return senderId; }
+
+    /** @return the sender's count of earlier attacks */
+    public int getSequence() { return sequence; }
+
+    /** @return garbage rows sent */
+    public int getLines() { return lines; }
+
+    /** @return the empty column of the rows */
+    public int getHoleColumn() { return holeColumn; }
+
+    @Override
+    public String toString() {
+        return lines + " rows from " + senderId + " at tick " + tick + " hole " + holeColumn;
+    }
+}
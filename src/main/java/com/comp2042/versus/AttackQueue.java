@@ -0,0 +1,81 @@
+package com.comp2042.versus;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Incoming attacks of one player. Any number of threads may {@link #send}
+ * without locking; only the receiving player's thread calls
+ * {@link #collect}.
+ * <p>
+ * Senders push onto a lock-free stack with a single compare-and-set. The
+ * receiver takes the whole stack with one atomic swap and hands out the
+ * attacks sent before a given tick sorted by {@link Attack#ORDER}, keeping
+ * later ones for the next call. The arrival order, which depends on thread
+ * scheduling, therefore never reaches the game.
+ */
+public final class AttackQueue {
+
+    private final AtomicReference<Attack> head = new AtomicReference<>();
+    private Attack held;
+
+    /**
+     * Queues an attack. Safe to call from any thread.
+     *
+     * @param attack the attack, not queued anywhere else
+     */
+    public void send(Attack attack) {
+        Attack top;
+        do {
+            top = head.get();
+            attack.next = top;
+        } while (!head.compareAndSet(top, attack));
+    }
+
+    /**
+     * Moves the attacks sent before {@code tick} into {@code ready}, in replay
+     * order. Only the receiving thread may call this.
+     *
+     * @param tick  the receiver's current tick
+     * @param ready list to append to
+     */
+    public void collect(long tick, List<Attack> ready) {
+        int start = ready.size();
+        Attack incoming = head.getAndSet(null);
+        held = sift(incoming, tick, ready, sift(held, tick, ready, null));
+        if (ready.size() - start > 1) {
+            ready.subList(start, ready.size()).sort(Attack.ORDER);
+        }
+    }
+
+    /**
+     * Moves attacks sent before {@code tick} from a linked list to
+     * {@code ready} and pushes the rest onto {@code kept}.
+     *
+     * @return the new head of {@code kept}
+     */
+    private static Attack sift(Attack attack, long tick, List<Attack> ready, Attack kept) {
+        while (attack != null) {
+            Attack following = attack.next;
+            if (attack.getTick() < tick) {
+                attack.next = null;
+                ready.add(attack);
+            } else {
+                attack.next = kept;
+                kept = attack;
+            }
+            attack = following;
+        }
+        return kept;
+    }
+
+    /**
+     * Returns whether no attacks are queued or held. Only the receiving
+     * thread may call this.
+     *
+     * @return {@code true} if empty
+     */
+    public boolean isEmpty() {
+        return held == null && head.get() == null;
+    }
+}
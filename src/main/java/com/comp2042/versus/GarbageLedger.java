@@ -0,0 +1,177 @@
+package com.comp2042.versus;
+
+import com.comp2042.controller.GameController;
+
+import java.util.Arrays;
+
+/**
+ * The garbage rules shared by every versus mode: the rows pending against one
+ * player and what each lock does with them.
+ * <p>
+ * Garbage arrives as attacks, each a number of rows sharing one hole column,
+ * and waits in arrival order. A lock that clears two or more lines is worth
+ * an attack; it first cancels pending rows, oldest attack first, and only the
+ * rest is returned to be sent on. A lock that clears nothing raises up to
+ * {@link #MAX_GARBAGE_PER_LOCK} pending rows, oldest attack first; garbage
+ * that pushes locked cells off the top ends the game, see
+ * {@link GameController#raiseGarbage}.
+ * <p>
+ * Pending attacks are kept in two int arrays rather than objects, so a
+ * {@link RollbackMatch} can save and restore a ledger every tick with
+ * {@link #copyFrom} and no allocation. Not thread-safe; a ledger belongs to
+ * the thread that plays its board.
+ */
+final class GarbageLedger {
+
+    /** Most pending garbage rows raised by one lock. */
+    static final int MAX_GARBAGE_PER_LOCK = 8;
+
+    /** Garbage rows sent for clearing 0 to 4 lines at once. */
+    private static final int[] ATTACK_LINES = {0, 0, 1, 2, 4};
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int[] lines = new int[INITIAL_CAPACITY];
+    private int[] holes = new int[INITIAL_CAPACITY];
+    private int head;
+    private int tail;
+    private int pendingLines;
+    private int attacksReceived;
+    private int linesReceived;
+    private int garbageRaised;
+
+    /**
+     * Returns the garbage rows sent for clearing lines with one brick.
+     *
+     * @param linesCleared lines cleared at once
+     * @return rows of garbage the clear is worth
+     */
+    static int attackLines(int linesCleared) {
+        return ATTACK_LINES[Math.min(linesCleared, ATTACK_LINES.length - 1)];
+    }
+
+    /**
+     * Queues an attack behind the ones already pending.
+     *
+     * @param rows       garbage rows
+     * @param holeColumn the empty column of the rows
+     */
+    void add(int rows, int holeColumn) {
+        if (rows <= 0) {
+            return;
+        }
+        if (tail == lines.length) {
+            compact();
+        }
+        lines[tail] = rows;
+        holes[tail] = holeColumn;
+        tail++;
+        pendingLines += rows;
+        attacksReceived++;
+        linesReceived += rows;
+    }
+
+    /**
+     * Applies the rules to a lock of the player's brick.
+     *
+     * @param controller   the player's game, which receives raised rows
+     * @param linesCleared lines the lock cleared
+     * @return garbage rows left to send to an opponent after cancelling
+     */
+    int onLock(GameController controller, int linesCleared) {
+        if (linesCleared > 0) {
+            int attack = attackLines(linesCleared);
+            while (attack > 0 && head < tail) {
+                attack -= take(Math.min(attack, lines[head]));
+            }
+            return attack;
+        }
+        int raised = 0;
+        while (raised < MAX_GARBAGE_PER_LOCK && head < tail) {
+            int hole = holes[head];
+            int rows = take(Math.min(MAX_GARBAGE_PER_LOCK - raised, lines[head]));
+            raised += rows;
+            if (controller.raiseGarbage(rows, hole)) {
+                break;
+            }
+        }
+        garbageRaised += raised;
+        return 0;
+    }
+
+    /** Removes rows from the oldest pending attack and returns how many. */
+    private int take(int rows) {
+        lines[head] -= rows;
+        pendingLines -= rows;
+        if (lines[head] == 0) {
+            head++;
+        }
+        return rows;
+    }
+
+    /** Moves the pending attacks to the front, growing the arrays if they are full. */
+    private void compact() {
+        int count = tail - head;
+        if (count == lines.length) {
+            lines = Arrays.copyOf(lines, count * 2);
+            holes = Arrays.copyOf(holes, count * 2);
+        } else {
+            System.arraycopy(lines, head, lines, 0, count);
+            System.arraycopy(holes, head, holes, 0, count);
+        }
+        head = 0;
+        tail = count;
+    }
+
+    /**
+     * Drops all pending garbage, as when the player's game is over. The
+     * counters are kept.
+     */
+    void clearPending() {
+        head = 0;
+        tail = 0;
+        pendingLines = 0;
+    }
+
+    /**
+     * Empties the ledger and zeroes its counters for a new round.
+     */
+    void reset() {
+        clearPending();
+        attacksReceived = 0;
+        linesReceived = 0;
+        garbageRaised = 0;
+    }
+
+    /**
+     * Makes this ledger an exact copy of another.
+     *
+     * @param source the ledger to copy
+     */
+    void copyFrom(GarbageLedger source) {
+        int count = source.tail - source.head;
+        if (lines.length < count) {
+            lines = new int[source.lines.length];
+            holes = new int[source.holes.length];
+        }
+        System.arraycopy(source.lines, source.head, lines, 0, count);
+        System.arraycopy(source.holes, source.head, holes, 0, count);
+        head = 0;
+        tail = count;
+        pendingLines = source.pendingLines;
+        attacksReceived = source.attacksReceived;
+        linesReceived = source.linesReceived;
+        garbageRaised = source.garbageRaised;
+    }
+
+    /** @return garbage rows received and not yet raised or cancelled */
+    int getPendingLines() { return pendingLines; }
+
+    /** @return attacks received, cancelled ones included */
+    int getAttacksReceived() { return attacksReceived; }
+
+    /** @return garbage rows received */
+    int getLinesReceived() { return linesReceived; }
+
+    /** @return garbage rows raised on the board */
+    int getGarbageRaised() { return garbageRaised; }
+}
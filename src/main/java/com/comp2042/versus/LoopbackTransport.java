@@ -0,0 +1,104 @@
+package com.comp2042.versus;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.LongConsumer;
+
+/**
+ * In-memory stand-in for the network between peers, for testing
+ * {@link RollbackMatch} without sockets. Each message is delayed by a base
+ * latency plus random jitter, so messages may also overtake each other.
+ * Time is whatever unit the caller passes, normally ticks, and the jitter is
+ * seeded, so a run can be repeated exactly.
+ * <p>
+ * Not thread-safe; drive all peers from one thread.
+ */
+public final class LoopbackTransport {
+
+    private final PriorityQueue<Message>[] inboxes;
+    private final long delay;
+    private final long jitter;
+    private final Random random;
+    private long sent;
+
+    /**
+     * A message in flight; later messages with the same due time stay behind
+     * earlier ones.
+     */
+    private static final class Message implements Comparable<Message> {
+        private final long due;
+        private final long order;
+        private final long payload;
+
+        Message(long due, long order, long payload) {
+            this.due = due;
+            this.order = order;
+            this.payload = payload;
+        }
+
+        @Override
+        public int compareTo(Message other) {
+            int byDue = Long.compare(due, other.due);
+            return byDue != 0 ? byDue : Long.compare(order, other.order);
+        }
+    }
+
+    /**
+     * Creates a transport.
+     *
+     * @param peers  number of peers
+     * @param delay  minimum delivery delay
+     * @param jitter largest extra delay, drawn uniformly per message
+     * @param seed   seed of the jitter
+     */
+    @SuppressWarnings("unchecked")
+    public LoopbackTransport(int peers, long delay, long jitter, long seed) {
+        this.inboxes = new PriorityQueue[peers];
+        for (int i = 0; i < peers; i++) {
+            inboxes[i] = new PriorityQueue<>();
+        }
+        this.delay = delay;
+        this.jitter = jitter;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Sends a message.
+     *
+     * @param to      receiving peer
+     * @param payload the message
+     * @param now     current time
+     */
+    public void send(int to, long payload, long now) {
+        long extra = jitter > 0 ? (long) (random.nextDouble() * (jitter + 1)) : 0;
+        inboxes[to].add(new Message(now + delay + extra, sent++, payload));
+    }
+
+    /**
+     * Hands every message due by {@code now} to a peer's handler.
+     *
+     * @param peer    receiving peer
+     * @param now     current time
+     * @param handler receives each payload
+     * @return number of messages delivered
+     */
+    public int deliver(int peer, long now, LongConsumer handler) {
+        PriorityQueue<Message> inbox = inboxes[peer];
+        int delivered = 0;
+        while (!inbox.isEmpty() && inbox.peek().due <= now) {
+            handler.accept(inbox.poll().payload);
+            delivered++;
+        }
+        return delivered;
+    }
+
+    /** @return {@code true} if no message is in flight */
+    public boolean isIdle() {
+        for (PriorityQueue<Message> inbox : inboxes) {
+            if (!inbox.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
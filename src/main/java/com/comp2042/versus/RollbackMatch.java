@@ -0,0 +1,387 @@
+package com.comp2042.versus;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.controller.GameController;
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.diagnostics.LogHistogram;
+import com.comp2042.event.EventSource;
+import com.comp2042.event.EventType;
+import com.comp2042.event.GameEventType;
+import com.comp2042.event.MoveEvent;
+import com.comp2042.model.GameSnapshot;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.model.SplitMix;
+
+import java.util.Arrays;
+
+/**
+ * One peer's view of an online two-player versus game, using client-side
+ * prediction with rollback.
+ * <p>
+ * Both peers simulate both boards from the same seed. A peer applies its own
+ * input at once and predicts that the opponent did nothing. The opponent's
+ * real inputs arrive later, stamped with their tick; when one differs from
+ * the prediction, the peer restores the state saved at the start of that tick
+ * and re-simulates up to the present with the inputs now known. Inputs are
+ * only ever applied by tick number, so once both peers have all inputs up to
+ * a tick their games are identical there, bit for bit.
+ * <p>
+ * The state at the start of every unconfirmed tick is kept in a ring of
+ * reusable {@link GameSnapshot}s. A peer may run at most
+ * {@link #MAX_ROLLBACK_TICKS} ahead of the opponent's last known input;
+ * {@link #advance} returns {@code -1} until more input arrives.
+ * <p>
+ * Clearing two or more lines sends garbage to the opponent; it arrives on the
+ * next tick with a hole column drawn from the match seed, and from then on
+ * is cancelled and raised by the same {@code GarbageLedger} rules as in a
+ * {@link VersusRoom}. Garbage that pushes locked cells off the top ends the
+ * receiver's game.
+ * <p>
+ * Not thread-safe; a peer is driven by a single thread.
+ */
+public final class RollbackMatch {
+
+    /** Most ticks a peer may simulate past the opponent's last known input. */
+    public static final int MAX_ROLLBACK_TICKS = 32;
+
+    /** Number of players. */
+    public static final int PLAYERS = 2;
+
+    /** Default ticks between gravity steps. */
+    public static final int DEFAULT_GRAVITY_TICKS = 8;
+
+    private static final int STATE_SLOTS = MAX_ROLLBACK_TICKS + 1;
+    /** Remote inputs may arrive up to two windows ahead of the local tick. */
+    private static final int INPUT_SLOTS = 4 * MAX_ROLLBACK_TICKS;
+    private static final byte NO_INPUT = 0;
+    private static final EventType[] MOVES = EventType.values();
+    private static final MoveEvent[] USER_MOVES = new MoveEvent[MOVES.length];
+    private static final MoveEvent GRAVITY = new MoveEvent(EventType.DOWN, EventSource.THREAD);
+
+    static {
+        for (EventType type : MOVES) {
+            USER_MOVES[type.ordinal()] = new MoveEvent(type, EventSource.USER);
+        }
+    }
+
+    private final int localPlayer;
+    private final int remotePlayer;
+    private final int columns;
+    private final long seed;
+    private final int gravityTicks;
+    private final SimpleBoard[] boards = new SimpleBoard[PLAYERS];
+    private final GameController[] controllers = new GameController[PLAYERS];
+    private final Frame[] frames = new Frame[STATE_SLOTS];
+    private final byte[] localInputs = new byte[INPUT_SLOTS];
+    private final byte[] remoteInputs = new byte[INPUT_SLOTS];
+    private final long[] remoteTicks = new long[INPUT_SLOTS];
+    private final byte[] predicted = new byte[INPUT_SLOTS];
+    private final LogHistogram rollbackNanos = new LogHistogram();
+
+    // Game state besides the boards, saved in every frame.
+    private final GarbageLedger[] garbage = new GarbageLedger[PLAYERS];
+    private final int[] incoming = new int[PLAYERS];
+
+    private long tick;
+    private long confirmedTick;
+    private long rollbackFrom = Long.MAX_VALUE;
+    private long rollbacks;
+    private long resimulatedTicks;
+
+    /**
+     * State at the start of one tick.
+     */
+    private static final class Frame {
+        private final GameSnapshot[] states = new GameSnapshot[PLAYERS];
+        private final GarbageLedger[] garbage = new GarbageLedger[PLAYERS];
+        private final int[] incoming = new int[PLAYERS];
+
+        Frame() {
+            for (int p = 0; p < PLAYERS; p++) {
+                states[p] = new GameSnapshot();
+                garbage[p] = new GarbageLedger();
+            }
+        }
+    }
+
+    /**
+     * Creates one peer's match.
+     *
+     * @param localPlayer  index of this peer's player, {@code 0} or {@code 1}
+     * @param rows         board rows
+     * @param columns      board columns
+     * @param seed         seed shared by both peers
+     * @param gravityTicks ticks between gravity steps
+     */
+    public RollbackMatch(int localPlayer, int rows, int columns, long seed, int gravityTicks) {
+        if (localPlayer < 0 || localPlayer >= PLAYERS) {
+            throw new IllegalArgumentException("Player must be 0 or 1, got " + localPlayer);
+        }
+        this.localPlayer = localPlayer;
+        this.remotePlayer = 1 - localPlayer;
+        this.columns = columns;
+        this.seed = seed;
+        this.gravityTicks = gravityTicks;
+        for (int p = 0; p < PLAYERS; p++) {
+            int player = p;
+            garbage[p] = new GarbageLedger();
+            boards[p] = new SimpleBoard(rows, columns, new RandomBrickGenerator(seed + p * SplitMix.GOLDEN_GAMMA));
+            controllers[p] = new GameController(boards[p]);
+            controllers[p].getEvents().subscribe((type, lines, piecesLocked) -> {
+                if (type == GameEventType.LOCK) {
+                    onLock(player, lines);
+                }
+            });
+            controllers[p].initGame();
+        }
+        for (int i = 0; i < STATE_SLOTS; i++) {
+            frames[i] = new Frame();
+        }
+        Arrays.fill(remoteTicks, -1L);
+    }
+
+    /**
+     * Packs a tick's input into a message for the opponent.
+     *
+     * @param tick  the tick
+     * @param input the move, or {@code null} for none
+     * @return the message
+     */
+    public static long message(long tick, EventType input) {
+        return tick << 8 | code(input);
+    }
+
+    /**
+     * Simulates the next tick with a local input, first rolling back if an
+     * opponent input received since the last call contradicts a prediction.
+     *
+     * @param input the local player's move, or {@code null} for none
+     * @return the tick simulated, to send with {@link #message}, or {@code -1}
+     *         if the peer is {@link #MAX_ROLLBACK_TICKS} ahead and must wait
+     */
+    public long advance(EventType input) {
+        reconcile();
+        if (tick - Math.min(confirmedTick, tick) >= MAX_ROLLBACK_TICKS) {
+            return -1;
+        }
+        localInputs[(int) (tick % INPUT_SLOTS)] = code(input);
+        simulate(tick);
+        return tick - 1;
+    }
+
+    /**
+     * Records an opponent input sent with {@link #message}. Duplicates are
+     * ignored. A rollback, if needed, happens on the next {@link #advance} or
+     * {@link #reconcile}.
+     *
+     * @param message the message
+     */
+    public void receive(long message) {
+        long inputTick = message >>> 8;
+        byte code = (byte) message;
+        if (inputTick < confirmedTick) {
+            return;
+        }
+        if (inputTick >= confirmedTick + INPUT_SLOTS) {
+            throw new IllegalStateException("Input for tick " + inputTick + " is too far ahead of tick " + confirmedTick);
+        }
+        int slot = (int) (inputTick % INPUT_SLOTS);
+        if (remoteTicks[slot] == inputTick) {
+            return;
+        }
+        remoteTicks[slot] = inputTick;
+        remoteInputs[slot] = code;
+        if (inputTick < tick && predicted[slot] != code) {
+            rollbackFrom = Math.min(rollbackFrom, inputTick);
+        }
+        while (remoteTicks[(int) (confirmedTick % INPUT_SLOTS)] == confirmedTick) {
+            confirmedTick++;
+        }
+    }
+
+    /**
+     * Re-simulates from the earliest mispredicted tick, if any, back to the
+     * current tick.
+     */
+    public void reconcile() {
+        if (rollbackFrom == Long.MAX_VALUE) {
+            return;
+        }
+        long start = System.nanoTime();
+        long target = tick;
+        load(frames[(int) (rollbackFrom % STATE_SLOTS)]);
+        for (long t = rollbackFrom; t < target; t++) {
+            simulate(t);
+        }
+        rollbacks++;
+        resimulatedTicks += target - rollbackFrom;
+        rollbackFrom = Long.MAX_VALUE;
+        rollbackNanos.record(System.nanoTime() - start);
+    }
+
+    private void simulate(long t) {
+        save(frames[(int) (t % STATE_SLOTS)]);
+        int slot = (int) (t % INPUT_SLOTS);
+        byte remote = remoteTicks[slot] == t ? remoteInputs[slot] : NO_INPUT;
+        predicted[slot] = remote;
+        for (int p = 0; p < PLAYERS; p++) {
+            if (incoming[p] > 0) {
+                long attackKey = p * SplitMix.GOLDEN_GAMMA + garbage[p].getAttacksReceived();
+                long hash = SplitMix.mix(seed ^ SplitMix.mix(attackKey));
+                garbage[p].add(incoming[p], (int) Long.remainderUnsigned(hash, columns));
+                incoming[p] = 0;
+            }
+        }
+        for (int p = 0; p < PLAYERS; p++) {
+            GameController controller = controllers[p];
+            if (controller.isGameOver()) {
+                continue;
+            }
+            byte input = p == localPlayer ? localInputs[slot] : remote;
+            if (input != NO_INPUT) {
+                apply(controller, MOVES[input - 1]);
+            }
+            if (!controller.isGameOver() && t % gravityTicks == gravityTicks - 1) {
+                controller.onDownEvent(GRAVITY);
+            }
+        }
+        tick = t + 1;
+    }
+
+    private static void apply(GameController controller, EventType move) {
+        MoveEvent event = USER_MOVES[move.ordinal()];
+        switch (move) {
+            case LEFT:
+                controller.onLeftEvent(event);
+                break;
+            case RIGHT:
+                controller.onRightEvent(event);
+                break;
+            case ROTATE:
+                controller.onRotateEvent(event);
+                break;
+            default:
+                controller.onDownEvent(event);
+                break;
+        }
+    }
+
+    private void onLock(int player, int linesCleared) {
+        incoming[1 - player] += garbage[player].onLock(controllers[player], linesCleared);
+    }
+
+    private void save(Frame frame) {
+        for (int p = 0; p < PLAYERS; p++) {
+            controllers[p].saveState(frame.states[p]);
+            frame.garbage[p].copyFrom(garbage[p]);
+        }
+        System.arraycopy(incoming, 0, frame.incoming, 0, PLAYERS);
+    }
+
+    private void load(Frame frame) {
+        for (int p = 0; p < PLAYERS; p++) {
+            controllers[p].restoreState(frame.states[p]);
+            garbage[p].copyFrom(frame.garbage[p]);
+        }
+        System.arraycopy(frame.incoming, 0, incoming, 0, PLAYERS);
+    }
+
+    private static byte code(EventType input) {
+        return input == null ? NO_INPUT : (byte) (input.ordinal() + 1);
+    }
+
+    /**
+     * Combines both boards, scores and garbage counters into one value that
+     * peers can compare once they agree on every input.
+     *
+     * @return a digest of the current state
+     */
+    public long checksum() {
+        long sum = tick;
+        for (int p = 0; p < PLAYERS; p++) {
+            sum = SplitMix.mix(sum ^ boards[p].getBoardHash());
+            sum = SplitMix.mix(sum ^ boards[p].getScore().scoreProperty().get());
+            sum = SplitMix.mix(sum ^ ((long) garbage[p].getPendingLines() << 32 | garbage[p].getGarbageRaised()));
+            sum = SplitMix.mix(sum ^ boards[p].getCurrentBrickId() ^ (long) boards[p].getViewData().getyPosition() << 8);
+        }
+        return sum;
+    }
+
+    /** @return the next tick to simulate */
+    public long getTick() { return tick; }
+
+    /** @return ticks before which every opponent input is known */
+    public long getConfirmedTick() { return confirmedTick; }
+
+    /** @return index of the local player */
+    public int getLocalPlayer() { return localPlayer; }
+
+    /** @return index of the opponent */
+    public int getRemotePlayer() { return remotePlayer; }
+
+    /**
+     * Returns a player's game, as currently predicted.
+     *
+     * @param player the player index
+     * @return the player's controller
+     */
+    public GameController getController(int player) { return controllers[player]; }
+
+    /** @return rollbacks performed */
+    public long getRollbacks() { return rollbacks; }
+
+    /** @return ticks simulated again by rollbacks */
+    public long getResimulatedTicks() { return resimulatedTicks; }
+
+    /** @return durations of rollbacks, restore included, in nanoseconds */
+    public LogHistogram getRollbackNanos() { return rollbackNanos; }
+
+    /**
+     * Plays two autoplayer peers over a {@link LoopbackTransport} and reports
+     * how often and how quickly they rolled back.
+     * Arguments: ticks, delay in ticks, jitter in ticks, seed.
+     */
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int delay = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int jitter = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        RollbackMatch[] peers = {new RollbackMatch(0, 25, 13, seed, DEFAULT_GRAVITY_TICKS),
+                new RollbackMatch(1, 25, 13, seed, DEFAULT_GRAVITY_TICKS)};
+        AutoPlayer[] bots = {new AutoPlayer(25, 13), new AutoPlayer(25, 13)};
+        LoopbackTransport transport = new LoopbackTransport(PLAYERS, delay, jitter, seed);
+
+        long now = 0;
+        while (peers[0].getTick() < ticks || peers[1].getTick() < ticks) {
+            for (int p = 0; p < PLAYERS; p++) {
+                RollbackMatch peer = peers[p];
+                transport.deliver(p, now, peer::receive);
+                if (peer.getTick() < ticks) {
+                    // The bot moves every other tick, roughly a fast human.
+                    EventType move = now % 2 == 0 ? bots[p].nextMove(peer.getController(p)) : null;
+                    long sent = peer.advance(move);
+                    if (sent >= 0) {
+                        transport.send(1 - p, message(sent, move), now);
+                    }
+                }
+            }
+            now++;
+        }
+        while (!transport.isIdle()) {
+            for (int p = 0; p < PLAYERS; p++) {
+                transport.deliver(p, now, peers[p]::receive);
+            }
+            now++;
+        }
+        for (RollbackMatch peer : peers) {
+            peer.reconcile();
+            LogHistogram nanos = peer.getRollbackNanos();
+            System.out.printf("Peer %d: %d rollbacks, %.1f ticks each, p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                    peer.getLocalPlayer(), peer.getRollbacks(),
+                    (double) peer.getResimulatedTicks() / Math.max(1, peer.getRollbacks()),
+                    nanos.getValueAtPercentile(50) / 1e3, nanos.getValueAtPercentile(99) / 1e3, nanos.getMax() / 1e3);
+        }
+        System.out.printf("Checksums %016x %016x: %s%n", peers[0].checksum(), peers[1].checksum(),
+                peers[0].checksum() == peers[1].checksum() ? "in sync" : "DESYNC");
+    }
+}
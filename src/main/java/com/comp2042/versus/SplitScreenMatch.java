@@ -0,0 +1,265 @@
+package com.comp2042.versus;
+
+import com.comp2042.controller.GameContext;
+import com.comp2042.controller.GameController;
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.event.EventSource;
+import com.comp2042.event.EventType;
+import com.comp2042.event.GameEventListener;
+import com.comp2042.event.GameEventType;
+import com.comp2042.event.MoveEvent;
+import com.comp2042.model.ClearRow;
+import com.comp2042.model.DownData;
+import com.comp2042.model.GameConfig;
+import com.comp2042.model.GameSnapshot;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.model.SplitMix;
+
+import java.util.List;
+
+/**
+ * A local two-player versus match, played side by side in one window.
+ * <p>
+ * Both players get the same brick sequence and attack each other with the
+ * garbage rules of {@code GarbageLedger}, as in a {@link VersusRoom}:
+ * multi-line clears send garbage, which first cancels garbage pending
+ * against the sender, and a lock that clears nothing raises pending rows; a
+ * player whose garbage pushes locked cells off the top is buried and loses.
+ * Unlike a {@link VersusRoom} there is no lockstep: the match runs on the
+ * JavaFX thread, inputs are applied as the keys arrive, and
+ * {@link #update(long)} drops both bricks from one game loop. The first
+ * player to top out loses.
+ * <p>
+ * The match holds no JavaFX nodes; the view polls {@link #getVersion()} and
+ * only redraws when something changed.
+ */
+public final class SplitScreenMatch {
+
+    /** Number of players. */
+    public static final int PLAYERS = 2;
+
+    /** Gravity steps made up at once after a stall before the clock is reset. */
+    private static final int MAX_CATCH_UP_DROPS = 4;
+
+    private final long seed;
+    private final Seat[] seats = new Seat[PLAYERS];
+    private final MoveEvent gravity = new MoveEvent(EventType.DOWN, EventSource.THREAD);
+    private final GameSnapshot roundStart = new GameSnapshot();
+    private int winner = -1;
+    private long version;
+
+    /**
+     * Creates a match. Each player gets a copy of the context's settings and
+     * shares its sound and stores.
+     *
+     * @param context the window's context
+     * @param rows    board rows
+     * @param columns board columns
+     * @param seed    seed of the shared brick sequence and garbage holes
+     */
+    public SplitScreenMatch(GameContext context, int rows, int columns, long seed) {
+        this.seed = seed;
+        for (int i = 0; i < PLAYERS; i++) {
+            GameContext playerContext = context.withConfig(new GameConfig(context.getConfig()));
+            seats[i] = new Seat(i, rows, columns, seed, playerContext);
+        }
+    }
+
+    /**
+     * Starts the match clock; the first bricks drop one gravity delay later.
+     *
+     * @param nowMillis current time in milliseconds
+     */
+    public void start(long nowMillis) {
+        for (Seat seat : seats) {
+            seat.nextDropMillis = nowMillis + seat.controller.getSpeedDelay();
+        }
+        version++;
+    }
+
+    /**
+     * Starts a new round on fresh boards. The first player's brick sequence
+     * continues and is copied to the other, so both still get the same bricks.
+     *
+     * @param nowMillis current time in milliseconds
+     */
+    public void restart(long nowMillis) {
+        seats[0].controller.createNewGame();
+        seats[0].controller.saveState(roundStart);
+        for (Seat seat : seats) {
+            seat.controller.restoreState(roundStart);
+            seat.reset();
+        }
+        winner = -1;
+        start(nowMillis);
+    }
+
+    /**
+     * Drops each player's brick for every gravity delay that has passed.
+     *
+     * @param nowMillis current time in milliseconds
+     */
+    public void update(long nowMillis) {
+        for (Seat seat : seats) {
+            int drops = 0;
+            while (!isOver() && nowMillis >= seat.nextDropMillis) {
+                if (++drops > MAX_CATCH_UP_DROPS) {
+                    seat.nextDropMillis = nowMillis + seat.controller.getSpeedDelay();
+                    break;
+                }
+                seat.nextDropMillis += seat.controller.getSpeedDelay();
+                seat.down(gravity);
+            }
+        }
+    }
+
+    /**
+     * Applies one player's input.
+     *
+     * @param player the player's index
+     * @param move   the move
+     * @return {@code false} if the match is over and the input was ignored
+     */
+    public boolean apply(int player, EventType move) {
+        if (isOver()) {
+            return false;
+        }
+        Seat seat = seats[player];
+        switch (move) {
+            case LEFT:
+                seat.controller.onLeftEvent(seat.leftEvent);
+                break;
+            case RIGHT:
+                seat.controller.onRightEvent(seat.rightEvent);
+                break;
+            case ROTATE:
+                seat.controller.onRotateEvent(seat.rotateEvent);
+                break;
+            default:
+                seat.down(seat.downEvent);
+                return true;
+        }
+        version++;
+        return true;
+    }
+
+    private void afterDown(Seat seat) {
+        version++;
+        if (seat.controller.isGameOver() && winner < 0) {
+            winner = PLAYERS - 1 - seat.index;
+        }
+    }
+
+    private void send(Seat sender, int lines) {
+        Seat target = seats[PLAYERS - 1 - sender.index];
+        long hash = SplitMix.mix(seed ^ SplitMix.mix(sender.index * SplitMix.GOLDEN_GAMMA + sender.attacksSent++));
+        int hole = (int) Long.remainderUnsigned(hash, target.board.getBoardMatrix()[0].length);
+        target.garbage.add(lines, hole);
+        sender.linesSent += lines;
+    }
+
+    /**
+     * Returns a player.
+     *
+     * @param player the player's index
+     * @return the player's seat
+     */
+    public Seat getSeat(int player) {
+        return seats[player];
+    }
+
+    /** @return {@code true} once a player has topped out */
+    public boolean isOver() {
+        return winner >= 0;
+    }
+
+    /** @return index of the winner, or {@code -1} while the match is running */
+    public int getWinner() {
+        return winner;
+    }
+
+    /** @return a counter that changes whenever either board changes */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * One player's board, game and pending garbage.
+     */
+    public final class Seat implements GameEventListener {
+        private final int index;
+        private final SimpleBoard board;
+        private final GameController controller;
+        private final MoveEvent leftEvent = new MoveEvent(EventType.LEFT, EventSource.USER);
+        private final MoveEvent rightEvent = new MoveEvent(EventType.RIGHT, EventSource.USER);
+        private final MoveEvent rotateEvent = new MoveEvent(EventType.ROTATE, EventSource.USER);
+        private final MoveEvent downEvent = new MoveEvent(EventType.DOWN, EventSource.USER);
+        private final GarbageLedger garbage = new GarbageLedger();
+        private long nextDropMillis;
+        private int attacksSent;
+        private int linesSent;
+        private int clears;
+        private List<Integer> lastClearedRows = List.of();
+
+        private Seat(int index, int rows, int columns, long seed, GameContext context) {
+            this.index = index;
+            this.board = new SimpleBoard(rows, columns, new RandomBrickGenerator(seed));
+            this.controller = new GameController(null, board, context);
+            controller.getEvents().subscribe(this);
+            controller.initGame();
+        }
+
+        private void reset() {
+            garbage.reset();
+            attacksSent = 0;
+            linesSent = 0;
+            clears = 0;
+            lastClearedRows = List.of();
+        }
+
+        private void down(MoveEvent event) {
+            DownData data = controller.onDownEvent(event);
+            ClearRow clearRow = data.getClearRow();
+            if (clearRow != null && clearRow.getLinesRemoved() > 0) {
+                clears++;
+                lastClearedRows = clearRow.getClearedRowIndices();
+            }
+            afterDown(this);
+        }
+
+        @Override
+        public void onGameEvent(GameEventType type, int linesCleared, int piecesLocked) {
+            if (type != GameEventType.LOCK) {
+                return;
+            }
+            int attack = garbage.onLock(controller, linesCleared);
+            if (attack > 0) {
+                send(this, attack);
+            }
+        }
+
+        /** @return the player's index */
+        public int getIndex() { return index; }
+
+        /** @return the player's board */
+        public SimpleBoard getBoard() { return board; }
+
+        /** @return the player's game */
+        public GameController getController() { return controller; }
+
+        /** @return the player's settings */
+        public GameConfig getConfig() { return controller.getContext().getConfig(); }
+
+        /** @return garbage rows waiting to be raised on this board */
+        public int getPendingLines() { return garbage.getPendingLines(); }
+
+        /** @return garbage rows sent to the opponent */
+        public int getLinesSent() { return linesSent; }
+
+        /** @return number of locks that cleared lines, for views that animate clears */
+        public int getClears() { return clears; }
+
+        /** @return board rows removed by the latest clear */
+        public List<Integer> getLastClearedRows() { return lastClearedRows; }
+    }
+}
@@ -0,0 +1,127 @@
+package com.comp2042.versus;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.bot.Bot;
+import com.comp2042.controller.GameController;
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.event.EventType;
+import com.comp2042.event.GameEventListener;
+import com.comp2042.event.GameEventType;
+import com.comp2042.model.SimpleBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One player of a {@link VersusRoom}: a headless game driven by a bot, plus
+ * the garbage waiting to be raised on its board.
+ * <p>
+ * Garbage follows the rules of {@code GarbageLedger}, shared with the other
+ * versus modes: clearing two or more lines at once sends an attack that
+ * first cancels garbage pending against the player, and only the rest goes
+ * to an opponent; a lock that clears nothing raises up to
+ * {@link #MAX_GARBAGE_PER_LOCK} pending rows, and garbage that pushes locked
+ * cells off the top buries the player. Everything happens on the thread
+ * ticking the player; other players only touch its {@link AttackQueue}.
+ */
+public final class VersusPlayer implements GameEventListener {
+
+    /** Most pending garbage rows raised by one lock. */
+    public static final int MAX_GARBAGE_PER_LOCK = GarbageLedger.MAX_GARBAGE_PER_LOCK;
+
+    private final int id;
+    private final VersusRoom room;
+    private final SimpleBoard board;
+    private final GameController controller;
+    private final Bot bot;
+    private final AttackQueue incoming = new AttackQueue();
+    private final List<Attack> ready = new ArrayList<>();
+    private final GarbageLedger garbage = new GarbageLedger();
+    private long tick;
+    private int aliveIndex;
+    private int attacksSent;
+    private int linesSent;
+
+    VersusPlayer(int id, VersusRoom room, int rows, int columns, long seed, Bot bot) {
+        this.id = id;
+        this.room = room;
+        this.board = new SimpleBoard(rows, columns, new RandomBrickGenerator(seed));
+        this.controller = new GameController(board);
+        this.bot = bot;
+        controller.getEvents().subscribe(this);
+        controller.initGame();
+    }
+
+    /**
+     * Takes the attacks sent on earlier ticks, then makes one move.
+     */
+    void tick(long tick) {
+        this.tick = tick;
+        incoming.collect(tick, ready);
+        for (Attack attack : ready) {
+            garbage.add(attack.getLines(), attack.getHoleColumn());
+        }
+        ready.clear();
+        if (controller.isGameOver()) {
+            garbage.clearPending();
+            return;
+        }
+        EventType move = bot.nextMove(controller);
+        AutoPlayer.apply(controller, move != null ? move : EventType.DOWN);
+    }
+
+    @Override
+    public void onGameEvent(GameEventType type, int linesCleared, int piecesLocked) {
+        if (type != GameEventType.LOCK) {
+            return;
+        }
+        int attack = garbage.onLock(controller, linesCleared);
+        if (attack > 0) {
+            linesSent += attack;
+            room.send(this, attacksSent++, attack, tick);
+        }
+    }
+
+    /**
+     * Returns the garbage rows sent for clearing lines with one brick.
+     *
+     * @param linesCleared lines cleared at once
+     * @return rows of garbage the clear is worth
+     */
+    public static int attackLines(int linesCleared) {
+        return GarbageLedger.attackLines(linesCleared);
+    }
+
+    AttackQueue getIncoming() {
+        return incoming;
+    }
+
+    int getAliveIndex() {
+        return aliveIndex;
+    }
+
+    void setAliveIndex(int aliveIndex) {
+        this.aliveIndex = aliveIndex;
+    }
+
+    /** @return the player's index in the room */
+    public int getId() { return id; }
+
+    /** @return the player's game */
+    public GameController getController() { return controller; }
+
+    /** @return {@code true} once the player has topped out */
+    public boolean isGameOver() { return controller.isGameOver(); }
+
+    /** @return garbage rows received and not yet raised or cancelled */
+    public int getPendingLines() { return garbage.getPendingLines(); }
+
+    /** @return garbage rows sent to opponents */
+    public int getLinesSent() { return linesSent; }
+
+    /** @return garbage rows received from opponents */
+    public int getLinesReceived() { return garbage.getLinesReceived(); }
+
+    /** @return garbage rows raised on this board */
+    public int getGarbageRaised() { return garbage.getGarbageRaised(); }
+}
@@ -0,0 +1,211 @@
+package com.comp2042.versus;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.bot.Bot;
+import com.comp2042.model.SplitMix;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+/**
+ * A versus match in which line clears send garbage rows to opponents, for
+ * anything from two players to battle-royale rooms of a hundred.
+ * <p>
+ * The room runs in lockstep: each {@link #tick()} moves every player once,
+ * in parallel on a {@link ForkJoinPool}, and returns when all are done.
+ * Attacks sent during tick {@code t} travel through the receivers'
+ * lock-free {@link AttackQueue}s and are taken on tick {@code t + 1} in
+ * {@link Attack#ORDER}. Targets and hole columns come from a hash of the room
+ * seed, the sender and its attack count, chosen among the players alive when
+ * the tick started. A match is therefore a pure function of the room seed and
+ * the players' inputs, whatever the number of threads, and replays exactly.
+ */
+public final class VersusRoom {
+
+    private final int columns;
+    private final long seed;
+    private final ForkJoinPool pool;
+    private final VersusPlayer[] players;
+    private final int[] alive;
+    private int aliveCount;
+    private long tick;
+
+    /**
+     * Creates a room; every player gets its own brick sequence derived from
+     * the seed.
+     *
+     * @param playerCount number of players, at least two
+     * @param rows        board rows
+     * @param columns     board columns
+     * @param seed        seed of the match
+     * @param pool        pool that ticks the players
+     * @param bots        creates the bot of each player index
+     */
+    public VersusRoom(int playerCount, int rows, int columns, long seed, ForkJoinPool pool, IntFunction<Bot> bots) {
+        if (playerCount < 2) {
+            throw new IllegalArgumentException("A versus room needs two players, got " + playerCount);
+        }
+        this.columns = columns;
+        this.seed = seed;
+        this.pool = pool;
+        this.players = new VersusPlayer[playerCount];
+        this.alive = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = new VersusPlayer(i, this, rows, columns, SplitMix.mix(seed + i * SplitMix.GOLDEN_GAMMA), bots.apply(i));
+        }
+    }
+
+    /**
+     * Moves every player once.
+     *
+     * @return number of players still alive afterwards
+     */
+    public int tick() {
+        tick++;
+        aliveCount = 0;
+        for (VersusPlayer player : players) {
+            if (!player.isGameOver()) {
+                player.setAliveIndex(aliveCount);
+                alive[aliveCount++] = player.getId();
+            }
+        }
+        pool.invoke(new TickTask(tick, 0, players.length));
+        return getAliveCount();
+    }
+
+    /**
+     * Ticks until at most one player is left.
+     *
+     * @param maxTicks stop after this many ticks
+     * @return the winner, or {@code null} if several players are still alive or none is
+     */
+    public VersusPlayer play(long maxTicks) {
+        while (tick < maxTicks && getAliveCount() > 1) {
+            tick();
+        }
+        if (getAliveCount() != 1) {
+            return null;
+        }
+        for (VersusPlayer player : players) {
+            if (!player.isGameOver()) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sends an attack to an opponent. Called on the sender's thread during a
+     * tick, while the list of alive players is fixed.
+     */
+    void send(VersusPlayer sender, int sequence, int lines, long sentTick) {
+        if (aliveCount < 2) {
+            return;
+        }
+        long hash = SplitMix.mix(seed ^ SplitMix.mix(sender.getId() * SplitMix.GOLDEN_GAMMA + sequence));
+        int pick = (int) Long.remainderUnsigned(hash, aliveCount - 1);
+        if (pick >= sender.getAliveIndex()) {
+            pick++;
+        }
+        int hole = (int) Long.remainderUnsigned(hash >>> 32, columns);
+        players[alive[pick]].getIncoming().send(new Attack(sentTick, sender.getId(), sequence, lines, hole));
+    }
+
+    /** @return players alive now */
+    public int getAliveCount() {
+        int count = 0;
+        for (VersusPlayer player : players) {
+            if (!player.isGameOver()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** @return ticks played */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns a player.
+     *
+     * @param id the player's index
+     * @return the player
+     */
+    public VersusPlayer getPlayer(int id) {
+        return players[id];
+    }
+
+    /** @return number of players */
+    public int getPlayerCount() {
+        return players.length;
+    }
+
+    /**
+     * Combines every player's board hash, score and garbage counts, so two
+     * runs of a match can be compared cheaply.
+     *
+     * @return a digest of the room's state
+     */
+    public long checksum() {
+        long sum = tick;
+        for (VersusPlayer player : players) {
+            sum = SplitMix.mix(sum ^ player.getController().getBoard().getBoardHash());
+            sum = SplitMix.mix(sum ^ player.getController().getBoard().getScore().scoreProperty().get());
+            sum = SplitMix.mix(sum ^ ((long) player.getLinesReceived() << 32 | player.getGarbageRaised()));
+        }
+        return sum;
+    }
+
+    /**
+     * Ticks a range of players, split down to single players.
+     */
+    private final class TickTask extends RecursiveAction {
+        private final long tick;
+        private final int from;
+        private final int to;
+
+        TickTask(long tick, int from, int to) {
+            this.tick = tick;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new TickTask(tick, from, mid), new TickTask(tick, mid, to));
+                return;
+            }
+            players[from].tick(tick);
+        }
+    }
+
+    /**
+     * Plays a battle-royale room of autoplayers and reports throughput.
+     * Arguments: players, maximum ticks, seed.
+     */
+    public static void main(String[] args) {
+        int playerCount = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        long maxTicks = args.length > 1 ? Long.parseLong(args[1]) : 20_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        VersusRoom room = new VersusRoom(playerCount, 25, 13, seed, pool, id -> new AutoPlayer(25, 13));
+
+        long start = System.nanoTime();
+        VersusPlayer winner = room.play(maxTicks);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long sent = 0;
+        for (int i = 0; i < room.getPlayerCount(); i++) {
+            sent += room.getPlayer(i).getLinesSent();
+        }
+        System.out.printf("%d players, seed %d: %d ticks in %.2f s (%.0f ticks/s, %.0f player moves/s) on %d threads%n",
+                playerCount, seed, room.getTick(), seconds, room.getTick() / seconds,
+                room.getTick() * playerCount / seconds, pool.getParallelism());
+        System.out.printf("%d garbage rows sent, %d players left, winner %s, checksum %016x%n", sent,
+                room.getAliveCount(), winner != null ? String.valueOf(winner.getId()) : "none", room.checksum());
+    }
+}
@@ -0,0 +1,41 @@
+package com.comp2042;
+
+import com.comp2042.bot.AutoPlayRunner;
+import com.comp2042.bot.BoardEvaluator;
+import com.comp2042.model.BitBoard;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AutoPlayerTest {
+
+    @Test
+    public void testHeadlessAutoplaySurvivesAndIsReproducible() {
+        AutoPlayRunner.Result first = AutoPlayRunner.play(99L, 500);
+        AutoPlayRunner.Result second = AutoPlayRunner.play(99L, 500);
+
+        assertFalse(first.isToppedOut(), "Autoplayer should survive 500 pieces on an empty board");
+        assertEquals(500, first.getPieces(), "Run should stop at the piece limit");
+        assertTrue(first.getLines() > 100, "Autoplayer should clear lines regularly");
+        assertEquals(first.getScore(), second.getScore(), "Same seed should replay the same game");
+    }
+
+    @Test
+    public void testFeaturesOnSmallBoard() {
+        BitBoard board = new BitBoard(4, 4);
+        int[][] matrix = {
+                {0, 0, 0, 0},
+                {0, 1, 0, 0},
+                {1, 0, 0, 1},
+                {1, 1, 0, 1}
+        };
+        board.load(matrix);
+        double[] features = new double[BoardEvaluator.FEATURE_COUNT];
+        new BoardEvaluator().computeFeatures(board, 0, features);
+
+        assertEquals(2 + 3 + 0 + 2, features[BoardEvaluator.AGGREGATE_HEIGHT], "Aggregate height");
+        assertEquals(1, features[BoardEvaluator.HOLES], "Holes");
+        assertEquals(1 + 3 + 2, features[BoardEvaluator.BUMPINESS], "Bumpiness");
+        assertEquals(2, features[BoardEvaluator.WELLS], "Wells: one cell beside the left wall and one between two stacks");
+    }
+}
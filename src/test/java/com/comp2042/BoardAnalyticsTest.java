@@ -0,0 +1,98 @@
+package com.comp2042;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.controller.GameController;
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.event.EventType;
+import com.comp2042.model.BoardAnalytics;
+import com.comp2042.model.ClearRow;
+import com.comp2042.model.MatrixOperations;
+import com.comp2042.model.SimpleBoard;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardAnalyticsTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+
+    @Test
+    public void testIncrementalUpdatesMatchRebuild() {
+        Random random = new Random(17L);
+        int[][] matrix = new int[ROWS][COLUMNS];
+        BoardAnalytics incremental = new BoardAnalytics(ROWS, COLUMNS);
+        BoardAnalytics rebuilt = new BoardAnalytics(ROWS, COLUMNS);
+        int clears = 0;
+        for (int step = 0; step < 5_000; step++) {
+            // Bias towards the lower rows so rows complete now and then.
+            int row = ROWS - 1 - Math.min(random.nextInt(ROWS), random.nextInt(ROWS));
+            int col = random.nextInt(COLUMNS);
+            matrix[row][col] = 1;
+            incremental.fill(row, col);
+            ClearRow clearRow = MatrixOperations.checkRemoving(matrix);
+            if (clearRow.getLinesRemoved() > 0) {
+                matrix = clearRow.getNewMatrix();
+                incremental.clearRows(clearRow.getClearedRowIndices());
+                clears++;
+            }
+            rebuilt.load(matrix);
+            assertSameAnalytics(rebuilt, incremental, "step " + step);
+        }
+        assertTrue(clears > 0, "The sequence should exercise row clears");
+    }
+
+    @Test
+    public void testHoleCountAndStackTop() {
+        int[][] matrix = {
+                {0, 0, 0},
+                {0, 1, 0},
+                {0, 0, 1},
+                {1, 0, 1}
+        };
+        BoardAnalytics analytics = new BoardAnalytics(4, 3);
+        analytics.load(matrix);
+
+        assertEquals(2, analytics.getHoles(), "Two holes under the overhang in column 1, none elsewhere");
+        assertEquals(1, analytics.getStackTop(), "Highest filled cell is in row 1");
+        assertEquals(3, analytics.getMaxHeight(), "Tallest column reaches three rows");
+        assertTrue(analytics.reachesRow(1), "Stack reaches row 1");
+        assertFalse(analytics.reachesRow(0), "Row 0 is empty");
+        assertEquals(2, analytics.getRowFill(3), "Bottom row fill count");
+    }
+
+    @Test
+    public void testBoardKeepsAnalyticsInSync() {
+        SimpleBoard board = new SimpleBoard(ROWS, COLUMNS, new RandomBrickGenerator(23L));
+        GameController controller = new GameController(board);
+        controller.initGame();
+        AutoPlayer player = new AutoPlayer(ROWS, COLUMNS);
+        BoardAnalytics rebuilt = new BoardAnalytics(ROWS, COLUMNS);
+        int checkedPiece = -1;
+        while (controller.getPiecesLocked() < 300 && !controller.isGameOver()) {
+            if (controller.getPiecesLocked() != checkedPiece) {
+                checkedPiece = controller.getPiecesLocked();
+                rebuilt.load(board.getBoardMatrix());
+                assertSameAnalytics(rebuilt, board.getAnalytics(), "piece " + checkedPiece);
+            }
+            EventType move = player.nextMove(controller);
+            assertNotNull(move, "Autoplayer should always find a move");
+            AutoPlayer.apply(controller, move);
+        }
+        assertTrue(controller.getLinesCleared() > 0, "The run should exercise row clears");
+    }
+
+    private static void assertSameAnalytics(BoardAnalytics expected, BoardAnalytics actual, String where) {
+        assertEquals(expected.getHoles(), actual.getHoles(), "Holes after " + where);
+        assertEquals(expected.getStackTop(), actual.getStackTop(), "Stack top after " + where);
+        for (int col = 0; col < COLUMNS; col++) {
+            assertEquals(expected.getColumnHeight(col), actual.getColumnHeight(col),
+                    "Height of column " + col + " after " + where);
+        }
+        for (int row = 0; row < ROWS; row++) {
+            assertEquals(expected.getRowFill(row), actual.getRowFill(row), "Fill of row " + row + " after " + where);
+        }
+    }
+}
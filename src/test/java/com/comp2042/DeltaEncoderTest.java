@@ -0,0 +1,95 @@
+package com.comp2042;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.event.EventType;
+import com.comp2042.server.ClientState;
+import com.comp2042.server.DeltaEncoder;
+import com.comp2042.server.GameSession;
+import com.comp2042.server.Protocol;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeltaEncoderTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+
+    @Test
+    public void testDeltasReproduceFullStatesThroughLineClears() {
+        GameSession session = new GameSession(1, ROWS, COLUMNS, 11L, 16);
+        AutoPlayer player = new AutoPlayer(ROWS, COLUMNS);
+        DeltaEncoder encoder = new DeltaEncoder();
+        ClientState decoded = new ClientState();
+        ClientState expected = new ClientState();
+        ByteBuffer out = ByteBuffer.allocate(Protocol.MAX_PAYLOAD_BYTES * 2);
+
+        assertEquals(Protocol.MSG_STATE, encodeUpdate(session, encoder, out), "The first frame should be a keyframe");
+        decoded.read(out);
+        int keyframeBytes = out.limit();
+
+        long deltaBytes = 0;
+        int deltas = 0;
+        int seq = 0;
+        for (int tick = 0; tick < 4_000 && !session.isGameOver(); tick++) {
+            EventType move = player.nextMove(session.getController());
+            if (move != null) {
+                session.submit(move, ++seq);
+            }
+            if (!session.tick()) {
+                continue;
+            }
+            assertEquals(Protocol.MSG_DELTA, encodeUpdate(session, encoder, out), "Later frames should be deltas");
+            decoded.applyDelta(out);
+            assertFalse(out.hasRemaining(), "The delta should be consumed exactly");
+            deltaBytes += out.limit();
+            deltas++;
+
+            out.clear();
+            session.encodeState(out);
+            out.flip();
+            out.position(Protocol.FRAME_HEADER_BYTES + 1);
+            expected.read(out);
+            assertEquals(expected.toString(), decoded.toString(), "Delta decoding should match the full state at tick " + tick);
+        }
+        assertTrue(decoded.getLines() > 0, "The game should have cleared lines");
+        assertTrue(deltaBytes / deltas * 8 < keyframeBytes,
+                "Deltas should average under an eighth of a keyframe, got " + deltaBytes / deltas + " of " + keyframeBytes);
+    }
+
+    @Test
+    public void testResetSendsKeyframe() {
+        GameSession session = new GameSession(1, ROWS, COLUMNS, 12L, 16);
+        DeltaEncoder encoder = new DeltaEncoder();
+        ByteBuffer out = ByteBuffer.allocate(Protocol.MAX_PAYLOAD_BYTES);
+        encodeUpdate(session, encoder, out);
+        assertTrue(encoder.isPrimed(), "The encoder should be primed after a keyframe");
+        assertEquals(Protocol.MSG_DELTA, encodeUpdate(session, encoder, out), "An unchanged state should be a delta");
+
+        encoder.reset();
+        assertEquals(Protocol.MSG_STATE, encodeUpdate(session, encoder, out), "A reset should force a keyframe");
+    }
+
+    @Test
+    public void testVarLongRoundTrips() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        long[] values = {0, 1, 127, 128, 300, Integer.MAX_VALUE, -1L};
+        for (long value : values) {
+            buffer.clear();
+            Protocol.putVarLong(buffer, Protocol.zigZag(value));
+            buffer.flip();
+            assertEquals(value, Protocol.unZigZag(Protocol.getVarLong(buffer)), "Value " + value + " should round-trip");
+        }
+    }
+
+    /** Encodes one update and leaves {@code out} positioned at its payload; returns the frame type. */
+    private static byte encodeUpdate(GameSession session, DeltaEncoder encoder, ByteBuffer out) {
+        out.clear();
+        session.encodeUpdate(out, encoder);
+        out.flip();
+        out.position(Protocol.FRAME_HEADER_BYTES);
+        return out.get();
+    }
+}
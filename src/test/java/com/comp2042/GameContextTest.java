@@ -0,0 +1,102 @@
+package com.comp2042;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.controller.GameContext;
+import com.comp2042.controller.GameController;
+import com.comp2042.controller.HighScoreManager;
+import com.comp2042.controller.LevelProgressManager;
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.controller.SaveGameManager;
+import com.comp2042.controller.SoundManager;
+import com.comp2042.event.EventType;
+import com.comp2042.model.GameConfig;
+import com.comp2042.model.GameSnapshot;
+import com.comp2042.model.SimpleBoard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameContextTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+    private static final int SESSIONS = 64;
+
+    @Test
+    public void testHeadlessSessionsHaveIndependentConfig() {
+        GameController first = new GameController(new SimpleBoard(ROWS, COLUMNS));
+        GameController second = new GameController(new SimpleBoard(ROWS, COLUMNS));
+
+        first.getContext().getConfig().setGhostModeEnabled(false);
+        first.getContext().getConfig().setMusicVolume(150);
+
+        assertNotSame(first.getContext(), second.getContext(), "Each headless session should have its own context");
+        assertTrue(second.getContext().getConfig().isGhostModeEnabled(), "Other sessions should keep their settings");
+        assertEquals(100.0, first.getContext().getConfig().getMusicVolume(), "Volume should be clamped");
+        assertSame(SoundManager.silent(), first.getContext().getSound(), "Headless sessions should share silent sound");
+
+        GameConfig playerTwo = new GameConfig(first.getContext().getConfig());
+        GameContext split = first.getContext().withConfig(playerTwo);
+        assertFalse(split.getConfig().isGhostModeEnabled(), "A copied config should keep the settings");
+        assertSame(first.getContext().getSaves(), split.getSaves(), "A context with other settings shares its stores");
+    }
+
+    @Test
+    public void testHeadlessSessionsKeepTheirStoresInMemory() {
+        GameController first = new GameController(new SimpleBoard(ROWS, COLUMNS, new RandomBrickGenerator(1L)));
+        GameController second = new GameController(new SimpleBoard(ROWS, COLUMNS, new RandomBrickGenerator(1L)));
+        first.initGame();
+        second.initGame();
+
+        first.getContext().getHighScores().saveHighScore(1_234);
+        first.getContext().getLevelProgress().unlockLevel(5);
+        assertTrue(first.saveGame(), "A headless session should save in memory");
+
+        assertEquals(1_234, first.getContext().getHighScores().loadHighScore(), "The session should keep its score");
+        assertTrue(first.hasSavedGame(), "The session should keep its save");
+        assertTrue(first.getContext().getSaves().load(new GameSnapshot()), "The save should be readable");
+        first.getContext().getSaves().deleteSave();
+        assertFalse(first.hasSavedGame(), "A deleted save should be gone");
+        assertEquals(5, first.getContext().getLevelProgress().getHighestLevelUnlocked(),
+                "The session should keep its progress");
+
+        assertEquals(0, second.getContext().getHighScores().loadHighScore(), "Scores should not leak between sessions");
+        assertFalse(second.hasSavedGame(), "Saves should not leak between sessions");
+        assertEquals(1, second.getContext().getLevelProgress().getHighestLevelUnlocked(),
+                "Progress should not leak between sessions");
+    }
+
+    @Test
+    public void testParallelSessionsUseTheirOwnStores(@TempDir Path directory) {
+        int[] scores = IntStream.range(0, SESSIONS).parallel().map(i -> {
+            GameContext context = new GameContext(new GameConfig(), SoundManager.silent(),
+                    new HighScoreManager(directory.resolve("high-" + i + ".txt")),
+                    new SaveGameManager(directory.resolve("save-" + i + ".dat")),
+                    new LevelProgressManager(directory.resolve("progress-" + i + ".properties")));
+            GameController controller = new GameController(null,
+                    new SimpleBoard(ROWS, COLUMNS, new RandomBrickGenerator(i)), context);
+            controller.initGame();
+            AutoPlayer player = new AutoPlayer(ROWS, COLUMNS);
+            for (int step = 0; step < 2_000 && !controller.isGameOver(); step++) {
+                EventType move = player.nextMove(controller);
+                if (move == null) {
+                    break;
+                }
+                AutoPlayer.apply(controller, move);
+            }
+            int score = controller.getBoard().getScore().scoreProperty().get();
+            context.getHighScores().saveHighScore(score);
+            assertTrue(controller.saveGame(), "Session " + i + " should save to its own file");
+            return score;
+        }).toArray();
+
+        for (int i = 0; i < SESSIONS; i++) {
+            HighScoreManager store = new HighScoreManager(directory.resolve("high-" + i + ".txt"));
+            assertEquals(scores[i], store.loadHighScore(), "Session " + i + " should find its own high score");
+        }
+    }
+}
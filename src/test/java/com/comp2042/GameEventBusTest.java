@@ -0,0 +1,82 @@
+package com.comp2042;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.controller.GameController;
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.event.EventType;
+import com.comp2042.event.GameEventBus;
+import com.comp2042.event.GameEventListener;
+import com.comp2042.event.GameEventType;
+import com.comp2042.model.SimpleBoard;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameEventBusTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+    private static final int SUBSCRIBERS = 4;
+
+    @Test
+    public void testGameEventsReachEverySubscriber() {
+        GameController controller = new GameController(new SimpleBoard(ROWS, COLUMNS, new RandomBrickGenerator(7L)));
+        int[][] counts = new int[SUBSCRIBERS][GameEventType.values().length];
+        int[] linesReported = new int[1];
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            int[] subscriberCounts = counts[i];
+            controller.getEvents().subscribe((type, value, detail) -> subscriberCounts[type.ordinal()]++);
+        }
+        controller.getEvents().subscribe((type, value, detail) -> {
+            if (type == GameEventType.LINES_CLEARED) {
+                linesReported[0] += value;
+                assertEquals(linesReported[0], detail, "Lines cleared should carry the running total");
+            }
+        });
+
+        controller.initGame();
+        AutoPlayer player = new AutoPlayer(ROWS, COLUMNS);
+        while (!controller.isGameOver()) {
+            EventType move = player.nextMove(controller);
+            AutoPlayer.apply(controller, move != null ? move : EventType.DOWN);
+        }
+
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            int[] seen = counts[i];
+            assertEquals(controller.getPiecesLocked(), seen[GameEventType.LOCK.ordinal()],
+                    "Subscriber " + i + " should see every lock");
+            assertEquals(controller.getPiecesLocked(), seen[GameEventType.SPAWN.ordinal()],
+                    "Every brick but the one that could not spawn should be announced");
+            assertTrue(seen[GameEventType.MOVE.ordinal()] > 0, "Subscriber " + i + " should see moves");
+            assertEquals(1, seen[GameEventType.TOP_OUT.ordinal()], "Subscriber " + i + " should see the top out");
+        }
+        assertEquals(controller.getLinesCleared(), linesReported[0], "Lines cleared events should add up");
+    }
+
+    @Test
+    public void testSubscribersRunInOrderAndCanBeRemoved() {
+        GameEventBus bus = new GameEventBus();
+        List<String> calls = new ArrayList<>();
+        GameEventListener first = (type, value, detail) -> calls.add("first " + type + " " + value + " " + detail);
+        GameEventListener second = (type, value, detail) -> calls.add("second " + type);
+        bus.subscribe(first);
+        bus.subscribe(second);
+
+        bus.publish(GameEventType.LEVEL_UP, 3, 1);
+        assertEquals(List.of("first LEVEL_UP 3 1", "second LEVEL_UP"), calls,
+                "Subscribers should be called in the order they subscribed");
+
+        bus.unsubscribe(first);
+        bus.publish(GameEventType.TOP_OUT, 100, 0);
+        assertEquals("second TOP_OUT", calls.get(calls.size() - 1), "The remaining subscriber should still be called");
+        assertEquals(3, calls.size(), "A removed subscriber should not be called");
+
+        bus.unsubscribe(second);
+        assertEquals(0, bus.size(), "The bus should be empty");
+        bus.publish(GameEventType.BOARD_CHANGED, 0, 0);
+        assertEquals(3, calls.size(), "Publishing without subscribers should do nothing");
+    }
+}
@@ -0,0 +1,60 @@
+package com.comp2042;
+
+import com.comp2042.event.EventType;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.server.ClientState;
+import com.comp2042.server.GameServer;
+import com.comp2042.server.LocalClient;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameServerTest {
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    @Test
+    public void testClientsPlayIndependentSessions() throws Exception {
+        try (GameServer server = new GameServer(5, 2)) {
+            int port = server.start(0);
+            try (LocalClient first = LocalClient.connect("localhost", port, 1L);
+                 LocalClient second = LocalClient.connect("localhost", port, 2L)) {
+                assertNotNull(first.await(state -> true, TIMEOUT_MILLIS), "First client should receive a state");
+                assertNotNull(second.await(state -> true, TIMEOUT_MILLIS), "Second client should receive a state");
+                assertNotEquals(first.getSessionId(), second.getSessionId(), "Each client should get its own session");
+                assertEquals(2, server.getSessionCount(), "Both sessions should be ticking");
+
+                first.send(EventType.LEFT);
+                first.send(EventType.LEFT);
+                int seq = first.send(EventType.LEFT);
+                ClientState moved = first.await(state -> state.getLastInputSeq() == seq, TIMEOUT_MILLIS);
+                assertNotNull(moved, "The server should acknowledge the inputs");
+                assertEquals(SimpleBoard.SPAWN_X - 3, moved.getX(), "Three left moves should be applied in order");
+
+                ClientState other = second.await(state -> true, TIMEOUT_MILLIS);
+                assertEquals(SimpleBoard.SPAWN_X, other.getX(), "The other session should not see the moves");
+            }
+        }
+    }
+
+    @Test
+    public void testDroppedBrickLocksAndSessionClosesWithClient() throws Exception {
+        try (GameServer server = new GameServer(5, 1)) {
+            int port = server.start(0);
+            try (LocalClient client = LocalClient.connect("localhost", port, 3L)) {
+                for (int i = 0; i < 30; i++) {
+                    client.send(EventType.DOWN);
+                }
+                ClientState locked = client.await(state -> state.getPieces() >= 1, TIMEOUT_MILLIS);
+                assertNotNull(locked, "Soft-dropping should lock the first brick");
+                assertNotEquals(0, locked.getRowMask(locked.getRows() - 1), "The brick should rest on the floor");
+                assertTrue(locked.getScore() > 0, "User soft drops should score");
+            }
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (server.getSessionCount() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(0, server.getSessionCount(), "Disconnecting should close the session");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.comp2042;
+
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.model.GameSnapshot;
+import com.comp2042.model.SimpleBoard;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSnapshotTest {
+
+    @Test
+    public void testEncodedSnapshotRestoresBoardAndUpcomingBricks() {
+        SimpleBoard original = new SimpleBoard(25, 13, new RandomBrickGenerator(42L));
+        original.createNewBrick();
+        for (int i = 0; i < 30; i++) {
+            if (!original.moveBrickDown()) {
+                original.mergeBrickToBackground();
+                original.clearRows();
+                original.createNewBrick();
+            }
+        }
+        original.moveBrickLeft();
+        original.getScore().add(120);
+
+        GameSnapshot saved = new GameSnapshot();
+        original.saveSnapshot(saved);
+        saved.setLevelState(true, 3, 7);
+        ByteBuffer buffer = ByteBuffer.allocate(GameSnapshot.MAX_ENCODED_SIZE);
+        saved.encode(buffer);
+        buffer.flip();
+
+        GameSnapshot loaded = new GameSnapshot();
+        loaded.decode(buffer);
+        SimpleBoard restored = new SimpleBoard(25, 13);
+        restored.restoreSnapshot(loaded);
+
+        assertArrayEquals(original.getBoardMatrix(), restored.getBoardMatrix(), "Background cells should survive a save round trip");
+        assertArrayEquals(original.getViewData().getBrickData(), restored.getViewData().getBrickData(), "Active brick and rotation should be restored");
+        assertEquals(original.getViewData().getxPosition(), restored.getViewData().getxPosition(), "Active brick column should be restored");
+        assertEquals(original.getViewData().getyPosition(), restored.getViewData().getyPosition(), "Active brick row should be restored");
+        assertEquals(120, restored.getScore().scoreProperty().get(), "Score should be restored");
+        assertTrue(loaded.isLevelMode(), "Level mode flag should be restored");
+        assertEquals(3, loaded.getLevelId(), "Level id should be restored");
+        assertEquals(7, loaded.getBlocksPlaced(), "Blocks placed should be restored");
+
+        for (int i = 0; i < 10; i++) {
+            assertArrayEquals(original.getViewData().getNextBrickData(), restored.getViewData().getNextBrickData(), "Upcoming bricks should match after restore");
+            original.createNewBrick();
+            restored.createNewBrick();
+        }
+    }
+
+    @Test
+    public void testCorruptedSnapshotIsRejected() {
+        SimpleBoard board = new SimpleBoard(25, 13, new RandomBrickGenerator(7L));
+        board.createNewBrick();
+        GameSnapshot saved = new GameSnapshot();
+        board.saveSnapshot(saved);
+        ByteBuffer buffer = ByteBuffer.allocate(GameSnapshot.MAX_ENCODED_SIZE);
+        saved.encode(buffer);
+        buffer.flip();
+        buffer.put(20, (byte) (buffer.get(20) ^ 0x5A));
+
+        assertThrows(IllegalArgumentException.class, () -> new GameSnapshot().decode(buffer), "A checksum mismatch should be rejected");
+    }
+
+    @Test
+    public void testUnknownBrickOrRotationIsRejected() {
+        SimpleBoard board = new SimpleBoard(25, 13, new RandomBrickGenerator(7L));
+        board.createNewBrick();
+        GameSnapshot saved = new GameSnapshot();
+        board.saveSnapshot(saved);
+        ByteBuffer buffer = ByteBuffer.allocate(GameSnapshot.MAX_ENCODED_SIZE);
+        saved.encode(buffer);
+        buffer.flip();
+        // The brick id and rotation are followed by 31 bytes of position, seed,
+        // score and level fields, the queue and the checksum.
+        int brickOffset = buffer.limit() - 33 - saved.getQueueLength();
+        assertEquals(saved.getBrickId(), buffer.get(brickOffset), "The brick id should be where the test expects it");
+
+        ByteBuffer unknownBrick = withChecksum(buffer, brickOffset, (byte) 9);
+        assertThrows(IllegalArgumentException.class, () -> new GameSnapshot().decode(unknownBrick),
+                "A brick id outside 1..7 should be rejected even with a valid checksum");
+        ByteBuffer unknownRotation = withChecksum(buffer, brickOffset + 1, (byte) 4);
+        assertThrows(IllegalArgumentException.class, () -> new GameSnapshot().decode(unknownRotation),
+                "A rotation the brick does not have should be rejected even with a valid checksum");
+    }
+
+    /** Returns a copy with one byte changed and the trailing CRC32 recomputed. */
+    private static ByteBuffer withChecksum(ByteBuffer encoded, int offset, byte value) {
+        ByteBuffer copy = ByteBuffer.allocate(encoded.limit());
+        copy.put(encoded.duplicate()).flip();
+        copy.put(offset, value);
+        CRC32 crc = new CRC32();
+        crc.update(copy.duplicate().limit(copy.limit() - 4));
+        copy.putInt(copy.limit() - 4, (int) crc.getValue());
+        return copy;
+    }
+}
@@ -1,6 +1,7 @@
 package com.comp2042;
 
 import com.comp2042.controller.LevelManager;
+import com.comp2042.controller.LevelProgressManager;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -9,7 +10,7 @@ public class LevelManagerTest {
 
     @Test
     public void testCheckLevelCompleteReturnsTrueWhenRequirementsMet() {
-        LevelManager levelManager = new LevelManager(1);
+        LevelManager levelManager = new LevelManager(1, LevelProgressManager.inMemory());
 
         int blocksRequired = levelManager.getBlocksRequired();
         int scoreRequired = levelManager.getScoreRequired();
@@ -26,7 +27,7 @@ public class LevelManagerTest {
 
     @Test
     public void testCheckLevelFailedWhenBlocksRunOutAndScoreLow() {
-        LevelManager levelManager = new LevelManager(1);
+        LevelManager levelManager = new LevelManager(1, LevelProgressManager.inMemory());
 
         int blocksRequired = levelManager.getBlocksRequired();
         int scoreRequired = levelManager.getScoreRequired();
@@ -45,7 +46,7 @@ public class LevelManagerTest {
 
     @Test
     public void testUnlockNextLevelUnlocksHigherLevel() {
-        LevelManager levelManager = new LevelManager(1);
+        LevelManager levelManager = new LevelManager(1, LevelProgressManager.inMemory());
         int initialLevel = levelManager.getCurrentLevel();
         int nextLevel = initialLevel + 1;
 
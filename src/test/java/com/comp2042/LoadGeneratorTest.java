@@ -0,0 +1,46 @@
+package com.comp2042;
+
+import com.comp2042.server.GameServer;
+import com.comp2042.server.LoadGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadGeneratorTest {
+
+    private static final int PLAYERS = 16;
+    private static final long DURATION_MILLIS = 1_500;
+
+    @Test
+    public void testAutoplayLoadIsMeasuredAndExported(@TempDir Path directory) throws Exception {
+        Path csv = directory.resolve("load.csv");
+        try (GameServer server = new GameServer(GameServer.DEFAULT_TICK_MILLIS, 1)) {
+            int port = server.start(0);
+            LoadGenerator generator = new LoadGenerator("localhost", port, PLAYERS, LoadGenerator.Policy.AUTOPLAY,
+                    DURATION_MILLIS, 200, 10, 5L);
+            LoadGenerator.Result result = generator.run();
+            result.addServerTicks(server, 1);
+
+            assertTrue(result.getInputs() > 0, "Players should have sent acknowledged inputs");
+            assertEquals(0, result.getErrors(), "No connection should fail");
+            assertTrue(result.getGames() >= PLAYERS, "Every player should have started a game");
+            assertEquals(result.getInputs(), result.getAckNanos().getCount(),
+                    "Every acknowledged input should have its latency recorded");
+            assertTrue(result.getTickNanos().getCount() > 0, "Server ticks should have been timed");
+
+            result.appendCsv(csv);
+            result.appendCsv(csv);
+        }
+
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals(5, lines.size(), "Header should be written once, then two rows per run");
+        assertTrue(lines.get(0).startsWith("players,policy"), "First line should be the header");
+        assertTrue(lines.get(1).startsWith(PLAYERS + ",autoplay,1,"), "Rows should start with the run's settings");
+        assertTrue(lines.get(2).contains(",server_tick,"), "Second row should hold server tick times");
+    }
+}
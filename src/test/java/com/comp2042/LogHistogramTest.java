@@ -0,0 +1,39 @@
+package com.comp2042;
+
+import com.comp2042.diagnostics.LogHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogHistogramTest {
+
+    @Test
+    public void testPercentilesStayWithinBucketPrecision() {
+        LogHistogram histogram = new LogHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1_000L);
+        }
+
+        assertEquals(10_000, histogram.getCount(), "Every recorded value should be counted");
+        assertEquals(10_000_000L, histogram.getMax(), "Maximum should be exact");
+        assertWithinPrecision(5_000_000L, histogram.getValueAtPercentile(50), "p50");
+        assertWithinPrecision(9_900_000L, histogram.getValueAtPercentile(99), "p99");
+        assertEquals(10_000_000L, histogram.getValueAtPercentile(100), "p100 should be the maximum");
+    }
+
+    @Test
+    public void testResetClearsRecordedValues() {
+        LogHistogram histogram = new LogHistogram();
+        histogram.record(123_456L);
+        histogram.record(-5L);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount(), "Reset histogram should be empty");
+        assertEquals(0, histogram.getValueAtPercentile(99), "Empty histogram should report zero");
+    }
+
+    private static void assertWithinPrecision(long expected, long actual, String name) {
+        double error = Math.abs(actual - expected) / (double) expected;
+        assertTrue(error <= 0.0625, name + " should be within 6.25% of " + expected + " but was " + actual);
+    }
+}
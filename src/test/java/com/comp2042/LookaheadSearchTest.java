@@ -0,0 +1,58 @@
+package com.comp2042;
+
+import com.comp2042.bot.BoardEvaluator;
+import com.comp2042.bot.LookaheadSearch;
+import com.comp2042.model.BitBoard;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LookaheadSearchTest {
+
+    private static final int ROWS = 25;
+    private static final int COLS = 13;
+    private static final int STACK_HEIGHT = 8;
+
+    @Test
+    public void testResultDoesNotDependOnThreadCount() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            LookaheadSearch sequential = new LookaheadSearch(ROWS, COLS, BoardEvaluator.defaultWeights(), single, 3);
+            LookaheadSearch parallel = new LookaheadSearch(ROWS, COLS, BoardEvaluator.defaultWeights(), several, 3);
+            Random random = new Random(11);
+            BitBoard board = new BitBoard(ROWS, COLS);
+            for (int trial = 0; trial < 5; trial++) {
+                board.load(TestBoards.randomStack(random, ROWS, COLS, STACK_HEIGHT));
+                int current = 1 + random.nextInt(7);
+                int next = 1 + random.nextInt(7);
+                LookaheadSearch.Result a = sequential.search(board, current, 0, 4, 0, next, 3, Long.MAX_VALUE / 4);
+                LookaheadSearch.Result b = parallel.search(board, current, 0, 4, 0, next, 3, Long.MAX_VALUE / 4);
+
+                assertEquals(3, a.getCompletedDepth(), "Unbounded search should finish every level");
+                assertEquals(a.getX(), b.getX(), "Column should not depend on thread count");
+                assertEquals(a.getRotation(), b.getRotation(), "Rotation should not depend on thread count");
+                assertEquals(a.getY(), b.getY(), "Row should not depend on thread count");
+                assertEquals(a.getScore(), b.getScore(), "Score should be bit-for-bit identical");
+            }
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    @Test
+    public void testExhaustedBudgetFallsBackToCompletedDepth() {
+        LookaheadSearch search = new LookaheadSearch(ROWS, COLS, BoardEvaluator.defaultWeights(), ForkJoinPool.commonPool(), 3);
+        BitBoard board = new BitBoard(ROWS, COLS);
+        board.load(TestBoards.randomStack(new Random(3), ROWS, COLS, STACK_HEIGHT));
+
+        LookaheadSearch.Result result = search.search(board, 6, 0, 4, 0, 2, 4, 0L);
+
+        assertNotNull(result, "A placement should still be returned");
+        assertEquals(1, result.getCompletedDepth(), "Only the single-brick level fits in a zero budget");
+    }
+}
@@ -0,0 +1,97 @@
+package com.comp2042;
+
+import com.comp2042.bot.BoardEvaluator;
+import com.comp2042.bot.MonteCarloSearch;
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.model.BitBoard;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MonteCarloSearchTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+    private static final int HORIZON = 4;
+    private static final int CANDIDATES = 3;
+    private static final int ROLLOUTS_PER_ROUND = 4;
+
+    @Test
+    public void testCandidatesShareTheBricksOfEachRollout() {
+        Map<Long, Integer> rolloutsPerSeed = new ConcurrentHashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MonteCarloSearch search = new MonteCarloSearch(ROWS, COLUMNS, BoardEvaluator.defaultWeights(), pool,
+                    recording(rolloutsPerSeed), HORIZON, CANDIDATES);
+            BitBoard board = new BitBoard(ROWS, COLUMNS);
+            board.load(TestBoards.randomStack(new Random(5), ROWS, COLUMNS, 8));
+
+            MonteCarloSearch.Result result = search.search(board, 6, 0, 4, 0, 2, Long.MAX_VALUE, 2);
+
+            assertEquals(2 * ROLLOUTS_PER_ROUND, result.getRollouts(), "Each candidate should get two rounds");
+            assertEquals(2 * ROLLOUTS_PER_ROUND, rolloutsPerSeed.size(),
+                    "Rollout k should use the same seed for every candidate");
+            for (int uses : rolloutsPerSeed.values()) {
+                assertEquals(CANDIDATES, uses, "Every candidate should play each brick sequence once");
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testRolloutsGrowWithRoundsWhateverTheThreadCount() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            Map<Long, Integer> sequentialSeeds = new ConcurrentHashMap<>();
+            Map<Long, Integer> parallelSeeds = new ConcurrentHashMap<>();
+            MonteCarloSearch sequential = new MonteCarloSearch(ROWS, COLUMNS, BoardEvaluator.defaultWeights(), single,
+                    recording(sequentialSeeds), HORIZON, CANDIDATES);
+            MonteCarloSearch parallel = new MonteCarloSearch(ROWS, COLUMNS, BoardEvaluator.defaultWeights(), several,
+                    recording(parallelSeeds), HORIZON, CANDIDATES);
+            BitBoard board = new BitBoard(ROWS, COLUMNS);
+            board.load(TestBoards.randomStack(new Random(3), ROWS, COLUMNS, 8));
+
+            assertEquals(0, sequential.search(board, 6, 0, 4, 0, 2, 0L, 4).getRollouts(),
+                    "No round fits in a zero budget");
+            int played = 0;
+            for (int rounds : new int[] {1, 3, 6}) {
+                MonteCarloSearch.Result a = sequential.search(board, 6, 0, 4, 0, 2, Long.MAX_VALUE, rounds);
+                MonteCarloSearch.Result b = parallel.search(board, 6, 0, 4, 0, 2, Long.MAX_VALUE, rounds);
+                played += rounds * ROLLOUTS_PER_ROUND * CANDIDATES;
+
+                assertEquals(rounds * ROLLOUTS_PER_ROUND, a.getRollouts(), "Each round should add four rollouts");
+                assertEquals(played, total(sequentialSeeds), "Each candidate should play every rollout of a round");
+                assertEquals(a.getX(), b.getX(), "Column should not depend on thread count");
+                assertEquals(a.getRotation(), b.getRotation(), "Rotation should not depend on thread count");
+                assertEquals(a.getMean(), b.getMean(), "Mean should be bit-for-bit identical");
+            }
+            assertEquals(sequentialSeeds, parallelSeeds, "Both pools should play the same brick sequences");
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    /** Generators that count how often each rollout seed is played. */
+    private static LongFunction<RandomBrickGenerator> recording(Map<Long, Integer> rolloutsPerSeed) {
+        return seed -> new RandomBrickGenerator(seed) {
+            @Override
+            public void restoreState(long randomState, int[] queuedBrickIds, int count) {
+                rolloutsPerSeed.merge(randomState, 1, Integer::sum);
+                super.restoreState(randomState, queuedBrickIds, count);
+            }
+        };
+    }
+
+    private static int total(Map<Long, Integer> rolloutsPerSeed) {
+        return rolloutsPerSeed.values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
@@ -0,0 +1,62 @@
+package com.comp2042;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.controller.GameController;
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.event.EventType;
+import com.comp2042.model.Board;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.ui.MoveHintService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveHintServiceTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+
+    @Test
+    public void testHintForALockedPieceIsDiscarded() throws Exception {
+        GameController controller = new GameController(new SimpleBoard(ROWS, COLUMNS, new RandomBrickGenerator(9L)));
+        controller.initGame();
+        // Deliveries queue up here instead of on the FX thread, so the test decides when they run.
+        BlockingQueue<Runnable> fxThread = new LinkedBlockingQueue<>();
+        List<MoveHintService.Hint> hints = new ArrayList<>();
+        MoveHintService service = new MoveHintService(ROWS, COLUMNS, controller::getPiecesLocked,
+                fxThread::add, hints::add);
+        try {
+            request(service, controller.getBoard());
+            Runnable delivery = fxThread.poll(10, TimeUnit.SECONDS);
+            assertNotNull(delivery, "The search should finish and post its hint");
+            delivery.run();
+            assertEquals(1, hints.size(), "A hint for the current piece should be delivered");
+            assertEquals(0, hints.get(0).getPiece(), "The hint should be for the first piece");
+            assertEquals(controller.getBoard().getCurrentBrickId(), hints.get(0).getBrickId(),
+                    "The hint should be for the active brick");
+
+            request(service, controller.getBoard());
+            delivery = fxThread.poll(10, TimeUnit.SECONDS);
+            assertNotNull(delivery, "The search should finish and post its hint");
+            int locked = controller.getPiecesLocked();
+            while (controller.getPiecesLocked() == locked) {
+                AutoPlayer.apply(controller, EventType.DOWN);
+            }
+            delivery.run();
+            assertEquals(1, hints.size(), "A hint computed for a piece that has locked should be discarded");
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static void request(MoveHintService service, Board board) {
+        service.request(board.getBoardMatrix(), board.getCurrentBrickId(), board.getCurrentRotation(),
+                board.getViewData().getxPosition(), board.getViewData().getyPosition(), 0);
+    }
+}
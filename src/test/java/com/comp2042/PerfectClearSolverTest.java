@@ -0,0 +1,85 @@
+package com.comp2042;
+
+import com.comp2042.bot.PerfectClearSolver;
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.model.BitBoard;
+import com.comp2042.model.BoardText;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.model.ZobristHash;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerfectClearSolverTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+    private static final int I = 1;
+    private static final int O = 4;
+
+    @Test
+    public void testBoardTextLoadsIntoSimpleBoard() {
+        String text = "#......######/2222222222.22";
+        int[][] cells = BoardText.parse(text, ROWS, COLUMNS);
+        assertEquals(2, cells[ROWS - 1][0], "Digits should keep their colour");
+        assertEquals(BoardText.DEFAULT_COLOUR, cells[ROWS - 2][0], "Other characters should use the default colour");
+        assertEquals("#......######/##########.##", BoardText.format(cells), "Formatting should round-trip the cells");
+
+        SimpleBoard board = new SimpleBoard(ROWS, COLUMNS, new RandomBrickGenerator(1L));
+        board.newGame();
+        board.loadCells(cells);
+        assertEquals(ZobristHash.hash(cells), board.getBoardHash(), "Loading should rehash the board");
+        assertEquals(ROWS - 2, board.getAnalytics().getStackTop(), "Loading should refresh the analytics");
+        assertEquals(1, board.getAnalytics().getHoles(), "Loading should count the covered gap as a hole");
+    }
+
+    @Test
+    public void testSolvesAndRejectsSingleLinePuzzles() {
+        PerfectClearSolver solver = new PerfectClearSolver(ROWS, COLUMNS, new ForkJoinPool(2));
+        int[][] cells = BoardText.parse("#########....", ROWS, COLUMNS);
+
+        PerfectClearSolver.Solution solution = solver.solve(cells, new int[]{I, O}, 2);
+        assertNotNull(solution, "A flat I brick should fill the gap");
+        assertEquals(1, solution.getLength(), "The solution should stop once the board is empty");
+        assertEmptyAfter(cells, solution);
+
+        assertNull(solver.solve(cells, new int[]{O, O, O}, 3), "O bricks can never leave a single row empty");
+        assertNull(solver.solve(BoardText.parse("##########...", ROWS, COLUMNS), new int[]{I}, 1),
+                "Three cells cannot be filled by one brick");
+    }
+
+    @Test
+    public void testAnswerDoesNotDependOnThreadCount() {
+        int[][] cells = BoardText.parse(".......######/##...########/###..########", ROWS, COLUMNS);
+        PerfectClearSolver sequential = new PerfectClearSolver(ROWS, COLUMNS, new ForkJoinPool(1));
+        PerfectClearSolver parallel = new PerfectClearSolver(ROWS, COLUMNS, new ForkJoinPool(4));
+        int solvable = 0;
+        for (long seed = 1; seed <= 40; seed++) {
+            int[] brickIds = PerfectClearSolver.sequence(new RandomBrickGenerator(seed), 5);
+            PerfectClearSolver.Solution expected = sequential.solve(cells, brickIds, 5);
+            PerfectClearSolver.Solution actual = parallel.solve(cells, brickIds, 5);
+            assertEquals(String.valueOf(expected), String.valueOf(actual),
+                    "Seed " + seed + " should give the same answer on one and four threads");
+            if (expected != null) {
+                solvable++;
+                assertEmptyAfter(cells, expected);
+            }
+        }
+        assertTrue(solvable > 0, "Some seeds should admit a perfect clear");
+    }
+
+    private static void assertEmptyAfter(int[][] cells, PerfectClearSolver.Solution solution) {
+        BitBoard board = new BitBoard(ROWS, COLUMNS);
+        board.load(cells);
+        for (int i = 0; i < solution.getLength(); i++) {
+            assertFalse(board.collides(solution.getBrickId(i), solution.getRotation(i), solution.getX(i),
+                    solution.getY(i)), "Placement " + i + " should fit");
+            assertTrue(board.collides(solution.getBrickId(i), solution.getRotation(i), solution.getX(i),
+                    solution.getY(i) + 1), "Placement " + i + " should rest on the stack");
+            board.place(solution.getBrickId(i), solution.getRotation(i), solution.getX(i), solution.getY(i));
+        }
+        assertEquals(ROWS, board.getStackTop(), "The board should be empty after the solution");
+    }
+}
@@ -0,0 +1,135 @@
+package com.comp2042;
+
+import com.comp2042.event.EventType;
+import com.comp2042.model.BitBoard;
+import com.comp2042.model.MatrixOperations;
+import com.comp2042.model.PieceTable;
+import com.comp2042.model.PlacementEnumerator;
+import com.comp2042.model.PlacementList;
+import com.comp2042.model.TetrominoFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlacementEnumeratorTest {
+
+    private static final int ROWS = 25;
+    private static final int COLS = 13;
+
+    @Test
+    public void testPlacementsMatchReferenceSearchOnRandomBoards() {
+        Random random = new Random(2025);
+        PlacementEnumerator enumerator = new PlacementEnumerator(ROWS, COLS);
+        PlacementList placements = new PlacementList();
+        BitBoard bitBoard = new BitBoard(ROWS, COLS);
+
+        for (int trial = 0; trial < 200; trial++) {
+            int[][] matrix = randomBoard(random, 3 + random.nextInt(18));
+            bitBoard.load(matrix);
+            for (int id = PieceTable.FIRST_ID; id <= PieceTable.LAST_ID; id++) {
+                Set<String> expected = referencePlacements(matrix, id);
+                int count = enumerator.enumerate(bitBoard, id, 0, 4, 0, placements);
+
+                Set<String> actual = new HashSet<>();
+                for (int i = 0; i < count; i++) {
+                    actual.add(key(placements.getX(i), placements.getRotation(i), placements.getY(i)));
+                }
+                assertEquals(expected, actual, "Brick " + id + " placements should match a plain search in trial " + trial);
+                assertEquals(actual.size(), count, "Each placement should be reported once");
+            }
+        }
+    }
+
+    @Test
+    public void testPathsReplayToTheirPlacements() {
+        Random random = new Random(7);
+        PlacementEnumerator enumerator = new PlacementEnumerator(ROWS, COLS);
+        PlacementList placements = new PlacementList();
+        BitBoard bitBoard = new BitBoard(ROWS, COLS);
+        EventType[] path = new EventType[enumerator.getMaxPathLength()];
+
+        for (int trial = 0; trial < 50; trial++) {
+            int[][] matrix = randomBoard(random, 4 + random.nextInt(12));
+            bitBoard.load(matrix);
+            int id = PieceTable.FIRST_ID + random.nextInt(PieceTable.LAST_ID);
+            List<int[][]> shapes = TetrominoFactory.createBlock(id).getShapeMatrix();
+            int count = enumerator.enumerate(bitBoard, id, 0, 4, 0, placements);
+            for (int i = 0; i < count; i++) {
+                int length = enumerator.getPath(placements, i, path);
+                int x = 4;
+                int y = 0;
+                int rotation = 0;
+                for (int step = 0; step < length; step++) {
+                    int nx = x;
+                    int ny = y;
+                    int nr = rotation;
+                    switch (path[step]) {
+                        case LEFT: nx--; break;
+                        case RIGHT: nx++; break;
+                        case DOWN: ny++; break;
+                        default: nr = (rotation + 1) % shapes.size(); break;
+                    }
+                    assertFalse(MatrixOperations.intersect(matrix, shapes.get(nr), nx, ny), "Every step of a path should be a legal move");
+                    x = nx;
+                    y = ny;
+                    rotation = nr;
+                }
+                assertEquals(key(placements.getX(i), placements.getRotation(i), placements.getY(i)), key(x, rotation, y),
+                        "Path should end on its placement");
+                assertTrue(MatrixOperations.intersect(matrix, shapes.get(rotation), x, y + 1), "Placement should be resting on the stack");
+            }
+        }
+    }
+
+    private static int[][] randomBoard(Random random, int stackHeight) {
+        int[][] matrix = new int[ROWS][COLS];
+        for (int row = ROWS - stackHeight; row < ROWS; row++) {
+            double density = 0.3 + 0.6 * (row - (ROWS - stackHeight)) / (double) stackHeight;
+            for (int col = 0; col < COLS; col++) {
+                if (random.nextDouble() < density) {
+                    matrix[row][col] = 1 + random.nextInt(7);
+                }
+            }
+            matrix[row][random.nextInt(COLS)] = 0;
+        }
+        return matrix;
+    }
+
+    private static Set<String> referencePlacements(int[][] matrix, int id) {
+        List<int[][]> shapes = TetrominoFactory.createBlock(id).getShapeMatrix();
+        Set<String> seen = new HashSet<>();
+        Set<String> result = new HashSet<>();
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        if (MatrixOperations.intersect(matrix, shapes.get(0), 4, 0)) {
+            return result;
+        }
+        queue.add(new int[]{4, 0, 0});
+        seen.add(key(4, 0, 0));
+        while (!queue.isEmpty()) {
+            int[] s = queue.poll();
+            int x = s[0];
+            int rotation = s[1];
+            int y = s[2];
+            if (MatrixOperations.intersect(matrix, shapes.get(rotation), x, y + 1)) {
+                result.add(key(x, rotation, y));
+            }
+            int[][] next = {{x, rotation, y + 1}, {x - 1, rotation, y}, {x + 1, rotation, y}, {x, (rotation + 1) % shapes.size(), y}};
+            for (int[] n : next) {
+                if (!MatrixOperations.intersect(matrix, shapes.get(n[1]), n[0], n[2]) && seen.add(key(n[0], n[1], n[2]))) {
+                    queue.add(n);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String key(int x, int rotation, int y) {
+        return x + "," + rotation + "," + y;
+    }
+}
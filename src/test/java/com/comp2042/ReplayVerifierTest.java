@@ -0,0 +1,120 @@
+package com.comp2042;
+
+import com.comp2042.event.EventSource;
+import com.comp2042.event.EventType;
+import com.comp2042.event.MoveEvent;
+import com.comp2042.replay.ReplaySubmission;
+import com.comp2042.replay.ReplayVerifier;
+import com.comp2042.replay.TimedMove;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplayVerifierTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+    private static final int MAX_PIECES = 120;
+    private static final long MOVE_MILLIS = 50;
+
+    @Test
+    public void testHonestRunIsAcceptedAndTamperedRunsAreRejected() throws Exception {
+        ReplaySubmission honest = ReplayVerifier.recordAutoplay(ROWS, COLUMNS, 7L, MAX_PIECES, MOVE_MILLIS);
+        assertTrue(honest.getClaimedLines() > 0, "The autoplayed run should clear lines");
+
+        try (ReplayVerifier verifier = new ReplayVerifier(2, 16)) {
+            ReplayVerifier.Verdict verdict = verifier.submit(honest).get();
+            assertEquals(ReplayVerifier.Status.ACCEPTED, verdict.getStatus(), "An honest run should be accepted");
+            assertEquals(honest.getClaimedScore(), verdict.getScore(), "Replayed score should match the claim");
+            assertEquals(honest.getClaimedLines(), verdict.getLines(), "Replayed lines should match the claim");
+            assertEquals(honest.getMoves().size(), verdict.getMovesReplayed(), "Every move should be replayed");
+
+            ReplaySubmission inflated = new ReplaySubmission(ROWS, COLUMNS, honest.getSeed(),
+                    honest.getClaimedScore() + 50, honest.getClaimedLines(), honest.getMoves());
+            assertEquals(ReplayVerifier.Status.SCORE_MISMATCH, verifier.submit(inflated).get().getStatus(),
+                    "An inflated score should be rejected");
+
+            ReplaySubmission otherSeed = new ReplaySubmission(ROWS, COLUMNS, honest.getSeed() + 1,
+                    honest.getClaimedScore(), honest.getClaimedLines(), honest.getMoves());
+            assertFalse(verifier.submit(otherSeed).get().isAccepted(),
+                    "The moves should not reproduce the score on another brick sequence");
+
+            List<TimedMove> stalled = new ArrayList<>();
+            for (TimedMove move : honest.getMoves()) {
+                boolean late = stalled.size() >= 20;
+                stalled.add(late ? new TimedMove(move.getTimeMillis() + 1_000, move.getEvent()) : move);
+            }
+            ReplaySubmission noGravity = new ReplaySubmission(ROWS, COLUMNS, honest.getSeed(),
+                    honest.getClaimedScore(), honest.getClaimedLines(), stalled);
+            assertEquals(ReplayVerifier.Status.BAD_TIMING, verifier.submit(noGravity).get().getStatus(),
+                    "A run that skips gravity should be rejected");
+
+            List<TimedMove> extra = new ArrayList<>(honest.getMoves());
+            long end = extra.get(extra.size() - 1).getTimeMillis();
+            extra.add(new TimedMove(end - 1, new MoveEvent(EventType.LEFT, EventSource.USER)));
+            ReplaySubmission backwards = new ReplaySubmission(ROWS, COLUMNS, honest.getSeed(),
+                    honest.getClaimedScore(), honest.getClaimedLines(), extra);
+            assertEquals(ReplayVerifier.Status.BAD_TIMING, verifier.submit(backwards).get().getStatus(),
+                    "Move times must not go backwards");
+        }
+    }
+
+    @Test
+    public void testIdenticalSubmissionsAreVerifiedOnce() throws Exception {
+        ReplaySubmission run = ReplayVerifier.recordAutoplay(ROWS, COLUMNS, 11L, MAX_PIECES, MOVE_MILLIS);
+        ReplaySubmission copy = new ReplaySubmission(ROWS, COLUMNS, run.getSeed(), run.getClaimedScore(),
+                run.getClaimedLines(), run.getMoves());
+        assertEquals(run.getDigest(), copy.getDigest(), "Identical submissions should share a digest");
+
+        try (ReplayVerifier verifier = new ReplayVerifier(2, 16)) {
+            CompletableFuture<ReplayVerifier.Verdict> first = verifier.submit(run);
+            CompletableFuture<ReplayVerifier.Verdict> second = verifier.submit(copy);
+            assertSame(first, second, "A duplicate should share the pending verdict");
+            assertTrue(first.get().isAccepted(), "The run should be accepted");
+            assertTrue(verifier.submit(copy).get().isAccepted(), "A later duplicate should get the cached verdict");
+            assertEquals(1, verifier.getReplays(), "The run should only be replayed once");
+            assertEquals(2, verifier.getCacheHits(), "Both duplicates should be answered from the cache");
+        }
+    }
+
+    @Test
+    public void testChangedSubmissionsDoNotShareAcceptedVerdicts() throws Exception {
+        ReplaySubmission run = ReplayVerifier.recordAutoplay(ROWS, COLUMNS, 13L, MAX_PIECES, MOVE_MILLIS);
+        List<TimedMove> retimed = new ArrayList<>(run.getMoves());
+        TimedMove last = retimed.remove(retimed.size() - 1);
+        retimed.add(new TimedMove(last.getTimeMillis() + 1, last.getEvent()));
+        ReplaySubmission forged = new ReplaySubmission(ROWS, COLUMNS, run.getSeed(), run.getClaimedScore() + 1_000,
+                run.getClaimedLines(), retimed);
+        assertEquals(64, run.getDigest().length(), "The digest should be a hex SHA-256");
+        assertNotEquals(run.getDigest(), forged.getDigest(), "Any change should change the digest");
+
+        try (ReplayVerifier verifier = new ReplayVerifier(2, 16)) {
+            assertTrue(verifier.submit(run).get().isAccepted(), "The honest run should be accepted");
+            assertEquals(ReplayVerifier.Status.SCORE_MISMATCH, verifier.submit(forged).get().getStatus(),
+                    "A changed submission should be replayed, not given the cached verdict");
+            assertEquals(0, verifier.getCacheHits(), "Nothing should be answered from the cache");
+        }
+    }
+
+    @Test
+    public void testSubmissionsOnAnotherBoardSizeAreRejected() throws Exception {
+        ReplaySubmission narrow = ReplayVerifier.recordAutoplay(ROWS, 4, 3L, MAX_PIECES, MOVE_MILLIS);
+        ReplaySubmission huge = new ReplaySubmission(1 << 20, 1 << 20, 3L, 0, 0, List.of());
+
+        try (ReplayVerifier verifier = new ReplayVerifier(2, 16)) {
+            assertEquals(ReplayVerifier.Status.WRONG_BOARD_SIZE, verifier.submit(narrow).get().getStatus(),
+                    "A run on a narrow board should be rejected");
+            assertEquals(ReplayVerifier.Status.WRONG_BOARD_SIZE, verifier.submit(huge).get().getStatus(),
+                    "A run claiming a huge board should be rejected without replaying it");
+        }
+        try (ReplayVerifier verifier = new ReplayVerifier(ROWS, 4, 1, 4,
+                ReplayVerifier.DEFAULT_GRAVITY_TOLERANCE_MILLIS, ReplayVerifier.DEFAULT_CACHE_ENTRIES)) {
+            assertEquals(ReplayVerifier.Status.ACCEPTED, verifier.verify(narrow).getStatus(),
+                    "A verifier configured for the size should replay the run");
+        }
+    }
+}
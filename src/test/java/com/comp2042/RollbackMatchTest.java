@@ -0,0 +1,80 @@
+package com.comp2042;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.event.EventType;
+import com.comp2042.versus.LoopbackTransport;
+import com.comp2042.versus.RollbackMatch;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RollbackMatchTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+    private static final long SEED = 77L;
+    private static final int TICKS = 2_000;
+
+    @Test
+    public void testPeersMatchReferenceDespiteDelayAndJitter() {
+        RollbackMatch[] peers = {new RollbackMatch(0, ROWS, COLUMNS, SEED, RollbackMatch.DEFAULT_GRAVITY_TICKS),
+                new RollbackMatch(1, ROWS, COLUMNS, SEED, RollbackMatch.DEFAULT_GRAVITY_TICKS)};
+        AutoPlayer[] bots = {new AutoPlayer(ROWS, COLUMNS), new AutoPlayer(ROWS, COLUMNS)};
+        EventType[][] inputs = new EventType[2][TICKS];
+        LoopbackTransport transport = new LoopbackTransport(2, 3, 5, SEED);
+
+        long now = 0;
+        while (peers[0].getTick() < TICKS || peers[1].getTick() < TICKS) {
+            for (int p = 0; p < 2; p++) {
+                transport.deliver(p, now, peers[p]::receive);
+                if (peers[p].getTick() < TICKS) {
+                    EventType move = now % 2 == 0 ? bots[p].nextMove(peers[p].getController(p)) : null;
+                    long sent = peers[p].advance(move);
+                    if (sent >= 0) {
+                        inputs[p][(int) sent] = move;
+                        transport.send(1 - p, RollbackMatch.message(sent, move), now);
+                    }
+                }
+            }
+            now++;
+        }
+        while (!transport.isIdle()) {
+            for (int p = 0; p < 2; p++) {
+                transport.deliver(p, now, peers[p]::receive);
+            }
+            now++;
+        }
+        peers[0].reconcile();
+        peers[1].reconcile();
+
+        RollbackMatch reference = new RollbackMatch(0, ROWS, COLUMNS, SEED, RollbackMatch.DEFAULT_GRAVITY_TICKS);
+        for (int t = 0; t < TICKS; t++) {
+            reference.receive(RollbackMatch.message(t, inputs[1][t]));
+            assertEquals(t, reference.advance(inputs[0][t]), "The reference should never stall");
+        }
+
+        assertTrue(peers[0].getRollbacks() > 0 && peers[1].getRollbacks() > 0, "Late inputs should cause rollbacks");
+        assertEquals(0, reference.getRollbacks(), "Known inputs should never be rolled back");
+        assertEquals(TICKS, peers[0].getConfirmedTick(), "Every remote input should be confirmed");
+        assertEquals(reference.checksum(), peers[0].checksum(), "Peer 0 should end in the reference state");
+        assertEquals(reference.checksum(), peers[1].checksum(), "Peer 1 should end in the reference state");
+        assertTrue(reference.getController(0).getLinesCleared() > 0, "The game should have cleared lines");
+    }
+
+    @Test
+    public void testPeerWaitsWhenTooFarAhead() {
+        RollbackMatch peer = new RollbackMatch(0, ROWS, COLUMNS, SEED, RollbackMatch.DEFAULT_GRAVITY_TICKS);
+        for (int t = 0; t < RollbackMatch.MAX_ROLLBACK_TICKS; t++) {
+            assertEquals(t, peer.advance(EventType.LEFT), "The peer should predict within the window");
+        }
+        assertEquals(-1, peer.advance(null), "The peer should wait for the opponent");
+
+        peer.receive(RollbackMatch.message(1, EventType.ROTATE));
+        assertEquals(-1, peer.advance(null), "A gap at tick 0 should keep the peer waiting");
+        peer.receive(RollbackMatch.message(0, null));
+        assertEquals(2, peer.getConfirmedTick(), "Ticks 0 and 1 should now be confirmed");
+        assertEquals(RollbackMatch.MAX_ROLLBACK_TICKS, peer.advance(null), "The peer should advance again");
+        assertEquals(1, peer.getRollbacks(), "The mispredicted rotation should cause one rollback");
+        assertEquals(RollbackMatch.MAX_ROLLBACK_TICKS - 1, peer.getResimulatedTicks(), "Ticks from 1 on should be re-simulated");
+    }
+}
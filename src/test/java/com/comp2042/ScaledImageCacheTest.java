@@ -0,0 +1,57 @@
+package com.comp2042;
+
+import com.comp2042.controller.ScaledImageCache;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScaledImageCacheTest {
+
+    // Each 10x10 image is charged 400 bytes, so the budget holds three of them.
+    private static final int SIZE = 10;
+    private static final long IMAGE_BYTES = 4L * SIZE * SIZE;
+    private static final long BUDGET = 3 * IMAGE_BYTES;
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvictedFirst() {
+        ScaledImageCache cache = new ScaledImageCache(BUDGET);
+        Image a = new WritableImage(SIZE, SIZE);
+        Image b = new WritableImage(SIZE, SIZE);
+        Image c = new WritableImage(SIZE, SIZE);
+        cache.put("a", a);
+        cache.put("b", b);
+        cache.put("c", c);
+        assertEquals(BUDGET, cache.getUsedBytes(), "Three images should fill the budget exactly");
+
+        assertSame(a, cache.get("a"), "A cached image should be returned");
+        cache.put("d", new WritableImage(SIZE, SIZE));
+        assertNull(cache.get("b"), "The least recently used image should be evicted first");
+        assertSame(a, cache.get("a"), "A recently read image should survive");
+        assertNotNull(cache.get("c"), "Only one image should be evicted");
+        assertNotNull(cache.get("d"), "The new image should be cached");
+        assertEquals(BUDGET, cache.getUsedBytes(), "The cache should stay within its budget");
+    }
+
+    @Test
+    public void testLargeImagesEvictUntilWithinBudget() {
+        ScaledImageCache cache = new ScaledImageCache(BUDGET);
+        for (int i = 0; i < 3; i++) {
+            cache.put("small" + i, new WritableImage(SIZE, SIZE));
+        }
+        // Twice the size of a small image: the two oldest must go.
+        cache.put("wide", new WritableImage(2 * SIZE, SIZE));
+        assertNull(cache.get("small0"), "The oldest image should be evicted");
+        assertNull(cache.get("small1"), "Images should be evicted until the new one fits");
+        assertNotNull(cache.get("small2"), "The most recent small image should survive");
+        assertEquals(BUDGET, cache.getUsedBytes(), "The cache should stay within its budget");
+
+        cache.put("huge", new WritableImage(4 * SIZE, SIZE));
+        assertNull(cache.get("huge"), "An image larger than the budget should not be cached");
+        assertEquals(BUDGET, cache.getUsedBytes(), "Rejecting an image should not evict anything");
+
+        cache.put("wide", new WritableImage(SIZE, SIZE));
+        assertEquals(2 * IMAGE_BYTES, cache.getUsedBytes(), "Replacing an entry should release its old size");
+    }
+}
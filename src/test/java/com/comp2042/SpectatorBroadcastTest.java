@@ -0,0 +1,118 @@
+package com.comp2042;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.event.EventType;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.server.ClientState;
+import com.comp2042.server.GameServer;
+import com.comp2042.server.GameSession;
+import com.comp2042.server.LocalClient;
+import com.comp2042.server.Protocol;
+import com.comp2042.server.SharedFrame;
+import com.comp2042.server.SpectatorBroadcast;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpectatorBroadcastTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+    private static final int QUEUE_FRAMES = 2;
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    @Test
+    public void testSlowSubscriberIsResyncedWithKeyframe() {
+        GameSession session = new GameSession(1, ROWS, COLUMNS, 21L, 16);
+        AutoPlayer player = new AutoPlayer(ROWS, COLUMNS);
+        SpectatorBroadcast broadcast = new SpectatorBroadcast(session, QUEUE_FRAMES);
+        SpectatorBroadcast.Subscription fast = broadcast.subscribe();
+        SpectatorBroadcast.Subscription slow = broadcast.subscribe();
+        ClientState fastState = new ClientState();
+        ClientState slowState = new ClientState();
+        broadcast.publish();
+
+        int seq = 0;
+        for (int tick = 0; tick < 1_500 && !session.isGameOver(); tick++) {
+            EventType move = player.nextMove(session.getController());
+            if (move != null) {
+                session.submit(move, ++seq);
+            }
+            if (session.tick()) {
+                broadcast.publish();
+                assertTrue(drain(fast, fastState) > 0, "The fast subscriber should get every update");
+            }
+        }
+        assertTrue(drain(slow, slowState) <= QUEUE_FRAMES, "The slow subscriber should only hold a bounded queue");
+
+        String expected = fullState(session).toString();
+        assertEquals(expected, fastState.toString(), "Shared deltas should rebuild the session");
+        assertEquals(expected, slowState.toString(), "A resynced subscriber should rebuild the session");
+        assertTrue(fastState.getLines() > 0, "The game should have cleared lines");
+        assertTrue(broadcast.getResyncs() > 0, "The slow subscriber should have been resynced");
+
+        fast.close();
+        slow.close();
+        assertEquals(0, broadcast.getSubscriberCount(), "Closed subscriptions should be removed");
+        assertEquals(broadcast.getFramesAllocated(), broadcast.getFramesPooled(), "Every frame should return to the pool");
+        assertTrue(broadcast.getFramesAllocated() <= 2 * QUEUE_FRAMES + 4,
+                "Frames should be reused, allocated " + broadcast.getFramesAllocated());
+    }
+
+    @Test
+    public void testSpectatorWatchesPlayerOverTcp() throws Exception {
+        try (GameServer server = new GameServer(5, 1)) {
+            int port = server.start(0);
+            try (LocalClient player = LocalClient.connect("localhost", port, 4L)) {
+                assertNotNull(player.await(state -> true, TIMEOUT_MILLIS), "The player should receive a state");
+                try (LocalClient first = LocalClient.spectate("localhost", port, player.getSessionId());
+                     LocalClient second = LocalClient.spectate("localhost", port, player.getSessionId())) {
+                    assertNotNull(first.await(state -> true, TIMEOUT_MILLIS), "A spectator should receive a keyframe");
+                    assertNotNull(second.await(state -> true, TIMEOUT_MILLIS), "Every spectator should receive a keyframe");
+                    assertEquals(player.getSessionId(), first.getSessionId(), "Spectators should be welcomed to the watched session");
+
+                    player.send(EventType.LEFT);
+                    int seq = player.send(EventType.LEFT);
+                    ClientState seen = first.await(state -> state.getLastInputSeq() == seq, TIMEOUT_MILLIS);
+                    assertNotNull(seen, "Spectators should see the player's inputs");
+                    assertEquals(SimpleBoard.SPAWN_X - 2, seen.getX(), "Spectators should see the moved brick");
+                    assertNotNull(second.await(state -> state.getLastInputSeq() == seq, TIMEOUT_MILLIS),
+                            "Both spectators should see the inputs");
+
+                    player.close();
+                    assertNull(first.await(state -> false, TIMEOUT_MILLIS), "Spectators should be disconnected with the session");
+                }
+            }
+        }
+    }
+
+    /** Decodes and releases every queued frame; returns how many there were. */
+    private static int drain(SpectatorBroadcast.Subscription subscription, ClientState state) {
+        int frames = 0;
+        SharedFrame frame;
+        while ((frame = subscription.poll()) != null) {
+            ByteBuffer bytes = frame.bytes();
+            bytes.position(Protocol.FRAME_HEADER_BYTES);
+            if (bytes.get() == Protocol.MSG_STATE) {
+                state.read(bytes);
+            } else {
+                state.applyDelta(bytes);
+            }
+            frame.release();
+            frames++;
+        }
+        return frames;
+    }
+
+    private static ClientState fullState(GameSession session) {
+        ByteBuffer out = ByteBuffer.allocate(Protocol.MAX_PAYLOAD_BYTES);
+        session.encodeState(out);
+        out.flip();
+        out.position(Protocol.FRAME_HEADER_BYTES + 1);
+        ClientState state = new ClientState();
+        state.read(out);
+        return state;
+    }
+}
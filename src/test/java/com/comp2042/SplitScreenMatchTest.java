@@ -0,0 +1,103 @@
+package com.comp2042;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.controller.GameContext;
+import com.comp2042.event.EventType;
+import com.comp2042.model.BoardText;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.versus.SplitScreenMatch;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SplitScreenMatchTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+    private static final int GRAVITY_MILLIS = 400;
+
+    @Test
+    public void testInputsAreRoutedToOnePlayerAndGravityToBoth() {
+        SplitScreenMatch match = new SplitScreenMatch(GameContext.headless(), ROWS, COLUMNS, 3L);
+        SplitScreenMatch.Seat left = match.getSeat(0);
+        SplitScreenMatch.Seat right = match.getSeat(1);
+        match.start(0);
+        assertEquals(left.getBoard().getCurrentBrickId(), right.getBoard().getCurrentBrickId(),
+                "Both players should start with the same brick");
+
+        long version = match.getVersion();
+        int rightX = right.getBoard().getViewData().getxPosition();
+        assertTrue(match.apply(0, EventType.LEFT), "Input should be applied while the match runs");
+        assertEquals(SimpleBoard.SPAWN_X - 1, left.getBoard().getViewData().getxPosition(),
+                "The left player's brick should move");
+        assertEquals(rightX, right.getBoard().getViewData().getxPosition(),
+                "The right player's brick should not move");
+        assertNotEquals(version, match.getVersion(), "A move should change the version");
+
+        int leftY = left.getBoard().getViewData().getyPosition();
+        int rightY = right.getBoard().getViewData().getyPosition();
+        match.update(GRAVITY_MILLIS - 1);
+        assertEquals(leftY, left.getBoard().getViewData().getyPosition(), "Gravity should wait for its delay");
+        match.update(GRAVITY_MILLIS);
+        assertEquals(leftY + 1, left.getBoard().getViewData().getyPosition(), "Gravity should drop the left brick");
+        assertEquals(rightY + 1, right.getBoard().getViewData().getyPosition(), "Gravity should drop the right brick");
+    }
+
+    @Test
+    public void testClearsSendGarbageAndTopOutEndsTheMatch() {
+        SplitScreenMatch match = new SplitScreenMatch(GameContext.headless(), ROWS, COLUMNS, 5L);
+        SplitScreenMatch.Seat attacker = match.getSeat(0);
+        SplitScreenMatch.Seat defender = match.getSeat(1);
+        match.start(0);
+        AutoPlayer player = new AutoPlayer(ROWS, COLUMNS);
+        for (int step = 0; step < 20_000 && attacker.getLinesSent() == 0; step++) {
+            EventType move = player.nextMove(attacker.getController());
+            assertNotNull(move, "The attacker should not top out before sending garbage");
+            match.apply(0, move);
+        }
+        assertTrue(attacker.getLinesSent() > 0, "A multi-line clear should send garbage");
+        assertEquals(attacker.getLinesSent(), defender.getPendingLines(), "Garbage should wait for the defender");
+
+        while (!match.isOver()) {
+            match.apply(1, EventType.DOWN);
+        }
+        assertEquals(0, defender.getPendingLines(), "Locks without clears should raise pending garbage");
+        assertEquals(0, match.getWinner(), "The player who did not top out should win");
+        assertFalse(match.apply(0, EventType.LEFT), "Inputs should be ignored once the match is over");
+
+        match.restart(1_000);
+        assertFalse(match.isOver(), "A restarted match should be running");
+        assertEquals(attacker.getBoard().getCurrentBrickId(), defender.getBoard().getCurrentBrickId(),
+                "Both players should get the same bricks again");
+        assertEquals(0, attacker.getBoard().getBoardHash(), "The boards should be empty");
+        assertEquals(0, defender.getBoard().getBoardHash(), "The boards should be empty");
+    }
+
+    @Test
+    public void testPlayerBuriedByGarbageLoses() {
+        SplitScreenMatch match = new SplitScreenMatch(GameContext.headless(), ROWS, COLUMNS, 5L);
+        SplitScreenMatch.Seat attacker = match.getSeat(0);
+        SplitScreenMatch.Seat defender = match.getSeat(1);
+        match.start(0);
+        AutoPlayer player = new AutoPlayer(ROWS, COLUMNS);
+        for (int step = 0; step < 20_000 && attacker.getLinesSent() == 0; step++) {
+            match.apply(0, player.nextMove(attacker.getController()));
+        }
+        assertTrue(defender.getPendingLines() > 0, "The defender should have garbage waiting");
+
+        // A full-height wall left of the spawn area: any garbage pushes it off
+        // the top while the spawn area itself stays free.
+        StringBuilder wall = new StringBuilder();
+        for (int row = 0; row < ROWS; row++) {
+            wall.append(row == 0 ? "" : "/").append("####.........");
+        }
+        defender.getBoard().loadCells(BoardText.parse(wall.toString(), ROWS, COLUMNS));
+        int locked = defender.getController().getPiecesLocked();
+        while (defender.getController().getPiecesLocked() == locked) {
+            match.apply(1, EventType.DOWN);
+        }
+
+        assertTrue(defender.getController().isGameOver(), "Garbage pushed past the top should bury the defender");
+        assertEquals(0, match.getWinner(), "The buried player should lose");
+    }
+}
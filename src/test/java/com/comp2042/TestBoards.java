@@ -0,0 +1,30 @@
+package com.comp2042;
+
+import java.util.Random;
+
+/**
+ * Board fixtures shared by the search tests.
+ */
+final class TestBoards {
+
+    private TestBoards() {
+
+    }
+
+    /**
+     * Returns a board whose bottom {@code height} rows are 60% full, each
+     * with at least one hole so that no row is already complete.
+     */
+    static int[][] randomStack(Random random, int rows, int columns, int height) {
+        int[][] matrix = new int[rows][columns];
+        for (int row = rows - height; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                if (random.nextDouble() < 0.6) {
+                    matrix[row][col] = 1;
+                }
+            }
+            matrix[row][random.nextInt(columns)] = 0;
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,81 @@
+package com.comp2042;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.bot.BoardEvaluator;
+import com.comp2042.bot.Bot;
+import com.comp2042.bot.MonteCarloSearch;
+import com.comp2042.bot.Tournament;
+import com.comp2042.event.EventType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testIdenticalBotsTieAndStrongerBotGainsRating() throws Exception {
+        // Only ever drops straight down: tops out quickly and rarely clears a line.
+        Bot dropper = controller -> controller.isGameOver() ? null : EventType.DOWN;
+        List<Tournament.Entrant> entrants = List.of(
+                new Tournament.Entrant("greedy-a", () -> new AutoPlayer(25, 13)),
+                new Tournament.Entrant("greedy-b", () -> new AutoPlayer(25, 13)),
+                new Tournament.Entrant("dropper", () -> dropper));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Tournament.Results results;
+        try {
+            results = new Tournament(entrants, 6, 150, 40L, pool).run();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(0.0, results.pairedDifference(0, 1).getMean(), "Same bot on the same seeds should score the same");
+        assertTrue(results.pairedDifference(0, 2).getMean() > 0, "Greedy player should outscore the dropper");
+        assertEquals(6, results.topOuts(2), "Dropper should top out every game");
+
+        Path file = tempDir.resolve("ratings.properties");
+        Tournament.RatingTable ratings = Tournament.RatingTable.load(file);
+        ratings.update(results);
+        ratings.save(file);
+        Tournament.RatingTable reloaded = Tournament.RatingTable.load(file);
+
+        assertEquals(ratings.getRating("greedy-a"), reloaded.getRating("greedy-a"), "Ratings should persist");
+        assertEquals(12, reloaded.getGames("dropper"), "Dropper plays both greedy entrants on every seed");
+        assertTrue(reloaded.getRating("greedy-a") > Tournament.RatingTable.INITIAL_RATING, "Winner gains rating");
+        assertTrue(reloaded.getRating("dropper") < Tournament.RatingTable.INITIAL_RATING, "Loser drops rating");
+    }
+
+    @Test
+    public void testFixedRoundSearchesScoreTheSameOnAnyPool() {
+        int[][] scores = new int[2][];
+        int[] threads = {1, 4};
+        for (int run = 0; run < threads.length; run++) {
+            ForkJoinPool pool = new ForkJoinPool(threads[run]);
+            try {
+                List<Tournament.Entrant> entrants = List.of(
+                        new Tournament.Entrant("greedy", () -> new AutoPlayer(25, 13)),
+                        new Tournament.Entrant("monte-carlo", () -> {
+                            AutoPlayer player = new AutoPlayer(25, 13);
+                            player.setMonteCarlo(new MonteCarloSearch(25, 13, BoardEvaluator.defaultWeights(), pool),
+                                    Long.MAX_VALUE, 2);
+                            return player;
+                        }));
+                Tournament.Results results = new Tournament(entrants, 3, 40, 11L, pool).run();
+                scores[run] = new int[results.getSeeds()];
+                for (int seed = 0; seed < results.getSeeds(); seed++) {
+                    scores[run][seed] = results.getScore(1, seed);
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+        assertArrayEquals(scores[0], scores[1], "A fixed number of rounds should not depend on the pool size");
+    }
+}
@@ -0,0 +1,146 @@
+package com.comp2042;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.bot.TranspositionTable;
+import com.comp2042.controller.GameController;
+import com.comp2042.controller.RandomBrickGenerator;
+import com.comp2042.event.EventType;
+import com.comp2042.model.BitBoard;
+import com.comp2042.model.PlacementEnumerator;
+import com.comp2042.model.PlacementList;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.model.ZobristHash;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranspositionTableTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+
+    @Test
+    public void testSimpleBoardHashTracksMergesAndClears() {
+        SimpleBoard board = new SimpleBoard(ROWS, COLUMNS, new RandomBrickGenerator(7L));
+        GameController controller = new GameController(board);
+        controller.initGame();
+        AutoPlayer player = new AutoPlayer(ROWS, COLUMNS);
+        BitBoard packed = new BitBoard(ROWS, COLUMNS);
+        int checkedPiece = -1;
+        while (controller.getPiecesLocked() < 300 && !controller.isGameOver()) {
+            if (controller.getPiecesLocked() != checkedPiece) {
+                checkedPiece = controller.getPiecesLocked();
+                assertEquals(ZobristHash.hash(board.getBoardMatrix()), board.getBoardHash(),
+                        "Incremental hash should match a full rehash after piece " + checkedPiece);
+                packed.load(board.getBoardMatrix());
+                assertEquals(board.getBoardHash(), packed.getHash(), "BitBoard and SimpleBoard hashes should agree");
+            }
+            EventType move = player.nextMove(controller);
+            assertNotNull(move, "Autoplayer should always find a move");
+            AutoPlayer.apply(controller, move);
+        }
+        assertTrue(controller.getLinesCleared() > 0, "The run should exercise row clears");
+    }
+
+    @Test
+    public void testBitBoardHashTracksPlacements() {
+        Random random = new Random(3L);
+        PlacementEnumerator enumerator = new PlacementEnumerator(ROWS, COLUMNS);
+        PlacementList placements = new PlacementList();
+        BitBoard board = new BitBoard(ROWS, COLUMNS);
+        int cleared = 0;
+        for (int piece = 0; piece < 400; piece++) {
+            int id = 1 + random.nextInt(7);
+            int count = enumerator.enumerate(board, id, 0, SimpleBoard.SPAWN_X, SimpleBoard.SPAWN_Y, placements);
+            if (count == 0) {
+                board.clear();
+                continue;
+            }
+            // Prefer low placements so rows fill up and clear.
+            int pick = random.nextInt(count);
+            for (int i = 0; i < count; i++) {
+                if (placements.getY(i) > placements.getY(pick)) {
+                    pick = i;
+                }
+            }
+            cleared += board.place(id, placements.getRotation(pick), placements.getX(pick), placements.getY(pick));
+            assertEquals(ZobristHash.hash(toMatrix(board)), board.getHash(), "Hash should match after piece " + piece);
+        }
+        assertTrue(cleared > 0, "Random play should clear some rows");
+    }
+
+    @Test
+    public void testProbeAndDepthThreshold() {
+        TranspositionTable table = new TranspositionTable(8);
+        table.store(42L, 1.5, 3);
+
+        assertEquals(1.5, table.probe(42L, 3), "Stored value should be found");
+        assertTrue(Double.isNaN(table.probe(42L, 4)), "A shallower entry should not satisfy a deeper probe");
+        assertTrue(Double.isNaN(table.probe(43L, 0)), "An unknown key should miss");
+    }
+
+    @Test
+    public void testStaleEntriesAreReplacedFirst() {
+        TranspositionTable table = new TranspositionTable(4);
+        // Keys that share the high word share a bucket.
+        long bucket = 5L << 32;
+        for (int i = 0; i < TranspositionTable.BUCKET_SIZE - 1; i++) {
+            table.store(bucket | i, i, 10);
+        }
+        table.newSearch();
+        table.store(bucket | 100, 100, 1);
+        table.store(bucket | 101, 101, 1);
+
+        assertEquals(100.0, table.probe(bucket | 100, 0), "Entry from this search should survive");
+        assertEquals(101.0, table.probe(bucket | 101, 0), "New entry should take a stale slot");
+        int survivors = 0;
+        for (int i = 0; i < TranspositionTable.BUCKET_SIZE - 1; i++) {
+            if (!Double.isNaN(table.probe(bucket | i, 0))) {
+                survivors++;
+            }
+        }
+        assertEquals(TranspositionTable.BUCKET_SIZE - 2, survivors, "Exactly one stale entry should be evicted");
+    }
+
+    @Test
+    public void testConcurrentAccessNeverReturnsForeignValues() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(6);
+        AtomicInteger wrong = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 200_000; i++) {
+                    long key = random.nextInt(512) * 0x9E3779B97F4A7C15L;
+                    if (random.nextBoolean()) {
+                        table.store(key, key * 0.5, 1);
+                    } else {
+                        double value = table.probe(key, 0);
+                        if (!Double.isNaN(value) && value != key * 0.5) {
+                            wrong.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, wrong.get(), "Probes must only return values stored under the same key");
+    }
+
+    private static int[][] toMatrix(BitBoard board) {
+        int[][] matrix = new int[board.getRows()][board.getColumns()];
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int col = 0; col < board.getColumns(); col++) {
+                matrix[row][col] = (board.getRow(row) >>> col) & 1;
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,160 @@
+package com.comp2042;
+
+import com.comp2042.bot.AutoPlayer;
+import com.comp2042.controller.GameController;
+import com.comp2042.event.EventSource;
+import com.comp2042.event.EventType;
+import com.comp2042.event.GameEventType;
+import com.comp2042.event.MoveEvent;
+import com.comp2042.model.BoardAnalytics;
+import com.comp2042.model.BoardText;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.model.ZobristHash;
+import com.comp2042.versus.Attack;
+import com.comp2042.versus.AttackQueue;
+import com.comp2042.versus.VersusRoom;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VersusRoomTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 13;
+
+    @Test
+    public void testInsertGarbageRowsRaisesStackInPlace() {
+        SimpleBoard board = new SimpleBoard(ROWS, COLUMNS);
+        board.newGame();
+        board.loadCells(BoardText.parse("..#.........#/###.######.##", ROWS, COLUMNS));
+        int[][] matrix = board.getBoardMatrix();
+
+        assertFalse(board.insertGarbageRows(2, 5), "Nothing should be pushed off a low stack");
+        assertSame(matrix, board.getBoardMatrix(), "Garbage should be inserted in place");
+        assertEquals("..#.........#/###.######.##/#####.#######/#####.#######", BoardText.format(matrix),
+                "The stack should move up two rows over garbage with an empty hole column");
+        assertEquals(SimpleBoard.GARBAGE_COLOUR, matrix[ROWS - 1][0], "Garbage should use the garbage colour");
+        assertEquals(ZobristHash.hash(matrix), board.getBoardHash(), "The hash should follow the new rows");
+        BoardAnalytics expected = new BoardAnalytics(ROWS, COLUMNS);
+        expected.load(matrix);
+        assertEquals(expected.getHoles(), board.getAnalytics().getHoles(), "Analytics should follow the new rows");
+        assertEquals(ROWS - 4, board.getAnalytics().getStackTop(), "The stack top should rise by two");
+
+        assertTrue(board.insertGarbageRows(ROWS - 2, 0), "Raising past the top should report an overflow");
+    }
+
+    @Test
+    public void testInvalidGarbageLeavesBoardUnchanged() {
+        SimpleBoard board = new SimpleBoard(ROWS, COLUMNS);
+        board.newGame();
+        board.loadCells(BoardText.parse("###.######.##", ROWS, COLUMNS));
+        long hash = board.getBoardHash();
+
+        assertThrows(IllegalArgumentException.class, () -> board.insertGarbageRows(2, COLUMNS),
+                "A hole outside the board should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> board.insertGarbageRows(2, -1),
+                "A negative hole column should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> board.insertGarbageRows(-1, 0),
+                "A negative row count should be rejected");
+        assertEquals(hash, board.getBoardHash(), "A rejected insert should not change the board");
+        assertEquals("###.######.##", BoardText.format(board.getBoardMatrix()), "The cells should be unchanged");
+    }
+
+    @Test
+    public void testGarbageOverflowEndsTheGame() {
+        SimpleBoard board = new SimpleBoard(ROWS, COLUMNS);
+        GameController controller = new GameController(board);
+        int[] topOuts = new int[1];
+        controller.getEvents().subscribe((type, value, detail) -> {
+            if (type == GameEventType.TOP_OUT) {
+                topOuts[0]++;
+            }
+        });
+        controller.initGame();
+        board.loadCells(BoardText.parse("#.###########/#.###########/#.###########", ROWS, COLUMNS));
+
+        assertFalse(controller.raiseGarbage(ROWS - 4, 0), "Garbage that fits should not end the game");
+        assertFalse(controller.isGameOver(), "The player should still be alive");
+        assertTrue(controller.raiseGarbage(2, 0), "Pushing locked cells off the top should end the game");
+        assertTrue(controller.isGameOver(), "A buried player should be out");
+        assertEquals(1, topOuts[0], "The top out should be published once");
+
+    }
+
+    @Test
+    public void testBuriedOnLockSpawnsNoFurtherBrick() {
+        GameController controller = new GameController(new SimpleBoard(ROWS, COLUMNS));
+        int[] spawns = new int[1];
+        controller.getEvents().subscribe((type, value, detail) -> {
+            if (type == GameEventType.SPAWN) {
+                spawns[0]++;
+            } else if (type == GameEventType.LOCK) {
+                controller.raiseGarbage(ROWS, 0);
+            }
+        });
+        controller.initGame();
+        MoveEvent down = new MoveEvent(EventType.DOWN, EventSource.THREAD);
+        for (int step = 0; step < ROWS && !controller.isGameOver(); step++) {
+            controller.onDownEvent(down);
+        }
+
+        assertTrue(controller.isGameOver(), "Garbage raised on the first lock should bury the player");
+        assertEquals(1, controller.getPiecesLocked(), "Only the first brick should have locked");
+        assertEquals(1, spawns[0], "No brick should spawn after the player is buried");
+    }
+
+    @Test
+    public void testAttackQueueReleasesOnlyEarlierTicksInOrder() throws Exception {
+        AttackQueue queue = new AttackQueue();
+        Thread[] senders = new Thread[4];
+        for (int s = 0; s < senders.length; s++) {
+            int sender = s;
+            senders[s] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    queue.send(new Attack(1 + i % 3, sender, i, 1, 0));
+                }
+            });
+            senders[s].start();
+        }
+        for (Thread sender : senders) {
+            sender.join();
+        }
+
+        List<Attack> ready = new ArrayList<>();
+        queue.collect(3, ready);
+        assertEquals(4 * (34 + 33), ready.size(), "Attacks from ticks 1 and 2 should be released");
+        for (int i = 1; i < ready.size(); i++) {
+            assertTrue(Attack.ORDER.compare(ready.get(i - 1), ready.get(i)) < 0, "Attacks should come in replay order");
+        }
+        ready.clear();
+        queue.collect(4, ready);
+        assertTrue(ready.stream().allMatch(attack -> attack.getTick() == 3), "Held attacks should follow later");
+        assertTrue(queue.isEmpty(), "Everything should have been released");
+    }
+
+    @Test
+    public void testRoomIsDeterministicAcrossThreadCounts() {
+        long single = playRoom(new ForkJoinPool(1));
+        long parallel = playRoom(new ForkJoinPool(4));
+        assertEquals(single, parallel, "The match should not depend on thread scheduling");
+    }
+
+    private static long playRoom(ForkJoinPool pool) {
+        try {
+            VersusRoom room = new VersusRoom(8, ROWS, COLUMNS, 42L, pool, id -> new AutoPlayer(ROWS, COLUMNS));
+            room.play(3_000);
+            int received = 0;
+            for (int i = 0; i < room.getPlayerCount(); i++) {
+                received += room.getPlayer(i).getLinesReceived();
+            }
+            assertTrue(received > 0, "Line clears should have sent garbage");
+            return room.checksum();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
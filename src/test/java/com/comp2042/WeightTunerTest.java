@@ -0,0 +1,44 @@
+package com.comp2042;
+
+import com.comp2042.bot.WeightTuner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeightTunerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testResumedRunMatchesUninterruptedRun() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            WeightTuner straight = new WeightTuner(8, 2, 2, 60, 11L, pool);
+            straight.runGeneration();
+            straight.runGeneration();
+            straight.runGeneration();
+
+            WeightTuner first = new WeightTuner(8, 2, 2, 60, 11L, pool);
+            first.runGeneration();
+            Path checkpoint = tempDir.resolve("tuner.properties");
+            first.saveCheckpoint(checkpoint);
+            WeightTuner resumed = WeightTuner.loadCheckpoint(checkpoint, pool);
+            assertEquals(1, resumed.getGeneration(), "Checkpoint should record the generation");
+            resumed.runGeneration();
+            resumed.runGeneration();
+
+            assertArrayEquals(straight.getMean(), resumed.getMean(), "Resumed run should follow the same path");
+            assertEquals(straight.getBestFitness(), resumed.getBestFitness(), "Best fitness should match");
+            assertEquals(3, resumed.getHistory().size(), "History should span both sessions");
+            assertEquals(straight.getHistory().get(2).getEliteFitness(),
+                    resumed.getHistory().get(2).getEliteFitness(), "Convergence curve should match");
+        } finally {
+            pool.shutdown();
+        }
+    }
+}